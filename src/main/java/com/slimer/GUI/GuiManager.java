@@ -3,13 +3,17 @@ package com.slimer.GUI;
 import com.slimer.GUI.Menus.ColorMenu;
 import com.slimer.GUI.Menus.LeaderboardMenu;
 import com.slimer.GUI.Menus.MainMenu;
+import com.slimer.Main.Main;
+import com.slimer.Util.PlayerData;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.plugin.java.JavaPlugin;
 
 /**
  * Manages the Graphical User Interface (GUI) interactions for players on the server.
  * This class follows the Singleton pattern to ensure only one instance is used throughout the application.
  * It provides methods to open various menus like the Main Menu, Color Menu, and Leaderboard Menu.
+ * Menus showing player data open once the data has been fetched in the background.
  * <p>
  * Last updated: V2.1.0
  *
@@ -38,13 +42,15 @@ public class GuiManager {
     }
 
     /**
-     * Opens the main menu for the specified player.
+     * Opens the main menu for the specified player, once their high score has been fetched.
      *
      * @param player The player for whom the main menu is to be opened.
      */
     public void openMainMenu(Player player) {
-        Inventory mainMenu = new MainMenu().getInventory(player);
-        player.openInventory(mainMenu);
+        PlayerData.getInstance().getHighScoreAsync(player).thenAccept(highScore -> runForPlayer(player, () -> {
+            Inventory mainMenu = new MainMenu().getInventory(player, highScore);
+            player.openInventory(mainMenu);
+        }));
     }
 
     /**
@@ -58,13 +64,25 @@ public class GuiManager {
     }
 
     /**
-     * Opens the leaderboard menu for the specified player.
+     * Opens the leaderboard menu for the specified player, once the leaderboard has been fetched.
      *
      * @param player The player for whom the leaderboard menu is to be opened.
      * @param page   The page number of the leaderboard to display.
      */
     public void openLeaderboardMenu(Player player, int page) {
-        Inventory leaderboardMenu = new LeaderboardMenu().getInventory(page);
-        player.openInventory(leaderboardMenu);
+        PlayerData.getInstance().getLeaderboardAsync().thenAccept(leaderboard -> runForPlayer(player, () -> {
+            Inventory leaderboardMenu = new LeaderboardMenu().getInventory(page, leaderboard);
+            player.openInventory(leaderboardMenu);
+        }));
+    }
+
+    /**
+     * Hands a task back from an I/O thread to the thread owning the player.
+     *
+     * @param player The player the task acts on.
+     * @param task   The task to run.
+     */
+    private void runForPlayer(Player player, Runnable task) {
+        JavaPlugin.getPlugin(Main.class).getTaskScheduler().runAtLocation(player.getLocation(), task);
     }
 }
\ No newline at end of file
@@ -1,7 +1,6 @@
 package com.slimer.GUI.Menus;
 
 import com.slimer.GUI.Menus.Holders.LeaderboardMenuHolder;
-import com.slimer.Util.PlayerData;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
@@ -37,14 +36,14 @@ public class LeaderboardMenu {
     /**
      * Generates the inventory for a specific page of the leaderboard.
      *
-     * @param page The page number of the leaderboard to be displayed.
+     * @param page       The page number of the leaderboard to be displayed.
+     * @param allEntries The whole leaderboard, sorted in descending order by score.
      * @return The inventory for the specified page of the leaderboard.
      */
-    public Inventory getInventory(int page) {
+    public Inventory getInventory(int page, List<Map.Entry<String, Integer>> allEntries) {
         Inventory leaderboardMenu = Bukkit.createInventory(new LeaderboardMenuHolder(null), INVENTORY_SIZE,
                 Component.text(String.format(LEADERBOARD_TITLE_FORMAT, page)));
 
-        List<Map.Entry<String, Integer>> allEntries = PlayerData.getInstance().getLeaderboard();
         int startEntry = (page - 1) * ITEMS_PER_PAGE;
         int endEntry = Math.min(startEntry + ITEMS_PER_PAGE, allEntries.size());
         List<Map.Entry<String, Integer>> pageEntries = allEntries.subList(startEntry, endEntry);
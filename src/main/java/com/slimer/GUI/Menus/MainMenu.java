@@ -1,7 +1,6 @@
 package com.slimer.GUI.Menus;
 
 import com.slimer.GUI.Menus.Holders.MainMenuHolder;
-import com.slimer.Util.PlayerData;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
@@ -28,10 +27,11 @@ public class MainMenu {
      * Creates and returns the inventory for the main menu specific to a player.
      * The menu includes various options like starting/stopping the game, accessing help, etc.
      *
-     * @param player The player for whom the inventory is to be created.
+     * @param player    The player for whom the inventory is to be created.
+     * @param highScore The high score of the player, shown on their head.
      * @return The inventory for the main menu.
      */
-    public Inventory getInventory(Player player) {
+    public Inventory getInventory(Player player, int highScore) {
         Inventory inventory = Bukkit.createInventory(new MainMenuHolder(null), INVENTORY_SIZE, Component.text("Snake Main Menu"));
 
         // Add regular menu items
@@ -45,7 +45,6 @@ public class MainMenu {
         // Add player-specific item with high score
         ItemStack playerHead = createPlayerHead(player.getName());
         SkullMeta meta = (SkullMeta) playerHead.getItemMeta();
-        int highScore = PlayerData.getInstance().getHighScore(player);
         meta.displayName(Component.text("High Score: " + highScore));
         playerHead.setItemMeta(meta);
         inventory.setItem(15, playerHead);
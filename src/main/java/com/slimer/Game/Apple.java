@@ -1,28 +1,32 @@
 package com.slimer.Game;
 
+import com.slimer.Main.Main;
 import com.slimer.Region.WGHelpers;
 import com.slimer.Util.AStar;
 import com.slimer.Util.DebugManager;
 import com.slimer.Util.PlayerData;
+import com.slimer.Region.ArenaCache;
+import com.slimer.Region.ArenaDescriptor;
+import com.slimer.Region.RegionBounds;
 import com.slimer.Region.RegionHelpers;
+import com.slimer.Region.RegionRegistry;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.*;
 import org.bukkit.entity.ArmorStand;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.SkullMeta;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.Random;
-import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents an apple in the Snake game. This class manages the spawning, naming, and clearing of apple entities.
  * It ensures that apples spawn at suitable locations, have custom names based on the player who collects them, and
  * are removed when collected by a player.
+ * The armor stands showing the apples are taken from and handed back to the {@link ApplePool} of the game manager.
  * <p>
  * Last updated: V2.1.0
  * @author Slimerblue22
@@ -31,6 +35,9 @@ public class Apple {
     private final JavaPlugin plugin;
     private final GameManager gameManager;
     private ArmorStand armorStand;
+    private String arenaName;
+    private long cellKey;
+    private int failedSearches;
 
     /**
      * Constructs an Apple object.
@@ -43,31 +50,6 @@ public class Apple {
         this.gameManager = gameManager;
     }
 
-    /**
-     * Spawns an invisible ArmorStand at a given location to represent an apple.
-     *
-     * @param location Location where the ArmorStand should be spawned.
-     * @return The spawned ArmorStand.
-     */
-    private ArmorStand spawnArmorStand(Location location) {
-        ArmorStand armorStand = location.getWorld().spawn(location, ArmorStand.class);
-        armorStand.setInvisible(true);
-        armorStand.setGravity(false);
-        armorStand.setInvulnerable(true);
-        armorStand.setBasePlate(false);
-
-        // Set ArmorStand's helmet to an apple head
-        ItemStack appleHead = new ItemStack(Material.PLAYER_HEAD);
-        SkullMeta meta = (SkullMeta) appleHead.getItemMeta();
-        UUID ownerUUID = Bukkit.getOfflinePlayer("MHF_Apple").getUniqueId();
-        meta.setOwningPlayer(Bukkit.getOfflinePlayer(ownerUUID));
-        appleHead.setItemMeta(meta);
-        armorStand.getEquipment().setHelmet(appleHead);
-
-        DebugManager.log(DebugManager.Category.APPLE, "Apple ArmorStand spawned at " + location);
-        return armorStand;
-    }
-
     /**
      * Finds a suitable location for spawning an apple within the game zone.
      *
@@ -78,6 +60,7 @@ public class Apple {
      */
     private Location findSuitableLocation(World world, int snakeYLevel, String regionName, Location snakeLocation) {
         AStar aStar = new AStar();
+        AppleCellIndex cellIndex = gameManager.getAppleCollectionManager().getCellIndex(regionName);
         int attempts = 0;
         int maxAttempts = 1000;
         Location location;
@@ -86,7 +69,8 @@ public class Apple {
             location = getRandomLocationWithinGameZone(world, snakeYLevel, regionName);
             DebugManager.log(DebugManager.Category.APPLE, "Checking suitability of random location: " + location);
 
-            if (location == null || !isLocationValid(location, snakeLocation, aStar)) {
+            if (location == null || cellIndex.get(AppleCellIndex.key(location.getBlockX(), location.getBlockZ())) != null
+                    || !isLocationValid(location, snakeLocation, aStar)) {
                 location = null;
             }
 
@@ -124,52 +108,106 @@ public class Apple {
     }
 
     /**
-     * Spawns an apple with a custom name.
+     * Spawns an apple with a custom name inside the game region the player's game is bound to.
+     * If no region is given, the region containing the snake is looked up through the region spatial index.
+     * The spawn location is searched for on the plugin's I/O executor; a search that fails, times out or is rejected
+     * counts as a failed search.
      *
      * @param snakeLocation The current location of the snake.
      * @param snakeYLevel   The Y-level of the snake.
      * @param playerName    The name of the player.
+     * @param gameRegion    The name of the game region of the player's game, or null to look it up.
      */
-    public void spawnWithName(Location snakeLocation, int snakeYLevel, String playerName) {
+    public void spawnWithName(Location snakeLocation, int snakeYLevel, String playerName, String gameRegion) {
         Player player = Bukkit.getPlayer(playerName);
         RegionHelpers regionHelpers = RegionHelpers.getInstance();
-        WGHelpers wgHelpers = WGHelpers.getInstance();
+        RegionRegistry.RegionEntry region = gameRegion != null
+                ? regionHelpers.getRegistry().get(gameRegion)
+                : regionHelpers.getGameRegionAt(snakeLocation);
+        if (region == null || region.getWorld() == null) {
+            DebugManager.log(DebugManager.Category.APPLE, "No game region found for the apple of player: " + playerName);
+            reportFailedSearch(snakeLocation, player);
+            return;
+        }
 
-        for (String regionName : regionHelpers.getAllRegisteredRegionNames()) {
-            String regionType = regionHelpers.getRegionType(regionName);
+        String regionName = region.name();
+        World world = region.getWorld();
+        CompletableFuture<Location> future = ((Main) plugin).getIoExecutor().submit("apple:find-location",
+                () -> findSuitableLocation(world, snakeYLevel, regionName, snakeLocation));
 
-            if ("game".equals(regionType)) {
-                World world = regionHelpers.getRegionWorld(regionName);
+        future.whenComplete((loc, error) -> {
+            if (loc == null) {
+                reportFailedSearch(snakeLocation, player);
+                return;
+            }
+            ((Main) plugin).getTaskScheduler().runAtLocation(loc, () -> placeNamedApple(loc, player, playerName, regionName, snakeLocation, snakeYLevel));
+        });
+    }
 
-                if (world != null && wgHelpers.areCoordinatesInWGRegion(world.getName(), regionName, snakeLocation.getBlockX(), snakeLocation.getBlockY(), snakeLocation.getBlockZ())) {
-                    CompletableFuture<Location> future = CompletableFuture.supplyAsync(() -> findSuitableLocation(world, snakeYLevel, regionName, snakeLocation));
+    /**
+     * Hands a failed search for a spawn location back to the apple collection manager, on the thread owning the
+     * snake's arena, so it can retry the spawn later.
+     *
+     * @param snakeLocation The location of the snake the search was run for.
+     * @param player        The player the apple belongs to, or null if the player is offline.
+     */
+    private void reportFailedSearch(Location snakeLocation, Player player) {
+        if (player == null) {
+            return;
+        }
+        ((Main) plugin).getTaskScheduler().runAtLocation(snakeLocation,
+                () -> gameManager.getAppleCollectionManager().onSpawnFailed(player, this));
+    }
 
-                    future.thenAccept(loc -> Bukkit.getScheduler().runTask(plugin, () -> {
-                        if (loc == null) {
-                            return;
-                        }
+    /**
+     * Counts a failed search for a spawn location of this apple.
+     *
+     * @return The number of failed searches so far, including this one.
+     */
+    int recordFailedSearch() {
+        return ++failedSearches;
+    }
+
+    /**
+     * Places the named apple at a spawn location found for it, unless the apple no longer belongs to the player's
+     * game, because the game has ended in the meantime. If another apple has been placed in the same block column
+     * since the location was found, a new location is searched for instead. Runs on the thread owning the region of
+     * the location.
+     *
+     * @param loc           The spawn location found for the apple.
+     * @param player        The player the apple belongs to.
+     * @param playerName    The name of the player.
+     * @param regionName    The name of the game region the apple is in.
+     * @param snakeLocation The location of the snake the spawn location was searched for.
+     * @param snakeYLevel   The Y-level of the snake.
+     */
+    private void placeNamedApple(Location loc, Player player, String playerName, String regionName, Location snakeLocation, int snakeYLevel) {
+        List<Apple> playerApples = player != null ? gameManager.getPlayerApples().get(player) : null;
+        if (playerApples == null || !playerApples.contains(this) || gameManager.getSnakeForPlayer(player) == null) {
+            return;
+        }
 
-                        Player playerObj = Bukkit.getPlayer(playerName);
-                        if (playerObj != null && gameManager.getSnakeForPlayer(playerObj) == null) {
-                            return;
-                        }
+        long key = AppleCellIndex.key(loc.getBlockX(), loc.getBlockZ());
+        if (!gameManager.getAppleCollectionManager().getCellIndex(regionName).putIfAbsent(key, this)) {
+            DebugManager.log(DebugManager.Category.APPLE, "Apple spawn location " + loc + " was taken in the meantime, searching again");
+            spawnWithName(snakeLocation, snakeYLevel, playerName, regionName);
+            return;
+        }
+        this.cellKey = key;
 
-                        loc.setX(loc.getBlockX() + 0.5);
-                        loc.setZ(loc.getBlockZ() + 0.5);
-                        Location adjustedLocation = loc.clone().subtract(0, 1.4, 0);
-                        this.armorStand = spawnArmorStand(adjustedLocation);
+        loc.setX(loc.getBlockX() + 0.5);
+        loc.setZ(loc.getBlockZ() + 0.5);
+        Location adjustedLocation = loc.clone().subtract(0, 1.4, 0);
+        this.arenaName = regionName;
+        this.armorStand = gameManager.getApplePool().acquire(regionName, adjustedLocation);
 
-                        DyeColor sheepColor = PlayerData.getInstance().getSheepColor(Objects.requireNonNull(player));
-                        NamedTextColor color = convertDyeColorToTextColor(sheepColor);
-                        Component customName = Component.text(playerName + "'s apple").color(color);
-                        armorStand.customName(customName);
-                        armorStand.setCustomNameVisible(true);
+        DyeColor sheepColor = PlayerData.getInstance().getSheepColor(Objects.requireNonNull(player));
+        NamedTextColor color = convertDyeColorToTextColor(sheepColor);
+        Component customName = Component.text(playerName + "'s apple").color(color);
+        armorStand.customName(customName);
+        armorStand.setCustomNameVisible(true);
 
-                        DebugManager.log(DebugManager.Category.APPLE, "Apple named after player: " + playerName);
-                    }));
-                }
-            }
-        }
+        DebugManager.log(DebugManager.Category.APPLE, "Apple named after player: " + playerName);
     }
 
     /**
@@ -208,18 +246,21 @@ public class Apple {
     }
 
     /**
-     * Clears the ArmorStand representing the apple.
+     * Clears the apple, handing its ArmorStand back to the apple pool.
      */
     public void clear() {
         if (this.armorStand != null) {
-            armorStand.remove();
-            DebugManager.log(DebugManager.Category.APPLE, "Apple ArmorStand cleared at " + (this.armorStand != null ? this.armorStand.getLocation() : "unknown location"));
+            gameManager.getAppleCollectionManager().getCellIndex(arenaName).remove(cellKey, this);
+            gameManager.getApplePool().release(arenaName, armorStand);
+            DebugManager.log(DebugManager.Category.APPLE, "Apple ArmorStand cleared at " + this.armorStand.getLocation());
             this.armorStand = null;
         }
     }
 
     /**
      * Gets a random location within a specified game zone.
+     * If the arena has a compiled descriptor for this Y-level, the location is picked from its valid spawn cells,
+     * otherwise any location within the bounds of the WorldGuard region is picked.
      *
      * @param world        The world in which the game zone is located.
      * @param yLevel       The Y-level for the location.
@@ -227,22 +268,20 @@ public class Apple {
      * @return A random Location within the game zone, or null if region not found.
      */
     private Location getRandomLocationWithinGameZone(World world, int yLevel, String gameZoneName) {
-        WGHelpers wgHelpers = WGHelpers.getInstance();
-        String boundaries = wgHelpers.getBoundariesOfRegion(world.getName(), gameZoneName);
-
-        if (boundaries != null && !boundaries.isEmpty()) {
-            String[] parts = boundaries.split(" - ");
-            String[] minCoords = parts[0].substring(parts[0].indexOf('(') + 1, parts[0].indexOf(')')).split(", ");
-            String[] maxCoords = parts[1].substring(parts[1].indexOf('(') + 1, parts[1].indexOf(')')).split(", ");
+        ArenaDescriptor arena = ArenaCache.getInstance().get(gameZoneName);
+        if (arena != null && arena.getFloorY() == yLevel) {
+            Location location = arena.getRandomSpawnLocation(world, new Random());
+            DebugManager.log(DebugManager.Category.APPLE, "Picked apple spawn cell from arena descriptor at " + location);
+            return location;
+        }
 
-            int minX = Integer.parseInt(minCoords[0]);
-            int maxX = Integer.parseInt(maxCoords[0]);
-            int minZ = Integer.parseInt(minCoords[2]);
-            int maxZ = Integer.parseInt(maxCoords[2]);
+        WGHelpers wgHelpers = WGHelpers.getInstance();
+        RegionBounds boundaries = wgHelpers.getBoundariesOfRegion(world.getName(), gameZoneName);
 
+        if (boundaries != null) {
             Random random = new Random();
-            int x = random.nextInt(maxX - minX + 1) + minX;
-            int z = random.nextInt(maxZ - minZ + 1) + minZ;
+            int x = random.nextInt(boundaries.maxX() - boundaries.minX() + 1) + boundaries.minX();
+            int z = random.nextInt(boundaries.maxZ() - boundaries.minZ() + 1) + boundaries.minZ();
 
             Location location = new Location(world, x, yLevel, z);
             DebugManager.log(DebugManager.Category.APPLE, "Generated random apple spawn location at " + location);
@@ -0,0 +1,166 @@
+package com.slimer.Game;
+
+import java.util.Arrays;
+
+/**
+ * Maps the block columns of one arena to the apple placed in them, so finding the apple under a snake's head is a
+ * single lookup instead of a scan over all apples and their locations. Columns are packed into a long key and kept in
+ * an open-addressing table of primitive keys, so lookups allocate nothing.
+ * <p>
+ * Apples are placed from spawn callbacks and looked up while capturing game sessions, which on a region-threaded
+ * server can happen on different threads, so all access is synchronized. The modification count lets callers skip
+ * lookups as long as neither the head's column nor the index has changed.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+final class AppleCellIndex {
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 16;
+    private long[] keys = newKeys(INITIAL_CAPACITY);
+    private Apple[] apples = new Apple[INITIAL_CAPACITY];
+    private int size;
+    private volatile int modCount;
+
+    /**
+     * Packs a block column into an index key.
+     *
+     * @param blockX The X coordinate of the block.
+     * @param blockZ The Z coordinate of the block.
+     * @return The key of the column.
+     */
+    static long key(int blockX, int blockZ) {
+        return ((long) blockX << 32) | (blockZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Places an apple in a column, unless another apple is already there.
+     *
+     * @param key   The key of the column.
+     * @param apple The apple.
+     * @return True if the apple was placed, false if the column is taken.
+     */
+    synchronized boolean putIfAbsent(long key, Apple apple) {
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        int slot = findSlot(keys, key);
+        if (keys[slot] == key) {
+            return false;
+        }
+        keys[slot] = key;
+        apples[slot] = apple;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Retrieves the apple in a column.
+     *
+     * @param key The key of the column.
+     * @return The apple in the column, or null if there is none.
+     */
+    synchronized Apple get(long key) {
+        int slot = findSlot(keys, key);
+        return keys[slot] == key ? apples[slot] : null;
+    }
+
+    /**
+     * Removes an apple from a column, if it is still the apple placed there.
+     *
+     * @param key   The key of the column.
+     * @param apple The apple.
+     */
+    synchronized void remove(long key, Apple apple) {
+        int slot = findSlot(keys, key);
+        if (keys[slot] != key || apples[slot] != apple) {
+            return;
+        }
+
+        // Shift the following entries of the probe sequence back, so no lookup runs into a gap
+        int mask = keys.length - 1;
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                apples[gap] = apples[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+        apples[gap] = null;
+        size--;
+        modCount++;
+    }
+
+    /**
+     * @return The number of times apples have been placed in or removed from the index.
+     */
+    int getModCount() {
+        return modCount;
+    }
+
+    /**
+     * Finds the slot holding a key, or the empty slot where it would be inserted.
+     *
+     * @param table The key table to search.
+     * @param key   The key.
+     * @return The index of the slot.
+     */
+    private static int findSlot(long[] table, long key) {
+        int mask = table.length - 1;
+        int slot = hash(key) & mask;
+        while (table[slot] != EMPTY && table[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Spreads the bits of a key over an int, so neighbouring columns do not probe into each other.
+     * Package-private so tests can build colliding probe sequences.
+     *
+     * @param key The key.
+     * @return The hash of the key.
+     */
+    static int hash(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    /**
+     * Moves all entries into tables of a new capacity.
+     *
+     * @param capacity The new capacity, a power of two.
+     */
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Apple[] oldApples = apples;
+        keys = newKeys(capacity);
+        apples = new Apple[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = findSlot(keys, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                apples[slot] = oldApples[i];
+            }
+        }
+    }
+
+    /**
+     * Creates a key table with every slot empty.
+     *
+     * @param capacity The capacity of the table.
+     * @return The key table.
+     */
+    private static long[] newKeys(int capacity) {
+        long[] table = new long[capacity];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+}
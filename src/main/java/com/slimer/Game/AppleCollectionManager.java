@@ -10,69 +10,155 @@ import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages the apple collection process for the player's snake in the Snake game.
  * This class monitors and handles apple collection, collision detection, and related actions.
  * <p>
+ * Every arena keeps its apples in an {@link AppleCellIndex} by block column. A snake's head is only looked up in it
+ * when the head has entered another column or an apple has been placed or removed since the last lookup.
+ * <p>
+ * New apples are only spawned when apples are eaten or a spawn search fails, never by polling. The apple list of a
+ * player holds every apple that is placed or still being placed, so topping it up to the maximum never spawns too
+ * many or too few. A failed search is retried for the same apple with a growing delay, so an arena without a free
+ * spot is not searched every tick.
+ * <p>
  * Last updated: V2.1.0
  * @author Slimerblue22
  */
 public class AppleCollectionManager {
+    private static final long BASE_RETRY_DELAY_TICKS = 10L;
+    private static final long MAX_RETRY_DELAY_TICKS = 200L;
     private final GameManager gameManager;
+    private final JavaPlugin plugin;
+    private final Map<String, AppleCellIndex> cellIndexes = new ConcurrentHashMap<>();
+    private final Map<Player, HeadCell> headCells = new ConcurrentHashMap<>();
 
-    public AppleCollectionManager(GameManager gameManager) {
+    /**
+     * Constructs a new AppleCollectionManager.
+     *
+     * @param gameManager The GameManager instance managing the games.
+     * @param plugin      The JavaPlugin instance for accessing game configurations.
+     */
+    public AppleCollectionManager(GameManager gameManager, JavaPlugin plugin) {
         this.gameManager = gameManager;
+        this.plugin = plugin;
     }
 
     /**
-     * Monitors and manages the apple collection process for the player's snake.
+     * Computes the apple collection of a player's snake for one tick from a snapshot of its session.
+     * If the snake's head is on an apple, a mutation collecting the eaten apple and spawning a new one is added to
+     * the list of mutations, followed by a level-up sound. Otherwise nothing is added.
      *
-     * @param sheepEntity The entity representing the snake's head.
-     * @param player      The player controlling the snake.
-     * @param plugin      The JavaPlugin instance for accessing game configurations.
+     * @param snapshot  The snapshot of the player's session.
+     * @param mutations The list the resulting world mutations are added to.
      */
-    public void checkAndCollectApple(Entity sheepEntity, Player player, JavaPlugin plugin) {
-        List<Apple> applesToHandle = detectAppleCollision(sheepEntity, player);
-        handleCollidedApplesAndActions(applesToHandle, player);
-        spawnNewApples(sheepEntity, player, plugin);
+    void computeCollection(SessionSnapshot snapshot, List<WorldMutation> mutations) {
+        if (snapshot.appleAtHead == null) {
+            return;
+        }
+        DebugManager.log(DebugManager.Category.APPLE_COLLECTION, "Detected apple collision for player: " + snapshot.player.getName() + " at location: " + snapshot.headLocation);
+        mutations.add(new WorldMutation.CollectApples(this, snapshot.head, snapshot.player, List.of(snapshot.appleAtHead)));
+        mutations.add(new WorldMutation.PlaySound(snapshot.player, Sound.ENTITY_PLAYER_LEVELUP));  // Level-up sound
     }
 
     /**
-     * Detects collisions between the snake's head and apples.
+     * Finds the player's apple in the block column of the snake's head. The index of the arena is only consulted if
+     * the head has moved to another column or the index has changed since the last call for the player.
+     * The column is only remembered when it holds none of the player's apples, so an apple found here is looked up
+     * again on the next call if the tick ends up not collecting it, for example because the game ended first.
+     * Must be called on the thread owning the arena.
      *
-     * @param sheepEntity The entity representing the snake's head.
-     * @param player      The player controlling the snake.
-     * @return List of collided apples.
+     * @param player       The player controlling the snake.
+     * @param arenaName    The name of the game region the game is played in.
+     * @param headLocation The location of the snake's head.
+     * @return The player's apple under the head, or null if there is none or nothing has changed since the last call.
      */
-    private List<Apple> detectAppleCollision(Entity sheepEntity, Player player) {
-        List<Apple> collidedApples = new ArrayList<>();
-        List<Apple> apples = gameManager.getPlayerApples().getOrDefault(player, new ArrayList<>());
+    Apple findAppleAtHead(Player player, String arenaName, Location headLocation) {
+        if (arenaName == null) {
+            return null;
+        }
+        AppleCellIndex index = getCellIndex(arenaName);
+        long cell = AppleCellIndex.key(headLocation.getBlockX(), headLocation.getBlockZ());
+        int modCount = index.getModCount();
+        HeadCell headCell = headCells.computeIfAbsent(player, k -> new HeadCell());
+        if (headCell.cell == cell && headCell.modCount == modCount) {
+            return null;
+        }
 
-        for (Apple apple : apples) {
-            if (isAppleCollisionDetected(apple, sheepEntity)) {
-                DebugManager.log(DebugManager.Category.APPLE_COLLECTION, "Detected apple collision for player: " + player.getName() + " at location: " + apple.getLocation());
-                collidedApples.add(apple);
-            }
+        Apple apple = index.get(cell);
+        List<Apple> playerApples = gameManager.getPlayerApples().get(player);
+        if (apple != null && playerApples != null && playerApples.contains(apple)) {
+            return apple;
         }
+        headCell.cell = cell;
+        headCell.modCount = modCount;
+        return null;
+    }
 
-        return collidedApples;
+    /**
+     * Retrieves the apple index of an arena, creating it if the arena has none yet.
+     *
+     * @param arenaName The name of the game region.
+     * @return The apple index of the arena.
+     */
+    AppleCellIndex getCellIndex(String arenaName) {
+        return cellIndexes.computeIfAbsent(arenaName, k -> new AppleCellIndex());
     }
 
     /**
-     * Checks if a collision has occurred between an apple and the snake's head.
+     * Forgets the head column last looked up for a player whose game has ended.
+     *
+     * @param player The player.
+     */
+    void clearPlayer(Player player) {
+        headCells.remove(player);
+    }
+
+    /**
+     * Removes the apples a snake has eaten and performs all related actions, then spawns new apples.
+     * Must be called on the thread owning the arena.
      *
-     * @param apple       The apple entity.
      * @param sheepEntity The entity representing the snake's head.
-     * @return true if a collision is detected, false otherwise.
+     * @param player      The player controlling the snake.
+     * @param eatenApples The apples the snake's head is on.
+     */
+    void collectApples(Entity sheepEntity, Player player, List<Apple> eatenApples) {
+        handleCollidedApplesAndActions(eatenApples, player);
+        spawnNewApples(sheepEntity.getLocation(), player);
+    }
+
+    /**
+     * Retries the spawn of an apple whose search found no location, after a delay doubling with every failed
+     * search of the apple. The apple stays in the player's apple list meanwhile, so it is not replaced by another.
+     * Nothing is retried once the apple no longer belongs to a running game. Must be called on the thread owning
+     * the arena.
+     *
+     * @param player The player the apple belongs to.
+     * @param apple  The apple whose search failed.
      */
-    private boolean isAppleCollisionDetected(Apple apple, Entity sheepEntity) {
-        Location appleLocation = apple.getLocation();
-        Location sheepLocation = sheepEntity.getLocation();
+    void onSpawnFailed(Player player, Apple apple) {
+        List<Apple> apples = gameManager.getPlayerApples().get(player);
+        SnakeCreation snake = gameManager.getSnakeForPlayer(player);
+        if (apples == null || !apples.contains(apple) || snake == null) {
+            return;
+        }
 
-        return appleLocation != null &&
-                appleLocation.getBlockX() == sheepLocation.getBlockX() &&
-                appleLocation.getBlockZ() == sheepLocation.getBlockZ();
+        int failures = apple.recordFailedSearch();
+        long delayTicks = Math.min(MAX_RETRY_DELAY_TICKS, BASE_RETRY_DELAY_TICKS << Math.min(failures - 1, 16));
+        DebugManager.log(DebugManager.Category.APPLE_COLLECTION, "Apple search failed " + failures + " times for player: " + player.getName() + ", retrying in " + delayTicks + " ticks");
+        Location headLocation = snake.getSheepEntity().getLocation();
+        ((Main) plugin).getTaskScheduler().runAtLocationLater(headLocation, () -> {
+            SnakeCreation currentSnake = gameManager.getSnakeForPlayer(player);
+            List<Apple> currentApples = gameManager.getPlayerApples().get(player);
+            if (currentSnake == null || currentApples == null || !currentApples.contains(apple)) {
+                return;
+            }
+            Location location = currentSnake.getSheepEntity().getLocation();
+            apple.spawnWithName(location, location.getBlockY(), player.getName(), gameManager.getGameRegionForPlayer(player));
+        }, delayTicks);
     }
 
     /**
@@ -89,7 +175,6 @@ public class AppleCollectionManager {
             apple.clear();  // Remove apple
             gameManager.updatePlayerScore(player);  // Update score
             gameManager.addSnakeSegment(player);  // Add snake segment
-            player.playSound(player.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, 1.0F, 1.0F);  // Level-up sound
 
             apples.remove(apple);  // Remove apple from list
         }
@@ -98,13 +183,12 @@ public class AppleCollectionManager {
     }
 
     /**
-     * Spawns new apples based on the number of apples collected.
+     * Spawns as many new apples as the player is short of. Apples still being placed count as present.
      *
-     * @param sheepEntity The entity representing the snake's head.
-     * @param player      The player controlling the snake.
-     * @param plugin      The JavaPlugin instance for accessing game configurations.
+     * @param snakeLocation The location of the snake's head.
+     * @param player        The player controlling the snake.
      */
-    private void spawnNewApples(Entity sheepEntity, Player player, JavaPlugin plugin) {
+    void spawnNewApples(Location snakeLocation, Player player) {
         Main mainPlugin = (Main) plugin;
         int maxApples = mainPlugin.getMaxApplesPerGame();
         List<Apple> apples = gameManager.getPlayerApples().getOrDefault(player, new ArrayList<>());
@@ -114,11 +198,18 @@ public class AppleCollectionManager {
         for (int i = 0; i < applesToSpawn; i++) {
             DebugManager.log(DebugManager.Category.APPLE_COLLECTION, "Attempting to spawn " + applesToSpawn + " new apples for player: " + player.getName());
             Apple newApple = new Apple(plugin, gameManager);
-            newApple.spawnWithName(sheepEntity.getLocation(), sheepEntity.getLocation().getBlockY(), player.getName());
-
-            apples.add(newApple);  // Add new apple to list
+            apples.add(newApple);  // Add new apple to list before spawning, so a failed search finds it
+            newApple.spawnWithName(snakeLocation, snakeLocation.getBlockY(), player.getName(), gameManager.getGameRegionForPlayer(player));
         }
 
         gameManager.getPlayerApples().put(player, apples);  // Update apple list
     }
+
+    /**
+     * The block column of a snake's head at its last apple lookup, with the modification count the index had then.
+     */
+    private static final class HeadCell {
+        private long cell = Long.MIN_VALUE;
+        private int modCount = -1;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.slimer.Game;
+
+import com.destroystokyo.paper.profile.PlayerProfile;
+import com.slimer.Main.Main;
+import com.slimer.Util.DebugManager;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.ArmorStand;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.SkullMeta;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Keeps the armor stands showing apples around once their apple has been eaten, so the next apple spawned in the same
+ * arena can reuse one by moving it instead of spawning a new entity. Idle stands stay where they were, with their
+ * head taken off and their name hidden, and are discarded if their chunk has unloaded them in the meantime.
+ * <p>
+ * The apple head is built once from the MHF_Apple profile, which is completed on the I/O executor when the pool is
+ * created. Until the lookup has finished, apples wear a head carrying only the profile's name.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public class ApplePool {
+    private static final String APPLE_PROFILE_NAME = "MHF_Apple";
+    private final Map<String, Deque<ArmorStand>> idleStands = new ConcurrentHashMap<>();
+    private final JavaPlugin plugin;
+    private volatile ItemStack appleHead;
+
+    /**
+     * Constructs an ApplePool and starts resolving the apple head profile in the background.
+     *
+     * @param plugin The JavaPlugin instance associated with the game.
+     */
+    public ApplePool(JavaPlugin plugin) {
+        this.plugin = plugin;
+        PlayerProfile profile = Bukkit.createProfile(APPLE_PROFILE_NAME);
+        this.appleHead = createAppleHead(profile);
+        ((Main) plugin).getIoExecutor().run("apple-head:profile", () -> {
+            if (profile.complete(true)) {
+                appleHead = createAppleHead(profile);
+                DebugManager.log(DebugManager.Category.APPLE, "Resolved the apple head profile");
+            } else {
+                DebugManager.log(DebugManager.Category.APPLE, "Failed to resolve the apple head profile, apples keep an unresolved head");
+            }
+        });
+    }
+
+    /**
+     * Builds a player head item showing the given profile.
+     *
+     * @param profile The profile of the head.
+     * @return The head item.
+     */
+    private static ItemStack createAppleHead(PlayerProfile profile) {
+        ItemStack head = new ItemStack(Material.PLAYER_HEAD);
+        SkullMeta meta = (SkullMeta) head.getItemMeta();
+        meta.setPlayerProfile(profile);
+        head.setItemMeta(meta);
+        return head;
+    }
+
+    /**
+     * Takes an idle armor stand of the arena and moves it to the given location, or spawns a new one if the arena has
+     * none left. Must be called on the thread owning the location.
+     *
+     * @param arenaName The name of the game region the apple is in.
+     * @param location  The location of the armor stand.
+     * @return An armor stand wearing the apple head at the location.
+     */
+    ArmorStand acquire(String arenaName, Location location) {
+        Deque<ArmorStand> idle = idleStands.get(arenaName);
+        ArmorStand armorStand;
+        while (idle != null && (armorStand = idle.pollFirst()) != null) {
+            if (armorStand.isValid() && armorStand.getWorld().equals(location.getWorld())) {
+                armorStand.teleport(location);
+                armorStand.getEquipment().setHelmet(appleHead.clone());
+                DebugManager.log(DebugManager.Category.APPLE, "Reused apple ArmorStand in arena " + arenaName + " at " + location);
+                return armorStand;
+            }
+            armorStand.remove();
+        }
+
+        armorStand = location.getWorld().spawn(location, ArmorStand.class, stand -> {
+            stand.setInvisible(true);
+            stand.setGravity(false);
+            stand.setInvulnerable(true);
+            stand.setBasePlate(false);
+            stand.setPersistent(false);
+            stand.getEquipment().setHelmet(appleHead.clone());
+        });
+        DebugManager.log(DebugManager.Category.APPLE, "Apple ArmorStand spawned in arena " + arenaName + " at " + location);
+        return armorStand;
+    }
+
+    /**
+     * Hides an armor stand whose apple is gone and keeps it for the next apple of the arena.
+     * Stands beyond the number of apples the arena can hold at once are removed instead.
+     *
+     * @param arenaName  The name of the game region the apple was in.
+     * @param armorStand The armor stand of the apple.
+     */
+    void release(String arenaName, ArmorStand armorStand) {
+        Main mainPlugin = (Main) plugin;
+        int maxIdle = mainPlugin.getMaxApplesPerGame() * mainPlugin.getMaxPlayersPerGame();
+        Deque<ArmorStand> idle = idleStands.computeIfAbsent(arenaName, k -> new ConcurrentLinkedDeque<>());
+        if (!armorStand.isValid() || idle.size() >= maxIdle) {
+            armorStand.remove();
+            return;
+        }
+
+        armorStand.getEquipment().setHelmet(null);
+        armorStand.setCustomNameVisible(false);
+        armorStand.customName(null);
+        idle.addFirst(armorStand);
+    }
+
+    /**
+     * Removes all idle armor stands. Typically used during server shutdown, after all apples have been released.
+     */
+    public void clear() {
+        for (Deque<ArmorStand> idle : idleStands.values()) {
+            for (ArmorStand armorStand : idle) {
+                armorStand.remove();
+            }
+        }
+        idleStands.clear();
+    }
+}
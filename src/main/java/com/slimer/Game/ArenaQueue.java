@@ -0,0 +1,429 @@
+package com.slimer.Game;
+
+import com.slimer.Main.Main;
+import com.slimer.Region.ArenaChunkLoader;
+import com.slimer.Region.ArenaInstanceManager;
+import com.slimer.Region.RegionHelpers;
+import com.slimer.Region.RegionRegistry;
+import com.slimer.Util.DebugManager;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Assigns players in a lobby to the game regions linked to it and queues them when every arena is full.
+ * A player joining a lobby is sent to the least occupied arena of its pool that still has room, so that players
+ * are spread evenly across all arenas. If none has room, the player is added to the lobby's first-in, first-out
+ * queue and is started automatically as soon as an arena of the pool frees up. For a lobby served by the
+ * {@link ArenaInstanceManager}, a new arena instance is created instead whenever the limit allows.
+ * <p>
+ * Games are started in steps: the player's place in the arena is reserved at once, the {@link ArenaChunkLoader}
+ * loads the arena's chunks asynchronously, the player is teleported asynchronously, and the game starts once the
+ * teleport has completed. The chunks stay ticketed until the arena goes idle.
+ * <p>
+ * Commands, quit events, chunk loads and teleports complete on different threads on region-threaded servers, so all
+ * queue state is guarded by the queue's lock. The {@link ArenaInstanceManager} shares that lock, so instances are never
+ * retired while a place in them is being reserved.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public class ArenaQueue implements Listener {
+    private final Map<String, Deque<Player>> queues = new HashMap<>();
+    private final Map<Player, String> queuedLobbies = new HashMap<>();
+    private final Map<String, Integer> pendingStarts = new HashMap<>();
+    private final Set<Player> startingPlayers = new HashSet<>();
+    private final GameManager gameManager;
+    private final JavaPlugin plugin;
+    private final ArenaChunkLoader chunkLoader;
+
+    /**
+     * Constructs a new ArenaQueue.
+     *
+     * @param gameManager The GameManager instance used to start games and read arena occupancy.
+     * @param plugin      The JavaPlugin instance used for configuration and scheduling.
+     */
+    public ArenaQueue(GameManager gameManager, JavaPlugin plugin) {
+        this.gameManager = gameManager;
+        this.plugin = plugin;
+        this.chunkLoader = new ArenaChunkLoader(plugin);
+    }
+
+    /**
+     * Starts a game for the player in the least occupied arena linked to the lobby, or queues the player if every
+     * arena of the lobby is full.
+     *
+     * @param player    The player joining.
+     * @param lobbyName The name of the lobby region the player is in.
+     * @return true if the player was started or queued, false if the lobby has no playable arena.
+     */
+    public synchronized boolean join(Player player, String lobbyName) {
+        if (startingPlayers.contains(player)) {
+            player.sendMessage(Component.text("Your game is already starting.", NamedTextColor.RED));
+            return false;
+        }
+        String queuedLobby = queuedLobbies.get(player);
+        if (queuedLobby != null) {
+            player.sendMessage(Component.text("You are already in the queue at position " + getPosition(player, queuedLobby) + ".", NamedTextColor.RED));
+            return false;
+        }
+
+        if (!hasPlayableArena(lobbyName)) {
+            player.sendMessage(Component.text("Could not find the teleport location for the game or lobby region.", NamedTextColor.RED));
+            return false;
+        }
+
+        if (startOrProvision(player, lobbyName)) {
+            return true;
+        }
+
+        Deque<Player> queue = queues.computeIfAbsent(lobbyName, lobby -> new ArrayDeque<>());
+        queue.addLast(player);
+        queuedLobbies.put(player, lobbyName);
+        DebugManager.log(DebugManager.Category.GAME_MANAGER, "Queued player " + player.getName() + " for lobby " + lobbyName + " at position " + queue.size());
+        player.sendMessage(Component.text("All arenas are full. You are in the queue at position " + queue.size() + ", use /snakegame stop to leave it.", NamedTextColor.YELLOW));
+        return true;
+    }
+
+    /**
+     * Removes the player from the queue they are waiting in, or cancels their game if it is still starting.
+     * The reserved place of a starting player is given up once their arena has loaded.
+     *
+     * @param player The player leaving the queue.
+     * @return true if the player was queued or starting, false otherwise.
+     */
+    public synchronized boolean leave(Player player) {
+        if (startingPlayers.remove(player)) {
+            return true;
+        }
+        String lobbyName = queuedLobbies.remove(player);
+        if (lobbyName == null) {
+            return false;
+        }
+        Deque<Player> queue = queues.get(lobbyName);
+        queue.remove(player);
+        if (queue.isEmpty()) {
+            queues.remove(lobbyName);
+        } else {
+            notifyPositions(queue);
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves the number of players playing in an arena or about to start in it.
+     *
+     * @param gameRegion The name of the game region.
+     * @return The number of players in the arena, including reserved places.
+     */
+    public synchronized int getOccupancy(String gameRegion) {
+        return gameManager.getArenaOccupancy(gameRegion) + pendingStarts.getOrDefault(gameRegion, 0);
+    }
+
+    /**
+     * Checks if the player is waiting in a queue.
+     *
+     * @param player The player to check.
+     * @return true if the player is queued, false otherwise.
+     */
+    public synchronized boolean isQueued(Player player) {
+        return queuedLobbies.containsKey(player);
+    }
+
+    /**
+     * Starts queued players of the lobby the given arena belongs to on the next tick, after the game that freed the
+     * arena has been fully cleaned up. If the arena is still idle afterwards, its chunk tickets are released.
+     * Idle arena instances are returned to the warm pool.
+     *
+     * @param gameRegion The name of the game region a player has left.
+     */
+    public void onArenaFreed(String gameRegion) {
+        if (!plugin.isEnabled()) {
+            return;
+        }
+        RegionRegistry.RegionEntry entry = RegionHelpers.getInstance().getRegistry().get(gameRegion);
+        String lobbyName = entry != null ? entry.linkedRegion() : null;
+        ((Main) plugin).getTaskScheduler().runGlobal(() -> {
+            if (lobbyName != null) {
+                drain(lobbyName);
+            }
+            releaseIfIdle(gameRegion);
+        });
+        ArenaInstanceManager.getInstance().maintainPool();
+    }
+
+    /**
+     * Clears every queue and releases the chunk tickets of every arena. Used when all games are stopped.
+     */
+    public synchronized void clear() {
+        queues.clear();
+        queuedLobbies.clear();
+        pendingStarts.clear();
+        startingPlayers.clear();
+        chunkLoader.releaseAll();
+    }
+
+    /**
+     * Removes a player from the queue when they leave the server.
+     *
+     * @param event The PlayerQuitEvent object containing event data.
+     */
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        leave(event.getPlayer());
+    }
+
+    /**
+     * Starts players from the front of a lobby's queue for as long as its arenas have room, then tells the players
+     * still waiting their new position.
+     *
+     * @param lobbyName The name of the lobby region.
+     */
+    private synchronized void drain(String lobbyName) {
+        Deque<Player> queue = queues.get(lobbyName);
+        if (queue == null) {
+            return;
+        }
+
+        boolean started = false;
+        Iterator<Player> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            Player player = iterator.next();
+            if (!player.isOnline() || gameManager.getSnakeForPlayer(player) != null) {
+                iterator.remove();
+                queuedLobbies.remove(player);
+                continue;
+            }
+            if (!startOrProvision(player, lobbyName)) {
+                break;
+            }
+            iterator.remove();
+            queuedLobbies.remove(player);
+            started = true;
+        }
+
+        if (queue.isEmpty()) {
+            queues.remove(lobbyName);
+        } else if (started) {
+            notifyPositions(queue);
+        }
+    }
+
+    /**
+     * Starts a game for the player in an arena of the lobby's pool, creating a new arena instance if every arena is
+     * full and the lobby is served by the {@link ArenaInstanceManager}.
+     *
+     * @param player    The player to start.
+     * @param lobbyName The name of the lobby region.
+     * @return true if the game was started, false if no arena has room and no instance could be created.
+     */
+    private boolean startOrProvision(Player player, String lobbyName) {
+        return tryStart(player, lobbyName)
+                || (ArenaInstanceManager.getInstance().provision(lobbyName) && tryStart(player, lobbyName));
+    }
+
+    /**
+     * Reserves a place for the player in the least occupied arena of the lobby's pool that still has room, then
+     * starts the game once the arena's chunks have been loaded asynchronously. Places reserved by players whose
+     * arena is still loading count towards the arena's occupancy.
+     *
+     * @param player    The player to start.
+     * @param lobbyName The name of the lobby region.
+     * @return true if a place was reserved, false if every arena of the pool is full or unplayable.
+     */
+    private synchronized boolean tryStart(Player player, String lobbyName) {
+        RegionHelpers regionHelpers = RegionHelpers.getInstance();
+        int maxPlayersPerGame = ((Main) plugin).getMaxPlayersPerGame();
+
+        String bestRegion = null;
+        int bestOccupancy = maxPlayersPerGame;
+        for (String gameRegion : regionHelpers.getLinkedGameRegions(lobbyName)) {
+            int occupancy = getOccupancy(gameRegion);
+            if (occupancy < bestOccupancy && getTeleportLocation(gameRegion) != null) {
+                bestRegion = gameRegion;
+                bestOccupancy = occupancy;
+            }
+        }
+
+        if (bestRegion == null || getTeleportLocation(lobbyName) == null) {
+            return false;
+        }
+
+        String gameRegion = bestRegion;
+        pendingStarts.merge(gameRegion, 1, Integer::sum);
+        startingPlayers.add(player);
+        ArenaInstanceManager.getInstance().maintainPool();
+        chunkLoader.load(gameRegion).thenRun(() -> completeStart(player, lobbyName, gameRegion));
+        return true;
+    }
+
+    /**
+     * Teleports a player whose arena has finished loading into it asynchronously, unless the player has left or gone
+     * offline in the meantime, or the arena or lobby lost its teleport location.
+     *
+     * @param player     The player to start.
+     * @param lobbyName  The name of the lobby region the player joined from.
+     * @param gameRegion The name of the game region reserved for the player.
+     */
+    private synchronized void completeStart(Player player, String lobbyName, String gameRegion) {
+        Location gameTeleportLocation = getTeleportLocation(gameRegion);
+        Location lobbyTeleportLocation = getTeleportLocation(lobbyName);
+        if (!startingPlayers.contains(player) || !player.isOnline() || gameManager.getSnakeForPlayer(player) != null) {
+            cancelStart(player, gameRegion);
+            return;
+        }
+        if (gameTeleportLocation == null || lobbyTeleportLocation == null) {
+            player.sendMessage(Component.text("Could not find the teleport location for the game or lobby region.", NamedTextColor.RED));
+            cancelStart(player, gameRegion);
+            return;
+        }
+
+        player.teleportAsync(gameTeleportLocation).thenAccept(teleported ->
+                finishStart(player, teleported, gameTeleportLocation, lobbyTeleportLocation, gameRegion));
+    }
+
+    /**
+     * Starts the game of a player whose teleport into the arena has completed, unless the teleport failed or the
+     * player has left in the meantime. The start is claimed while holding the queue's lock, but the game is set up
+     * outside of it, so spawning the snake on the thread owning the player never blocks the queue. The reservation
+     * is only given up once the game counts towards the arena's occupancy, so no other player can take the place in
+     * between.
+     *
+     * @param player                The player to start.
+     * @param teleported            Whether the teleport into the arena succeeded.
+     * @param gameTeleportLocation  The teleport location of the arena.
+     * @param lobbyTeleportLocation The teleport location of the lobby.
+     * @param gameRegion            The name of the game region reserved for the player.
+     */
+    private void finishStart(Player player, boolean teleported, Location gameTeleportLocation, Location lobbyTeleportLocation, String gameRegion) {
+        synchronized (this) {
+            if (!teleported || !player.isOnline()) {
+                cancelStart(player, gameRegion);
+                return;
+            }
+            if (!startingPlayers.contains(player) || gameManager.getSnakeForPlayer(player) != null) {
+                cancelStart(player, gameRegion);
+                player.teleportAsync(lobbyTeleportLocation);
+                return;
+            }
+        }
+        try {
+            gameManager.startGame(player, gameTeleportLocation, lobbyTeleportLocation, gameRegion);
+        } finally {
+            endReservation(player, gameRegion);
+        }
+        player.sendMessage(Component.text("Starting the snake game in " + gameRegion + "... (" + gameManager.getArenaOccupancy(gameRegion) + "/" + ((Main) plugin).getMaxPlayersPerGame() + " players)", NamedTextColor.GREEN));
+    }
+
+    /**
+     * Gives up the place reserved for a player whose game is not going to start, releasing the arena's chunk
+     * tickets if it is idle.
+     *
+     * @param player     The player whose start is cancelled.
+     * @param gameRegion The name of the game region reserved for the player.
+     */
+    private synchronized void cancelStart(Player player, String gameRegion) {
+        endReservation(player, gameRegion);
+        releaseIfIdle(gameRegion);
+    }
+
+    /**
+     * Removes the place reserved for a player in an arena.
+     *
+     * @param player     The player whose reservation ends.
+     * @param gameRegion The name of the game region reserved for the player.
+     */
+    private synchronized void endReservation(Player player, String gameRegion) {
+        pendingStarts.computeIfPresent(gameRegion, (region, count) -> count > 1 ? count - 1 : null);
+        startingPlayers.remove(player);
+    }
+
+    /**
+     * Releases the chunk tickets of an arena if nobody is playing in it or about to start in it.
+     *
+     * @param gameRegion The name of the game region.
+     */
+    private synchronized void releaseIfIdle(String gameRegion) {
+        if (getOccupancy(gameRegion) == 0) {
+            chunkLoader.release(gameRegion);
+        }
+    }
+
+    /**
+     * Checks if the lobby and at least one arena of its pool have a teleport location in a loaded world.
+     *
+     * @param lobbyName The name of the lobby region.
+     * @return true if a game can be started from the lobby once an arena has room, false otherwise.
+     */
+    private boolean hasPlayableArena(String lobbyName) {
+        if (getTeleportLocation(lobbyName) == null) {
+            return false;
+        }
+        for (String gameRegion : RegionHelpers.getInstance().getLinkedGameRegions(lobbyName)) {
+            if (getTeleportLocation(gameRegion) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retrieves the teleport location of a region.
+     *
+     * @param regionName The name of the region.
+     * @return The teleport location, or null if it is not set or the region's world is not loaded.
+     */
+    private Location getTeleportLocation(String regionName) {
+        RegionRegistry.RegionEntry entry = RegionHelpers.getInstance().getRegistry().get(regionName);
+        if (entry == null) {
+            return null;
+        }
+        World world = entry.getWorld();
+        return world != null ? entry.getTeleportLocation(world) : null;
+    }
+
+    /**
+     * Retrieves the position of a player in a lobby's queue.
+     *
+     * @param player    The queued player.
+     * @param lobbyName The name of the lobby region the player is queued for.
+     * @return The 1-based position of the player.
+     */
+    private synchronized int getPosition(Player player, String lobbyName) {
+        int position = 1;
+        for (Player queued : queues.get(lobbyName)) {
+            if (queued.equals(player)) {
+                break;
+            }
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Tells every player in a queue their current position.
+     *
+     * @param queue The queue whose players to notify.
+     */
+    private void notifyPositions(Deque<Player> queue) {
+        int position = 1;
+        for (Player player : queue) {
+            player.sendMessage(Component.text("You are now at position " + position++ + " in the queue.", NamedTextColor.YELLOW));
+        }
+    }
+}
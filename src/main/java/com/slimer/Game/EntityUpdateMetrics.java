@@ -0,0 +1,164 @@
+package com.slimer.Game;
+
+import org.bukkit.entity.Entity;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the velocity, rotation and teleport updates the game tick issues to snake entities, the updates it skipped
+ * because the entity already matched, and an estimate of the packets the issued updates cause. Every issued update is
+ * sent to each player tracking the entity. Retrieving the tracking players allocates a set, so they are only counted on
+ * every few updates, and the packet estimate is the sum of those samples scaled by the sampling interval.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public class EntityUpdateMetrics {
+    private static final int PACKET_SAMPLE_INTERVAL = 16;  // Must be a power of two
+    private final LongAdder sessionTicks = new LongAdder();
+    private final LongAdder velocityUpdates = new LongAdder();
+    private final LongAdder rotationUpdates = new LongAdder();
+    private final LongAdder teleports = new LongAdder();
+    private final LongAdder skippedVelocityUpdates = new LongAdder();
+    private final LongAdder skippedRotationUpdates = new LongAdder();
+    private final LongAdder packets = new LongAdder();
+    private final AtomicInteger issuedUpdates = new AtomicInteger();
+
+    /**
+     * Records that the movement of one session has been computed.
+     */
+    void recordSessionTick() {
+        sessionTicks.increment();
+    }
+
+    /**
+     * Records an issued velocity update.
+     *
+     * @param entity The entity the update was issued to.
+     */
+    void recordVelocityUpdate(Entity entity) {
+        velocityUpdates.increment();
+        samplePackets(entity);
+    }
+
+    /**
+     * Records an issued rotation update.
+     *
+     * @param entity The entity the update was issued to.
+     */
+    void recordRotationUpdate(Entity entity) {
+        rotationUpdates.increment();
+        samplePackets(entity);
+    }
+
+    /**
+     * Records an issued teleport.
+     *
+     * @param entity The entity the teleport was issued to.
+     */
+    void recordTeleport(Entity entity) {
+        teleports.increment();
+        samplePackets(entity);
+    }
+
+    /**
+     * Adds the players tracking an entity to the packet estimate, if the update is one of the sampled ones.
+     *
+     * @param entity The entity an update was issued to.
+     */
+    private void samplePackets(Entity entity) {
+        if ((issuedUpdates.getAndIncrement() & (PACKET_SAMPLE_INTERVAL - 1)) == 0) {
+            packets.add((long) entity.getTrackedPlayers().size() * PACKET_SAMPLE_INTERVAL);
+        }
+    }
+
+    /**
+     * Records a velocity update that was skipped because the entity already moved at the computed velocity.
+     */
+    void recordSkippedVelocityUpdate() {
+        skippedVelocityUpdates.increment();
+    }
+
+    /**
+     * Records a rotation update that was skipped because the entity already faced the computed yaw.
+     */
+    void recordSkippedRotationUpdate() {
+        skippedRotationUpdates.increment();
+    }
+
+    /**
+     * Clears all counters.
+     */
+    public void reset() {
+        sessionTicks.reset();
+        velocityUpdates.reset();
+        rotationUpdates.reset();
+        teleports.reset();
+        skippedVelocityUpdates.reset();
+        skippedRotationUpdates.reset();
+        packets.reset();
+        issuedUpdates.set(0);
+    }
+
+    /**
+     * @return The number of session ticks whose movement has been computed.
+     */
+    public long getSessionTicks() {
+        return sessionTicks.sum();
+    }
+
+    /**
+     * @return The number of velocity updates issued.
+     */
+    public long getVelocityUpdates() {
+        return velocityUpdates.sum();
+    }
+
+    /**
+     * @return The number of rotation updates issued.
+     */
+    public long getRotationUpdates() {
+        return rotationUpdates.sum();
+    }
+
+    /**
+     * @return The number of teleports issued.
+     */
+    public long getTeleports() {
+        return teleports.sum();
+    }
+
+    /**
+     * @return The number of velocity updates skipped.
+     */
+    public long getSkippedVelocityUpdates() {
+        return skippedVelocityUpdates.sum();
+    }
+
+    /**
+     * @return The number of rotation updates skipped.
+     */
+    public long getSkippedRotationUpdates() {
+        return skippedRotationUpdates.sum();
+    }
+
+    /**
+     * @return The estimated number of packets sent for the issued updates, extrapolated from the sampled updates.
+     */
+    public long getPackets() {
+        return packets.sum();
+    }
+
+    /**
+     * Averages a counter over the session ticks.
+     *
+     * @param count The counter value.
+     * @return The mean per session tick, or 0 if no session has ticked yet.
+     */
+    public double perSessionTick(long count) {
+        long ticks = getSessionTicks();
+        return ticks == 0 ? 0 : (double) count / ticks;
+    }
+}
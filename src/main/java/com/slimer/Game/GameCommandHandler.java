@@ -3,14 +3,12 @@ package com.slimer.Game;
 import com.slimer.GUI.GuiManager;
 import com.slimer.Main.Main;
 import com.slimer.Region.RegionHelpers;
+import com.slimer.Region.RegionService;
 import com.slimer.Region.WGHelpers;
 import com.slimer.Util.PlayerData;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
-import org.bukkit.Bukkit;
 import org.bukkit.DyeColor;
-import org.bukkit.Location;
-import org.bukkit.World;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -65,6 +63,11 @@ public class GameCommandHandler implements CommandExecutor, TabCompleter {
             return false;
         }
 
+        if (!PlayerData.getInstance().isReady() || !RegionService.getInstance().isReady()) {
+            player.sendMessage(Component.text("Snake is still loading its data. Please try again in a moment.", NamedTextColor.RED));
+            return false;
+        }
+
         // Open the GUI if no arguments provided
         if (args.length == 0) {
             handleGUICommand(player);
@@ -135,7 +138,8 @@ public class GameCommandHandler implements CommandExecutor, TabCompleter {
     }
 
     /**
-     * Handles the "start" subcommand.
+     * Handles the "start" subcommand. The player is sent to the least occupied arena linked to their lobby,
+     * or queued if every arena is full.
      *
      * @param player The player issuing the command.
      * @return true if the game is successfully started, otherwise false.
@@ -153,67 +157,17 @@ public class GameCommandHandler implements CommandExecutor, TabCompleter {
             return false;
         }
 
-        boolean isLinked = regionHelpers.isRegionLinked(currentLobbyRegion);
-        String currentGameRegion = regionHelpers.getLinkedRegion(currentLobbyRegion);
-
-        if (!isLinked || currentGameRegion == null) {
+        if (!regionHelpers.isRegionLinked(currentLobbyRegion) || regionHelpers.getLinkedGameRegions(currentLobbyRegion).isEmpty()) {
             player.sendMessage(Component.text("The lobby you are in is not properly linked to a game region. You cannot start the game.", NamedTextColor.RED));
             return false;
         }
 
-        World gameWorld = regionHelpers.getRegionWorld(currentGameRegion);
-        World lobbyWorld = regionHelpers.getRegionWorld(currentLobbyRegion);
-
-        Location gameTeleportLocation = regionHelpers.getRegionTeleportLocation(currentGameRegion, gameWorld);
-        Location lobbyTeleportLocation = regionHelpers.getRegionTeleportLocation(currentLobbyRegion, lobbyWorld);
-
-        if (gameTeleportLocation == null || lobbyTeleportLocation == null) {
-            player.sendMessage(Component.text("Could not find the teleport location for the game or lobby region.", NamedTextColor.RED));
-            return false;
-        }
-
-        return handleClassicGameStart(player, currentGameRegion, gameTeleportLocation, lobbyTeleportLocation);
-    }
-
-    /**
-     * Handles the initiation of a classic snake game for a player.
-     *
-     * @param player The player for whom to start the game.
-     * @return True if the game was successfully started, false otherwise.
-     */
-    private boolean handleClassicGameStart(Player player, String currentGameRegion, Location gameTeleportLocation, Location lobbyTeleportLocation) {
-        int maxPlayersPerGame = ((Main) plugin).getMaxPlayersPerGame();
-        int playersInGameRegion = countPlayersInGameRegion(currentGameRegion);
-
-        if (playersInGameRegion >= maxPlayersPerGame) {
-            player.sendMessage(Component.text("The game region has reached its maximum number of players (" + maxPlayersPerGame + " players).", NamedTextColor.RED));
+        if (gameManager.getSnakeForPlayer(player) != null) {
+            player.sendMessage(Component.text("You are already in a game.", NamedTextColor.RED));
             return false;
         }
 
-        player.teleport(gameTeleportLocation);
-        gameManager.startGame(player, gameTeleportLocation, lobbyTeleportLocation);
-        player.sendMessage(Component.text("Starting the snake game...", NamedTextColor.GREEN));
-
-        return true;
-    }
-
-    /**
-     * Counts the number of players in the specified game region.
-     *
-     * @param currentGameRegion The name of the game region to count players in.
-     * @return The number of players present in the specified game region.
-     */
-    private int countPlayersInGameRegion(String currentGameRegion) {
-        int playersInGameRegion = 0;
-        for (Player onlinePlayer : Bukkit.getOnlinePlayers()) {
-            Location loc = onlinePlayer.getLocation();
-            if (WGHelpers.getInstance().areCoordinatesInWGRegion(loc.getWorld().getName(), currentGameRegion, loc.getBlockX(), loc.getBlockY(), loc.getBlockZ())) {
-                if (gameManager.getSnakeForPlayer(onlinePlayer) != null) {
-                    playersInGameRegion++;
-                }
-            }
-        }
-        return playersInGameRegion;
+        return gameManager.getArenaQueue().join(player, currentLobbyRegion);
     }
 
     /**
@@ -227,6 +181,9 @@ public class GameCommandHandler implements CommandExecutor, TabCompleter {
             gameManager.stopGame(player, "Manual cancellation!");
             player.sendMessage(Component.text("Stopping the snake game...", NamedTextColor.RED));
             return true;
+        } else if (gameManager.getArenaQueue().leave(player)) {
+            player.sendMessage(Component.text("You have left the queue.", NamedTextColor.RED));
+            return true;
         } else {
             player.sendMessage(Component.text("You are not currently in a game.", NamedTextColor.RED));
             return false;
@@ -304,14 +261,14 @@ public class GameCommandHandler implements CommandExecutor, TabCompleter {
     }
 
     /**
-     * Sends the player's high score to them as a chat message.
+     * Sends the player's high score to them as a chat message, once it has been fetched in the background.
      *
      * @param player The Player whose high score is to be fetched and displayed.
      * @return True, indicating that the command was handled successfully.
      */
     private boolean handleHighScoreCommand(Player player) {
-        int highScore = PlayerData.getInstance().getHighScore(player);
-        player.sendMessage(Component.text("Your high score is: " + highScore, NamedTextColor.GOLD));
+        PlayerData.getInstance().getHighScoreAsync(player).thenAccept(highScore -> runForPlayer(player,
+                () -> player.sendMessage(Component.text("Your high score is: " + highScore, NamedTextColor.GOLD))));
         return true;
     }
 
@@ -338,13 +295,25 @@ public class GameCommandHandler implements CommandExecutor, TabCompleter {
             }
         }
 
-        // Retrieve leaderboard data for the specified page
-        List<Map.Entry<String, Integer>> leaderboard = PlayerData.getInstance().getPaginatedLeaderboard(page);
+        // Retrieve leaderboard data for the specified page in the background
+        int requestedPage = page;
+        PlayerData.getInstance().getPaginatedLeaderboardAsync(requestedPage).thenAccept(leaderboard -> runForPlayer(player,
+                () -> sendLeaderboardPage(player, requestedPage, leaderboard)));
+        return true;
+    }
 
+    /**
+     * Sends a page of the leaderboard to the player as a series of chat messages.
+     *
+     * @param player      The Player to whom the leaderboard will be sent.
+     * @param page        The page number of the entries.
+     * @param leaderboard The entries of the page.
+     */
+    private void sendLeaderboardPage(Player player, int page, List<Map.Entry<String, Integer>> leaderboard) {
         // Inform the player if there's no data for the given page
         if (leaderboard.isEmpty()) {
             player.sendMessage(Component.text("There are no entries for this page.", NamedTextColor.RED));
-            return true;
+            return;
         }
 
         // Send the leaderboard data to the player
@@ -353,7 +322,16 @@ public class GameCommandHandler implements CommandExecutor, TabCompleter {
             Map.Entry<String, Integer> entry = leaderboard.get(i);
             player.sendMessage(Component.text(((page - 1) * 10 + i + 1) + ". " + entry.getKey() + ": " + entry.getValue(), NamedTextColor.GRAY));
         }
-        return true;
+    }
+
+    /**
+     * Hands a task back from an I/O thread to the thread owning the player.
+     *
+     * @param player The player the task acts on.
+     * @param task   The task to run.
+     */
+    private void runForPlayer(Player player, Runnable task) {
+        ((Main) plugin).getTaskScheduler().runAtLocation(player.getLocation(), task);
     }
 
     /**
@@ -3,9 +3,7 @@ package com.slimer.Game;
 import com.slimer.Util.DebugManager;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
-import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -14,8 +12,6 @@ import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.util.Vector;
 
-import java.util.List;
-
 /**
  * Handles conditions that may result in the end of the snake game for a player.
  * This includes wall collisions, snake self-collisions, and player dismounting the snake's head.
@@ -43,35 +39,25 @@ public class GameEndConditionsHandler implements Listener {
         Bukkit.getServer().getPluginManager().registerEvents(this, plugin);
     }
 
-    /**
-     * Runs collision checks for the snake.
-     * If a collision is detected, the game for the player is stopped.
-     */
-    public void runGameEndEventsChecks() {
-        String gameEndReason = getGameEndReason();  // Retrieve the reason for the game's end
-        if (gameEndReason != null) {
-            // If an end condition is met, stop the game for the player and provide the reason
-            gameManager.stopGame(player, gameEndReason);
-        }
-    }
-
     /**
      * Determines the reason for the game's end based on various conditions like wall collisions,
      * block checks, self-collisions, and player dismounting from the snake.
+     * The checks only read the given snapshot and this handler's own state, so sessions can be checked in parallel.
      *
+     * @param snapshot The snapshot of the player's session, after the tick's movement has been computed.
      * @return A string describing the reason for the game's end. If no conditions are met, it returns null.
      */
-    private String getGameEndReason() {
-        if (checkWallCollision()) {
+    String computeGameEndReason(SessionSnapshot snapshot) {
+        if (checkWallCollision(snapshot)) {
             return "Hit a wall!";
         }
-        if (checkSolidBlockBelow()) {
+        if (checkSolidBlockBelow(snapshot)) {
             return "No solid block below!";
         }
-        if (checkSelfCollision()) {
+        if (checkSelfCollision(snapshot)) {
             return "Self-collision detected!";
         }
-        if (checkPlayerDismounted()) {
+        if (checkPlayerDismounted(snapshot)) {
             return "Dismounted from the snake!";
         }
         return null;  // Return null if no game-ending conditions are met
@@ -79,16 +65,23 @@ public class GameEndConditionsHandler implements Listener {
 
     /**
      * Checks for wall collisions by comparing the current and last known locations of the snake's head.
+     * A grid-stepped snake stands still between its steps, so its head is checked for being inside a solid block instead.
      *
+     * @param snapshot The snapshot of the player's session.
      * @return True if a wall collision is detected, false otherwise.
      */
-    private boolean checkWallCollision() {
-        SnakeCreation snake = gameManager.getSnakeForPlayer(player);
-        if (snake == null) {
+    private boolean checkWallCollision(SessionSnapshot snapshot) {
+        Location currentLocation = snapshot.headLocation;
+        if (snapshot.renderer.isGridStepped()) {
+            if (snapshot.blockAtHead.isSolid()) {
+                DebugManager.log(DebugManager.Category.GAME_END_CONDITIONS,
+                        String.format("Wall collision detected for player: %s. Head moved into %s at: %s",
+                                player.getName(), snapshot.blockAtHead, currentLocation));
+                return true;
+            }
             return false;
         }
-        Entity sheepEntity = snake.getSheepEntity();  // The head of the snake
-        Location currentLocation = sheepEntity.getLocation();
+
         double roundTo = 1e-3;  // Round to the third decimal place for comparison
         Location roundedLocation = roundLocation(currentLocation, roundTo);
 
@@ -107,22 +100,15 @@ public class GameEndConditionsHandler implements Listener {
     /**
      * Checks if the block below the snake's head is solid.
      *
+     * @param snapshot The snapshot of the player's session.
      * @return True if the block below is not solid, false otherwise.
      */
-    private boolean checkSolidBlockBelow() {
-        SnakeCreation snake = gameManager.getSnakeForPlayer(player);
-        if (snake == null) {
-            return false;
-        }
-        Entity sheepEntity = snake.getSheepEntity();  // The head of the snake
-        Location currentLocation = sheepEntity.getLocation();
-        Block blockBelow = currentLocation.getWorld().getBlockAt(currentLocation.add(0, -1, 0));
-
+    private boolean checkSolidBlockBelow(SessionSnapshot snapshot) {
         // Log and return true if the block below is not solid
-        if (!blockBelow.getType().isSolid()) {
+        if (!snapshot.blockBelow.isSolid()) {
             DebugManager.log(DebugManager.Category.GAME_END_CONDITIONS,
                     String.format("Solid block check failed for player: %s. Block below is: %s",
-                            player.getName(), blockBelow.getType()));
+                            player.getName(), snapshot.blockBelow));
             return true;
         }
         return false;
@@ -142,26 +128,19 @@ public class GameEndConditionsHandler implements Listener {
      *       segment to the head.</li>
      * </ol>
      *
+     * @param snapshot The snapshot of the player's session.
      * @return True if a self-collision is detected, either through a U-turn or a collision with another segment. False otherwise.
      */
-    private boolean checkSelfCollision() {
-        SnakeCreation snake = gameManager.getSnakeForPlayer(player);
-        if (snake == null) {
-            return false;
-        }
-        Entity sheepEntity = snake.getSheepEntity();  // The head of the snake
-        Vector headLocation = sheepEntity.getLocation().toVector();
-
-        // Get all the segments of the snake
-        List<Entity> segments = gameManager.getSegmentsForPlayer(player);
+    private boolean checkSelfCollision(SessionSnapshot snapshot) {
+        Vector headLocation = snapshot.headLocation.toVector();
 
         // Skip collision checks if there are no segments
-        if (segments.isEmpty()) {
+        if (snapshot.segments.isEmpty()) {
             return false;
         }
 
         // Check for U-turns if the snake has one or more segments
-        if (gameManager.isUTurnDetected(player)) {
+        if (snapshot.uTurnDetected) {
             DebugManager.log(DebugManager.Category.GAME_END_CONDITIONS,
                     String.format("U-turn detected for player: %s", player.getName()));
             gameManager.resetUTurnStatus(player);  // Reset U-turn status
@@ -169,13 +148,12 @@ public class GameEndConditionsHandler implements Listener {
         }
 
         // Check for collisions between the head and the other segments (skipping the first one)
-        for (int i = 1; i < segments.size(); i++) {
-            Entity segment = segments.get(i);
-            Vector segmentLocation = segment.getLocation().toVector();
-            if (headLocation.distance(segmentLocation) < 0.1) {  // Tolerance of 0.1 blocks
+        for (int i = 1; i < snapshot.segmentLocations.length; i++) {
+            Location segmentLocation = snapshot.segmentLocations[i];
+            if (headLocation.distance(segmentLocation.toVector()) < 0.1) {  // Tolerance of 0.1 blocks
                 DebugManager.log(DebugManager.Category.GAME_END_CONDITIONS,
                         String.format("Self-collision detected for player: %s with segment at location: %s",
-                                player.getName(), segment.getLocation()));
+                                player.getName(), segmentLocation));
                 return true;  // Self-collision detected
             }
         }
@@ -185,18 +163,12 @@ public class GameEndConditionsHandler implements Listener {
     /**
      * Checks if the player has dismounted the snake's head.
      *
+     * @param snapshot The snapshot of the player's session.
      * @return True if the player has dismounted, false otherwise.
      */
-    private boolean checkPlayerDismounted() {
-        SnakeCreation snake = gameManager.getSnakeForPlayer(player);
-        if (snake == null) {
-            return false;
-        }
-        Entity sheepEntity = snake.getSheepEntity();  // The head of the snake
-        List<Entity> passengers = sheepEntity.getPassengers();
-
+    private boolean checkPlayerDismounted(SessionSnapshot snapshot) {
         // Log and return true if the player is not a passenger of the snake's head
-        if (passengers.isEmpty() || !passengers.contains(player)) {
+        if (!snapshot.mounted) {
             DebugManager.log(DebugManager.Category.GAME_END_CONDITIONS,
                     String.format("Player %s dismounted from snake.", player.getName()));
             return true;
@@ -239,15 +211,14 @@ public class GameEndConditionsHandler implements Listener {
     }
 
     /**
-     * Determines if a given entity is a snake entity (in this case, a sheep).
+     * Determines if a given entity is a snake entity (a sheep or a block display, depending on the renderer).
      * Used by the player disconnection check to remove the snake the player was riding.
      *
      * @param entity The Entity object to check.
-     * @return True if the entity is a sheep, false otherwise.
+     * @return True if the entity is of a type snakes are made of, false otherwise.
      */
     private boolean isSnakeEntity(Entity entity) {
-        // Check if the entity is a sheep
-        return entity.getType() == EntityType.SHEEP;
+        return SnakeRenderer.isSnakeEntityType(entity.getType());
     }
 
     /**
@@ -0,0 +1,258 @@
+package com.slimer.Game;
+
+import com.slimer.Main.Main;
+import com.slimer.Scheduler.TaskScheduler;
+import com.slimer.Util.DebugManager;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scoreboard.Criteria;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Shows the in-game HUD of every player: the score on a boss bar, the snake length on the action bar and, if enabled,
+ * a sidebar with the scores of everyone in the arena.
+ * <p>
+ * Score and length changes only update the session and mark it dirty. A timer renders the dirty sessions at most once
+ * every configured number of ticks, so eating apples quickly never costs more than one update per interval. The label
+ * fragments are built once, and the number fragments are cached, so a render only joins existing components.
+ * The action bar fades on the client, so it is sent again every few seconds even when nothing changed.
+ * <p>
+ * The sidebar uses the Bukkit scoreboard API, which region-threaded servers do not support, so it is never shown there.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public class GameHud {
+    private static final Component SCORE_LABEL = Component.text("Score: ", NamedTextColor.GOLD);
+    private static final Component LENGTH_LABEL = Component.text("Length: ", NamedTextColor.GOLD);
+    private static final Component SIDEBAR_TITLE = Component.text("Top Scores", NamedTextColor.GOLD).decoration(TextDecoration.BOLD, true);
+    private static final int CACHED_NUMBERS = 256;
+    private static final Component[] NUMBERS = new Component[CACHED_NUMBERS];
+    private static final long ACTION_BAR_REFRESH_TICKS = 40L;  // The client hides the action bar after about 3 seconds
+    private final Map<Player, HudSession> sessions = new ConcurrentHashMap<>();
+    private final Map<String, ArenaSidebar> sidebars = new ConcurrentHashMap<>();
+    private final long updateIntervalTicks;
+    private final boolean sidebarEnabled;
+    private final TaskScheduler.Task renderTask;
+    private long ticksSinceActionBar;
+
+    /**
+     * Constructs a GameHud and starts the timer rendering the dirty sessions.
+     *
+     * @param plugin The JavaPlugin instance associated with the game.
+     */
+    public GameHud(JavaPlugin plugin) {
+        Main mainPlugin = (Main) plugin;
+        this.updateIntervalTicks = Math.max(1, mainPlugin.getHudUpdateIntervalTicks());
+        this.sidebarEnabled = mainPlugin.isHudSidebarEnabled() && !TaskScheduler.isRegionThreaded();
+        if (mainPlugin.isHudSidebarEnabled() && !sidebarEnabled) {
+            plugin.getLogger().warning("[GameHud.java] The HUD sidebar is not supported on region-threaded servers and has been disabled.");
+        }
+        this.renderTask = mainPlugin.getTaskScheduler().runGlobalTimer(this::render, updateIntervalTicks, updateIntervalTicks);
+    }
+
+    /**
+     * Shows the HUD to a player starting a game. Must be called on the main thread if the sidebar is enabled.
+     *
+     * @param player    The player.
+     * @param arenaName The name of the game region the player plays in.
+     */
+    public void addPlayer(Player player, String arenaName) {
+        BossBar bossBar = BossBar.bossBar(SCORE_LABEL.append(number(0)), 1.0f, BossBar.Color.BLUE, BossBar.Overlay.PROGRESS);
+        player.showBossBar(bossBar);
+        HudSession session = new HudSession(arenaName, bossBar, player.getScoreboard());
+        sessions.put(player, session);
+
+        if (sidebarEnabled && arenaName != null) {
+            ArenaSidebar sidebar = sidebars.computeIfAbsent(arenaName, k -> new ArenaSidebar());
+            player.setScoreboard(sidebar.scoreboard);
+            sidebar.dirty.set(true);
+        }
+        DebugManager.log(DebugManager.Category.GAME_MANAGER, "HUD shown to player " + player.getName());
+    }
+
+    /**
+     * Records a new score of a player, shown on the next render.
+     *
+     * @param player The player.
+     * @param score  The new score.
+     */
+    public void setScore(Player player, int score) {
+        HudSession session = sessions.get(player);
+        if (session != null) {
+            session.score = score;
+            session.dirty.set(true);
+            ArenaSidebar sidebar = session.arenaName != null ? sidebars.get(session.arenaName) : null;
+            if (sidebar != null) {
+                sidebar.dirty.set(true);
+            }
+        }
+    }
+
+    /**
+     * Records a new length of a player's snake, shown on the next render.
+     *
+     * @param player The player.
+     * @param length The number of entities making up the snake, head included.
+     */
+    public void setLength(Player player, int length) {
+        HudSession session = sessions.get(player);
+        if (session != null) {
+            session.length = length;
+            session.dirty.set(true);
+        }
+    }
+
+    /**
+     * Hides the HUD of a player whose game has ended and restores the scoreboard the player had before.
+     *
+     * @param player The player.
+     */
+    public void removePlayer(Player player) {
+        HudSession session = sessions.remove(player);
+        if (session == null) {
+            return;
+        }
+        player.hideBossBar(session.bossBar);
+        player.sendActionBar(Component.empty());
+
+        ArenaSidebar sidebar = session.arenaName != null ? sidebars.get(session.arenaName) : null;
+        if (sidebar != null) {
+            sidebar.scoreboard.resetScores(player.getName());
+            if (player.getScoreboard() == sidebar.scoreboard) {
+                player.setScoreboard(session.previousScoreboard);
+            }
+        }
+        DebugManager.log(DebugManager.Category.GAME_MANAGER, "HUD hidden for player " + player.getName());
+    }
+
+    /**
+     * Hides the HUD of all players and stops the render timer. Typically used during server shutdown.
+     */
+    public void clear() {
+        renderTask.cancel();
+        for (Player player : sessions.keySet()) {
+            removePlayer(player);
+        }
+        sidebars.clear();
+    }
+
+    /**
+     * Renders the boss bar and action bar of every dirty session and the sidebar of every dirty arena.
+     * The action bars of all sessions are sent again once the client would have hidden them.
+     */
+    private void render() {
+        ticksSinceActionBar += updateIntervalTicks;
+        boolean refreshActionBars = ticksSinceActionBar >= ACTION_BAR_REFRESH_TICKS;
+        if (refreshActionBars) {
+            ticksSinceActionBar = 0;
+        }
+
+        for (Map.Entry<Player, HudSession> entry : sessions.entrySet()) {
+            Player player = entry.getKey();
+            HudSession session = entry.getValue();
+            if (session.dirty.getAndSet(false)) {
+                if (session.score != session.renderedScore) {
+                    session.renderedScore = session.score;
+                    session.bossBar.name(SCORE_LABEL.append(number(session.renderedScore)));
+                }
+                if (session.length != session.renderedLength) {
+                    session.renderedLength = session.length;
+                    session.actionBar = LENGTH_LABEL.append(number(session.renderedLength));
+                    player.sendActionBar(session.actionBar);
+                    continue;
+                }
+            }
+            if (refreshActionBars && session.actionBar != null) {
+                player.sendActionBar(session.actionBar);
+            }
+        }
+
+        if (sidebarEnabled) {
+            renderSidebars();
+        }
+    }
+
+    /**
+     * Writes the current scores of the players of every dirty arena to its sidebar.
+     */
+    private void renderSidebars() {
+        for (Map.Entry<String, ArenaSidebar> entry : sidebars.entrySet()) {
+            ArenaSidebar sidebar = entry.getValue();
+            if (!sidebar.dirty.getAndSet(false)) {
+                continue;
+            }
+            for (Map.Entry<Player, HudSession> sessionEntry : sessions.entrySet()) {
+                HudSession session = sessionEntry.getValue();
+                if (entry.getKey().equals(session.arenaName)) {
+                    sidebar.objective.getScore(sessionEntry.getKey().getName()).setScore(session.score);
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieves the component showing a number, cached for small numbers.
+     *
+     * @param value The number.
+     * @return The number as a white text component.
+     */
+    private static Component number(int value) {
+        if (value < 0 || value >= CACHED_NUMBERS) {
+            return Component.text(value, NamedTextColor.WHITE);
+        }
+        Component component = NUMBERS[value];
+        if (component == null) {
+            component = Component.text(value, NamedTextColor.WHITE);
+            NUMBERS[value] = component;
+        }
+        return component;
+    }
+
+    /**
+     * The HUD state of one player. Score and length are written by the game tick, everything else is only touched
+     * while rendering.
+     */
+    private static final class HudSession {
+        private final String arenaName;
+        private final BossBar bossBar;
+        private final Scoreboard previousScoreboard;
+        private final AtomicBoolean dirty = new AtomicBoolean(true);
+        private volatile int score;
+        private volatile int length = 1;
+        private int renderedScore;
+        private int renderedLength;
+        private Component actionBar;
+
+        private HudSession(String arenaName, BossBar bossBar, Scoreboard previousScoreboard) {
+            this.arenaName = arenaName;
+            this.bossBar = bossBar;
+            this.previousScoreboard = previousScoreboard;
+        }
+    }
+
+    /**
+     * The sidebar shared by all players of one arena.
+     */
+    private static final class ArenaSidebar {
+        private final Scoreboard scoreboard = Bukkit.getScoreboardManager().getNewScoreboard();
+        private final Objective objective = scoreboard.registerNewObjective("snake", Criteria.DUMMY, SIDEBAR_TITLE);
+        private final AtomicBoolean dirty = new AtomicBoolean(true);
+
+        private ArenaSidebar() {
+            objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+        }
+    }
+}
@@ -1,12 +1,13 @@
 package com.slimer.Game;
 
 import com.slimer.Main.Main;
+import com.slimer.Region.ArenaCache;
 import com.slimer.Region.RegionHelpers;
+import com.slimer.Region.RegionRegistry;
+import com.slimer.Scheduler.TaskScheduler;
 import com.slimer.Util.DebugManager;
 import com.slimer.Util.MusicManager;
 import com.slimer.Util.PlayerData;
-import com.slimer.Region.WGHelpers;
-import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.Location;
@@ -16,10 +17,10 @@ import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The `GameManager` class manages game-related logic and components for the Minecraft snake game.
@@ -34,24 +35,29 @@ public class GameManager {
     // Player and game state mappings
     private final Map<Player, SnakeCreation> playerSnakes;
     private final Map<Player, Location> playerLobbyLocations;
-    private final Map<Player, Integer> playerScores = new HashMap<>();
-    private final Map<Player, List<Apple>> playerApples = new HashMap<>();
-    private final Set<UUID> disconnectedPlayerUUIDs = new HashSet<>();
-    private final Map<Player, BossBar> playerScoreBars = new HashMap<>();
-    private final Map<Player, Boolean> playerUTurnStatus = new HashMap<>();
+    private final Map<Player, String> playerGameRegions = new ConcurrentHashMap<>();
+    private final Map<String, Integer> arenaOccupancy = new ConcurrentHashMap<>();
+    private final Map<Player, Integer> playerScores = new ConcurrentHashMap<>();
+    private final Map<Player, List<Apple>> playerApples = new ConcurrentHashMap<>();
+    private final Set<UUID> disconnectedPlayerUUIDs = ConcurrentHashMap.newKeySet();
+    private final Map<Player, Boolean> playerUTurnStatus = new ConcurrentHashMap<>();
 
-    // Scheduled task mappings
-    private final Map<Player, BukkitRunnable> movementTasks = new HashMap<>();
-    private final Map<Player, BukkitRunnable> appleCollectionTasks = new HashMap<>();
-    private final Map<Player, BukkitRunnable> gameEndConditionsHandler = new HashMap<>();
+    // Game tick mappings
+    private final Map<Player, GameEndConditionsHandler> gameEndConditionsHandlers = new ConcurrentHashMap<>();
+    private final Map<Player, TaskScheduler.Task> sessionTickTasks = new ConcurrentHashMap<>();
 
     // Game settings and utilities
     private final Plugin plugin;
     private final MusicManager musicManager;
     private final boolean isMusicEnabled;
-    private final AppleCollectionManager appleCollectionManager = new AppleCollectionManager(this);
+    private final AppleCollectionManager appleCollectionManager;
+    private final ApplePool applePool;
+    private final SegmentPool segmentPool;
+    private final GameHud hud;
+    private final GameTickPipeline tickPipeline;
     private PlayerInputHandler playerInputHandler;
     private SnakeMovement snakeMovement;
+    private ArenaQueue arenaQueue;
 
     /**
      * Constructs a new GameManager.
@@ -71,22 +77,31 @@ public class GameManager {
             this.musicManager = null;
         }
         this.isMusicEnabled = isMusicEnabled;
+        this.appleCollectionManager = new AppleCollectionManager(this, plugin);
+        this.applePool = new ApplePool(plugin);
+        this.segmentPool = new SegmentPool(plugin);
+        this.hud = new GameHud(plugin);
+        this.tickPipeline = new GameTickPipeline(this, plugin.getLogger());
     }
 
     /**
      * Starts a new game for the given player by initializing various game components.
+     * The game is bound to its game region for its whole lifetime, so the region never has to be looked up again.
      *
      * @param player        The player for whom the game is to be started.
      * @param gameLocation  The starting location in the game world.
      * @param lobbyLocation The location in the lobby world.
-     */
-    public void startGame(Player player, Location gameLocation, Location lobbyLocation) {
-        DebugManager.log(DebugManager.Category.GAME_MANAGER, "Starting game for player " + player.getName());
-        SnakeCreation snake = initializeGameAndPlayer(player, gameLocation, lobbyLocation);
-        initializeBossBar(player);
-        initializeMovement(player);
-        initializeGameEndConditions(player);
-        initializeApples(player, gameLocation, snake);
+     * @param gameRegion    The name of the game region the game is played in.
+     */
+    public void startGame(Player player, Location gameLocation, Location lobbyLocation, String gameRegion) {
+        DebugManager.log(DebugManager.Category.GAME_MANAGER, "Starting game for player " + player.getName() + " in region " + gameRegion);
+        playerGameRegions.put(player, gameRegion);
+        arenaOccupancy.merge(gameRegion, 1, Integer::sum);
+        ArenaCache.getInstance().verify(gameRegion);
+        initializeGameAndPlayer(player, gameLocation, lobbyLocation);
+        initializeHud(player);
+        initializeApples(player, gameLocation);
+        initializeGameTick(player, gameLocation);
         initializeMusic(player);
     }
 
@@ -103,17 +118,24 @@ public class GameManager {
 
         player.playSound(player.getLocation(), Sound.BLOCK_NOTE_BLOCK_BELL, 1.0f, 1.0f);
 
-        SnakeCreation snake = new SnakeCreation(gameLocation, player);
-        Entity sheepEntity = snake.getSheepEntity();
-        if (sheepEntity != null) {
-            sheepEntity.addPassenger(player);
-        }
-
         Vector initialPosition = new Vector(
                 Math.floor(gameLocation.getX()) + 0.5,
                 gameLocation.getY(),
                 Math.floor(gameLocation.getZ()) + 0.5
         );
+
+        // Grid-stepped snakes start in the middle of their block, as they only ever move a whole block at a time
+        String gameRegion = playerGameRegions.get(player);
+        SnakeRenderer renderer = ((Main) plugin).getSnakeRenderer(gameRegion);
+        Location spawnLocation = renderer.isGridStepped()
+                ? initialPosition.toLocation(gameLocation.getWorld(), gameLocation.getYaw(), gameLocation.getPitch())
+                : gameLocation;
+        SnakeCreation snake = new SnakeCreation(spawnLocation, player, renderer, snakeMovement.getTicksPerGridStep(), segmentPool, gameRegion);
+        Entity sheepEntity = snake.getSheepEntity();
+        if (sheepEntity != null) {
+            sheepEntity.addPassenger(player);
+        }
+
         snakeMovement.initializeTargetPositionForPlayer(player, initialPosition);
 
         playerSnakes.put(player, snake);
@@ -124,56 +146,35 @@ public class GameManager {
     }
 
     /**
-     * Initializes the boss bar for the given player.
+     * Initializes the HUD for the given player, showing the score, the snake length and, if enabled, the arena sidebar.
      *
-     * @param player The player for whom to initialize the boss bar.
+     * @param player The player for whom to initialize the HUD.
      */
-    private void initializeBossBar(Player player) {
-        DebugManager.log(DebugManager.Category.GAME_MANAGER, "Initializing boss bar for player " + player.getName());
+    private void initializeHud(Player player) {
+        DebugManager.log(DebugManager.Category.GAME_MANAGER, "Initializing HUD for player " + player.getName());
 
-        BossBar bossBar = BossBar.bossBar(Component.text("Score: 0"), 1.0f, BossBar.Color.BLUE, BossBar.Overlay.PROGRESS);
-        player.showBossBar(bossBar);
-        playerScoreBars.put(player, bossBar);
-        updateBossBarForPlayer(player);
+        hud.addPlayer(player, playerGameRegions.get(player));
     }
 
     /**
-     * Initializes the snake movement for the given player.
+     * Initializes the game tick for the given player, which moves the snake, checks the game end conditions and
+     * collects apples. On a region-threaded server the session ticks on the region owning the arena, otherwise it
+     * is picked up by the shared tick of all sessions.
      *
-     * @param player The player for whom to initialize the movement.
+     * @param player       The player for whom to initialize the game tick.
+     * @param gameLocation The starting location in the game world.
      */
-    private void initializeMovement(Player player) {
-        DebugManager.log(DebugManager.Category.GAME_MANAGER, "Initializing movement for player " + player.getName());
+    private void initializeGameTick(Player player, Location gameLocation) {
+        DebugManager.log(DebugManager.Category.GAME_MANAGER, "Initializing game tick for player " + player.getName());
 
         playerInputHandler.startMonitoring(player);
-        BukkitRunnable movementTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                Vector direction = playerInputHandler.getCurrentDirection(player);
-                snakeMovement.moveSnake(player, direction);
-            }
-        };
-        movementTask.runTaskTimer(plugin, 0L, 0L);
-        movementTasks.put(player, movementTask);
-    }
-
-    /**
-     * Initializes the game end conditions for the given player.
-     *
-     * @param player   The player for whom to initialize the game end conditions.
-     */
-    private void initializeGameEndConditions(Player player) {
-        DebugManager.log(DebugManager.Category.GAME_MANAGER, "Initializing game end conditions for player " + player.getName());
-
-        GameEndConditionsHandler gameEndConditionsHandler = new GameEndConditionsHandler(this, player, plugin);
-        BukkitRunnable gameEndEvents = new BukkitRunnable() {
-            @Override
-            public void run() {
-                gameEndConditionsHandler.runGameEndEventsChecks();
-            }
-        };
-        gameEndEvents.runTaskTimer(plugin, 0L, 0L);
-        this.gameEndConditionsHandler.put(player, gameEndEvents);
+        gameEndConditionsHandlers.put(player, new GameEndConditionsHandler(this, player, plugin));
+        if (TaskScheduler.isRegionThreaded()) {
+            TaskScheduler.Task sessionTickTask = getTaskScheduler().runAtLocationTimer(gameLocation, () -> tickPipeline.tickSession(player), 0L, 1L);
+            sessionTickTasks.put(player, sessionTickTask);
+        } else {
+            tickPipeline.start(getTaskScheduler());
+        }
     }
 
     /**
@@ -181,30 +182,11 @@ public class GameManager {
      *
      * @param player       The player for whom to spawn the apples
      * @param gameLocation The location where apples are to be spawned
-     * @param snake        The SnakeCreation object for the current game
      */
-    private void initializeApples(Player player, Location gameLocation, SnakeCreation snake) {
+    private void initializeApples(Player player, Location gameLocation) {
         DebugManager.log(DebugManager.Category.GAME_MANAGER, "Initializing apples for player " + player.getName());
 
-        Main mainPlugin = (Main) plugin;
-        int maxApples = mainPlugin.getMaxApplesPerGame();
-        List<Apple> applesForPlayer = playerApples.computeIfAbsent(player, k -> new ArrayList<>());
-        int applesToSpawn = maxApples - applesForPlayer.size();
-
-        for (int i = 0; i < applesToSpawn; i++) {
-            Apple apple = new Apple((JavaPlugin) plugin, this);
-            apple.spawnWithName(gameLocation, gameLocation.getBlockY(), player.getName());
-            applesForPlayer.add(apple);
-        }
-
-        BukkitRunnable appleCollectionTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                appleCollectionManager.checkAndCollectApple(snake.getSheepEntity(), player, (JavaPlugin) plugin);
-            }
-        };
-        appleCollectionTask.runTaskTimer(plugin, 0L, 0L);
-        appleCollectionTasks.put(player, appleCollectionTask);
+        appleCollectionManager.spawnNewApples(gameLocation, player);
     }
 
     /**
@@ -229,7 +211,7 @@ public class GameManager {
         int score = updateAndSavePlayerScore(player);
 
         sendGameOverMessage(player, score, reason);
-        hideAndRemoveBossBar(player);
+        hideHud(player);
         teleportPlayerToLobby(player);
         cancelScheduledTasks(player);
         clearAppleData(player);
@@ -248,10 +230,18 @@ public class GameManager {
         SnakeCreation snake = playerSnakes.get(player);
         if (snake != null) {
             snake.destroy();
+            snakeMovement.clearLastPositions(snake.getSheepEntity(), snake.getSegments());
         }
 
         playerSnakes.remove(player);
         playerLobbyLocations.remove(player);
+        String gameRegion = playerGameRegions.remove(player);
+        if (gameRegion != null) {
+            arenaOccupancy.computeIfPresent(gameRegion, (region, count) -> count > 1 ? count - 1 : null);
+            if (arenaQueue != null) {
+                arenaQueue.onArenaFreed(gameRegion);
+            }
+        }
         playerInputHandler.stopMonitoring(player);
         snakeMovement.clearTargetPosition(player);
     }
@@ -293,22 +283,18 @@ public class GameManager {
     }
 
     /**
-     * Hides and removes the boss bar for the given player.
+     * Hides the HUD for the given player.
      *
-     * @param player The player for whom to hide and remove the boss bar.
+     * @param player The player for whom to hide the HUD.
      */
-    private void hideAndRemoveBossBar(Player player) {
-        DebugManager.log(DebugManager.Category.GAME_MANAGER, "Hiding and removing boss bar for player " + player.getName());
+    private void hideHud(Player player) {
+        DebugManager.log(DebugManager.Category.GAME_MANAGER, "Hiding HUD for player " + player.getName());
 
-        BossBar bossBar = playerScoreBars.get(player);
-        if (bossBar != null) {
-            player.hideBossBar(bossBar);
-        }
-        playerScoreBars.remove(player);
+        hud.removePlayer(player);
     }
 
     /**
-     * Teleports the given player back to the lobby.
+     * Teleports the given player back to the lobby asynchronously, playing the game over sound once they arrive.
      *
      * @param player The player to be teleported.
      */
@@ -316,10 +302,12 @@ public class GameManager {
         DebugManager.log(DebugManager.Category.GAME_MANAGER, "Teleporting player " + player.getName() + " to lobby");
 
         Location lobbyLocation = playerLobbyLocations.get(player);
-        if (lobbyLocation != null) {
-            player.teleport(lobbyLocation);
+        if (lobbyLocation == null) {
+            player.playSound(player.getLocation(), Sound.ENTITY_GENERIC_EXPLODE, 1.0f, 1.0f);
+            return;
         }
-        player.playSound(player.getLocation(), Sound.ENTITY_GENERIC_EXPLODE, 1.0f, 1.0f);
+        player.leaveVehicle();
+        player.teleportAsync(lobbyLocation).thenRun(() -> player.playSound(player.getLocation(), Sound.ENTITY_GENERIC_EXPLODE, 1.0f, 1.0f));
     }
 
     /**
@@ -330,23 +318,11 @@ public class GameManager {
     private void cancelScheduledTasks(Player player) {
         DebugManager.log(DebugManager.Category.GAME_MANAGER, "Cancelling scheduled tasks for player " + player.getName());
 
-        BukkitRunnable movementTask = movementTasks.get(player);
-        if (movementTask != null) {
-            movementTask.cancel();
-        }
-        movementTasks.remove(player);
-
-        BukkitRunnable gameEndEvents = gameEndConditionsHandler.get(player);
-        if (gameEndEvents != null) {
-            gameEndEvents.cancel();
+        gameEndConditionsHandlers.remove(player);
+        TaskScheduler.Task sessionTickTask = sessionTickTasks.remove(player);
+        if (sessionTickTask != null) {
+            sessionTickTask.cancel();
         }
-        gameEndConditionsHandler.remove(player);
-
-        BukkitRunnable appleCollectionTask = appleCollectionTasks.get(player);
-        if (appleCollectionTask != null) {
-            appleCollectionTask.cancel();
-        }
-        appleCollectionTasks.remove(player);
     }
 
     /**
@@ -362,6 +338,7 @@ public class GameManager {
             apple.clear();
         }
         playerApples.remove(player);
+        appleCollectionManager.clearPlayer(player);
     }
 
     /**
@@ -382,15 +359,22 @@ public class GameManager {
     public void stopAllGames() {
         DebugManager.log(DebugManager.Category.GAME_MANAGER, "Stopping all ongoing games");
 
+        if (arenaQueue != null) {
+            arenaQueue.clear();
+        }
         destroyAllSnakesAndTeleportPlayers();
         clearAllLobbyLocations();
-        cancelAllMovementTasks();
-        cancelAllAppleCollectionTasks();
+        cancelAllGameTicks();
         clearAllApples();
+        hud.clear();
     }
 
     /**
-     * Destroys all snakes and teleports all players back to the lobby.
+     * Destroys all snakes, removing the entities kept by the segment pool, and teleports all players back to the lobby.
+     * This runs while the plugin is being disabled, when no task or asynchronous callback of the plugin will run
+     * anymore, so the teleports are synchronous. They are not batched by lobby chunk: the first synchronous teleport
+     * into a chunk loads it, and it stays loaded for every later teleport within the same tick, so loading the chunks
+     * up front would not save a single load.
      */
     private void destroyAllSnakesAndTeleportPlayers() {
         for (Map.Entry<Player, SnakeCreation> entry : playerSnakes.entrySet()) {
@@ -399,15 +383,21 @@ public class GameManager {
 
             if (snake != null) {
                 snake.destroy();
+                snakeMovement.clearLastPositions(snake.getSheepEntity(), snake.getSegments());
             }
+            snakeMovement.clearTargetPosition(player);
 
             Location lobbyLocation = playerLobbyLocations.get(player);
-            if (lobbyLocation != null) {
+            if (lobbyLocation != null && lobbyLocation.getWorld() != null) {
+                player.leaveVehicle();
                 player.teleport(lobbyLocation);
             }
         }
 
         playerSnakes.clear();
+        playerGameRegions.clear();
+        arenaOccupancy.clear();
+        segmentPool.clear();
     }
 
     /**
@@ -418,29 +408,20 @@ public class GameManager {
     }
 
     /**
-     * Cancels all scheduled movement tasks for all players.
-     */
-    private void cancelAllMovementTasks() {
-        for (BukkitRunnable task : movementTasks.values()) {
-            task.cancel();
-        }
-
-        movementTasks.clear();
-    }
-
-    /**
-     * Cancels all scheduled apple collection tasks for all players.
+     * Cancels the game ticks of all players and shuts down the shared game tick.
      */
-    private void cancelAllAppleCollectionTasks() {
-        for (BukkitRunnable task : appleCollectionTasks.values()) {
+    private void cancelAllGameTicks() {
+        for (TaskScheduler.Task task : sessionTickTasks.values()) {
             task.cancel();
         }
 
-        appleCollectionTasks.clear();
+        sessionTickTasks.clear();
+        gameEndConditionsHandlers.clear();
+        tickPipeline.shutdown();
     }
 
     /**
-     * Clears all apple data for all players.
+     * Clears all apple data for all players and removes the armor stands kept by the apple pool.
      */
     private void clearAllApples() {
         for (List<Apple> apples : playerApples.values()) {
@@ -450,6 +431,7 @@ public class GameManager {
         }
 
         playerApples.clear();
+        applePool.clear();
     }
 
     // Helpers for getting and modifying snake segments
@@ -464,6 +446,36 @@ public class GameManager {
         return playerSnakes.get(player);
     }
 
+    /**
+     * Retrieves the game region a player's game is bound to.
+     *
+     * @param player The player.
+     * @return The name of the game region, or null if the player is not in a game.
+     */
+    public String getGameRegionForPlayer(Player player) {
+        return playerGameRegions.get(player);
+    }
+
+    /**
+     * Retrieves the number of games currently running in a game region.
+     * Maintained when games start and stop, so it is available in constant time.
+     *
+     * @param gameRegion The name of the game region.
+     * @return The number of players playing in the region.
+     */
+    public int getArenaOccupancy(String gameRegion) {
+        return arenaOccupancy.getOrDefault(gameRegion, 0);
+    }
+
+    /**
+     * Checks whether any game is currently running.
+     *
+     * @return true if at least one player is playing, false otherwise.
+     */
+    public boolean hasActiveGames() {
+        return !playerSnakes.isEmpty();
+    }
+
     /**
      * Retrieves the snake segments associated with a player.
      *
@@ -489,6 +501,7 @@ public class GameManager {
 
             if (lastPosition != null) {
                 snake.addSegment(lastPosition, player);
+                hud.setLength(player, snake.getSegments().size() + 1);
                 resetUTurnStatus(player);  // Reset the U-turn flag for this player
             }
         }
@@ -496,6 +509,15 @@ public class GameManager {
 
     // Helpers for setting handlers, used for class connections
 
+    /**
+     * Retrieves the scheduler the game tasks run on.
+     *
+     * @return The task scheduler of the plugin.
+     */
+    private TaskScheduler getTaskScheduler() {
+        return ((Main) plugin).getTaskScheduler();
+    }
+
     /**
      * Sets the SnakeMovement handler for the GameManager.
      *
@@ -505,6 +527,24 @@ public class GameManager {
         this.snakeMovement = snakeMovement;
     }
 
+    /**
+     * Sets the ArenaQueue that is notified when a player leaves an arena.
+     *
+     * @param arenaQueue The ArenaQueue assigning queued players to free arenas.
+     */
+    public void setArenaQueue(ArenaQueue arenaQueue) {
+        this.arenaQueue = arenaQueue;
+    }
+
+    /**
+     * Retrieves the ArenaQueue assigning players to arenas.
+     *
+     * @return The ArenaQueue, or null if none has been set.
+     */
+    public ArenaQueue getArenaQueue() {
+        return arenaQueue;
+    }
+
     /**
      * Sets the PlayerInputHandler for the GameManager.
      *
@@ -514,6 +554,70 @@ public class GameManager {
         this.playerInputHandler = playerInputHandler;
     }
 
+    /**
+     * Retrieves the players with a running game.
+     *
+     * @return The players with a running game.
+     */
+    Set<Player> getActivePlayers() {
+        return playerSnakes.keySet();
+    }
+
+    /**
+     * Retrieves the game end conditions handler of a player's running game.
+     *
+     * @param player The player whose handler is to be retrieved.
+     * @return The handler, or null if the player has no running game.
+     */
+    GameEndConditionsHandler getGameEndConditionsHandler(Player player) {
+        return gameEndConditionsHandlers.get(player);
+    }
+
+    /**
+     * Retrieves the SnakeMovement computing the movement of all snakes.
+     *
+     * @return The SnakeMovement instance.
+     */
+    SnakeMovement getSnakeMovement() {
+        return snakeMovement;
+    }
+
+    /**
+     * Retrieves the PlayerInputHandler tracking the steering of all players.
+     *
+     * @return The PlayerInputHandler instance.
+     */
+    PlayerInputHandler getPlayerInputHandler() {
+        return playerInputHandler;
+    }
+
+    /**
+     * Retrieves the AppleCollectionManager handling the apples of all games.
+     *
+     * @return The AppleCollectionManager instance.
+     */
+    AppleCollectionManager getAppleCollectionManager() {
+        return appleCollectionManager;
+    }
+
+    /**
+     * Retrieves the ApplePool keeping the armor stands of eaten apples for reuse.
+     *
+     * @return The ApplePool instance.
+     */
+    ApplePool getApplePool() {
+        return applePool;
+    }
+
+    /**
+     * Retrieves the SegmentPool keeping the entities of destroyed snakes for reuse.
+     *
+     * @return The SegmentPool instance.
+     */
+    public SegmentPool getSegmentPool() {
+        return segmentPool;
+    }
+
     /**
      * Retrieves the mapping of players to their corresponding list of apples.
      * This method provides access to the list of apples for each player,
@@ -553,60 +657,30 @@ public class GameManager {
     }
 
     /**
-     * Handles teleporting the player back to the lobby.
+     * Handles teleporting the player back to the lobby asynchronously.
+     * The game region the player is standing in is found through the region spatial index.
      *
      * @param player The player who has reconnected.
      * @param uuid   The UUID of the reconnected player.
      */
     private void handleTeleportToLobby(Player player, UUID uuid) {
         RegionHelpers regionHelpers = RegionHelpers.getInstance();
-        World world = player.getWorld();
-        Location loc = player.getLocation();
-        String worldName = world.getName();
-
-        for (String regionName : regionHelpers.getAllRegisteredRegionNames()) {
-            if (checkAndTeleportPlayer(player, uuid, worldName, loc, regionName)) {
-                break;
-            }
+        RegionRegistry.RegionEntry gameRegion = regionHelpers.getGameRegionAt(player.getLocation());
+        if (gameRegion == null || gameRegion.linkedRegion() == null) {
+            return;
         }
-    }
 
-    /**
-     * Checks if the player is in a game region and teleports them to the lobby if so.
-     *
-     * @param player        The player.
-     * @param uuid          The UUID of the player.
-     * @param loc           The location of the player.
-     * @param regionName    The name of the region.
-     * @return true if the player was teleported, false otherwise.
-     */
-    private boolean checkAndTeleportPlayer(Player player, UUID uuid, String worldName, Location loc, String regionName) {
-        RegionHelpers regionHelpers = RegionHelpers.getInstance();
-        WGHelpers wgHelpers = WGHelpers.getInstance();
-        int x = loc.getBlockX();
-        int y = loc.getBlockY();
-        int z = loc.getBlockZ();
-
-        if (wgHelpers.areCoordinatesInWGRegion(worldName, regionName, x, y, z)) {
-            String regionType = regionHelpers.getRegionType(regionName);
-
-            if ("game".equalsIgnoreCase(regionType)) {
-                String linkedLobbyRegion = regionHelpers.getLinkedRegion(regionName);
-
-                if (linkedLobbyRegion != null) {
-                    World lobbyWorld = regionHelpers.getRegionWorld(linkedLobbyRegion);
-                    Location lobbyTeleportLocation = regionHelpers.getRegionTeleportLocation(linkedLobbyRegion, lobbyWorld);
-
-                    if (lobbyTeleportLocation != null) {
-                        player.teleport(lobbyTeleportLocation);
-                        disconnectedPlayerUUIDs.remove(uuid);
-                        return true;
-                    }
+        String linkedLobbyRegion = gameRegion.linkedRegion();
+        World lobbyWorld = regionHelpers.getRegionWorld(linkedLobbyRegion);
+        Location lobbyTeleportLocation = regionHelpers.getRegionTeleportLocation(linkedLobbyRegion, lobbyWorld);
+
+        if (lobbyTeleportLocation != null) {
+            player.teleportAsync(lobbyTeleportLocation).thenAccept(teleported -> {
+                if (teleported) {
+                    disconnectedPlayerUUIDs.remove(uuid);
                 }
-            }
+            });
         }
-
-        return false;
     }
 
     // Helpers for updating scores
@@ -619,22 +693,8 @@ public class GameManager {
     public void updatePlayerScore(Player player) {
         DebugManager.log(DebugManager.Category.GAME_MANAGER, "Updating score for player " + player.getName());
 
-        playerScores.put(player, playerScores.getOrDefault(player, 0) + 1);
-        updateBossBarForPlayer(player);
-    }
-
-    /**
-     * Updates the boss bar with the player's score for the given player.
-     *
-     * @param player The player whose boss bar should be updated.
-     */
-    private void updateBossBarForPlayer(Player player) {
-        BossBar bossBar = playerScoreBars.get(player);
-
-        // If the boss bar exists, update its name with the player's score
-        if (bossBar != null) {
-            bossBar.name(Component.text("Score: ", NamedTextColor.GOLD).append(Component.text(playerScores.get(player), NamedTextColor.WHITE)));
-        }
+        int score = playerScores.merge(player, 1, Integer::sum);
+        hud.setScore(player, score);
     }
 
     // Helpers for music toggles
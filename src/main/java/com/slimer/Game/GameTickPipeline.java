@@ -0,0 +1,241 @@
+package com.slimer.Game;
+
+import com.slimer.Scheduler.TaskScheduler;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs the game tick of every session in three phases:
+ * <ol>
+ *   <li>Snapshot: the state of each session is read from the world into a {@link SessionSnapshot}.</li>
+ *   <li>Compute: movement, game end conditions and apple collisions are worked out from the snapshots only,
+ *       producing a list of {@link WorldMutation}s per session. Once enough sessions are running, this phase is
+ *       spread across a ForkJoin pool, as the sessions share no state.</li>
+ *   <li>Apply: all mutations are carried out in one batch, session by session.</li>
+ * </ol>
+ * On a regular server all sessions are ticked together by one task on the main thread, which only blocks for the
+ * compute phase while the pool works through it. On a region-threaded server the sessions already tick in parallel
+ * on the regions owning their arenas, so each session runs the three phases on its own region instead.
+ * <p>
+ * The pipeline only schedules the phases and isolates failing sessions. What a snapshot holds and which mutations are
+ * computed from it is decided by its {@link Phases}, which the game manager provides on a server.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public class GameTickPipeline {
+    private static final int PARALLEL_THRESHOLD = 4;  // Below this many sessions, forking costs more than it saves
+    private final Phases phases;
+    private final Logger logger;
+    private ForkJoinPool computePool;
+    private TaskScheduler.Task tickTask;
+
+    /**
+     * Constructs a new GameTickPipeline. The compute pool is only created once the pipeline is started.
+     *
+     * @param gameManager The GameManager running the games.
+     * @param logger      The logger to report failing sessions to.
+     */
+    public GameTickPipeline(GameManager gameManager, Logger logger) {
+        this(new GameManagerPhases(gameManager), logger);
+    }
+
+    /**
+     * Constructs a new GameTickPipeline running the given phases.
+     *
+     * @param phases The phases capturing and computing the sessions.
+     * @param logger The logger to report failing sessions to.
+     */
+    GameTickPipeline(Phases phases, Logger logger) {
+        this.phases = phases;
+        this.logger = logger;
+    }
+
+    /**
+     * Starts ticking all sessions together every tick, if not already started, with a new compute pool.
+     *
+     * @param scheduler The TaskScheduler to run the tick on.
+     */
+    public void start(TaskScheduler scheduler) {
+        if (tickTask == null) {
+            computePool = createComputePool();
+            tickTask = scheduler.runGlobalTimer(this::tick, 0L, 1L);
+        }
+    }
+
+    /**
+     * Stops ticking all sessions and shuts the compute pool down. The pipeline can be started again afterwards.
+     */
+    public void shutdown() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        if (computePool != null) {
+            computePool.shutdownNow();
+            computePool = null;
+        }
+    }
+
+    /**
+     * Creates the pool the compute phase is spread across, keeping one core free for the main thread.
+     *
+     * @return The compute pool.
+     */
+    private static ForkJoinPool createComputePool() {
+        int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("SnakeGame-Tick-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Ticks every running session: snapshots all of them, computes their mutations, in parallel if there are enough
+     * sessions, and applies all mutations in one batch. Sessions are computed on the calling thread while the pipeline
+     * has no compute pool. Must be called on the main thread.
+     */
+    void tick() {
+        List<SessionSnapshot> snapshots = new ArrayList<>();
+        for (Player player : phases.getActivePlayers()) {
+            SessionSnapshot snapshot = phases.capture(player);
+            if (snapshot != null) {
+                snapshots.add(snapshot);
+            }
+        }
+        if (snapshots.isEmpty()) {
+            return;
+        }
+
+        List<List<WorldMutation>> results;
+        ForkJoinPool pool = computePool;
+        if (snapshots.size() < PARALLEL_THRESHOLD || pool == null) {
+            results = snapshots.stream().map(this::compute).toList();
+        } else {
+            results = pool.submit(() -> snapshots.parallelStream().map(this::compute).toList()).join();
+        }
+
+        for (List<WorldMutation> mutations : results) {
+            apply(mutations);
+        }
+    }
+
+    /**
+     * Ticks a single session through all three phases. Must be called on the thread owning the session's arena.
+     *
+     * @param player The player whose session is to be ticked.
+     */
+    void tickSession(Player player) {
+        SessionSnapshot snapshot = phases.capture(player);
+        if (snapshot != null) {
+            apply(compute(snapshot));
+        }
+    }
+
+    /**
+     * Computes the mutations of one session for this tick.
+     *
+     * @param snapshot The snapshot of the session.
+     * @return The mutations to apply, in order. Empty if computing the session failed.
+     */
+    private List<WorldMutation> compute(SessionSnapshot snapshot) {
+        List<WorldMutation> mutations = new ArrayList<>();
+        try {
+            phases.compute(snapshot, mutations);
+        } catch (RuntimeException e) {
+            logger.log(Level.SEVERE, "[GameTickPipeline.java] Failed to compute the tick for player " + snapshot.player.getName() + ".", e);
+            mutations.clear();
+        }
+        return mutations;
+    }
+
+    /**
+     * Applies the mutations of one session. A failing mutation is reported and skipped, so it cannot hold up the
+     * sessions applied after it.
+     *
+     * @param mutations The mutations to apply, in order.
+     */
+    private void apply(List<WorldMutation> mutations) {
+        for (WorldMutation mutation : mutations) {
+            try {
+                mutation.apply();
+            } catch (RuntimeException e) {
+                logger.log(Level.SEVERE, "[GameTickPipeline.java] Failed to apply " + mutation + ".", e);
+            }
+        }
+    }
+
+    /**
+     * The steps of a session's tick that read the world and decide on the mutations, run by the pipeline.
+     */
+    interface Phases {
+
+        /**
+         * @return The players whose sessions are ticked together, in the order they are ticked.
+         */
+        Collection<Player> getActivePlayers();
+
+        /**
+         * Captures the state of a player's session. Called on the thread owning the session's arena.
+         *
+         * @param player The player whose session is to be captured.
+         * @return The snapshot, or null if the player's session cannot be ticked.
+         */
+        SessionSnapshot capture(Player player);
+
+        /**
+         * Computes the mutations of one session from its snapshot only. May be called on a compute pool thread.
+         *
+         * @param snapshot  The snapshot of the session.
+         * @param mutations The list to add the mutations to, in the order they are to be applied.
+         */
+        void compute(SessionSnapshot snapshot, List<WorldMutation> mutations);
+    }
+
+    /**
+     * Ticks the sessions of the games run by a GameManager: movement, then game end conditions, then apples.
+     *
+     * @param gameManager The GameManager running the games.
+     */
+    private record GameManagerPhases(GameManager gameManager) implements Phases {
+        @Override
+        public Collection<Player> getActivePlayers() {
+            return gameManager.getActivePlayers();
+        }
+
+        @Override
+        public SessionSnapshot capture(Player player) {
+            return SessionSnapshot.capture(gameManager, gameManager.getPlayerInputHandler(), player);
+        }
+
+        /**
+         * Computes the movement of the session, then checks the game end conditions. Once one of them is met, the
+         * session's apples are left alone, as the game will be stopped when the mutations are applied.
+         *
+         * @param snapshot  The snapshot of the session.
+         * @param mutations The list to add the mutations to.
+         */
+        @Override
+        public void compute(SessionSnapshot snapshot, List<WorldMutation> mutations) {
+            gameManager.getSnakeMovement().computeMove(snapshot, mutations);
+
+            GameEndConditionsHandler gameEndConditionsHandler = gameManager.getGameEndConditionsHandler(snapshot.player);
+            String gameEndReason = gameEndConditionsHandler != null ? gameEndConditionsHandler.computeGameEndReason(snapshot) : null;
+            if (gameEndReason != null) {
+                mutations.add(new WorldMutation.EndGame(gameManager, snapshot.player, gameEndReason));
+                return;
+            }
+
+            gameManager.getAppleCollectionManager().computeCollection(snapshot, mutations);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.slimer.Game;
+
+import com.slimer.Main.Main;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Handles the latency command, which reports how long turns take from the key press arriving until they take effect
+ * on the grid, for all players and per player, as well as the entity updates the game tick sends to clients, and
+ * allows admins to export the histograms or reset the collected metrics.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public class InputLatencyCommandHandler implements CommandExecutor, TabCompleter {
+    private static final int MAX_LISTED_PLAYERS = 5;
+    private static final String EXPORT_FOLDER = "latency";
+    private static final String[] SUBCOMMANDS = {"export", "reset", "status"};
+    private final JavaPlugin plugin;
+    private final InputLatencyMetrics metrics;
+    private final EntityUpdateMetrics updateMetrics;
+
+    /**
+     * Constructs a new InputLatencyCommandHandler.
+     *
+     * @param plugin        The main plugin instance, used to schedule the export and locate the data folder.
+     * @param metrics       The turn latencies to report.
+     * @param updateMetrics The entity update counters to report.
+     */
+    public InputLatencyCommandHandler(JavaPlugin plugin, InputLatencyMetrics metrics, EntityUpdateMetrics updateMetrics) {
+        this.plugin = plugin;
+        this.metrics = metrics;
+        this.updateMetrics = updateMetrics;
+    }
+
+    /**
+     * Executes the "snake latency" command.
+     *
+     * @param sender  The sender of the command.
+     * @param command The command being executed.
+     * @param label   The label used to invoke the command.
+     * @param args    The arguments provided with the command.
+     * @return True if the command was handled successfully, false otherwise.
+     */
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, String[] args) {
+        if (!(sender instanceof Player player)) {
+            sender.sendMessage(Component.text("This command can only be run by a player.", NamedTextColor.RED));
+            return false;
+        }
+
+        if (!player.hasPermission("snake.admin")) {
+            player.sendMessage(Component.text("You don't have permission to run this command.", NamedTextColor.RED));
+            return false;
+        }
+
+        String subCommand = args.length == 0 ? "status" : args[0].toLowerCase();
+
+        return switch (subCommand) {
+            case "export" -> handleExportCommand(player);
+            case "reset" -> handleResetCommand(player);
+            case "status" -> handleStatusCommand(player, args);
+            default -> {
+                handleUnknownCommand(player);
+                yield false;
+            }
+        };
+    }
+
+    /**
+     * Provides tab completion suggestions for the latency command.
+     *
+     * @param sender  The CommandSender who is tab-completing.
+     * @param command The Command being completed.
+     * @param alias   The alias used to execute the command.
+     * @param args    The arguments provided so far in the command.
+     * @return A list of suggested completions based on the provided input.
+     */
+    @Override
+    public List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String alias, String[] args) {
+        List<String> completions = new ArrayList<>();
+        if (args.length == 1) {
+            completions.addAll(Arrays.stream(SUBCOMMANDS)
+                    .filter(subCommand -> subCommand.startsWith(args[0].toLowerCase()))
+                    .toList());
+        } else if (args.length == 2 && "status".equalsIgnoreCase(args[0])) {
+            for (Player onlinePlayer : Bukkit.getOnlinePlayers()) {
+                if (onlinePlayer.getName().toLowerCase().startsWith(args[1].toLowerCase())) {
+                    completions.add(onlinePlayer.getName());
+                }
+            }
+        }
+        return completions;
+    }
+
+    /**
+     * Displays an unknown command message to the specified player.
+     *
+     * @param player The player to whom the message should be displayed.
+     */
+    private void handleUnknownCommand(Player player) {
+        player.sendMessage(Component.text("Unknown subcommand. Use one of the following:", NamedTextColor.RED));
+        for (String cmd : SUBCOMMANDS) {
+            player.sendMessage(Component.text("/snakelatency " + cmd, NamedTextColor.GRAY));
+        }
+    }
+
+    /**
+     * Handles the "reset" subcommand, clearing the latencies of all players and the entity update counters.
+     *
+     * @param player The player executing the command.
+     * @return True indicating the command was handled successfully.
+     */
+    private boolean handleResetCommand(Player player) {
+        metrics.reset();
+        updateMetrics.reset();
+        player.sendMessage(Component.text("Input latency and entity update metrics have been reset.", NamedTextColor.GREEN));
+        return true;
+    }
+
+    /**
+     * Handles the "status" subcommand. Without a player name, the latencies of all players together are shown,
+     * followed by the players with the most turns and the entity update counters. With a player name, only that
+     * player's latencies are shown.
+     *
+     * @param player The player executing the command.
+     * @param args   The arguments passed to the command.
+     * @return True if the status was shown, false if the named player has no recorded turns.
+     */
+    private boolean handleStatusCommand(Player player, String[] args) {
+        TextComponent.Builder messageBuilder = Component.text();
+        messageBuilder.append(Component.text("Input Latency", NamedTextColor.GOLD)
+                .decoration(TextDecoration.BOLD, true));
+
+        if (args.length >= 2) {
+            @SuppressWarnings("deprecation")  // Looking up by name is the point of the argument
+            OfflinePlayer target = Bukkit.getOfflinePlayer(args[1]);
+            InputLatencyMetrics.Histogram histogram = metrics.getPlayer(target.getUniqueId());
+            if (histogram == null) {
+                player.sendMessage(Component.text("No turns recorded for " + args[1] + ".", NamedTextColor.RED));
+                return false;
+            }
+            appendHistogram(messageBuilder, histogram);
+            player.sendMessage(messageBuilder.build());
+            return true;
+        }
+
+        appendHistogram(messageBuilder, metrics.getGlobal());
+        List<InputLatencyMetrics.Histogram> players = metrics.getPlayers();
+        for (InputLatencyMetrics.Histogram histogram : players.subList(0, Math.min(MAX_LISTED_PLAYERS, players.size()))) {
+            appendHistogram(messageBuilder, histogram);
+        }
+        appendEntityUpdates(messageBuilder);
+        player.sendMessage(messageBuilder.build());
+        return true;
+    }
+
+    /**
+     * Handles the "export" subcommand, writing the histograms of all players to a CSV file in the plugin's data
+     * folder. The rows are collected right away and written on the I/O executor.
+     *
+     * @param player The player executing the command.
+     * @return True indicating the export was started.
+     */
+    private boolean handleExportCommand(Player player) {
+        List<String> lines = new ArrayList<>();
+        lines.add(buildHeader());
+        lines.add(buildRow(metrics.getGlobal()));
+        for (InputLatencyMetrics.Histogram histogram : metrics.getPlayers()) {
+            lines.add(buildRow(histogram));
+        }
+
+        File exportFolder = new File(plugin.getDataFolder(), EXPORT_FOLDER);
+        File exportFile = new File(exportFolder, "input-latency-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".csv");
+        Main mainPlugin = (Main) plugin;
+        mainPlugin.getIoExecutor().run("latency-export", () -> {
+            try {
+                Files.createDirectories(exportFolder.toPath());
+                Files.write(exportFile.toPath(), lines, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).whenComplete((ignored, error) -> mainPlugin.getTaskScheduler().runAtLocation(player.getLocation(), () -> {
+            if (error != null) {
+                player.sendMessage(Component.text("Failed to export the input latency metrics. Check the console for details.", NamedTextColor.RED));
+            } else {
+                player.sendMessage(Component.text("Input latency metrics exported to " + EXPORT_FOLDER + "/" + exportFile.getName() + ".", NamedTextColor.GREEN));
+            }
+        }));
+        return true;
+    }
+
+    /**
+     * Appends the summary of a histogram to a message.
+     *
+     * @param messageBuilder The message to append to.
+     * @param histogram      The histogram to summarize.
+     */
+    private void appendHistogram(TextComponent.Builder messageBuilder, InputLatencyMetrics.Histogram histogram) {
+        messageBuilder.append(Component.newline())
+                .append(Component.text("- " + histogram.getName(), NamedTextColor.YELLOW))
+                .append(Component.newline())
+                .append(Component.text("  turns=" + histogram.getCount()
+                        + " dropped=" + histogram.getDropped()
+                        + " mean=" + formatMicros(histogram.getMeanMicros())
+                        + " p50=" + formatMicros(histogram.getPercentileMicros(50))
+                        + " p95=" + formatMicros(histogram.getPercentileMicros(95))
+                        + " p99=" + formatMicros(histogram.getPercentileMicros(99))
+                        + " max=" + formatMicros(histogram.getMaxMicros()), NamedTextColor.GREEN));
+    }
+
+    /**
+     * Appends the entity updates issued and skipped by the game tick, per session tick, to a message.
+     *
+     * @param messageBuilder The message to append to.
+     */
+    private void appendEntityUpdates(TextComponent.Builder messageBuilder) {
+        messageBuilder.append(Component.newline())
+                .append(Component.text("Entity Updates (" + updateMetrics.getSessionTicks() + " session ticks)", NamedTextColor.GOLD))
+                .append(Component.newline())
+                .append(Component.text(String.format("  per tick: velocity=%.2f rotation=%.2f teleport=%.2f skipped velocity=%.2f skipped rotation=%.2f est. packets=%.2f",
+                        updateMetrics.perSessionTick(updateMetrics.getVelocityUpdates()),
+                        updateMetrics.perSessionTick(updateMetrics.getRotationUpdates()),
+                        updateMetrics.perSessionTick(updateMetrics.getTeleports()),
+                        updateMetrics.perSessionTick(updateMetrics.getSkippedVelocityUpdates()),
+                        updateMetrics.perSessionTick(updateMetrics.getSkippedRotationUpdates()),
+                        updateMetrics.perSessionTick(updateMetrics.getPackets())), NamedTextColor.GREEN));
+    }
+
+    /**
+     * Builds the header row of the CSV export, with one column per histogram bucket.
+     *
+     * @return The header row.
+     */
+    private String buildHeader() {
+        StringBuilder header = new StringBuilder("player,turns,dropped,mean_ms,p50_ms,p95_ms,p99_ms,max_ms");
+        long[] bounds = InputLatencyMetrics.getBucketBoundsMicros();
+        for (long bound : bounds) {
+            header.append(",le_").append(bound / 1_000).append("ms");
+        }
+        header.append(",gt_").append(bounds[bounds.length - 1] / 1_000).append("ms");
+        return header.toString();
+    }
+
+    /**
+     * Builds the CSV row of a histogram.
+     *
+     * @param histogram The histogram.
+     * @return The row.
+     */
+    private String buildRow(InputLatencyMetrics.Histogram histogram) {
+        StringBuilder row = new StringBuilder(histogram.getName())
+                .append(',').append(histogram.getCount())
+                .append(',').append(histogram.getDropped())
+                .append(',').append(toMillis(histogram.getMeanMicros()))
+                .append(',').append(toMillis(histogram.getPercentileMicros(50)))
+                .append(',').append(toMillis(histogram.getPercentileMicros(95)))
+                .append(',').append(toMillis(histogram.getPercentileMicros(99)))
+                .append(',').append(toMillis(histogram.getMaxMicros()));
+        for (long bucketCount : histogram.getBucketCounts()) {
+            row.append(',').append(bucketCount);
+        }
+        return row.toString();
+    }
+
+    /**
+     * Formats a duration in microseconds as milliseconds.
+     *
+     * @param micros The duration in microseconds.
+     * @return The formatted duration.
+     */
+    private String formatMicros(double micros) {
+        return String.format("%.2fms", micros / 1000.0);
+    }
+
+    /**
+     * Converts a duration in microseconds to milliseconds for the CSV export, without a unit or locale formatting.
+     *
+     * @param micros The duration in microseconds.
+     * @return The duration in milliseconds.
+     */
+    private String toMillis(long micros) {
+        return String.valueOf(micros / 1000.0);
+    }
+}
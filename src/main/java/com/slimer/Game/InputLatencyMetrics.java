@@ -0,0 +1,154 @@
+package com.slimer.Game;
+
+import com.slimer.Util.BucketedHistogram;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how long it takes from a steering packet arriving until the turn it asked for takes effect on the grid,
+ * once for all players together and once per player. Each gets a {@link BucketedHistogram}, so that recording stays
+ * cheap and lock-free when sessions are computed in parallel. Turns that never took effect, because the input queue
+ * or the turn buffer was full, are counted as dropped. The histogram of a player is dropped when they leave the
+ * server.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public class InputLatencyMetrics implements Listener {
+    private static final long[] BUCKET_BOUNDS_MICROS = {10_000, 25_000, 50_000, 75_000, 100_000, 150_000, 200_000, 300_000, 500_000, 1_000_000};
+    private final Histogram global = new Histogram("All players");
+    private final Map<UUID, Histogram> perPlayer = new ConcurrentHashMap<>();
+
+    /**
+     * Records the latency of a turn that took effect.
+     *
+     * @param player The player who made the turn.
+     * @param nanos  The time from the steering packet arriving until the turn took effect, in nanoseconds.
+     */
+    void record(Player player, long nanos) {
+        global.record(nanos);
+        getOrCreate(player).record(nanos);
+    }
+
+    /**
+     * Records a turn that was dropped before it could take effect.
+     *
+     * @param player The player whose turn was dropped.
+     */
+    void recordDropped(Player player) {
+        global.dropped.increment();
+        getOrCreate(player).dropped.increment();
+    }
+
+    /**
+     * Retrieves the histogram of all players together.
+     *
+     * @return The global histogram.
+     */
+    public Histogram getGlobal() {
+        return global;
+    }
+
+    /**
+     * Retrieves the histogram of a single player.
+     *
+     * @param playerId The UUID of the player.
+     * @return The player's histogram, or null if no turns of the player have been recorded.
+     */
+    public Histogram getPlayer(UUID playerId) {
+        return perPlayer.get(playerId);
+    }
+
+    /**
+     * Retrieves the histograms of every player, sorted by the number of turns recorded.
+     *
+     * @return A list of histograms, the player with the most turns first.
+     */
+    public List<Histogram> getPlayers() {
+        List<Histogram> sorted = new ArrayList<>(perPlayer.values());
+        sorted.sort(Comparator.comparingLong(Histogram::getCount).reversed());
+        return sorted;
+    }
+
+    /**
+     * Retrieves the upper bounds of the histogram buckets. The last bucket has no upper bound.
+     *
+     * @return A copy of the bucket bounds, in microseconds.
+     */
+    public static long[] getBucketBoundsMicros() {
+        return BUCKET_BOUNDS_MICROS.clone();
+    }
+
+    /**
+     * Clears all recorded latencies and dropped turns.
+     */
+    public void reset() {
+        global.reset();
+        perPlayer.clear();
+    }
+
+    /**
+     * Drops the histogram of a player when they leave the server, so that players who have been online since startup
+     * do not pile up. Their turns stay part of the global histogram.
+     *
+     * @param event The PlayerQuitEvent object containing event data.
+     */
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        perPlayer.remove(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Gets the histogram of a player, creating it on their first recorded turn.
+     *
+     * @param player The player.
+     * @return The player's histogram.
+     */
+    private Histogram getOrCreate(Player player) {
+        return perPlayer.computeIfAbsent(player.getUniqueId(), id -> new Histogram(player.getName()));
+    }
+
+    /**
+     * A turn latency histogram for a single player, or for all players together.
+     */
+    public static class Histogram extends BucketedHistogram {
+        private final String name;
+        private final LongAdder dropped = new LongAdder();
+
+        private Histogram(String name) {
+            super(BUCKET_BOUNDS_MICROS);
+            this.name = name;
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            dropped.reset();
+        }
+
+        /**
+         * @return The name of the player this histogram belongs to.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return The number of turns that were dropped.
+         */
+        public long getDropped() {
+            return dropped.sum();
+        }
+    }
+}
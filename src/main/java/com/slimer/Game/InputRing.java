@@ -0,0 +1,84 @@
+package com.slimer.Game;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded single-producer, single-consumer ring of input events. The packet thread of a player offers events and
+ * the thread ticking the player's game polls them, without either of them ever taking a lock. Events are plain
+ * integers stamped with the time they arrived, so offering an event allocates nothing.
+ * <p>
+ * Each side only writes its own index: the producer publishes an event by advancing the tail after writing the slot,
+ * the consumer frees a slot by advancing the head after reading it. The ordered stores of {@link AtomicLong#lazySet}
+ * paired with the volatile reads of the other side's index are enough to make each slot visible in time.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+final class InputRing {
+    static final int EMPTY = -1;
+    private final int[] events;
+    private final long[] timestamps;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private long polledTimestamp;  // Only touched by the consumer
+
+    /**
+     * Constructs a new InputRing.
+     *
+     * @param capacity The number of events the ring can hold, rounded up to a power of two of at least two.
+     */
+    InputRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.events = new int[size];
+        this.timestamps = new long[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Adds an event to the ring. Must only be called by the producer.
+     *
+     * @param event     The event, which must not be negative.
+     * @param timestamp The time the event arrived, from {@link System#nanoTime()}.
+     * @return True if the event was added, false if the ring is full.
+     */
+    boolean offer(int event, long timestamp) {
+        long currentTail = tail.get();
+        if (currentTail - head.get() == events.length) {
+            return false;
+        }
+        int slot = (int) (currentTail & mask);
+        events[slot] = event;
+        timestamps[slot] = timestamp;
+        tail.lazySet(currentTail + 1);
+        return true;
+    }
+
+    /**
+     * Removes the oldest event from the ring. Must only be called by the consumer.
+     * The time the event arrived is available from {@link #getPolledTimestamp()} afterwards.
+     *
+     * @return The event, or {@link #EMPTY} if the ring is empty.
+     */
+    int poll() {
+        long currentHead = head.get();
+        if (currentHead == tail.get()) {
+            return EMPTY;
+        }
+        int slot = (int) (currentHead & mask);
+        int event = events[slot];
+        polledTimestamp = timestamps[slot];
+        head.lazySet(currentHead + 1);
+        return event;
+    }
+
+    /**
+     * Retrieves the time the event last returned by {@link #poll()} arrived. Must only be called by the consumer.
+     *
+     * @return The arrival time, from {@link System#nanoTime()}.
+     */
+    long getPolledTimestamp() {
+        return polledTimestamp;
+    }
+}
@@ -9,169 +9,272 @@ import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.util.Vector;
 
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.ArrayDeque;
 import java.util.Map;
 import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class is responsible for handling player inputs for controlling snake movement.
  * <p>
+ * Key presses arrive on the packet thread of the player, which only stamps them with their arrival time and offers them
+ * to the {@link InputRing} of the player's session, without reading any entity state off the thread owning the player.
+ * The game tick drains the ring while capturing the session, turns each press into the direction the player is facing
+ * at that point, and adds it to a small buffer of turns, of which one is applied every time the snake reaches the next
+ * block, so two quick turns in a row are both carried out.
+ * The time from a key press arriving until its turn is applied is recorded in the {@link InputLatencyMetrics}.
+ * <p>
+ * The packet listener is only registered with ProtocolLib while at least one game is running, and rejects packets of
+ * players who are not in a game, such as players riding boats or horses, before reading any packet field.
+ * <p>
  * Last updated: V2.1.0
  * @author Slimerblue22
  */
 public class PlayerInputHandler {
+    private static final int RING_CAPACITY = 16;  // Steering packets arrive once per client tick, so this covers a stalled tick
+    private static final int MAX_BUFFERED_TURNS = 2;
+    private static final int FORWARD_PRESS = 0;
+    // Indexed by yaw quadrant, starting at a yaw of 0 and turning clockwise, so opposite directions are two apart
+    private static final Vector[] DIRECTIONS = {
+            new Vector(0, 0, 1),   // South
+            new Vector(-1, 0, 0),  // East
+            new Vector(0, 0, -1),  // North
+            new Vector(1, 0, 0)    // West
+    };
+    private static final String[] DIRECTION_NAMES = {"South", "East", "North", "West"};
     private final Plugin plugin;
-    private final Map<Player, Vector> playerDirections = new HashMap<>();
+    private final Map<UUID, InputSession> sessions = new ConcurrentHashMap<>();
     private final Random random = new Random();
     private final GameManager gameManager;
-    private final Map<Player, LinkedList<Vector>> lastTwoDirections = new HashMap<>();
+    private final InputLatencyMetrics latencyMetrics = new InputLatencyMetrics();
+    private final PacketAdapter packetListener;
+    private boolean packetListenerRegistered;  // Guarded by this
 
     /**
-     * Constructs a PlayerInputHandler and registers the packet listener for key presses.
+     * Constructs a PlayerInputHandler and creates the packet listener for key presses, which is registered once the
+     * first game starts.
      *
      * @param plugin The Bukkit plugin.
      * @param gameManager The game manager instance responsible for handling game logic.
      */
     public PlayerInputHandler(Plugin plugin, GameManager gameManager) {
         this.plugin = plugin;
-        registerPacketListener();
+        this.packetListener = createPacketListener();
         this.gameManager = gameManager;
     }
 
     /**
      * Starts monitoring a player's direction based on input and initializes it to a random direction.
+     * The packet listener is registered if this is the first game running.
+     * Must be called on the thread owning the player.
      *
      * @param player The player to be monitored.
      */
     public void startMonitoring(Player player) {
         DebugManager.log(DebugManager.Category.PLAYER_INPUT, "Starting to monitor player: " + player.getName());
 
-        // Possible directions: North, South, East, West
-        Vector[] possibleDirections = {
-                new Vector(0, 0, -1),  // North
-                new Vector(0, 0, 1),   // South
-                new Vector(1, 0, 0),   // East
-                new Vector(-1, 0, 0)   // West
-        };
-
         // Initialize to a random direction
-        Vector randomDirection = possibleDirections[random.nextInt(possibleDirections.length)];
-        playerDirections.put(player, randomDirection);
+        sessions.put(player.getUniqueId(), new InputSession(random.nextInt(DIRECTIONS.length)));
+        updatePacketListenerRegistration();
     }
 
     /**
-     * Stops monitoring a player's direction by removing them from the playerDirections map.
+     * Stops monitoring a player's direction, discarding any input that has not been applied yet.
+     * The packet listener is unregistered if this was the last game running.
      *
      * @param player The player to stop monitoring.
      */
     public void stopMonitoring(Player player) {
         DebugManager.log(DebugManager.Category.PLAYER_INPUT, "Stopping monitoring of player: " + player.getName());
-        playerDirections.remove(player);
+        sessions.remove(player.getUniqueId());
+        updatePacketListenerRegistration();
     }
 
     /**
-     * Retrieves the current direction of a player.
+     * Retrieves the current direction of a player, which is the direction the snake is moving in, not counting turns
+     * that are still buffered.
      *
      * @param player The player whose current direction is to be retrieved.
-     * @return The current direction Vector, or a zero Vector if not found.
+     * @return A copy of the current direction Vector, or a zero Vector if not found.
      */
     public Vector getCurrentDirection(Player player) {
-        return playerDirections.getOrDefault(player, new Vector());
+        InputSession session = sessions.get(player.getUniqueId());
+        return session != null ? DIRECTIONS[session.direction].clone() : new Vector();
     }
 
     /**
-     * Registers a packet listener to handle incoming packets related to vehicle steering,
-     * which is used to detect the player's input direction for snake movement.
+     * Retrieves the latencies of the turns made by players.
+     *
+     * @return The InputLatencyMetrics of this handler.
      */
-    private void registerPacketListener() {
-        ProtocolLibrary.getProtocolManager().addPacketListener(
-                new PacketAdapter(plugin, PacketType.Play.Client.STEER_VEHICLE) {
-                    @Override
-                    public void onPacketReceiving(PacketEvent event) {
-                        handleKeyPress(event);
-                    }
-                });
+    public InputLatencyMetrics getLatencyMetrics() {
+        return latencyMetrics;
     }
 
     /**
-     * Handles the key press events to update the direction of the player.
-     * Specifically, it listens for the W key to determine the direction.
+     * Moves the input the player sent since the last tick from the ring into the turn buffer. Every key press turns
+     * towards the direction the player is facing now, read from the player's rotation once per drain.
+     * Repeated presses in the direction the snake is already heading are ignored. A press in the opposite direction
+     * is reported as a U-turn before it is buffered. Once the buffer is full, further turns are dropped until the snake
+     * has reached the next block, and counted as such. Must be called by the thread ticking the player's game, before
+     * the tick reads the U-turn status.
      *
-     * @param event The PacketEvent containing the packet data.
+     * @param player The player whose input is to be drained.
      */
-    private void handleKeyPress(PacketEvent event) {
-        // Check if the packet is related to vehicle steering
-        if (event.getPacketType() != PacketType.Play.Client.STEER_VEHICLE) {
+    void drainInput(Player player) {
+        InputSession session = sessions.get(player.getUniqueId());
+        if (session == null) {
             return;
         }
 
-        Player player = event.getPlayer();
-        // Check if the player is in a game, if not, return early
-        if (gameManager.getSnakeForPlayer(player) == null) {
+        int newDirection = InputRing.EMPTY;
+        while (session.ring.poll() != InputRing.EMPTY) {
+            if (newDirection == InputRing.EMPTY) {
+                newDirection = directionFacing(player.getLocation().getYaw());
+                DebugManager.log(DebugManager.Category.PLAYER_INPUT, "Player: " + player.getName() + " is facing: " + DIRECTION_NAMES[newDirection]);
+            }
+            Turn lastTurn = session.turns.peekLast();
+            int heading = lastTurn != null ? lastTurn.direction() : session.direction;
+            if (newDirection == heading) {
+                continue;
+            }
+            if (newDirection == opposite(heading)) {
+                gameManager.notifyUTurn(player);
+            }
+            if (session.turns.size() >= MAX_BUFFERED_TURNS) {
+                latencyMetrics.recordDropped(player);
+                DebugManager.log(DebugManager.Category.PLAYER_INPUT, "Dropped turn to " + DIRECTION_NAMES[newDirection] + " for player: " + player.getName() + ", turn buffer is full");
+                continue;
+            }
+            session.turns.addLast(new Turn(newDirection, session.ring.getPolledTimestamp()));
+        }
+    }
+
+    /**
+     * Applies the next buffered turn of a player, if there is one, and records how long ago its key press arrived.
+     * Called once every time the snake reaches the block it was heading for, by the thread computing the player's tick.
+     *
+     * @param player The player whose snake reached the next block.
+     * @return A copy of the direction to move in until the next block, or a zero Vector if the player is not monitored.
+     */
+    Vector advanceDirection(Player player) {
+        InputSession session = sessions.get(player.getUniqueId());
+        if (session == null) {
+            return new Vector();
+        }
+        Turn turn = session.turns.pollFirst();
+        if (turn != null) {
+            session.direction = turn.direction();
+            latencyMetrics.record(player, System.nanoTime() - turn.receivedNanos());
+        }
+        return DIRECTIONS[session.direction].clone();
+    }
+
+    /**
+     * Registers the packet listener with ProtocolLib while any game is running, and unregisters it once none is,
+     * so that an idle server does not pay for the listener at all.
+     */
+    private synchronized void updatePacketListenerRegistration() {
+        boolean needed = !sessions.isEmpty();
+        if (needed == packetListenerRegistered) {
             return;
         }
+        if (needed) {
+            ProtocolLibrary.getProtocolManager().addPacketListener(packetListener);
+        } else {
+            ProtocolLibrary.getProtocolManager().removePacketListener(packetListener);
+        }
+        packetListenerRegistered = needed;
+        DebugManager.log(DebugManager.Category.PLAYER_INPUT, (needed ? "Registered" : "Unregistered") + " the steering packet listener");
+    }
+
+    /**
+     * Creates a packet listener to handle incoming packets related to vehicle steering,
+     * which is used to detect the player's key presses for snake movement.
+     * Packets of players who are not in a game are rejected by a single map lookup, before any packet field is read.
+     *
+     * @return The packet listener.
+     */
+    private PacketAdapter createPacketListener() {
+        return new PacketAdapter(plugin, PacketType.Play.Client.STEER_VEHICLE) {
+            @Override
+            public void onPacketReceiving(PacketEvent event) {
+                long receivedNanos = System.nanoTime();
+                Player player = event.getPlayer();
+                // Check if the player is in a game, if not, return early
+                InputSession session = player != null ? sessions.get(player.getUniqueId()) : null;
+                if (session == null) {
+                    return;
+                }
+                handleKeyPress(event, player, session, receivedNanos);
+            }
+        };
+    }
 
+    /**
+     * Handles the key press events to update the direction of the player.
+     * Specifically, it listens for the W key, whose presses are queued for the next tick to turn into a direction.
+     *
+     * @param event         The PacketEvent containing the packet data.
+     * @param player        The player who sent the packet.
+     * @param session       The input session of the player.
+     * @param receivedNanos The time the packet arrived, from {@link System#nanoTime()}.
+     */
+    private void handleKeyPress(PacketEvent event, Player player, InputSession session, long receivedNanos) {
         float forward = event.getPacket().getFloat().read(1);
         // Only proceed if the W key is pressed
         if (forward <= 0) {
             return;
         }
 
-        float yaw = player.getLocation().getYaw();
-        yaw = (yaw % 360 + 360) % 360;  // Normalize yaw to [0, 360)
-
-        Vector newDirection;
-        String facingDirection;
-        DebugManager.log(DebugManager.Category.PLAYER_INPUT, "Handling key press for player: " + event.getPlayer().getName());
-
-        // Determine the new direction based on player's yaw
-        if (yaw >= 315 || yaw < 45) {
-            newDirection = new Vector(0, 0, 1);  // South
-            facingDirection = "South";
-        } else if (yaw >= 45 && yaw < 135) {
-            newDirection = new Vector(-1, 0, 0);  // East
-            facingDirection = "East";
-        } else if (yaw >= 135 && yaw < 225) {
-            newDirection = new Vector(0, 0, -1);  // North
-            facingDirection = "North";
-        } else {  // yaw >= 225 && yaw < 315
-            newDirection = new Vector(1, 0, 0);  // West
-            facingDirection = "West";
+        if (!session.ring.offer(FORWARD_PRESS, receivedNanos)) {
+            latencyMetrics.recordDropped(player);
+            DebugManager.log(DebugManager.Category.PLAYER_INPUT, "Input queue of player: " + player.getName() + " is full, dropping key press");
         }
+    }
 
-        playerDirections.put(player, newDirection);
-        DebugManager.log(DebugManager.Category.PLAYER_INPUT, "Player: " + player.getName() + " is facing: " + facingDirection);
-
-        // Update direction history
-        LinkedList<Vector> directions = lastTwoDirections.getOrDefault(player, new LinkedList<>());
-        directions.addLast(newDirection);
-        if (directions.size() > 2) {
-            directions.removeFirst();
-        }
-        lastTwoDirections.put(player, directions);
+    /**
+     * Gets the direction closest to a yaw.
+     *
+     * @param yaw The yaw, in degrees.
+     * @return The index of the direction.
+     */
+    private static int directionFacing(float yaw) {
+        yaw = (yaw % 360 + 360) % 360;  // Normalize yaw to [0, 360)
+        return (int) ((yaw + 45) / 90) % DIRECTIONS.length;
+    }
 
-        // Check for U-turns
-        if (isUTurn(player)) {
-            gameManager.notifyUTurn(player);
-        }
+    /**
+     * Gets the direction opposite to the given one.
+     *
+     * @param direction The index of the direction.
+     * @return The index of the opposite direction.
+     */
+    private static int opposite(int direction) {
+        return (direction + 2) % DIRECTIONS.length;
     }
 
     /**
-     * Checks if the player made a U-turn based on the last two directions.
+     * A turn waiting in the turn buffer.
      *
-     * @param player The player to check.
-     * @return True if a U-turn is detected, false otherwise.
+     * @param direction     The index of the direction to turn to.
+     * @param receivedNanos The time the key press asking for the turn arrived, from {@link System#nanoTime()}.
      */
-    private boolean isUTurn(Player player) {
-        LinkedList<Vector> directions = lastTwoDirections.get(player);
-        if (directions == null || directions.size() < 2) {
-            return false;
-        }
-        Vector last = directions.getLast();
-        Vector secondLast = directions.get(directions.size() - 2);
+    private record Turn(int direction, long receivedNanos) {
+    }
+
+    /**
+     * The input state of one game session. The ring is written by the player's packet thread, the direction and turn
+     * buffer only by the thread ticking the session.
+     */
+    private static final class InputSession {
+        private final InputRing ring = new InputRing(RING_CAPACITY);
+        private final ArrayDeque<Turn> turns = new ArrayDeque<>(MAX_BUFFERED_TURNS);
+        private int direction;
 
-        // Check if the last direction is the opposite of the second last
-        return last.clone().multiply(-1).equals(secondLast);
+        private InputSession(int direction) {
+            this.direction = direction;
+        }
     }
-}
\ No newline at end of file
+}
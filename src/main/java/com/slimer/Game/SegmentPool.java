@@ -0,0 +1,222 @@
+package com.slimer.Game;
+
+import com.slimer.Main.Main;
+import com.slimer.Scheduler.TaskScheduler;
+import com.slimer.Util.DebugManager;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.BlockDisplay;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.util.Vector;
+
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the entities of destroyed snakes around, so the next snake in the same arena can reuse them instead of
+ * spawning new ones. Idle entities stay where the snake ended, hidden and stripped of passengers and velocity, and are
+ * recolored and moved by the snake taking them. Idle sheep also float in place and cannot be pushed or hurt, so they
+ * neither fall out of the arena nor get in the way of the snakes still playing in it.
+ * <p>
+ * Each arena keeps at most a configured number of idle entities per renderer, any more are removed right away.
+ * Entities idle for longer than the configured time are removed by a periodic sweep, so arenas that are no longer
+ * played in give their entities up. Entities whose chunk unloaded in the meantime are discarded when they come up.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public class SegmentPool {
+    private static final long SHRINK_INTERVAL_TICKS = 20L * 30;  // Every 30 seconds
+    private final Map<PoolKey, Deque<IdleEntity>> idleEntities = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final JavaPlugin plugin;
+    private final int maxIdlePerArena;
+    private final long maxIdleMillis;
+    private final TaskScheduler.Task shrinkTask;
+
+    /**
+     * Constructs a SegmentPool and starts the periodic sweep removing entities idle for too long.
+     *
+     * @param plugin The JavaPlugin instance associated with the game.
+     */
+    public SegmentPool(JavaPlugin plugin) {
+        Main mainPlugin = (Main) plugin;
+        this.plugin = plugin;
+        this.maxIdlePerArena = mainPlugin.getSegmentPoolMaxPerArena();
+        this.maxIdleMillis = TimeUnit.SECONDS.toMillis(mainPlugin.getSegmentPoolIdleSeconds());
+        this.shrinkTask = mainPlugin.getTaskScheduler().runGlobalTimer(this::shrink, SHRINK_INTERVAL_TICKS, SHRINK_INTERVAL_TICKS);
+    }
+
+    /**
+     * Takes an idle entity of the arena and renderer, moves it to the given location and shows it again.
+     * Must be called on the thread owning the location.
+     *
+     * @param arenaName The name of the game region the snake is in.
+     * @param renderer  The renderer of the snake.
+     * @param location  The location the entity is needed at.
+     * @return The reused entity, or null if the arena has none left, in which case the caller has to spawn one.
+     */
+    Entity acquire(String arenaName, SnakeRenderer renderer, Location location) {
+        Deque<IdleEntity> idle = arenaName != null ? idleEntities.get(new PoolKey(arenaName, renderer)) : null;
+        IdleEntity idleEntity;
+        while (idle != null && (idleEntity = idle.pollFirst()) != null) {
+            Entity entity = idleEntity.entity();
+            if (entity.isValid() && entity.getWorld().equals(location.getWorld())) {
+                entity.teleport(location);
+                setHidden(entity, false);
+                hits.increment();
+                return entity;
+            }
+            entity.remove();
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Hides an entity of a destroyed snake and keeps it for the next snake of the arena, or removes it if the arena
+     * already keeps as many idle entities as allowed.
+     *
+     * @param arenaName The name of the game region the snake was in.
+     * @param renderer  The renderer of the snake.
+     * @param entity    The entity to release.
+     */
+    void release(String arenaName, SnakeRenderer renderer, Entity entity) {
+        if (arenaName == null || !entity.isValid()) {
+            entity.remove();
+            return;
+        }
+        Deque<IdleEntity> idle = idleEntities.computeIfAbsent(new PoolKey(arenaName, renderer), k -> new ConcurrentLinkedDeque<>());
+        if (idle.size() >= maxIdlePerArena) {
+            entity.remove();
+            return;
+        }
+
+        entity.eject();
+        entity.setVelocity(new Vector());
+        setHidden(entity, true);
+        idle.addFirst(new IdleEntity(entity, System.currentTimeMillis()));
+    }
+
+    /**
+     * Hides or shows a snake entity. Sheep are made invisible, weightless and invulnerable while hidden, and get their
+     * gravity and vulnerability back when shown; they are never collidable. Block displays are emptied; showing a
+     * display again is left to the recoloring done by the snake taking it.
+     *
+     * @param entity The entity.
+     * @param hidden True to hide the entity, false to show it.
+     */
+    private static void setHidden(Entity entity, boolean hidden) {
+        if (entity instanceof BlockDisplay display) {
+            if (hidden) {
+                display.setBlock(Material.AIR.createBlockData());
+            }
+        } else if (entity instanceof LivingEntity livingEntity) {
+            livingEntity.setInvisible(hidden);
+            livingEntity.setGravity(!hidden);
+            livingEntity.setInvulnerable(hidden);
+            livingEntity.setCollidable(false);
+        }
+    }
+
+    /**
+     * Removes the entities that have been idle for longer than allowed. Idle entities are taken from the front, so
+     * the oldest ones are at the back of every deque. Each removal runs on the thread owning the entity.
+     */
+    private void shrink() {
+        long cutoff = System.currentTimeMillis() - maxIdleMillis;
+        TaskScheduler scheduler = ((Main) plugin).getTaskScheduler();
+        int removed = 0;
+        for (Deque<IdleEntity> idle : idleEntities.values()) {
+            Iterator<IdleEntity> iterator = idle.descendingIterator();
+            while (iterator.hasNext()) {
+                IdleEntity idleEntity = iterator.next();
+                if (idleEntity.releasedAtMillis() > cutoff) {
+                    break;
+                }
+                if (idle.removeFirstOccurrence(idleEntity)) {
+                    Entity entity = idleEntity.entity();
+                    scheduler.runAtLocation(entity.getLocation(), entity::remove);
+                    removed++;
+                }
+            }
+        }
+        if (removed > 0) {
+            DebugManager.log(DebugManager.Category.SNAKE_CREATION, "Removed " + removed + " idle snake entities from the segment pool");
+        }
+    }
+
+    /**
+     * Removes all idle entities and stops the periodic sweep. Typically used during server shutdown, after all snakes
+     * have been destroyed.
+     */
+    public void clear() {
+        shrinkTask.cancel();
+        for (Deque<IdleEntity> idle : idleEntities.values()) {
+            for (IdleEntity idleEntity : idle) {
+                idleEntity.entity().remove();
+            }
+        }
+        idleEntities.clear();
+    }
+
+    /**
+     * Clears the hit and miss counters.
+     */
+    public void resetCounters() {
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * @return The number of snake entities taken from the pool instead of being spawned.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of snake entities that had to be spawned because the pool had none left.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The number of entities currently kept idle across all arenas.
+     */
+    public int getIdleCount() {
+        int count = 0;
+        for (Deque<IdleEntity> idle : idleEntities.values()) {
+            count += idle.size();
+        }
+        return count;
+    }
+
+    /**
+     * The arena and renderer an idle entity can be reused for.
+     *
+     * @param arenaName The name of the game region.
+     * @param renderer  The renderer of the snakes.
+     */
+    private record PoolKey(String arenaName, SnakeRenderer renderer) {
+    }
+
+    /**
+     * An entity waiting to be reused.
+     *
+     * @param entity           The entity.
+     * @param releasedAtMillis The time the entity was released, in milliseconds since the epoch.
+     */
+    private record IdleEntity(Entity entity, long releasedAtMillis) {
+    }
+}
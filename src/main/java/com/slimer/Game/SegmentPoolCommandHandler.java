@@ -0,0 +1,136 @@
+package com.slimer.Game;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Handles the segment pool command, which reports how often snake entities were reused from the {@link SegmentPool}
+ * instead of being spawned and how many are currently kept idle, and allows admins to reset the counters.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public class SegmentPoolCommandHandler implements CommandExecutor, TabCompleter {
+    private static final String[] SUBCOMMANDS = {"reset", "status"};
+    private final SegmentPool segmentPool;
+
+    /**
+     * Constructs a new SegmentPoolCommandHandler.
+     *
+     * @param segmentPool The segment pool whose counters are reported.
+     */
+    public SegmentPoolCommandHandler(SegmentPool segmentPool) {
+        this.segmentPool = segmentPool;
+    }
+
+    /**
+     * Executes the "snake pool" command.
+     *
+     * @param sender  The sender of the command.
+     * @param command The command being executed.
+     * @param label   The label used to invoke the command.
+     * @param args    The arguments provided with the command.
+     * @return True if the command was handled successfully, false otherwise.
+     */
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, String[] args) {
+        if (!(sender instanceof Player player)) {
+            sender.sendMessage(Component.text("This command can only be run by a player.", NamedTextColor.RED));
+            return false;
+        }
+
+        if (!player.hasPermission("snake.admin")) {
+            player.sendMessage(Component.text("You don't have permission to run this command.", NamedTextColor.RED));
+            return false;
+        }
+
+        String subCommand = args.length == 0 ? "status" : args[0].toLowerCase();
+
+        return switch (subCommand) {
+            case "reset" -> handleResetCommand(player);
+            case "status" -> handleStatusCommand(player);
+            default -> {
+                handleUnknownCommand(player);
+                yield false;
+            }
+        };
+    }
+
+    /**
+     * Provides tab completion suggestions for the segment pool command.
+     *
+     * @param sender  The CommandSender who is tab-completing.
+     * @param command The Command being completed.
+     * @param alias   The alias used to execute the command.
+     * @param args    The arguments provided so far in the command.
+     * @return A list of suggested completions based on the provided input.
+     */
+    @Override
+    public List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String alias, String[] args) {
+        List<String> completions = new ArrayList<>();
+        if (args.length == 1) {
+            completions.addAll(Arrays.stream(SUBCOMMANDS)
+                    .filter(subCommand -> subCommand.startsWith(args[0].toLowerCase()))
+                    .toList());
+        }
+        return completions;
+    }
+
+    /**
+     * Displays an unknown command message to the specified player.
+     *
+     * @param player The player to whom the message should be displayed.
+     */
+    private void handleUnknownCommand(Player player) {
+        player.sendMessage(Component.text("Unknown subcommand. Use one of the following:", NamedTextColor.RED));
+        for (String cmd : SUBCOMMANDS) {
+            player.sendMessage(Component.text("/snakepool " + cmd, NamedTextColor.GRAY));
+        }
+    }
+
+    /**
+     * Handles the "reset" subcommand, clearing the hit and miss counters. Idle entities are kept.
+     *
+     * @param player The player executing the command.
+     * @return True indicating the command was handled successfully.
+     */
+    private boolean handleResetCommand(Player player) {
+        segmentPool.resetCounters();
+        player.sendMessage(Component.text("Segment pool counters have been reset.", NamedTextColor.GREEN));
+        return true;
+    }
+
+    /**
+     * Handles the "status" subcommand, showing the hits, misses and hit rate of the pool and the number of idle
+     * entities.
+     *
+     * @param player The player executing the command.
+     * @return True indicating the status was shown.
+     */
+    private boolean handleStatusCommand(Player player) {
+        long hits = segmentPool.getHits();
+        long misses = segmentPool.getMisses();
+        long requests = hits + misses;
+        TextComponent.Builder messageBuilder = Component.text();
+        messageBuilder.append(Component.text("Segment Pool", NamedTextColor.GOLD)
+                        .decoration(TextDecoration.BOLD, true))
+                .append(Component.newline())
+                .append(Component.text(String.format("  hits=%d misses=%d hit rate=%.1f%% idle=%d",
+                        hits, misses, requests == 0 ? 0.0 : hits * 100.0 / requests, segmentPool.getIdleCount()), NamedTextColor.GREEN));
+        player.sendMessage(messageBuilder.build());
+        return true;
+    }
+}
@@ -0,0 +1,117 @@
+package com.slimer.Game;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.util.Vector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything the compute phase of a game tick needs to know about one game session, read from the world up front.
+ * A snapshot is captured on the thread owning the arena and afterwards only touched by the one thread computing
+ * the session's tick, so the compute phase can run for many sessions at once without reading any entity or block.
+ * <p>
+ * Segment locations are updated by the movement step when it decides to teleport a segment, so the collision checks
+ * that follow see the segment where it will be once the tick's mutations are applied, as they did when every step
+ * still changed the world directly. Likewise, the direction is updated when the movement step applies a buffered turn.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+final class SessionSnapshot {
+    final Player player;
+    final Entity head;
+    final Location headLocation;
+    final Vector headVelocity;
+    final List<Entity> segments;
+    final Location[] segmentLocations;
+    final Vector[] segmentVelocities;
+    Vector direction;
+    final Material blockBelow;
+    final Material blockAtHead;
+    final SnakeRenderer renderer;
+    final boolean mounted;
+    final boolean uTurnDetected;
+    final Apple appleAtHead;
+
+    /**
+     * Constructs a new SessionSnapshot. On a server, snapshots are only created by {@link #capture}; tests build
+     * them directly.
+     *
+     * @param player            The player whose session this is.
+     * @param head              The entity representing the snake's head.
+     * @param headLocation      The location of the snake's head.
+     * @param headVelocity      The velocity of the snake's head.
+     * @param segments          The segments of the snake, in order.
+     * @param segmentLocations  The locations of the segments, in the same order.
+     * @param segmentVelocities The velocities of the segments, in the same order.
+     * @param direction         The direction the snake is moving in.
+     * @param blockBelow        The type of the block below the snake's head.
+     * @param blockAtHead       The type of the block the snake's head is in.
+     * @param renderer          The renderer the snake is shown with.
+     * @param mounted           Whether the player is still riding the snake's head.
+     * @param uTurnDetected     Whether the player tried to make a U-turn since the last tick.
+     * @param appleAtHead       The player's apple the head has just reached, or null if there is none.
+     */
+    SessionSnapshot(Player player, Entity head, Location headLocation, Vector headVelocity, List<Entity> segments,
+                            Location[] segmentLocations, Vector[] segmentVelocities, Vector direction, Material blockBelow,
+                            Material blockAtHead, SnakeRenderer renderer, boolean mounted, boolean uTurnDetected, Apple appleAtHead) {
+        this.player = player;
+        this.head = head;
+        this.headLocation = headLocation;
+        this.headVelocity = headVelocity;
+        this.segments = segments;
+        this.segmentLocations = segmentLocations;
+        this.segmentVelocities = segmentVelocities;
+        this.direction = direction;
+        this.blockBelow = blockBelow;
+        this.blockAtHead = blockAtHead;
+        this.renderer = renderer;
+        this.mounted = mounted;
+        this.uTurnDetected = uTurnDetected;
+        this.appleAtHead = appleAtHead;
+    }
+
+    /**
+     * Captures the state of a player's game session, draining the input the player sent since the last tick first.
+     * Must be called on the thread owning the arena.
+     *
+     * @param gameManager        The GameManager running the game.
+     * @param playerInputHandler The PlayerInputHandler tracking the player's steering.
+     * @param player             The player whose session is to be captured.
+     * @return The snapshot, or null if the player has no snake.
+     */
+    static SessionSnapshot capture(GameManager gameManager, PlayerInputHandler playerInputHandler, Player player) {
+        SnakeCreation snake = gameManager.getSnakeForPlayer(player);
+        if (snake == null || snake.getSheepEntity() == null) {
+            return null;
+        }
+        Entity head = snake.getSheepEntity();
+        Location headLocation = head.getLocation();
+
+        List<Entity> segments = gameManager.getSegmentsForPlayer(player);
+        segments = segments != null ? new ArrayList<>(segments) : new ArrayList<>();
+        Location[] segmentLocations = new Location[segments.size()];
+        Vector[] segmentVelocities = new Vector[segments.size()];
+        for (int i = 0; i < segmentLocations.length; i++) {
+            segmentLocations[i] = segments.get(i).getLocation();
+            segmentVelocities[i] = segments.get(i).getVelocity();
+        }
+
+        Apple appleAtHead = gameManager.getAppleCollectionManager()
+                .findAppleAtHead(player, gameManager.getGameRegionForPlayer(player), headLocation);
+
+        playerInputHandler.drainInput(player);
+        Material blockBelow = headLocation.getWorld().getBlockAt(headLocation.clone().add(0, -1, 0)).getType();
+        Material blockAtHead = headLocation.getBlock().getType();
+        boolean mounted = head.getPassengers().contains(player);
+
+        return new SessionSnapshot(player, head, headLocation, head.getVelocity(), segments, segmentLocations, segmentVelocities,
+                playerInputHandler.getCurrentDirection(player), blockBelow, blockAtHead, snake.getRenderer(), mounted,
+                gameManager.isUTurnDetected(player), appleAtHead);
+    }
+}
@@ -4,36 +4,69 @@ import com.slimer.Util.DebugManager;
 import com.slimer.Util.PlayerData;
 import org.bukkit.DyeColor;
 import org.bukkit.Location;
+import org.bukkit.Material;
 import org.bukkit.World;
+import org.bukkit.entity.BlockDisplay;
+import org.bukkit.entity.Display;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Sheep;
 import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.util.Transformation;
 import org.bukkit.util.Vector;
+import org.joml.AxisAngle4f;
+import org.joml.Vector3f;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * This class is responsible for creating and managing a snake in the game.
- * The snake is represented by a lead sheep entity followed by zero or more segment entities.
+ * The snake is represented by a lead entity followed by zero or more segment entities, which are sheep or wool block
+ * displays depending on the {@link SnakeRenderer} of the game.
+ * <p>
+ * Block displays are set up to be interpolated by the client over the time of one grid step when teleported.
+ * Teleport interpolation was added in Minecraft 1.20.2, after the API version this plugin is built against, so the
+ * setter is looked up reflectively and skipped on older servers.
+ * <p>
+ * Entities are taken from the {@link SegmentPool} of the arena where possible and handed back to it when the snake is
+ * destroyed, so only entities the pool cannot provide are spawned. Every entity is recolored for the player taking it.
  * <p>
  * Last updated: V2.1.0
  * @author Slimerblue22
  */
 public class SnakeCreation {
-    private final Sheep sheep;
-    private final List<Entity> segments;
     private static final DyeColor DEFAULT_SHEEP_COLOR = DyeColor.WHITE;
+    private static final int MAX_TELEPORT_DURATION = 59;  // The client caps teleport interpolation at this many ticks
+    private static final Method SET_TELEPORT_DURATION = findTeleportDurationSetter();
+    // Moves the block so it is centered on the entity's location, like a sheep standing in the middle of the block
+    private static final Transformation CENTERED_BLOCK = new Transformation(
+            new Vector3f(-0.5f, 0f, -0.5f), new AxisAngle4f(), new Vector3f(1f, 1f, 1f), new AxisAngle4f());
+    private final Entity sheep;
+    private final List<Entity> segments;
+    private final SnakeRenderer renderer;
+    private final int ticksPerGridStep;
+    private final SegmentPool segmentPool;
+    private final String arenaName;
 
     /**
-     * Constructs a SnakeCreation object and spawns the initial sheep entity at the given location.
+     * Constructs a SnakeCreation object and spawns the initial lead entity at the given location.
      *
-     * @param location The spawn location for the lead sheep entity.
+     * @param location         The spawn location for the lead entity.
+     * @param player           The player controlling the snake.
+     * @param renderer         The renderer deciding which entities make up the snake.
+     * @param ticksPerGridStep The number of ticks a grid-stepped snake takes to move one block.
+     * @param segmentPool      The pool the snake takes its entities from and hands them back to.
+     * @param arenaName        The name of the game region the snake is in.
      */
-    public SnakeCreation(Location location, Player player) {
-        this.sheep = spawnSheep(location, player);
+    public SnakeCreation(Location location, Player player, SnakeRenderer renderer, int ticksPerGridStep, SegmentPool segmentPool, String arenaName) {
+        this.renderer = renderer;
+        this.ticksPerGridStep = ticksPerGridStep;
+        this.segmentPool = segmentPool;
+        this.arenaName = arenaName;
+        this.sheep = spawnSnakeEntity(location, player);
         this.segments = new ArrayList<>();
         DebugManager.log(DebugManager.Category.SNAKE_CREATION, "New snake created for player: " + player.getName() + " at location: " + location);
     }
@@ -46,36 +79,118 @@ public class SnakeCreation {
     public void addSegment(Vector lastWaypoint, Player player) {
         World world = sheep.getWorld();
         Location newSegmentLocation = new Location(world, lastWaypoint.getX(), lastWaypoint.getY(), lastWaypoint.getZ());
-        Entity segment = spawnSheep(newSegmentLocation, player);
+        Entity segment = spawnSnakeEntity(newSegmentLocation, player);
         segments.add(segment);
         DebugManager.log(DebugManager.Category.SNAKE_CREATION, "Segment added for player: " + player.getName() + " at waypoint: " + lastWaypoint);
     }
 
+    /**
+     * Provides an entity for a part of the snake, as chosen by the renderer, in the player's color.
+     * An idle entity of the arena is reused if the segment pool has one, otherwise a new one is spawned.
+     *
+     * @param location The Location where the entity should be.
+     * @param player   The Player associated with the entity.
+     * @return The reused or newly spawned entity.
+     */
+    private Entity spawnSnakeEntity(Location location, Player player) {
+        DyeColor playerColor = PlayerData.getInstance().getSheepColor(player);
+        DyeColor color = playerColor == null ? DEFAULT_SHEEP_COLOR : playerColor;
+        Entity entity = segmentPool.acquire(arenaName, renderer, location);
+        if (entity == null) {
+            entity = switch (renderer) {
+                case SHEEP -> spawnSheep(location);
+                case DISPLAY -> spawnBlockDisplay(location);
+            };
+        }
+        applyColor(entity, color);
+        return entity;
+    }
+
     /**
      * Spawns a custom Sheep entity at the specified location with specific attributes.
+     * Snake entities are not saved with their chunk, so entities kept by the segment pool never outlive the server.
      *
      * @param location The Location where the Sheep should be spawned.
-     * @param player The Player associated with the spawned Sheep.
      * @return The newly spawned Sheep entity.
      */
-    private Sheep spawnSheep(Location location, Player player) {
+    private Sheep spawnSheep(Location location) {
         Sheep newSheep = (Sheep) location.getWorld().spawnEntity(location, EntityType.SHEEP, CreatureSpawnEvent.SpawnReason.CUSTOM);
         newSheep.setSilent(true);
         newSheep.setAware(false);
         newSheep.setCollidable(false);
-        DyeColor color = PlayerData.getInstance().getSheepColor(player);
-        newSheep.setColor(color == null ? DEFAULT_SHEEP_COLOR : color);
+        newSheep.setPersistent(false);
         return newSheep;
     }
 
     /**
-     * Destroys the snake by removing all its entities.
+     * Spawns a block display at the specified location. The display is fully set up before it is added to the world,
+     * so it never shows up unconfigured.
+     *
+     * @param location The Location where the display should be spawned.
+     * @return The newly spawned BlockDisplay entity.
+     */
+    private BlockDisplay spawnBlockDisplay(Location location) {
+        return location.getWorld().spawn(location, BlockDisplay.class, display -> {
+            display.setBlock(Material.WHITE_WOOL.createBlockData());
+            display.setTransformation(CENTERED_BLOCK);
+            display.setPersistent(false);
+            setTeleportDuration(display, Math.min(ticksPerGridStep, MAX_TELEPORT_DURATION));
+        });
+    }
+
+    /**
+     * Colors a snake entity: sheep get the color as their wool color, block displays show wool of the color.
+     *
+     * @param entity The snake entity.
+     * @param color  The color of the player.
+     */
+    private void applyColor(Entity entity, DyeColor color) {
+        if (entity instanceof Sheep sheepEntity) {
+            sheepEntity.setColor(color);
+        } else if (entity instanceof BlockDisplay display) {
+            Material wool = Material.matchMaterial(color.name() + "_WOOL");
+            display.setBlock((wool != null ? wool : Material.WHITE_WOOL).createBlockData());
+        }
+    }
+
+    /**
+     * Sets the number of ticks the client interpolates a teleport of a display over, if the server supports it.
+     *
+     * @param display The display entity.
+     * @param ticks   The number of ticks.
+     */
+    private static void setTeleportDuration(Display display, int ticks) {
+        if (SET_TELEPORT_DURATION == null) {
+            return;
+        }
+        try {
+            SET_TELEPORT_DURATION.invoke(display, ticks);
+        } catch (ReflectiveOperationException e) {
+            DebugManager.log(DebugManager.Category.SNAKE_CREATION, "Failed to set the teleport duration of a display: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Looks up the setter for the teleport interpolation of display entities.
+     *
+     * @return The setter, or null on servers before Minecraft 1.20.2.
+     */
+    private static Method findTeleportDurationSetter() {
+        try {
+            return Display.class.getMethod("setTeleportDuration", int.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Destroys the snake by handing all its entities back to the segment pool.
      */
     public void destroy() {
-        this.sheep.remove();
+        segmentPool.release(arenaName, renderer, this.sheep);
         DebugManager.log(DebugManager.Category.SNAKE_CREATION, "Snake destroyed for player with lead sheep at: " + this.sheep.getLocation());
         for (Entity segment : segments) {
-            segment.remove();
+            segmentPool.release(arenaName, renderer, segment);
         }
     }
 
@@ -89,9 +204,18 @@ public class SnakeCreation {
     }
 
     /**
-     * Returns the lead sheep entity of the snake.
+     * Returns the renderer the snake is shown with.
+     *
+     * @return The SnakeRenderer of the snake.
+     */
+    public SnakeRenderer getRenderer() {
+        return this.renderer;
+    }
+
+    /**
+     * Returns the lead entity of the snake, a sheep or a block display depending on the renderer.
      *
-     * @return The Sheep entity that leads the snake.
+     * @return The entity that leads the snake.
      */
     public Entity getSheepEntity() {
         return this.sheep;
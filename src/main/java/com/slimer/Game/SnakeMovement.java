@@ -1,12 +1,16 @@
 package com.slimer.Game;
 
 import com.slimer.Main.Main;
+import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.util.Vector;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
 /*
   ==============================================================================
                                IMPORTANT NOTICE
@@ -42,18 +46,28 @@ import java.util.*;
  * This class is responsible for updating and moving both the head entity and the segments of each snake.
  * Movement is determined based on player inputs and target positions.
  * The class uses waypoints to store intermediate positions for smooth and accurate snake movement.
+ * Movement is computed from session snapshots and returned as world mutations, which the game tick applies later.
+ * Velocity and rotation updates are only issued for entities whose current velocity or yaw is noticeably off from the
+ * computed one, as every update is sent to every player tracking the entity.
+ * Snakes of a grid-stepped {@link SnakeRenderer} are not moved by physics at all: every few ticks, depending on the
+ * speed, the head is teleported one block ahead and every segment to the waypoint of the part in front of it.
  * <p>
  * Last updated: V2.1.0
  * @author Slimerblue22
  */
 public class SnakeMovement {
+    private static final double VELOCITY_UPDATE_THRESHOLD = 0.01;  // Horizontal difference in blocks per tick
+    private static final float YAW_UPDATE_THRESHOLD = 360f / 256;  // The protocol sends yaw in steps of this size
     private final GameManager gameManager;
     private final double desiredSpeedInBlocksPerSecond;
     private final double forceTeleportDistance;
     private final double targetCloseEnoughDistance;
-    private final Map<Player, Vector> playerTargetPositions = new HashMap<>();
-    private final Map<Player, Deque<Vector>> playerWaypoints = new HashMap<>();
-    private final Map<Entity, Vector> lastPositions = new HashMap<>();
+    private final Map<Player, Vector> playerTargetPositions = new ConcurrentHashMap<>();
+    private final Map<Player, Deque<Vector>> playerWaypoints = new ConcurrentHashMap<>();
+    private final Map<Entity, Vector> lastPositions = new ConcurrentHashMap<>();
+    private final Map<Player, Integer> gridStepCountdowns = new ConcurrentHashMap<>();
+    private final int ticksPerGridStep;
+    private final EntityUpdateMetrics updateMetrics = new EntityUpdateMetrics();
     private PlayerInputHandler playerInputHandler;
 
     /**
@@ -70,6 +84,7 @@ public class SnakeMovement {
         this.desiredSpeedInBlocksPerSecond = mainPlugin.getSnakeSpeed();
         this.forceTeleportDistance = mainPlugin.getForceTeleportDistance();
         this.targetCloseEnoughDistance = mainPlugin.getTargetCloseEnoughDistance();
+        this.ticksPerGridStep = Math.max(1, (int) Math.round(20.0 / desiredSpeedInBlocksPerSecond));
     }
 
     /**
@@ -96,6 +111,24 @@ public class SnakeMovement {
         this.playerInputHandler = playerInputHandler;
     }
 
+    /**
+     * Retrieves the counters of the velocity and rotation updates issued to snake entities.
+     *
+     * @return The EntityUpdateMetrics of this movement handler.
+     */
+    public EntityUpdateMetrics getUpdateMetrics() {
+        return updateMetrics;
+    }
+
+    /**
+     * Retrieves the number of ticks a grid-stepped snake takes to move one block at the configured speed.
+     *
+     * @return The number of ticks per grid step, at least 1.
+     */
+    public int getTicksPerGridStep() {
+        return ticksPerGridStep;
+    }
+
     /**
      * Clears the target position and waypoints for a given player's snake.
      *
@@ -104,10 +137,22 @@ public class SnakeMovement {
     public void clearTargetPosition(Player player) {
         // Remove the player's snake target position
         playerTargetPositions.remove(player);
-        // Clear the waypoints for the player's snake
-        Deque<Vector> waypoints = playerWaypoints.get(player);
-        if (waypoints != null) {
-            waypoints.clear();
+        gridStepCountdowns.remove(player);
+        // Remove the waypoints for the player's snake
+        playerWaypoints.remove(player);
+    }
+
+    /**
+     * Clears the cached last positions of the entities of a destroyed snake. The entities may be kept by the segment
+     * pool and reused by another snake, which must not start from the positions of this one.
+     *
+     * @param head     The head entity of the snake.
+     * @param segments The segments of the snake.
+     */
+    public void clearLastPositions(Entity head, List<Entity> segments) {
+        lastPositions.remove(head);
+        for (Entity segment : segments) {
+            lastPositions.remove(segment);
         }
     }
 
@@ -124,52 +169,55 @@ public class SnakeMovement {
     }
 
     /**
-     * Moves the snake based on the given player and direction.
-     * This method updates the head and segments' positions.
+     * Computes the movement of a player's snake for one tick from a snapshot of its session.
+     * The waypoints and target position of the snake are updated, and the resulting velocity, rotation and teleport
+     * changes of the head and segments are added to the list of mutations instead of being applied to the entities.
+     * Only state belonging to the snapshot's player is touched, so sessions can be computed in parallel.
      *
-     * @param player    The player controlling the snake.
-     * @param direction The direction in which the snake should move.
+     * @param snapshot  The snapshot of the player's session.
+     * @param mutations The list the resulting world mutations are added to.
      */
-    public void moveSnake(Player player, Vector direction) {
-        SnakeCreation snake = gameManager.getSnakeForPlayer(player);
-        if (snake != null) {
-            List<Entity> segments = gameManager.getSegmentsForPlayer(player);
-            int numSegments = (segments != null) ? segments.size() : 0;
-
-            // Ensure waypoints list is initialized for the player
-            playerWaypoints.computeIfAbsent(player, k -> new LinkedList<>());
-
-            // Adjust waypoints list size to match segment count
-            while (playerWaypoints.get(player).size() > numSegments + 1) {
-                playerWaypoints.get(player).removeFirst();
-            }
+    void computeMove(SessionSnapshot snapshot, List<WorldMutation> mutations) {
+        Player player = snapshot.player;
+        int numSegments = snapshot.segments.size();
+        updateMetrics.recordSessionTick();
 
-            // Cache current positions
-            Entity sheepEntity = snake.getSheepEntity();
-            lastPositions.put(sheepEntity, sheepEntity.getLocation().toVector());
+        // Ensure waypoints list is initialized for the player
+        Deque<Vector> waypoints = playerWaypoints.computeIfAbsent(player, k -> new LinkedList<>());
 
-            if (segments != null) {
-                for (Entity segment : segments) {
-                    lastPositions.put(segment, segment.getLocation().toVector());
-                }
-            }
+        // Adjust waypoints list size to match segment count
+        while (waypoints.size() > numSegments + 1) {
+            waypoints.removeFirst();
+        }
+
+        // Cache current positions
+        lastPositions.put(snapshot.head, snapshot.headLocation.toVector());
+        for (int i = 0; i < numSegments; i++) {
+            lastPositions.put(snapshot.segments.get(i), snapshot.segmentLocations[i].toVector());
+        }
 
-            // Update target and move entities
-            Vector currentPosition = sheepEntity.getLocation().toVector();
-            initializeOrUpdateTargetPosition(player, currentPosition, direction);
-            moveHead(sheepEntity, currentPosition, direction, player);
-            moveSegments(player);
+        if (snapshot.renderer.isGridStepped()) {
+            computeGridStep(snapshot, waypoints, mutations);
+            return;
         }
+
+        // Update target and move entities
+        Vector currentPosition = snapshot.headLocation.toVector();
+        initializeOrUpdateTargetPosition(snapshot, currentPosition);
+        computeHeadMove(snapshot, currentPosition, mutations);
+        computeSegmentMoves(snapshot, mutations);
     }
 
     /**
      * Initializes or updates the target position for a player's snake.
+     * Whenever the head reaches its target, the next buffered turn of the player is applied before moving the target
+     * on, and the snapshot's direction is updated to match.
      *
-     * @param player           The player whose snake's target position is to be initialized or updated.
-     * @param currentPosition  The current position of the snake's head.
-     * @param currentDirection The current direction of the snake.
+     * @param snapshot        The snapshot of the player's session.
+     * @param currentPosition The current position of the snake's head.
      */
-    private void initializeOrUpdateTargetPosition(Player player, Vector currentPosition, Vector currentDirection) {
+    private void initializeOrUpdateTargetPosition(SessionSnapshot snapshot, Vector currentPosition) {
+        Player player = snapshot.player;
         Vector targetPosition = playerTargetPositions.get(player);
         // Initialize waypoints list if not present for the player
         playerWaypoints.computeIfAbsent(player, k -> new LinkedList<>());
@@ -195,8 +243,9 @@ public class SnakeMovement {
         boolean isCloseToTargetZ = Math.abs(roundedCurrentZ - roundedTargetZ) <= targetCloseEnoughDistance;
 
         if (isCloseToTargetX && isCloseToTargetZ) {
-            // Update target position
-            targetPosition.add(currentDirection);
+            // Apply the next buffered turn and update target position
+            snapshot.direction = playerInputHandler.advanceDirection(player);
+            targetPosition.add(snapshot.direction);
 
             // Update waypoints and target positions only if they are different
             Deque<Vector> currentWaypoints = playerWaypoints.get(player);
@@ -208,38 +257,43 @@ public class SnakeMovement {
     }
 
     /**
-     * Moves the head entity of the snake to a new position.
+     * Computes the new velocity and rotation of the head entity of the snake.
+     * Nothing is moved if the head is exactly on its target, as there is no direction to move in.
      *
-     * @param entity           The head entity of the snake.
-     * @param currentPosition  The current position of the head entity.
-     * @param currentDirection The current direction in which the head should move.
-     * @param player           The player controlling the snake.
+     * @param snapshot        The snapshot of the player's session.
+     * @param currentPosition The current position of the head entity.
+     * @param mutations       The list the resulting world mutations are added to.
      */
-    private void moveHead(Entity entity, Vector currentPosition, Vector currentDirection, Player player) {
-        Vector targetPosition = playerTargetPositions.get(player);
+    private void computeHeadMove(SessionSnapshot snapshot, Vector currentPosition, List<WorldMutation> mutations) {
+        Vector targetPosition = playerTargetPositions.get(snapshot.player);
 
         // Calculate new velocity
         Vector velocity = targetPosition.clone().subtract(currentPosition).normalize()
                 .multiply(desiredSpeedInBlocksPerSecond / 20.0);
-        entity.setVelocity(velocity);
+        if (!isFinite(velocity)) {
+            return;
+        }
 
         // Update entity rotation based on current direction
+        Vector currentDirection = snapshot.direction;
         float yaw = (float) Math.toDegrees(Math.atan2(-currentDirection.getX(), currentDirection.getZ()));
-        entity.setRotation(yaw, entity.getLocation().getPitch());
+        addMoveIfChanged(snapshot.head, snapshot.headVelocity, snapshot.headLocation, velocity, yaw, mutations);
     }
 
     /**
-     * Moves the segments of a given player's snake.
+     * Computes the new velocities, rotations and teleports of the segments of a player's snake.
+     * A segment that is teleported gets its snapshot location updated to the waypoint it is teleported to.
      *
-     * @param player The player whose snake's segments are to be moved.
+     * @param snapshot  The snapshot of the player's session.
+     * @param mutations The list the resulting world mutations are added to.
      */
-    private void moveSegments(Player player) {
-        List<Entity> segments = gameManager.getSegmentsForPlayer(player);
-        if (segments == null || segments.isEmpty()) {
+    private void computeSegmentMoves(SessionSnapshot snapshot, List<WorldMutation> mutations) {
+        List<Entity> segments = snapshot.segments;
+        if (segments.isEmpty()) {
             return;
         }
 
-        Deque<Vector> waypoints = new LinkedList<>(playerWaypoints.get(player));
+        Deque<Vector> waypoints = new LinkedList<>(playerWaypoints.get(snapshot.player));
         Collections.reverse((List<?>) waypoints);
         Iterator<Vector> waypointIterator = waypoints.iterator();
 
@@ -248,13 +302,15 @@ public class SnakeMovement {
             waypointIterator.next();
         }
 
-        for (Entity segment : segments) {
+        for (int i = 0; i < segments.size(); i++) {
             if (!waypointIterator.hasNext()) {
                 break;
             }
 
+            Entity segment = segments.get(i);
+            Location segmentLocation = snapshot.segmentLocations[i];
             Vector waypoint = waypointIterator.next();
-            Vector currentPosition = segment.getLocation().toVector();
+            Vector currentPosition = segmentLocation.toVector();
 
             // Calculate new velocity
             Vector velocity = waypoint.clone().subtract(currentPosition).normalize()
@@ -265,14 +321,104 @@ public class SnakeMovement {
 
             // Teleport or move the segment based on the distance to waypoint
             if (distanceToWaypoint > forceTeleportDistance) {
-                segment.teleport(waypoint.toLocation(segment.getWorld(), segment.getLocation().getYaw(), segment.getLocation().getPitch()));
-            } else {
-                if (Double.isFinite(velocity.getX()) && Double.isFinite(velocity.getY()) && Double.isFinite(velocity.getZ())) {
-                    segment.setVelocity(velocity);
-                    float yaw = (float) Math.toDegrees(Math.atan2(-velocity.getX(), velocity.getZ()));
-                    segment.setRotation(yaw, segment.getLocation().getPitch());
-                }
+                Location destination = waypoint.toLocation(segmentLocation.getWorld(), segmentLocation.getYaw(), segmentLocation.getPitch());
+                snapshot.segmentLocations[i] = destination;
+                mutations.add(new WorldMutation.Teleport(segment, destination.clone(), updateMetrics));
+            } else if (isFinite(velocity)) {
+                float yaw = (float) Math.toDegrees(Math.atan2(-velocity.getX(), velocity.getZ()));
+                addMoveIfChanged(segment, snapshot.segmentVelocities[i], segmentLocation, velocity, yaw, mutations);
+            }
+        }
+    }
+
+    /**
+     * Computes the movement of a grid-stepped snake. Nothing moves until the countdown of the snake runs out, then the
+     * next buffered turn is applied and the head is teleported one block ahead, carrying the player along, while every
+     * segment is teleported to the waypoint of the part in front of it.
+     * Unlike the physics movement, the snapshot's segment locations are left alone, so the collision checks see the
+     * snake as it is in the world until the teleports have been applied, with its head and segments in step.
+     *
+     * @param snapshot  The snapshot of the player's session.
+     * @param waypoints The waypoints of the snake, the head's current block last.
+     * @param mutations The list the resulting world mutations are added to.
+     */
+    private void computeGridStep(SessionSnapshot snapshot, Deque<Vector> waypoints, List<WorldMutation> mutations) {
+        Player player = snapshot.player;
+        int ticksLeft = gridStepCountdowns.getOrDefault(player, ticksPerGridStep) - 1;
+        if (ticksLeft > 0) {
+            gridStepCountdowns.put(player, ticksLeft);
+            return;
+        }
+        gridStepCountdowns.put(player, ticksPerGridStep);
+
+        // Move the head one block in the direction of the next turn
+        Vector headBlock = playerTargetPositions.get(player);
+        if (headBlock == null) {
+            Vector headPosition = snapshot.headLocation.toVector();
+            headBlock = new Vector(Math.floor(headPosition.getX()) + 0.5, headPosition.getY(), Math.floor(headPosition.getZ()) + 0.5);
+        }
+        snapshot.direction = playerInputHandler.advanceDirection(player);
+        Vector nextBlock = headBlock.clone().add(snapshot.direction);
+        playerTargetPositions.put(player, nextBlock);
+        if (waypoints.isEmpty() || !Objects.equals(waypoints.peekLast(), nextBlock)) {
+            waypoints.addLast(nextBlock.clone());
+        }
+
+        World world = snapshot.headLocation.getWorld();
+        float yaw = (float) Math.toDegrees(Math.atan2(-snapshot.direction.getX(), snapshot.direction.getZ()));
+        mutations.add(new WorldMutation.Teleport(snapshot.head, nextBlock.toLocation(world, yaw, snapshot.headLocation.getPitch()), updateMetrics));
+
+        // Move every segment to the waypoint of the part in front of it, skipping the head's waypoint
+        Iterator<Vector> waypointIterator = waypoints.descendingIterator();
+        if (waypointIterator.hasNext()) {
+            waypointIterator.next();
+        }
+        for (int i = 0; i < snapshot.segments.size() && waypointIterator.hasNext(); i++) {
+            Vector waypoint = waypointIterator.next();
+            Location segmentLocation = snapshot.segmentLocations[i];
+            if (segmentLocation.toVector().distanceSquared(waypoint) > 1e-6) {
+                mutations.add(new WorldMutation.Teleport(snapshot.segments.get(i),
+                        waypoint.toLocation(world, segmentLocation.getYaw(), segmentLocation.getPitch()), updateMetrics));
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Adds the velocity and rotation updates of an entity, each only if the entity's current value is off by more than
+     * its threshold. The velocity is compared with the entity's actual velocity rather than the last one sent, as
+     * friction slows the entity down between ticks and has to be made up for. Vertical velocity is left out of the
+     * comparison, as gravity pulls on the entity every tick regardless.
+     *
+     * @param entity          The entity to update.
+     * @param currentVelocity The velocity of the entity when the tick started.
+     * @param currentLocation The location of the entity when the tick started, holding its yaw and pitch.
+     * @param velocity        The computed velocity.
+     * @param yaw             The computed yaw.
+     * @param mutations       The list the resulting world mutations are added to.
+     */
+    private void addMoveIfChanged(Entity entity, Vector currentVelocity, Location currentLocation, Vector velocity, float yaw, List<WorldMutation> mutations) {
+        double velocityDifference = Math.hypot(velocity.getX() - currentVelocity.getX(), velocity.getZ() - currentVelocity.getZ());
+        if (velocityDifference > VELOCITY_UPDATE_THRESHOLD) {
+            mutations.add(new WorldMutation.SetVelocity(entity, velocity, updateMetrics));
+        } else {
+            updateMetrics.recordSkippedVelocityUpdate();
+        }
+
+        float yawDifference = Math.abs(((yaw - currentLocation.getYaw()) % 360 + 540) % 360 - 180);
+        if (yawDifference >= YAW_UPDATE_THRESHOLD) {
+            mutations.add(new WorldMutation.SetRotation(entity, yaw, currentLocation.getPitch(), updateMetrics));
+        } else {
+            updateMetrics.recordSkippedRotationUpdate();
+        }
+    }
+
+    /**
+     * Checks whether every component of a vector is finite, which is not the case for a normalized zero vector.
+     *
+     * @param vector The vector to check.
+     * @return True if the vector can be used as a velocity, false otherwise.
+     */
+    private boolean isFinite(Vector vector) {
+        return Double.isFinite(vector.getX()) && Double.isFinite(vector.getY()) && Double.isFinite(vector.getZ());
+    }
+}
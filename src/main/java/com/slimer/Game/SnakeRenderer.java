@@ -0,0 +1,77 @@
+package com.slimer.Game;
+
+import org.bukkit.entity.EntityType;
+
+/**
+ * The ways a snake can be shown in the world. Which one a game uses is chosen per game region in the config.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public enum SnakeRenderer {
+    /**
+     * Sheep pulled along their waypoints by a velocity update every tick, moving smoothly through server-side physics.
+     */
+    SHEEP(EntityType.SHEEP),
+    /**
+     * Wool block displays teleported once per block the snake moves. Where the server supports it, the client
+     * interpolates each teleport over the time of one step, so the snake still moves smoothly.
+     */
+    DISPLAY(EntityType.BLOCK_DISPLAY);
+
+    private final EntityType entityType;
+
+    SnakeRenderer(EntityType entityType) {
+        this.entityType = entityType;
+    }
+
+    /**
+     * @return The type of the entities making up the snake.
+     */
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * Checks whether the snake moves in whole blocks, instead of being pulled along by physics.
+     *
+     * @return True if the snake is teleported from block to block, false otherwise.
+     */
+    public boolean isGridStepped() {
+        return this == DISPLAY;
+    }
+
+    /**
+     * Looks up a renderer by its name in the config, ignoring case.
+     *
+     * @param name     The name of the renderer.
+     * @param fallback The renderer to use if the name is null or unknown.
+     * @return The matching renderer, or the fallback.
+     */
+    public static SnakeRenderer fromName(String name, SnakeRenderer fallback) {
+        if (name != null) {
+            for (SnakeRenderer renderer : values()) {
+                if (renderer.name().equalsIgnoreCase(name.trim())) {
+                    return renderer;
+                }
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * Checks whether an entity type is used by any renderer for the parts of a snake.
+     *
+     * @param entityType The entity type to check.
+     * @return True if snakes can be made of entities of this type, false otherwise.
+     */
+    public static boolean isSnakeEntityType(EntityType entityType) {
+        for (SnakeRenderer renderer : values()) {
+            if (renderer.entityType == entityType) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,118 @@
+package com.slimer.Game;
+
+import io.papermc.paper.entity.TeleportFlag;
+import org.bukkit.Location;
+import org.bukkit.Sound;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.util.Vector;
+
+import java.util.List;
+
+/**
+ * A change to the world produced by the compute phase of a game tick. The compute phase only reads snapshots and
+ * never touches the world, so every entity move, teleport, sound and game state change it decides on is recorded
+ * as a mutation and carried out afterwards, on the thread owning the arena, by {@link #apply()}.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+interface WorldMutation {
+
+    /**
+     * Carries out the mutation. Must be called on the thread owning the affected entities.
+     */
+    void apply();
+
+    /**
+     * Sets the velocity of an entity.
+     *
+     * @param entity   The entity to move.
+     * @param velocity The new velocity.
+     * @param metrics  The metrics counting the update.
+     */
+    record SetVelocity(Entity entity, Vector velocity, EntityUpdateMetrics metrics) implements WorldMutation {
+        @Override
+        public void apply() {
+            entity.setVelocity(velocity);
+            metrics.recordVelocityUpdate(entity);
+        }
+    }
+
+    /**
+     * Sets the rotation of an entity.
+     *
+     * @param entity  The entity to rotate.
+     * @param yaw     The new yaw.
+     * @param pitch   The new pitch.
+     * @param metrics The metrics counting the update.
+     */
+    record SetRotation(Entity entity, float yaw, float pitch, EntityUpdateMetrics metrics) implements WorldMutation {
+        @Override
+        public void apply() {
+            entity.setRotation(yaw, pitch);
+            metrics.recordRotationUpdate(entity);
+        }
+    }
+
+    /**
+     * Teleports an entity, keeping any passengers on it, such as the player riding the snake's head.
+     *
+     * @param entity   The entity to teleport.
+     * @param location The destination.
+     * @param metrics  The metrics counting the teleport.
+     */
+    record Teleport(Entity entity, Location location, EntityUpdateMetrics metrics) implements WorldMutation {
+        @Override
+        public void apply() {
+            entity.teleport(location, TeleportFlag.EntityState.RETAIN_PASSENGERS);
+            metrics.recordTeleport(entity);
+        }
+    }
+
+    /**
+     * Plays a sound to a player at their own location.
+     *
+     * @param player The player to play the sound to.
+     * @param sound  The sound to play.
+     */
+    record PlaySound(Player player, Sound sound) implements WorldMutation {
+        @Override
+        public void apply() {
+            player.playSound(player.getLocation(), sound, 1.0f, 1.0f);
+        }
+    }
+
+    /**
+     * Ends the game of a player.
+     *
+     * @param gameManager The GameManager running the game.
+     * @param player      The player whose game ends.
+     * @param reason      The reason shown to the player.
+     */
+    record EndGame(GameManager gameManager, Player player, String reason) implements WorldMutation {
+        @Override
+        public void apply() {
+            if (gameManager.getSnakeForPlayer(player) != null) {
+                gameManager.stopGame(player, reason);
+            }
+        }
+    }
+
+    /**
+     * Removes the apples a snake has eaten, growing the snake and raising the score for each of them, and spawns
+     * new apples until the game has its maximum number of apples again.
+     *
+     * @param manager     The AppleCollectionManager handling the collection.
+     * @param head        The entity representing the snake's head.
+     * @param player      The player controlling the snake.
+     * @param eatenApples The apples the snake's head is on.
+     */
+    record CollectApples(AppleCollectionManager manager, Entity head, Player player, List<Apple> eatenApples) implements WorldMutation {
+        @Override
+        public void apply() {
+            manager.collectApples(head, player, eatenApples);
+        }
+    }
+}
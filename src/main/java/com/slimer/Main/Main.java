@@ -2,15 +2,23 @@ package com.slimer.Main;
 
 import com.slimer.GUI.InventoryClickListener;
 import com.slimer.Game.*;
+import com.slimer.Region.ArenaCache;
+import com.slimer.Region.ArenaInstanceManager;
 import com.slimer.Region.RegionCommandHandler;
 import com.slimer.Region.RegionService;
+import com.slimer.Region.WGCacheListener;
 import com.slimer.Region.WGHelpers;
+import com.slimer.Scheduler.IoExecutor;
+import com.slimer.Scheduler.TaskScheduler;
+import com.slimer.Storage.StorageCommandHandler;
+import com.slimer.Storage.StorageMaintenance;
 import com.slimer.Util.DebugManager;
 import com.slimer.Util.MusicManager;
 import com.slimer.Util.PlayerData;
 import org.bstats.bukkit.Metrics;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -24,6 +32,8 @@ import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The Main class is the entry point for the Minecraft snake game plugin.
@@ -34,6 +44,8 @@ import java.util.Objects;
  * @author Slimerblue22
  */
 public final class Main extends JavaPlugin {
+    private static final long IO_SHUTDOWN_TIMEOUT_MILLIS = 10_000L;
+    private static final int UPDATE_CHECK_TIMEOUT_MILLIS = 10_000;
     private static String pluginVersion;
     private String songFilePath;
     private double snakeSpeed;
@@ -41,7 +53,30 @@ public final class Main extends JavaPlugin {
     private int maxApplesPerGame;
     private double forceTeleportDistance;
     private double targetCloseEnoughDistance;
+    private String storageType;
+    private String mySQLJdbcUrl;
+    private String mySQLUsername;
+    private String mySQLPassword;
+    private int mySQLPoolSize;
+    private boolean arenaInstancingEnabled;
+    private String arenaTemplateSchematic;
+    private String arenaInstanceLobby;
+    private String arenaInstanceWorld;
+    private int arenaInstanceWarmPool;
+    private int arenaInstanceMax;
+    private int ioPoolSize;
+    private int ioTaskTimeoutSeconds;
+    private SnakeRenderer defaultSnakeRenderer;
+    private final Map<String, SnakeRenderer> arenaSnakeRenderers = new HashMap<>();
+    private int segmentPoolMaxPerArena;
+    private int segmentPoolIdleSeconds;
+    private int hudUpdateIntervalTicks;
+    private boolean hudSidebarEnabled;
     private GameManager gameManager;
+    private InputLatencyMetrics inputLatencyMetrics;
+    private EntityUpdateMetrics entityUpdateMetrics;
+    private TaskScheduler taskScheduler;
+    private IoExecutor ioExecutor;
     private boolean isMusicEnabled = false;
 
     /**
@@ -51,10 +86,13 @@ public final class Main extends JavaPlugin {
     @Override
     public void onEnable() {
         initConfig();
+        taskScheduler = TaskScheduler.create(this);
+        ioExecutor = new IoExecutor(getLogger(), ioPoolSize, TimeUnit.SECONDS.toMillis(ioTaskTimeoutSeconds));
         initMusic();
         initGameComponents();
         initRegionServices();
         initPlayerData();
+        initStorageMaintenance();
         initMetrics();
         registerCommands();
         checkForUpdates();
@@ -73,6 +111,34 @@ public final class Main extends JavaPlugin {
         maxApplesPerGame = config.getInt("max-apples-per-game", 1);
         forceTeleportDistance = config.getDouble("force-teleport-distance", 1.2);
         targetCloseEnoughDistance = config.getDouble("target-close-enough-distance", 0.1);
+        storageType = config.getString("storage-type", "sqlite");
+        mySQLJdbcUrl = config.getString("mysql-jdbc-url", "");
+        if (mySQLJdbcUrl == null || mySQLJdbcUrl.isEmpty()) {
+            mySQLJdbcUrl = "jdbc:mysql://" + config.getString("mysql-host", "localhost") + ":" + config.getInt("mysql-port", 3306)
+                    + "/" + config.getString("mysql-database", "snake");
+        }
+        mySQLUsername = config.getString("mysql-username", "root");
+        mySQLPassword = config.getString("mysql-password", "");
+        mySQLPoolSize = config.getInt("mysql-pool-size", 4);
+        arenaInstancingEnabled = config.getBoolean("arena-instancing-enabled", false);
+        arenaTemplateSchematic = config.getString("arena-template-schematic", "arenas/template.schem");
+        arenaInstanceLobby = config.getString("arena-instance-lobby", "");
+        arenaInstanceWorld = config.getString("arena-instance-world", "snake_arenas");
+        arenaInstanceWarmPool = config.getInt("arena-instance-warm-pool", 2);
+        arenaInstanceMax = config.getInt("arena-instance-max", 16);
+        ioPoolSize = config.getInt("io-pool-size", 4);
+        ioTaskTimeoutSeconds = config.getInt("io-task-timeout-seconds", 30);
+        defaultSnakeRenderer = SnakeRenderer.fromName(config.getString("snake-renderer", "sheep"), SnakeRenderer.SHEEP);
+        ConfigurationSection arenaRenderers = config.getConfigurationSection("snake-renderer-arenas");
+        if (arenaRenderers != null) {
+            for (String gameRegion : arenaRenderers.getKeys(false)) {
+                arenaSnakeRenderers.put(gameRegion, SnakeRenderer.fromName(arenaRenderers.getString(gameRegion), defaultSnakeRenderer));
+            }
+        }
+        segmentPoolMaxPerArena = config.getInt("segment-pool-max-per-arena", 64);
+        segmentPoolIdleSeconds = config.getInt("segment-pool-idle-seconds", 300);
+        hudUpdateIntervalTicks = config.getInt("hud-update-interval-ticks", 5);
+        hudSidebarEnabled = config.getBoolean("hud-sidebar-enabled", false);
         pluginVersion = this.getDescription().getVersion();
     }
 
@@ -97,6 +163,15 @@ public final class Main extends JavaPlugin {
         PlayerData.getInstance().migrateFromYmlToSql(this);
     }
 
+    /**
+     * Initializes the scheduled maintenance of the databases, which only runs while no game is in progress.
+     */
+    private void initStorageMaintenance() {
+        StorageMaintenance.initializeInstance(this, () -> !gameManager.hasActiveGames());
+        StorageMaintenance.getInstance().register("PlayerData", PlayerData.getInstance().getBackend());
+        StorageMaintenance.getInstance().register("Regions", RegionService.getInstance().getBackend());
+    }
+
     /**
      * Initializes the bstats metrics collection for the plugin.
      */
@@ -108,14 +183,17 @@ public final class Main extends JavaPlugin {
      * Initializes game-related components.
      */
     private void initGameComponents() {
-        Map<Player, SnakeCreation> playerSnakes = new HashMap<>();
-        Map<Player, Location> playerLobbyLocations = new HashMap<>();
+        Map<Player, SnakeCreation> playerSnakes = new ConcurrentHashMap<>();
+        Map<Player, Location> playerLobbyLocations = new ConcurrentHashMap<>();
         gameManager = new GameManager(playerSnakes, playerLobbyLocations, this, isMusicEnabled);
         SnakeMovement snakeMovement = new SnakeMovement(gameManager, null, this);
         PlayerInputHandler playerInputHandler = new PlayerInputHandler(this, gameManager);
         snakeMovement.setPlayerInputHandler(playerInputHandler);
         gameManager.setPlayerInputHandler(playerInputHandler);
+        inputLatencyMetrics = playerInputHandler.getLatencyMetrics();
+        entityUpdateMetrics = snakeMovement.getUpdateMetrics();
         gameManager.setSnakeMovement(snakeMovement);
+        gameManager.setArenaQueue(new ArenaQueue(gameManager, this));
     }
 
     /**
@@ -124,16 +202,22 @@ public final class Main extends JavaPlugin {
     private void initRegionServices() {
         RegionService.initializeInstance(this);
         WGHelpers.getInstance();
+        ArenaCache.initializeInstance(this);
+        ArenaInstanceManager.initializeInstance(this, gameManager.getArenaQueue()::getOccupancy, gameManager.getArenaQueue());
         RegionService.getInstance().migrateRegionsFromYmlToSql(this);
     }
 
     /**
-     * Registers plugin commands for debugging, game management, and region management.
+     * Registers plugin commands for debugging, game management, region management, storage, input latency, and the
+     * segment pool.
      */
     private void registerCommands() {
         Objects.requireNonNull(getCommand("snakedebug")).setExecutor(new DebugManager.ToggleDebugCommand());
         Objects.requireNonNull(getCommand("snakegame")).setExecutor(new GameCommandHandler(gameManager, this));
         Objects.requireNonNull(getCommand("snakeregion")).setExecutor(new RegionCommandHandler());
+        Objects.requireNonNull(getCommand("snakestorage")).setExecutor(new StorageCommandHandler(ioExecutor));
+        Objects.requireNonNull(getCommand("snakelatency")).setExecutor(new InputLatencyCommandHandler(this, inputLatencyMetrics, entityUpdateMetrics));
+        Objects.requireNonNull(getCommand("snakepool")).setExecutor(new SegmentPoolCommandHandler(gameManager.getSegmentPool()));
     }
 
     /**
@@ -142,11 +226,13 @@ public final class Main extends JavaPlugin {
      * and logs information about the update status.
      */
     private void checkForUpdates() {
-        Bukkit.getScheduler().runTaskAsynchronously(this, () -> {
+        ioExecutor.run("update-check", () -> {
             HttpURLConnection connection = null;
             try {
                 URL url = new URL("https://api.github.com/repos/Slimerblue22/Snake/releases/latest");
                 connection = (HttpURLConnection) url.openConnection();
+                connection.setConnectTimeout(UPDATE_CHECK_TIMEOUT_MILLIS);
+                connection.setReadTimeout(UPDATE_CHECK_TIMEOUT_MILLIS);
                 connection.setRequestMethod("GET");
                 connection.setRequestProperty("Accept", "application/json");
 
@@ -195,6 +281,10 @@ public final class Main extends JavaPlugin {
      */
     private void registerEvents() {
         getServer().getPluginManager().registerEvents(new InventoryClickListener(), this);
+        getServer().getPluginManager().registerEvents(new WGCacheListener(this), this);
+        getServer().getPluginManager().registerEvents(gameManager.getArenaQueue(), this);
+        getServer().getPluginManager().registerEvents(PlayerData.getInstance(), this);
+        getServer().getPluginManager().registerEvents(inputLatencyMetrics, this);
     }
 
     /**
@@ -203,8 +293,10 @@ public final class Main extends JavaPlugin {
     @Override
     public void onDisable() {
         gameManager.stopAllGames();
-        RegionService.getInstance().closeDatabase();
+        ArenaInstanceManager.getInstance().shutdown();
         PlayerData.getInstance().closeDatabase();
+        ioExecutor.shutdown(IO_SHUTDOWN_TIMEOUT_MILLIS);
+        RegionService.getInstance().closeDatabase();
     }
 
     /**
@@ -217,6 +309,24 @@ public final class Main extends JavaPlugin {
         return songFilePath;
     }
 
+    /**
+     * Retrieves the executor running the blocking I/O of the plugin.
+     *
+     * @return The I/O executor.
+     */
+    public IoExecutor getIoExecutor() {
+        return ioExecutor;
+    }
+
+    /**
+     * Retrieves the scheduler used for every task of the plugin.
+     *
+     * @return The task scheduler matching the server the plugin runs on.
+     */
+    public TaskScheduler getTaskScheduler() {
+        return taskScheduler;
+    }
+
     /**
      * Gets the maximum number of players allowed per game.
      *
@@ -253,6 +363,52 @@ public final class Main extends JavaPlugin {
         return forceTeleportDistance;
     }
 
+    /**
+     * Retrieves the renderer snakes are shown with in a game region.
+     *
+     * @param gameRegion The name of the game region.
+     * @return The renderer configured for the region, or the default renderer if the region has none.
+     */
+    public SnakeRenderer getSnakeRenderer(String gameRegion) {
+        return gameRegion != null ? arenaSnakeRenderers.getOrDefault(gameRegion, defaultSnakeRenderer) : defaultSnakeRenderer;
+    }
+
+    /**
+     * Retrieves the maximum number of idle snake entities the segment pool keeps per game region and renderer.
+     *
+     * @return The maximum number of idle entities per arena.
+     */
+    public int getSegmentPoolMaxPerArena() {
+        return segmentPoolMaxPerArena;
+    }
+
+    /**
+     * Retrieves the time after which idle snake entities are removed from the segment pool.
+     *
+     * @return The maximum idle time in seconds.
+     */
+    public int getSegmentPoolIdleSeconds() {
+        return segmentPoolIdleSeconds;
+    }
+
+    /**
+     * Retrieves the number of ticks between two renders of the in-game HUD.
+     *
+     * @return The HUD update interval in ticks.
+     */
+    public int getHudUpdateIntervalTicks() {
+        return hudUpdateIntervalTicks;
+    }
+
+    /**
+     * Checks whether the in-game HUD shows a sidebar with the scores of everyone in the arena.
+     *
+     * @return True if the sidebar is enabled, false otherwise.
+     */
+    public boolean isHudSidebarEnabled() {
+        return hudSidebarEnabled;
+    }
+
     /**
      * Retrieves the distance threshold for determining if the snake's segment is close enough to its target waypoint.
      *
@@ -262,6 +418,106 @@ public final class Main extends JavaPlugin {
         return targetCloseEnoughDistance;
     }
 
+    /**
+     * Retrieves the storage backend used for player data, either "sqlite" or "mysql".
+     *
+     * @return The configured storage type.
+     */
+    public String getStorageType() {
+        return storageType;
+    }
+
+    /**
+     * Retrieves the JDBC URL of the MySQL database, built from the host, port and database settings
+     * unless an explicit URL has been configured.
+     *
+     * @return The JDBC URL of the MySQL database.
+     */
+    public String getMySQLJdbcUrl() {
+        return mySQLJdbcUrl;
+    }
+
+    /**
+     * Retrieves the username used to connect to the MySQL database.
+     *
+     * @return The MySQL username.
+     */
+    public String getMySQLUsername() {
+        return mySQLUsername;
+    }
+
+    /**
+     * Retrieves the password used to connect to the MySQL database.
+     *
+     * @return The MySQL password.
+     */
+    public String getMySQLPassword() {
+        return mySQLPassword;
+    }
+
+    /**
+     * Retrieves the maximum number of pooled connections to the MySQL database.
+     *
+     * @return The MySQL connection pool size.
+     */
+    public int getMySQLPoolSize() {
+        return mySQLPoolSize;
+    }
+
+    /**
+     * Retrieves whether game arenas are created on demand from a template schematic.
+     *
+     * @return true if arena instancing is enabled, false otherwise.
+     */
+    public boolean isArenaInstancingEnabled() {
+        return arenaInstancingEnabled;
+    }
+
+    /**
+     * Retrieves the path of the template schematic, relative to the plugin's data folder.
+     *
+     * @return The path of the template schematic.
+     */
+    public String getArenaTemplateSchematic() {
+        return arenaTemplateSchematic;
+    }
+
+    /**
+     * Retrieves the name of the lobby region arena instances are linked to.
+     *
+     * @return The name of the lobby region.
+     */
+    public String getArenaInstanceLobby() {
+        return arenaInstanceLobby;
+    }
+
+    /**
+     * Retrieves the name of the void world arena instances are pasted into.
+     *
+     * @return The name of the instance world.
+     */
+    public String getArenaInstanceWorld() {
+        return arenaInstanceWorld;
+    }
+
+    /**
+     * Retrieves the number of idle arena instances kept ready for new players.
+     *
+     * @return The warm pool size.
+     */
+    public int getArenaInstanceWarmPool() {
+        return arenaInstanceWarmPool;
+    }
+
+    /**
+     * Retrieves the maximum number of arena instances that may exist at once.
+     *
+     * @return The maximum number of arena instances.
+     */
+    public int getArenaInstanceMax() {
+        return arenaInstanceMax;
+    }
+
     /**
      * Retrieves the version of the Snake plugin.
      *
@@ -0,0 +1,238 @@
+package com.slimer.Region;
+
+import com.slimer.Main.Main;
+import com.slimer.Scheduler.TaskScheduler;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.World;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Holds the compiled {@link ArenaDescriptor} of every linked game region and persists them in a compact binary
+ * file, which is memory-mapped on startup so that hundreds of arenas are available without scanning any blocks.
+ * <p>
+ * A descriptor is compiled when a game region is linked or its teleport location changes. The first time an
+ * arena is played after startup, its blocks are checked against the stored checksum in the background, and the
+ * descriptor is recompiled if the arena has been modified since.
+ * <p>
+ * Compiling reads the chunks of a whole arena at once, which may span several regions on region-threaded servers.
+ * The cache is therefore disabled there, and apples fall back to picking random spots in the WorldGuard region.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public class ArenaCache {
+    private static final int MAGIC = 0x534E4B41;
+    private static final int FORMAT_VERSION = 1;
+    private static final String FILE_NAME = "arenas.bin";
+    private static ArenaCache instance;
+    private final JavaPlugin plugin;
+    private final Logger logger;
+    private final File file;
+    private final Map<String, ArenaDescriptor> descriptors = new ConcurrentHashMap<>();
+    private final Set<String> verified = ConcurrentHashMap.newKeySet();
+    private final boolean enabled;
+
+    private ArenaCache(JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.logger = plugin.getLogger();
+        this.file = new File(plugin.getDataFolder(), FILE_NAME);
+        this.enabled = !TaskScheduler.isRegionThreaded();
+        if (enabled) {
+            load();
+        } else {
+            logger.log(Level.INFO, "[ArenaCache.java] The arena cache is disabled on region-threaded servers.");
+        }
+    }
+
+    /**
+     * Initializes the cache instance with a given JavaPlugin and maps the cache file, if there is one.
+     *
+     * @param plugin The JavaPlugin instance used for initialization.
+     */
+    public static synchronized void initializeInstance(JavaPlugin plugin) {
+        if (instance == null) {
+            instance = new ArenaCache(plugin);
+        }
+    }
+
+    /**
+     * Retrieves the current instance of the ArenaCache.
+     *
+     * @return The current instance of the ArenaCache.
+     * @throws IllegalStateException if the cache has not been initialized.
+     */
+    public static synchronized ArenaCache getInstance() {
+        if (instance == null) {
+            throw new IllegalStateException("ArenaCache must be initialized with a JavaPlugin instance before use.");
+        }
+        return instance;
+    }
+
+    /**
+     * Retrieves the descriptor of a game region.
+     *
+     * @param regionName The name of the game region.
+     * @return The descriptor, or null if none has been compiled for the region.
+     */
+    public ArenaDescriptor get(String regionName) {
+        return regionName == null ? null : descriptors.get(regionName.toLowerCase());
+    }
+
+    /**
+     * Brings the descriptor of a region up to date after its registration, link or teleport location changed.
+     * Linked game regions with a teleport location are compiled, the descriptors of all other regions are dropped.
+     * Must be called on the main thread. Does nothing if the cache is disabled.
+     *
+     * @param regionName The name of the region that changed.
+     */
+    public void refresh(String regionName) {
+        if (!enabled) {
+            return;
+        }
+        RegionRegistry.RegionEntry entry = RegionHelpers.getInstance().getRegistry().get(regionName);
+        if (entry == null || !"game".equals(entry.type()) || entry.linkedRegion() == null || !entry.hasTeleportLocation()) {
+            if (descriptors.remove(regionName.toLowerCase()) != null) {
+                saveAsync();
+            }
+            return;
+        }
+        compile(entry);
+    }
+
+    /**
+     * Checks the descriptor of an arena against the current blocks the first time it is played after startup,
+     * recompiling it in the background if it is missing or stale. Must be called on the main thread. Does nothing if
+     * the cache is disabled.
+     *
+     * @param regionName The name of the game region.
+     */
+    public void verify(String regionName) {
+        if (!enabled || regionName == null || !verified.add(regionName.toLowerCase())) {
+            return;
+        }
+        RegionRegistry.RegionEntry entry = RegionHelpers.getInstance().getRegistry().get(regionName);
+        if (entry != null && entry.hasTeleportLocation()) {
+            compile(entry);
+        }
+    }
+
+    /**
+     * Captures snapshots of the chunks covering a game region on the main thread, then compiles its descriptor on
+     * the I/O executor. The new descriptor only replaces the current one, and is only persisted, if the
+     * geometry differs.
+     *
+     * @param entry The game region to compile.
+     */
+    private void compile(RegionRegistry.RegionEntry entry) {
+        World world = entry.getWorld();
+        RegionBounds bounds = world != null ? WGHelpers.getInstance().getBoundariesOfRegion(world.getName(), entry.name()) : null;
+        if (bounds == null) {
+            logger.log(Level.WARNING, "[ArenaCache.java] Could not compile arena '" + entry.name() + "', its world or WorldGuard region is missing.");
+            return;
+        }
+
+        Map<Long, ChunkSnapshot> snapshots = new HashMap<>();
+        for (int chunkX = (bounds.minX() - 1) >> 4; chunkX <= (bounds.maxX() + 1) >> 4; chunkX++) {
+            for (int chunkZ = (bounds.minZ() - 1) >> 4; chunkZ <= (bounds.maxZ() + 1) >> 4; chunkZ++) {
+                Chunk chunk = world.getChunkAt(chunkX, chunkZ);
+                snapshots.put(ArenaDescriptor.chunkKey(chunkX, chunkZ), chunk.getChunkSnapshot(false, false, false));
+            }
+        }
+
+        String worldName = world.getName().toLowerCase();
+        int floorY = entry.y();
+        ((Main) plugin).getIoExecutor().run("arena-cache:compile", () -> {
+            ArenaDescriptor compiled = ArenaDescriptor.compile(entry.name(), worldName, bounds, floorY, snapshots);
+            ArenaDescriptor current = descriptors.get(entry.name());
+            if (compiled.matches(current)) {
+                return;
+            }
+            descriptors.put(entry.name(), compiled);
+            logger.log(Level.INFO, "[ArenaCache.java] Compiled arena '" + entry.name() + "' with " + compiled.getSpawnCellCount() + " apple spawn cells.");
+            save();
+        });
+    }
+
+    /**
+     * Maps the cache file and reads every descriptor from it. A missing file leaves the cache empty, an unreadable
+     * one is logged and ignored, as every descriptor can be compiled again.
+     */
+    private void load() {
+        if (!file.exists()) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                logger.log(Level.WARNING, "[ArenaCache.java] Ignoring " + FILE_NAME + ", it was written by a different version.");
+                return;
+            }
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                ArenaDescriptor descriptor = ArenaDescriptor.readFrom(buffer);
+                descriptors.put(descriptor.getRegionName(), descriptor);
+            }
+            logger.log(Level.INFO, "[ArenaCache.java] Loaded " + count + " arena descriptors.");
+        } catch (IOException | BufferUnderflowException | IndexOutOfBoundsException e) {
+            descriptors.clear();
+            logger.log(Level.WARNING, "[ArenaCache.java] Could not read " + FILE_NAME + ", arenas will be compiled again.", e);
+        }
+    }
+
+    /**
+     * Persists every descriptor on the I/O executor.
+     */
+    private void saveAsync() {
+        ((Main) plugin).getIoExecutor().run("arena-cache:save", this::save);
+    }
+
+    /**
+     * Writes every descriptor to a temporary file and moves it over the cache file, so that a crash while saving
+     * never leaves a partially written cache behind. Arena instances are left out, as they do not outlive the server.
+     */
+    private synchronized void save() {
+        List<ArenaDescriptor> snapshot = new ArrayList<>(descriptors.values());
+        snapshot.removeIf(descriptor -> ArenaInstanceManager.isInstanceRegion(descriptor.getRegionName()));
+        File tempFile = new File(plugin.getDataFolder(), FILE_NAME + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(snapshot.size());
+            for (ArenaDescriptor descriptor : snapshot) {
+                descriptor.writeTo(out);
+            }
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "[ArenaCache.java] An error occurred while writing " + FILE_NAME + ".", e);
+            return;
+        }
+
+        try {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "[ArenaCache.java] An error occurred while replacing " + FILE_NAME + ".", e);
+        }
+    }
+}
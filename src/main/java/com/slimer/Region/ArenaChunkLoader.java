@@ -0,0 +1,140 @@
+package com.slimer.Region;
+
+import com.slimer.Scheduler.TaskScheduler;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Loads the chunks of a game arena asynchronously before a game starts, and keeps them loaded with plugin chunk
+ * tickets until the arena goes idle. This keeps synchronous chunk loads off the main thread when a player is
+ * teleported in and while apples look for a spawn point mid-game.
+ * <p>
+ * The chunks cover the bounds of the arena's WorldGuard region plus a one block margin, as the apple spawning and
+ * movement checks look at the neighbouring blocks. On region-threaded servers, chunk loads complete on the thread
+ * owning the chunk rather than the main thread, so the loader's state is guarded by its lock. An arena may span chunks
+ * owned by different threads there, so no tickets are added: the chunks are only loaded ahead of the teleport and are
+ * kept loaded by the player afterwards.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public class ArenaChunkLoader {
+    private final JavaPlugin plugin;
+    private final Logger logger;
+    private final Map<String, List<Chunk>> ticketedArenas = new HashMap<>();
+    private final Map<String, CompletableFuture<Void>> loadingArenas = new HashMap<>();
+    private final boolean ticketing = !TaskScheduler.isRegionThreaded();
+
+    /**
+     * Constructs a new ArenaChunkLoader.
+     *
+     * @param plugin The JavaPlugin instance the chunk tickets are held for.
+     */
+    public ArenaChunkLoader(JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.logger = plugin.getLogger();
+    }
+
+    /**
+     * Loads every chunk of an arena asynchronously and, unless the server is region-threaded, adds a plugin chunk
+     * ticket to each of them.
+     * If the arena already holds its tickets, the returned future is already complete. Dependent actions run on the
+     * thread completing the last chunk load: the main thread on Paper, the thread owning the chunk on Folia.
+     *
+     * @param regionName The name of the game region.
+     * @return A future completing once every chunk is loaded and ticketed. It completes immediately if the arena's
+     * world or WorldGuard region is missing, leaving the chunks to be loaded on demand.
+     */
+    public synchronized CompletableFuture<Void> load(String regionName) {
+        if (ticketedArenas.containsKey(regionName)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> loading = loadingArenas.get(regionName);
+        if (loading != null) {
+            return loading;
+        }
+
+        RegionRegistry.RegionEntry entry = RegionHelpers.getInstance().getRegistry().get(regionName);
+        World world = entry != null ? entry.getWorld() : null;
+        RegionBounds bounds = world != null ? WGHelpers.getInstance().getBoundariesOfRegion(world.getName(), regionName) : null;
+        if (bounds == null) {
+            logger.log(Level.WARNING, "[ArenaChunkLoader.java] Could not pre-load arena '" + regionName + "', its world or WorldGuard region is missing.");
+            return CompletableFuture.completedFuture(null);
+        }
+
+        List<CompletableFuture<Chunk>> chunkLoads = new ArrayList<>();
+        for (int chunkX = (bounds.minX() - 1) >> 4; chunkX <= (bounds.maxX() + 1) >> 4; chunkX++) {
+            for (int chunkZ = (bounds.minZ() - 1) >> 4; chunkZ <= (bounds.maxZ() + 1) >> 4; chunkZ++) {
+                chunkLoads.add(world.getChunkAtAsync(chunkX, chunkZ));
+            }
+        }
+
+        loading = CompletableFuture.allOf(chunkLoads.toArray(new CompletableFuture[0])).handle((ignored, error) -> {
+            ticketLoadedChunks(regionName, chunkLoads, error);
+            return null;
+        });
+        if (!loading.isDone()) {
+            loadingArenas.put(regionName, loading);
+        }
+        return loading;
+    }
+
+    /**
+     * Adds a plugin chunk ticket to every chunk of an arena once all of them have been loaded, unless the server is
+     * region-threaded.
+     *
+     * @param regionName The name of the game region.
+     * @param chunkLoads The completed loads of the arena's chunks.
+     * @param error      The error of the first failed load, or null if all loads succeeded.
+     */
+    private synchronized void ticketLoadedChunks(String regionName, List<CompletableFuture<Chunk>> chunkLoads, Throwable error) {
+        loadingArenas.remove(regionName);
+        if (error != null) {
+            logger.log(Level.WARNING, "[ArenaChunkLoader.java] An error occurred while pre-loading arena '" + regionName + "'.", error);
+            return;
+        }
+        if (!ticketing) {
+            return;
+        }
+        List<Chunk> chunks = new ArrayList<>(chunkLoads.size());
+        for (CompletableFuture<Chunk> chunkLoad : chunkLoads) {
+            Chunk chunk = chunkLoad.join();
+            chunk.addPluginChunkTicket(plugin);
+            chunks.add(chunk);
+        }
+        ticketedArenas.put(regionName, chunks);
+    }
+
+    /**
+     * Removes the chunk tickets of an arena, allowing the server to unload its chunks again.
+     *
+     * @param regionName The name of the game region.
+     */
+    public synchronized void release(String regionName) {
+        List<Chunk> chunks = ticketedArenas.remove(regionName);
+        if (chunks != null) {
+            for (Chunk chunk : chunks) {
+                chunk.removePluginChunkTicket(plugin);
+            }
+        }
+    }
+
+    /**
+     * Removes the chunk tickets of every arena.
+     */
+    public synchronized void releaseAll() {
+        for (String regionName : new ArrayList<>(ticketedArenas.keySet())) {
+            release(regionName);
+        }
+    }
+}
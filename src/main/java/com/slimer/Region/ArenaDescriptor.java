@@ -0,0 +1,340 @@
+package com.slimer.Region;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+/**
+ * The compiled geometry of a game arena: its bounds, the floor level the snake plays on, which cells of that
+ * floor can be walked on and which cells are valid apple spawn points.
+ * A cell is walkable if it is not solid and the 3x3 area below it is solid, and it is a valid spawn point if it
+ * is walkable and none of its eight neighbours is solid, matching the checks the pathfinding and apple spawning
+ * used to do with block lookups.
+ * <p>
+ * Descriptors are immutable. The walkable mask and spawn cells of a descriptor read from the arena cache are
+ * views on the memory-mapped cache file, so loading a descriptor does not copy them.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public final class ArenaDescriptor {
+    private final String regionName;
+    private final String worldName;
+    private final RegionBounds bounds;
+    private final int floorY;
+    private final long checksum;
+    private final ByteBuffer walkableMask;
+    private final IntBuffer spawnCells;
+
+    private ArenaDescriptor(String regionName, String worldName, RegionBounds bounds, int floorY, long checksum,
+                            ByteBuffer walkableMask, IntBuffer spawnCells) {
+        this.regionName = regionName;
+        this.worldName = worldName;
+        this.bounds = bounds;
+        this.floorY = floorY;
+        this.checksum = checksum;
+        this.walkableMask = walkableMask;
+        this.spawnCells = spawnCells;
+    }
+
+    /**
+     * Compiles the descriptor of an arena from snapshots of the chunks it covers.
+     * Only reads the snapshots, so it is safe to call from an asynchronous task.
+     *
+     * @param regionName The name of the game region.
+     * @param worldName  The name of the world the region is in.
+     * @param bounds     The bounds of the game region.
+     * @param floorY     The Y-level the snake plays on.
+     * @param snapshots  Snapshots of every chunk covering the bounds plus a one block margin, keyed by {@link #chunkKey}.
+     * @return The compiled descriptor.
+     */
+    static ArenaDescriptor compile(String regionName, String worldName, RegionBounds bounds, int floorY, Map<Long, ChunkSnapshot> snapshots) {
+        int width = bounds.maxX() - bounds.minX() + 1;
+        int depth = bounds.maxZ() - bounds.minZ() + 1;
+        byte[] walkable = new byte[(width * depth + 7) / 8];
+        IntBuffer spawns = IntBuffer.allocate(width * depth);
+
+        for (int dz = 0; dz < depth; dz++) {
+            for (int dx = 0; dx < width; dx++) {
+                int x = bounds.minX() + dx;
+                int z = bounds.minZ() + dz;
+                if (isSolid(snapshots, x, floorY, z) || !isSolid3x3(snapshots, x, floorY - 1, z)) {
+                    continue;
+                }
+                int cell = dz * width + dx;
+                walkable[cell >> 3] |= (byte) (1 << (cell & 7));
+                if (!hasSolidNeighbors(snapshots, x, floorY, z)) {
+                    spawns.put(cell);
+                }
+            }
+        }
+        spawns.flip();
+
+        int[] spawnCells = new int[spawns.remaining()];
+        spawns.get(spawnCells);
+        return new ArenaDescriptor(regionName, worldName, bounds, floorY, computeChecksum(bounds, floorY, snapshots),
+                ByteBuffer.wrap(walkable).asReadOnlyBuffer(), IntBuffer.wrap(spawnCells).asReadOnlyBuffer());
+    }
+
+    /**
+     * Computes a checksum over the materials of the floor layer and the layer below it, including the one block
+     * margin around the bounds. Any block change that could affect the descriptor changes the checksum.
+     *
+     * @param bounds    The bounds of the game region.
+     * @param floorY    The Y-level the snake plays on.
+     * @param snapshots Snapshots of every chunk covering the bounds plus a one block margin.
+     * @return The checksum.
+     */
+    static long computeChecksum(RegionBounds bounds, int floorY, Map<Long, ChunkSnapshot> snapshots) {
+        CRC32 crc = new CRC32();
+        ByteBuffer scratch = ByteBuffer.allocate(Integer.BYTES);
+        for (int y = floorY - 1; y <= floorY; y++) {
+            for (int z = bounds.minZ() - 1; z <= bounds.maxZ() + 1; z++) {
+                for (int x = bounds.minX() - 1; x <= bounds.maxX() + 1; x++) {
+                    scratch.clear();
+                    scratch.putInt(getType(snapshots, x, y, z).name().hashCode());
+                    crc.update(scratch.array());
+                }
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Packs the coordinates of a chunk into a single map key.
+     *
+     * @param chunkX The x-coordinate of the chunk.
+     * @param chunkZ The z-coordinate of the chunk.
+     * @return The key of the chunk.
+     */
+    static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Retrieves the material at the given coordinates, treating chunks without a snapshot as air.
+     */
+    private static Material getType(Map<Long, ChunkSnapshot> snapshots, int x, int y, int z) {
+        ChunkSnapshot snapshot = snapshots.get(chunkKey(x >> 4, z >> 4));
+        return snapshot != null ? snapshot.getBlockType(x & 15, y, z & 15) : Material.AIR;
+    }
+
+    /**
+     * Checks if the block at the given coordinates is solid.
+     */
+    private static boolean isSolid(Map<Long, ChunkSnapshot> snapshots, int x, int y, int z) {
+        return getType(snapshots, x, y, z).isSolid();
+    }
+
+    /**
+     * Checks if the 3x3 area centred on the given coordinates consists of solid blocks.
+     */
+    private static boolean isSolid3x3(Map<Long, ChunkSnapshot> snapshots, int x, int y, int z) {
+        for (int dz = -1; dz <= 1; dz++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                if (!isSolid(snapshots, x + dx, y, z + dz)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if any of the eight blocks around the given coordinates is solid.
+     */
+    private static boolean hasSolidNeighbors(Map<Long, ChunkSnapshot> snapshots, int x, int y, int z) {
+        for (int dz = -1; dz <= 1; dz++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                if ((dx != 0 || dz != 0) && isSolid(snapshots, x + dx, y, z + dz)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads a descriptor from the arena cache. The walkable mask and spawn cells are slices of the given buffer.
+     *
+     * @param buffer The buffer positioned at the start of the descriptor, advanced past it on return.
+     * @return The descriptor.
+     */
+    static ArenaDescriptor readFrom(ByteBuffer buffer) {
+        String regionName = readString(buffer);
+        String worldName = readString(buffer);
+        RegionBounds bounds = new RegionBounds(buffer.getInt(), buffer.getInt(), buffer.getInt(),
+                buffer.getInt(), buffer.getInt(), buffer.getInt());
+        int floorY = buffer.getInt();
+        long checksum = buffer.getLong();
+
+        int maskLength = buffer.getInt();
+        ByteBuffer walkableMask = buffer.slice(buffer.position(), maskLength).asReadOnlyBuffer();
+        buffer.position(buffer.position() + maskLength);
+
+        int spawnCount = buffer.getInt();
+        IntBuffer spawnCells = buffer.slice(buffer.position(), spawnCount * Integer.BYTES).asIntBuffer().asReadOnlyBuffer();
+        buffer.position(buffer.position() + spawnCount * Integer.BYTES);
+
+        return new ArenaDescriptor(regionName, worldName, bounds, floorY, checksum, walkableMask, spawnCells);
+    }
+
+    /**
+     * Writes the descriptor in the format read by {@link #readFrom(ByteBuffer)}.
+     *
+     * @param out The stream to write to.
+     * @throws IOException if the descriptor could not be written.
+     */
+    void writeTo(DataOutputStream out) throws IOException {
+        writeString(out, regionName);
+        writeString(out, worldName);
+        out.writeInt(bounds.minX());
+        out.writeInt(bounds.minY());
+        out.writeInt(bounds.minZ());
+        out.writeInt(bounds.maxX());
+        out.writeInt(bounds.maxY());
+        out.writeInt(bounds.maxZ());
+        out.writeInt(floorY);
+        out.writeLong(checksum);
+
+        out.writeInt(walkableMask.capacity());
+        for (int i = 0; i < walkableMask.capacity(); i++) {
+            out.writeByte(walkableMask.get(i));
+        }
+
+        out.writeInt(spawnCells.capacity());
+        for (int i = 0; i < spawnCells.capacity(); i++) {
+            out.writeInt(spawnCells.get(i));
+        }
+    }
+
+    /**
+     * Reads a length-prefixed UTF-8 string.
+     */
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a length-prefixed UTF-8 string.
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Checks whether this descriptor describes the same geometry as another, meaning the other one does not
+     * need to replace it.
+     *
+     * @param other The descriptor to compare with.
+     * @return true if the bounds, floor level and checksum are the same.
+     */
+    boolean matches(ArenaDescriptor other) {
+        return other != null && bounds.equals(other.bounds) && floorY == other.floorY && checksum == other.checksum
+                && worldName.equals(other.worldName);
+    }
+
+    /**
+     * Retrieves the name of the game region this descriptor describes.
+     *
+     * @return The name of the game region this descriptor describes.
+     */
+    public String getRegionName() {
+        return regionName;
+    }
+
+    /**
+     * Retrieves the name of the world the arena is in.
+     *
+     * @return The name of the world the arena is in.
+     */
+    public String getWorldName() {
+        return worldName;
+    }
+
+    /**
+     * Retrieves the bounds of the arena.
+     *
+     * @return The bounds of the arena.
+     */
+    public RegionBounds getBounds() {
+        return bounds;
+    }
+
+    /**
+     * Retrieves the Y-level the snake plays on.
+     *
+     * @return The Y-level the snake plays on.
+     */
+    public int getFloorY() {
+        return floorY;
+    }
+
+    /**
+     * Retrieves the checksum of the blocks the descriptor was compiled from.
+     *
+     * @return The checksum of the blocks the descriptor was compiled from.
+     */
+    public long getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * Checks if the cell at the given coordinates of the floor can be walked on.
+     *
+     * @param x The x-coordinate.
+     * @param z The z-coordinate.
+     * @return true if the cell is inside the arena and walkable, false otherwise.
+     */
+    public boolean isWalkable(int x, int z) {
+        int dx = x - bounds.minX();
+        int dz = z - bounds.minZ();
+        int width = bounds.maxX() - bounds.minX() + 1;
+        int depth = bounds.maxZ() - bounds.minZ() + 1;
+        if (dx < 0 || dz < 0 || dx >= width || dz >= depth) {
+            return false;
+        }
+        int cell = dz * width + dx;
+        return (walkableMask.get(cell >> 3) & (1 << (cell & 7))) != 0;
+    }
+
+    /**
+     * Retrieves the number of valid apple spawn cells.
+     *
+     * @return The number of spawn cells.
+     */
+    public int getSpawnCellCount() {
+        return spawnCells.capacity();
+    }
+
+    /**
+     * Picks a random valid apple spawn cell on the floor of the arena.
+     *
+     * @param world  The world of the arena.
+     * @param random The random number generator to use.
+     * @return The location of the spawn cell, or null if the arena has no valid spawn cells.
+     */
+    public Location getRandomSpawnLocation(World world, Random random) {
+        if (spawnCells.capacity() == 0) {
+            return null;
+        }
+        int cell = spawnCells.get(random.nextInt(spawnCells.capacity()));
+        int width = bounds.maxX() - bounds.minX() + 1;
+        return new Location(world, bounds.minX() + cell % width, floorY, bounds.minZ() + cell / width);
+    }
+}
@@ -0,0 +1,382 @@
+package com.slimer.Region;
+
+import com.sk89q.worldedit.EditSession;
+import com.sk89q.worldedit.WorldEdit;
+import com.sk89q.worldedit.WorldEditException;
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormat;
+import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormats;
+import com.sk89q.worldedit.extent.clipboard.io.ClipboardReader;
+import com.sk89q.worldedit.function.operation.Operations;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.session.ClipboardHolder;
+import com.sk89q.worldguard.protection.regions.ProtectedCuboidRegion;
+import com.slimer.Main.Main;
+import com.slimer.Scheduler.TaskScheduler;
+import org.bukkit.Bukkit;
+import org.bukkit.GameRule;
+import org.bukkit.World;
+import org.bukkit.WorldCreator;
+import org.bukkit.generator.ChunkGenerator;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToIntFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Creates game arenas on demand by pasting a template schematic into a dedicated void world.
+ * Every instance is given its own WorldGuard region and is registered in memory as a game region linked to the
+ * configured lobby, so the lobby's join queue treats it like any hand-built arena. The teleport location of an
+ * instance is the origin of the schematic, which is where the player stood when copying the template arena.
+ * <p>
+ * A warm pool of idle instances is kept ready so that players rarely wait for a paste. Instances that become idle
+ * are returned to the pool, and idle instances beyond the pool size are retired so their slot can be reused.
+ * Instances only live as long as the server runs, they are never written to the region database.
+ * <p>
+ * Pasting an instance writes the blocks of a whole arena at once from the thread that needs it, which region-threaded
+ * servers do not allow, so instancing is disabled there. The instance state is still guarded by the lock that also
+ * guards the arena occupancy, as the join queue provisions instances from command and chunk load threads while the
+ * pool is maintained on the next tick, so an instance found idle cannot receive a player before it is retired.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public class ArenaInstanceManager {
+    private static final String INSTANCE_PREFIX = "snake_instance_";
+    private static final int INSTANCE_Y = 64;
+    private static final int INSTANCE_MARGIN = 64;
+    private static ArenaInstanceManager instance;
+    private final JavaPlugin plugin;
+    private final Logger logger;
+    private final ToIntFunction<String> occupancy;
+    private final Object lock;
+    private final WGHelpers wgHelpers = WGHelpers.getInstance();
+    private final boolean enabled;
+    private final String lobbyName;
+    private final String worldName;
+    private final File schematicFile;
+    private final int warmPoolSize;
+    private final int maxInstances;
+    private final Map<Integer, RegionRegistry.RegionEntry> instances = new TreeMap<>();
+    private Clipboard template;
+    private World world;
+    private int spacing;
+    private volatile boolean ready = false;
+    private boolean maintenancePending = false;
+    private TaskScheduler.Task startTask;
+
+    private ArenaInstanceManager(JavaPlugin plugin, ToIntFunction<String> occupancy, Object lock) {
+        Main main = (Main) plugin;
+        this.plugin = plugin;
+        this.logger = plugin.getLogger();
+        this.occupancy = occupancy;
+        this.lock = lock;
+        this.enabled = main.isArenaInstancingEnabled() && !TaskScheduler.isRegionThreaded();
+        this.lobbyName = main.getArenaInstanceLobby().toLowerCase();
+        this.worldName = main.getArenaInstanceWorld();
+        this.schematicFile = new File(plugin.getDataFolder(), main.getArenaTemplateSchematic());
+        this.warmPoolSize = Math.max(0, main.getArenaInstanceWarmPool());
+        this.maxInstances = Math.max(0, main.getArenaInstanceMax());
+        if (enabled) {
+            start();
+        } else if (main.isArenaInstancingEnabled()) {
+            logger.log(Level.WARNING, "[ArenaInstanceManager.java] Arena instancing is disabled, it is not supported on region-threaded servers.");
+        }
+    }
+
+    /**
+     * Initializes the manager instance and, if arena instancing is enabled and the server is not region-threaded,
+     * prepares the warm pool once the region data is ready.
+     *
+     * @param plugin    The JavaPlugin instance used for configuration and scheduling.
+     * @param occupancy Function returning the number of players playing in a game region or about to start in it.
+     * @param lock      The lock guarding the occupancy, held while the instances are read or changed.
+     */
+    public static synchronized void initializeInstance(JavaPlugin plugin, ToIntFunction<String> occupancy, Object lock) {
+        if (instance == null) {
+            instance = new ArenaInstanceManager(plugin, occupancy, lock);
+        }
+    }
+
+    /**
+     * Retrieves the current instance of the ArenaInstanceManager.
+     *
+     * @return The current instance of the ArenaInstanceManager.
+     * @throws IllegalStateException if the manager has not been initialized.
+     */
+    public static synchronized ArenaInstanceManager getInstance() {
+        if (instance == null) {
+            throw new IllegalStateException("ArenaInstanceManager must be initialized with a JavaPlugin instance before use.");
+        }
+        return instance;
+    }
+
+    /**
+     * Checks if a region name belongs to an arena instance.
+     *
+     * @param regionName The name of the region.
+     * @return true if the region is an arena instance, false otherwise.
+     */
+    public static boolean isInstanceRegion(String regionName) {
+        return regionName != null && regionName.toLowerCase().startsWith(INSTANCE_PREFIX);
+    }
+
+    /**
+     * Waits for the region data to be ready, then loads the template and the instance world and fills the warm pool.
+     */
+    private void start() {
+        startTask = ((Main) plugin).getTaskScheduler().runGlobalTimer(() -> {
+            if (!RegionService.getInstance().isReady()) {
+                return;
+            }
+            startTask.cancel();
+
+            RegionRegistry.RegionEntry lobby = RegionHelpers.getInstance().getRegistry().get(lobbyName);
+            if (lobby == null || !"lobby".equals(lobby.type()) || lobby.linkID() == null) {
+                logger.log(Level.WARNING, "[ArenaInstanceManager.java] Arena instancing is disabled, '" + lobbyName + "' is not a lobby region linked to a game region.");
+                return;
+            }
+            if (loadTemplate() && loadWorld()) {
+                synchronized (lock) {
+                    removeStaleRegions();
+                    ready = true;
+                    maintainPool();
+                }
+            }
+        }, 1L, 20L);
+    }
+
+    /**
+     * Checks if instances are created for the given lobby.
+     *
+     * @param lobby The name of the lobby region.
+     * @return true if arena instancing is ready and configured for the lobby, false otherwise.
+     */
+    public boolean servesLobby(String lobby) {
+        return ready && lobbyName.equalsIgnoreCase(lobby);
+    }
+
+    /**
+     * Creates a new instance right away, for when every arena of the lobby is full and the warm pool is empty.
+     *
+     * @param lobby The name of the lobby region that needs capacity.
+     * @return true if an instance was created, false if instancing does not serve the lobby or the limit is reached.
+     */
+    public boolean provision(String lobby) {
+        synchronized (lock) {
+            return servesLobby(lobby) && instances.size() < maxInstances && createInstance();
+        }
+    }
+
+    /**
+     * Brings the number of idle instances back to the warm pool size on the next tick. At most one instance is
+     * pasted per tick to spread the cost; surplus idle instances are retired at once. Several calls within the same
+     * tick only cause a single pass.
+     */
+    public void maintainPool() {
+        synchronized (lock) {
+            if (!ready || maintenancePending) {
+                return;
+            }
+            maintenancePending = true;
+        }
+        ((Main) plugin).getTaskScheduler().runGlobal(() -> {
+            synchronized (lock) {
+                maintenancePending = false;
+                if (!ready) {
+                    return;
+                }
+                List<Integer> idleSlots = new ArrayList<>();
+                for (Map.Entry<Integer, RegionRegistry.RegionEntry> entry : instances.entrySet()) {
+                    if (occupancy.applyAsInt(entry.getValue().name()) == 0) {
+                        idleSlots.add(entry.getKey());
+                    }
+                }
+
+                if (idleSlots.size() < warmPoolSize && instances.size() < maxInstances) {
+                    if (createInstance()) {
+                        maintainPool();
+                    }
+                } else if (idleSlots.size() > warmPoolSize) {
+                    for (int i = idleSlots.size() - 1; i >= warmPoolSize; i--) {
+                        retireInstance(idleSlots.get(i));
+                    }
+                    publishInstances();
+                }
+            }
+        });
+    }
+
+    /**
+     * Removes the WorldGuard regions of every instance. Called when the plugin is disabled, after all games have
+     * been stopped, so that no instance region is saved by WorldGuard.
+     */
+    public void shutdown() {
+        synchronized (lock) {
+            ready = false;
+            for (RegionRegistry.RegionEntry entry : instances.values()) {
+                wgHelpers.removeWGRegion(worldName, entry.name());
+            }
+            instances.clear();
+        }
+    }
+
+    /**
+     * Pastes the template into the lowest free slot of the instance world, adds its WorldGuard region and registers
+     * it as a game region linked to the lobby.
+     *
+     * @return true if the instance was created, false if the paste or the region creation failed.
+     */
+    private boolean createInstance() {
+        int slot = 0;
+        while (instances.containsKey(slot)) {
+            slot++;
+        }
+        String name = INSTANCE_PREFIX + slot;
+        BlockVector3 origin = BlockVector3.at(slot * spacing, INSTANCE_Y, 0);
+
+        try (EditSession editSession = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(world))) {
+            Operations.complete(new ClipboardHolder(template).createPaste(editSession).to(origin).build());
+        } catch (WorldEditException e) {
+            logger.log(Level.SEVERE, "[ArenaInstanceManager.java] An error occurred while pasting arena instance '" + name + "'.", e);
+            return false;
+        }
+
+        BlockVector3 offset = origin.subtract(template.getOrigin());
+        ProtectedCuboidRegion region = new ProtectedCuboidRegion(name,
+                template.getRegion().getMinimumPoint().add(offset), template.getRegion().getMaximumPoint().add(offset));
+        if (!wgHelpers.addWGRegion(world, region)) {
+            logger.log(Level.SEVERE, "[ArenaInstanceManager.java] Could not add the WorldGuard region of arena instance '" + name + "'.");
+            return false;
+        }
+
+        instances.put(slot, new RegionRegistry.RegionEntry(name, "game", world.getName(), null, null,
+                origin.getX(), origin.getY(), origin.getZ()));
+        publishInstances();
+        ArenaCache.getInstance().refresh(name);
+        logger.log(Level.INFO, "[ArenaInstanceManager.java] Created arena instance '" + name + "' (" + instances.size() + "/" + maxInstances + ").");
+        return true;
+    }
+
+    /**
+     * Removes an idle instance and its WorldGuard region. Its blocks are left in place and are pasted over when
+     * the slot is used again.
+     *
+     * @param slot The slot of the instance.
+     */
+    private void retireInstance(int slot) {
+        RegionRegistry.RegionEntry entry = instances.remove(slot);
+        if (entry != null) {
+            wgHelpers.removeWGRegion(worldName, entry.name());
+            logger.log(Level.INFO, "[ArenaInstanceManager.java] Retired arena instance '" + entry.name() + "'.");
+        }
+    }
+
+    /**
+     * Swaps the current instances into the region registry.
+     */
+    private void publishInstances() {
+        RegionHelpers.getInstance().setInstanceRegions(lobbyName, new ArrayList<>(instances.values()));
+    }
+
+    /**
+     * Loads the template schematic and derives the distance between instances from its size, rounded up to whole
+     * chunks so that no two instances share a chunk.
+     *
+     * @return true if the template was loaded, false otherwise.
+     */
+    private boolean loadTemplate() {
+        ClipboardFormat format = ClipboardFormats.findByFile(schematicFile);
+        if (!schematicFile.exists() || format == null) {
+            logger.log(Level.WARNING, "[ArenaInstanceManager.java] Arena instancing is disabled, no readable schematic at " + schematicFile.getPath() + ".");
+            return false;
+        }
+
+        try (ClipboardReader reader = format.getReader(new FileInputStream(schematicFile))) {
+            template = reader.read();
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "[ArenaInstanceManager.java] An error occurred while reading " + schematicFile.getPath() + ".", e);
+            return false;
+        }
+
+        BlockVector3 size = template.getDimensions();
+        spacing = ((Math.max(size.getX(), size.getZ()) + INSTANCE_MARGIN + 15) >> 4) << 4;
+        return true;
+    }
+
+    /**
+     * Loads the instance world, creating it as an empty void world if it does not exist yet.
+     *
+     * @return true if the world is loaded, false otherwise.
+     */
+    private boolean loadWorld() {
+        world = Bukkit.getWorld(worldName);
+        if (world == null) {
+            world = new WorldCreator(worldName).generator(new VoidGenerator()).generateStructures(false).createWorld();
+        }
+        if (world == null) {
+            logger.log(Level.SEVERE, "[ArenaInstanceManager.java] Could not load or create the arena instance world '" + worldName + "'.");
+            return false;
+        }
+        world.setGameRule(GameRule.DO_MOB_SPAWNING, false);
+        world.setGameRule(GameRule.DO_DAYLIGHT_CYCLE, false);
+        world.setGameRule(GameRule.DO_WEATHER_CYCLE, false);
+        return true;
+    }
+
+    /**
+     * Removes instance regions left behind in the instance world, for example after the server crashed.
+     */
+    private void removeStaleRegions() {
+        for (String regionName : wgHelpers.getWGRegionNames(worldName)) {
+            if (isInstanceRegion(regionName)) {
+                wgHelpers.removeWGRegion(worldName, regionName);
+            }
+        }
+    }
+
+    /**
+     * Generates an empty world without terrain, caves, decorations, mobs or structures.
+     */
+    private static final class VoidGenerator extends ChunkGenerator {
+        @Override
+        public boolean shouldGenerateNoise() {
+            return false;
+        }
+
+        @Override
+        public boolean shouldGenerateSurface() {
+            return false;
+        }
+
+        @Override
+        public boolean shouldGenerateCaves() {
+            return false;
+        }
+
+        @Override
+        public boolean shouldGenerateDecorations() {
+            return false;
+        }
+
+        @Override
+        public boolean shouldGenerateMobs() {
+            return false;
+        }
+
+        @Override
+        public boolean shouldGenerateStructures() {
+            return false;
+        }
+    }
+}
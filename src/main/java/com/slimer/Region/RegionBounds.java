@@ -0,0 +1,53 @@
+package com.slimer.Region;
+
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+
+/**
+ * The axis-aligned bounding box of a WorldGuard region, in block coordinates with both corners inclusive.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @param minX The minimum x-coordinate.
+ * @param minY The minimum y-coordinate.
+ * @param minZ The minimum z-coordinate.
+ * @param maxX The maximum x-coordinate.
+ * @param maxY The maximum y-coordinate.
+ * @param maxZ The maximum z-coordinate.
+ * @author Slimerblue22
+ */
+public record RegionBounds(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+
+    /**
+     * Creates the bounds of a WorldGuard region.
+     *
+     * @param region The WorldGuard region.
+     * @return The bounding box of the region.
+     */
+    static RegionBounds of(ProtectedRegion region) {
+        BlockVector3 min = region.getMinimumPoint();
+        BlockVector3 max = region.getMaximumPoint();
+        return new RegionBounds(min.getX(), min.getY(), min.getZ(), max.getX(), max.getY(), max.getZ());
+    }
+
+    /**
+     * Checks if the given block coordinates lie within the bounds.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @param z The z-coordinate.
+     * @return true if the coordinates are inside the bounds, false otherwise.
+     */
+    public boolean contains(int x, int y, int z) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+    }
+
+    /**
+     * Describes the bounds in a human-readable form, used in admin messages.
+     *
+     * @return A string describing the minimum and maximum points.
+     */
+    public String describe() {
+        return String.format("Min(%d, %d, %d) - Max(%d, %d, %d)", minX, minY, minZ, maxX, maxY, maxZ);
+    }
+}
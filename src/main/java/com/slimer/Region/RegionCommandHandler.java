@@ -12,6 +12,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Handles commands related to managing regions in the Snake game. This class serves as the executor for region-related
@@ -48,6 +49,11 @@ public class RegionCommandHandler implements CommandExecutor, TabCompleter {
             return false;
         }
 
+        if (!service.isReady()) {
+            player.sendMessage(Component.text("Region data is still being migrated. Please try again in a moment.", NamedTextColor.RED));
+            return false;
+        }
+
         if (args.length == 0) {
             handleUnknownCommand(player);
             return false;
@@ -113,7 +119,7 @@ public class RegionCommandHandler implements CommandExecutor, TabCompleter {
      *
      * @param player The player executing the command.
      * @param args   The arguments passed with the command.
-     * @return true if the region was registered successfully, false otherwise.
+     * @return true if the registration was submitted, false otherwise. The outcome is reported once it has been written.
      */
     private boolean registerRegion(Player player, String[] args) {
         if (args.length != 4) {
@@ -140,13 +146,9 @@ public class RegionCommandHandler implements CommandExecutor, TabCompleter {
             return false;
         }
 
-        if (service.registerNewRegion(regionType, regionName, worldName)) {
-            player.sendMessage(Component.text("Region registered successfully.", NamedTextColor.GREEN));
-            return true;
-        } else {
-            player.sendMessage(Component.text("Failed to register region.", NamedTextColor.RED));
-            return false;
-        }
+        return reportWhenDone(player, service.registerNewRegion(regionType, regionName, worldName),
+                Component.text("Region registered successfully.", NamedTextColor.GREEN),
+                Component.text("Failed to register region.", NamedTextColor.RED));
     }
 
     /**
@@ -154,7 +156,7 @@ public class RegionCommandHandler implements CommandExecutor, TabCompleter {
      *
      * @param player The player executing the command.
      * @param args   The arguments passed with the command.
-     * @return true if the region was unregistered successfully, false otherwise.
+     * @return true if the removal was submitted, false otherwise. The outcome is reported once it has been written.
      */
     private boolean unregisterRegion(Player player, String[] args) {
         if (args.length != 2) {
@@ -174,13 +176,9 @@ public class RegionCommandHandler implements CommandExecutor, TabCompleter {
             return false;
         }
 
-        if (service.unregisterRegion(regionName)) {
-            player.sendMessage(Component.text("Region unregistered successfully.", NamedTextColor.GREEN));
-            return true;
-        } else {
-            player.sendMessage(Component.text("Failed to unregister region.", NamedTextColor.RED));
-            return false;
-        }
+        return reportWhenDone(player, service.unregisterRegion(regionName),
+                Component.text("Region unregistered successfully.", NamedTextColor.GREEN),
+                Component.text("Failed to unregister region.", NamedTextColor.RED));
     }
 
     /**
@@ -188,7 +186,7 @@ public class RegionCommandHandler implements CommandExecutor, TabCompleter {
      *
      * @param player The player executing the command.
      * @param args   The arguments passed with the command.
-     * @return true if the regions were linked successfully, false otherwise.
+     * @return true if the link was submitted, false otherwise. The outcome is reported once it has been written.
      */
     private boolean linkRegions(Player player, String[] args) {
         if (args.length != 3) {
@@ -212,18 +210,15 @@ public class RegionCommandHandler implements CommandExecutor, TabCompleter {
             return false;
         }
 
-        if (regionHelpers.isRegionLinked(regionName1) || regionHelpers.isRegionLinked(regionName2)) {
-            player.sendMessage(Component.text("One or both regions are already linked to another region.", NamedTextColor.RED));
+        String gameRegion = type1.equals("game") ? regionName1 : regionName2;
+        if (regionHelpers.isRegionLinked(gameRegion)) {
+            player.sendMessage(Component.text("The game region is already linked to a lobby region.", NamedTextColor.RED));
             return false;
         }
 
-        if (service.linkRegions(regionName1, regionName2)) {
-            player.sendMessage(Component.text("Regions linked successfully.", NamedTextColor.GREEN));
-            return true;
-        } else {
-            player.sendMessage(Component.text("Failed to link regions.", NamedTextColor.RED));
-            return false;
-        }
+        return reportWhenDone(player, service.linkRegions(regionName1, regionName2),
+                Component.text("Regions linked successfully.", NamedTextColor.GREEN),
+                Component.text("Failed to link regions.", NamedTextColor.RED));
     }
 
     /**
@@ -231,7 +226,7 @@ public class RegionCommandHandler implements CommandExecutor, TabCompleter {
      *
      * @param player The player executing the command.
      * @param args   The arguments passed with the command.
-     * @return true if the regions were unlinked successfully, false otherwise.
+     * @return true if the unlink was submitted, false otherwise. The outcome is reported once it has been written.
      */
     private boolean unlinkRegions(Player player, String[] args) {
         if (args.length != 3) {
@@ -265,13 +260,9 @@ public class RegionCommandHandler implements CommandExecutor, TabCompleter {
             return false;
         }
 
-        if (service.unlinkRegions(regionName1, regionName2)) {
-            player.sendMessage(Component.text("Regions unlinked successfully.", NamedTextColor.GREEN));
-            return true;
-        } else {
-            player.sendMessage(Component.text("Failed to unlink regions.", NamedTextColor.RED));
-            return false;
-        }
+        return reportWhenDone(player, service.unlinkRegions(regionName1, regionName2),
+                Component.text("Regions unlinked successfully.", NamedTextColor.GREEN),
+                Component.text("Failed to unlink regions.", NamedTextColor.RED));
     }
 
     /**
@@ -279,7 +270,7 @@ public class RegionCommandHandler implements CommandExecutor, TabCompleter {
      *
      * @param player The player executing the command.
      * @param args   The arguments passed with the command.
-     * @return true if the TP coordinates were set successfully, false otherwise.
+     * @return true if the TP coordinates were submitted, false otherwise. The outcome is reported once it has been written.
      */
     private boolean addTP(Player player, String[] args) {
         if (args.length != 2 && args.length != 5) {
@@ -311,13 +302,9 @@ public class RegionCommandHandler implements CommandExecutor, TabCompleter {
             return false;
         }
 
-        if (service.setRegionCoordinates(regionName, x, y, z)) {
-            player.sendMessage(Component.text(String.format("Coordinates set successfully for the region at (%d, %d, %d).", x, y, z), NamedTextColor.GREEN));
-            return true;
-        } else {
-            player.sendMessage(Component.text("Failed to set coordinates for the region.", NamedTextColor.RED));
-            return false;
-        }
+        return reportWhenDone(player, service.setRegionCoordinates(regionName, x, y, z),
+                Component.text(String.format("Coordinates set successfully for the region at (%d, %d, %d).", x, y, z), NamedTextColor.GREEN),
+                Component.text("Failed to set coordinates for the region.", NamedTextColor.RED));
     }
 
     /**
@@ -340,4 +327,19 @@ public class RegionCommandHandler implements CommandExecutor, TabCompleter {
         player.sendMessage(message);
         return true;
     }
+
+    /**
+     * Reports the outcome of a region change to the player once it has been written. The change completes on the
+     * global scheduler, so the message is sent from there.
+     *
+     * @param player  The player executing the command.
+     * @param change  The submitted change, completing with whether it succeeded.
+     * @param success The message sent if the change succeeded.
+     * @param failure The message sent if the change failed.
+     * @return true, as the change has been submitted.
+     */
+    private boolean reportWhenDone(Player player, CompletableFuture<Boolean> change, Component success, Component failure) {
+        change.thenAccept(changed -> player.sendMessage(changed ? success : failure));
+        return true;
+    }
 }
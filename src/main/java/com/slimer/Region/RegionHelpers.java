@@ -1,8 +1,8 @@
 package com.slimer.Region;
 
+import com.slimer.Storage.StorageBackend;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
 
@@ -14,8 +14,9 @@ import java.util.logging.Logger;
 
 /**
  * Provides helper methods for managing regions in the Snake game.
- * This class interacts with the database for operations such as checking if a region is registered,
- * retrieving region types, managing region links, generating link IDs, and fetching region data.
+ * Lookups such as checking if a region is registered, retrieving region types, worlds, links and teleport
+ * locations are served from an immutable {@link RegionRegistry} snapshot, so they never touch the database.
+ * The database is only queried to rebuild the snapshot, to generate link IDs and to format data for admins.
  * <p>
  * Last updated: V2.1.0
  *
@@ -23,24 +24,29 @@ import java.util.logging.Logger;
  */
 public class RegionHelpers {
     private static RegionHelpers instance;
-    private final Connection connection;
+    private final StorageBackend backend;
     private final Logger logger;
     private final WGHelpers wgHelpers = WGHelpers.getInstance();
-
-    private RegionHelpers(Connection connection, Logger logger) {
-        this.connection = connection;
+    private volatile RegionRegistry registry = RegionRegistry.EMPTY;
+    private volatile RegionSpatialIndex spatialIndex = RegionSpatialIndex.EMPTY;
+    private List<RegionRegistry.RegionEntry> storedRegions = List.of();
+    private List<RegionRegistry.RegionEntry> instanceRegions = List.of();
+    private String instanceLobby;
+
+    private RegionHelpers(StorageBackend backend, Logger logger) {
+        this.backend = backend;
         this.logger = logger;
     }
 
     /**
-     * Initializes the helper instance with a given SQL Connection and Logger.
+     * Initializes the helper instance with a given storage backend and Logger.
      *
-     * @param connection The SQL Connection used for initialization.
-     * @param logger     The Logger used for initialization.
+     * @param backend The storage backend used for initialization.
+     * @param logger  The Logger used for initialization.
      */
-    public static synchronized void initializeInstance(Connection connection, Logger logger) {
+    public static synchronized void initializeInstance(StorageBackend backend, Logger logger) {
         if (instance == null) {
-            instance = new RegionHelpers(connection, logger);
+            instance = new RegionHelpers(backend, logger);
         }
     }
 
@@ -58,25 +64,155 @@ public class RegionHelpers {
     }
 
     /**
-     * Checks if a given region is registered.
-     *
-     * @param regionName The name of the region to check.
-     * @return true if the region is registered, false otherwise.
+     * Loads all regions from the database into a new snapshot and swaps it in atomically.
+     * Called once at startup. Must not be called while holding a connection of the region backend.
      */
-    public boolean isRegionRegistered(String regionName) {
-        try {
-            PreparedStatement statement = connection.prepareStatement(
-                    "SELECT COUNT(*) FROM region_data WHERE regionName = ?");
-            statement.setString(1, regionName.toLowerCase());
+    public void reloadRegistry() {
+        List<RegionRegistry.RegionEntry> stored = loadStoredRegions();
+        if (stored != null) {
+            publishStoredRegions(stored);
+        }
+    }
 
+    /**
+     * Loads all regions from the database, without publishing them. Blocks on the database, so it is meant to run
+     * on the I/O executor. Must not be called while holding a connection of the region backend.
+     *
+     * @return The stored regions, or null if they could not be loaded.
+     */
+    List<RegionRegistry.RegionEntry> loadStoredRegions() {
+        List<RegionRegistry.RegionEntry> entries = new ArrayList<>();
+        try (Connection connection = backend.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                    "SELECT regionName, regionType, worldName, linkID, x, y, z FROM region_data")) {
             ResultSet resultSet = statement.executeQuery();
-            if (resultSet.next()) {
-                return resultSet.getInt(1) > 0;
+            while (resultSet.next()) {
+                entries.add(new RegionRegistry.RegionEntry(
+                        resultSet.getString("regionName"),
+                        resultSet.getString("regionType"),
+                        resultSet.getString("worldName"),
+                        getNullableInt(resultSet, "linkID"),
+                        null,
+                        getNullableInt(resultSet, "x"),
+                        getNullableInt(resultSet, "y"),
+                        getNullableInt(resultSet, "z")));
             }
         } catch (SQLException e) {
-            logger.log(Level.SEVERE, "An error occurred while checking if the region is registered.", e);
+            logger.log(Level.SEVERE, "An error occurred while loading the region registry.", e);
+            return null;
+        }
+        return entries;
+    }
+
+    /**
+     * Swaps in a new snapshot holding the given stored regions next to the current arena instances.
+     * Rebuilding the spatial index reads WorldGuard, so this must be called on the main thread.
+     *
+     * @param stored The regions loaded from the database.
+     */
+    void publishStoredRegions(List<RegionRegistry.RegionEntry> stored) {
+        publishRegistry(stored, null, null);
+    }
+
+    /**
+     * Replaces the arena instances held in memory next to the regions from the database and swaps in a new snapshot.
+     * Instances are linked to the given lobby, using the lobby's current link ID, and are never written to the database.
+     *
+     * @param lobbyName The name of the lobby region the instances are linked to.
+     * @param instances The game regions of the arena instances, with no link ID set.
+     */
+    public void setInstanceRegions(String lobbyName, List<RegionRegistry.RegionEntry> instances) {
+        publishRegistry(null, lobbyName, List.copyOf(instances));
+    }
+
+    /**
+     * Builds a new snapshot from the stored regions and the arena instances, replacing whichever of the two is given,
+     * and swaps it in together with a new spatial index. Instances are stamped with the link ID of their lobby, or
+     * left unlinked if the lobby is not linked.
+     *
+     * @param stored    The regions loaded from the database, or null to keep the current ones.
+     * @param lobbyName The lobby the instances are linked to, ignored if instances is null.
+     * @param instances The arena instances, or null to keep the current ones.
+     */
+    private synchronized void publishRegistry(List<RegionRegistry.RegionEntry> stored, String lobbyName, List<RegionRegistry.RegionEntry> instances) {
+        if (stored != null) {
+            storedRegions = stored;
+        }
+        if (instances != null) {
+            instanceRegions = instances;
+            instanceLobby = lobbyName;
+        }
+
+        List<RegionRegistry.RegionEntry> entries = new ArrayList<>(storedRegions);
+        if (!instanceRegions.isEmpty()) {
+            Integer lobbyLinkID = null;
+            for (RegionRegistry.RegionEntry entry : storedRegions) {
+                if (entry.name().equalsIgnoreCase(instanceLobby) && "lobby".equals(entry.type())) {
+                    lobbyLinkID = entry.linkID();
+                }
+            }
+            for (RegionRegistry.RegionEntry entry : instanceRegions) {
+                entries.add(new RegionRegistry.RegionEntry(entry.name(), entry.type(), entry.worldName(), lobbyLinkID,
+                        null, entry.x(), entry.y(), entry.z()));
+            }
         }
-        return false;
+        registry = new RegionRegistry(entries);
+        rebuildSpatialIndex();
+    }
+
+    /**
+     * Rebuilds the spatial index of the game regions from the current registry and the WorldGuard region bounds.
+     * Called whenever the registry changes, and should be called when the bounds of a WorldGuard region change.
+     */
+    public void rebuildSpatialIndex() {
+        spatialIndex = RegionSpatialIndex.build(registry, wgHelpers);
+    }
+
+    /**
+     * Finds the registered game region containing the given location.
+     *
+     * @param location The location to look up.
+     * @return The game region, or null if the location is not in any registered game region.
+     */
+    public RegionRegistry.RegionEntry getGameRegionAt(Location location) {
+        if (location.getWorld() == null) {
+            return null;
+        }
+        String regionName = spatialIndex.findGameRegion(location.getWorld().getName(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+        return registry.get(regionName);
+    }
+
+    /**
+     * Reads a nullable integer column from the current row.
+     *
+     * @param resultSet The result set positioned on the row to read.
+     * @param column    The name of the column.
+     * @return The value of the column, or null if it is SQL NULL.
+     * @throws SQLException if the column could not be read.
+     */
+    private static Integer getNullableInt(ResultSet resultSet, String column) throws SQLException {
+        int value = resultSet.getInt(column);
+        return resultSet.wasNull() ? null : value;
+    }
+
+    /**
+     * Retrieves the current snapshot of all registered regions.
+     * The snapshot never changes, callers that need several consistent lookups should hold on to it.
+     *
+     * @return The current region registry.
+     */
+    public RegionRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Checks if a given region is registered.
+     *
+     * @param regionName The name of the region to check.
+     * @return true if the region is registered, false otherwise.
+     */
+    public boolean isRegionRegistered(String regionName) {
+        return registry.get(regionName) != null;
     }
 
     /**
@@ -86,19 +222,8 @@ public class RegionHelpers {
      * @return The type of the region, or null if not found.
      */
     public String getRegionType(String regionName) {
-        try {
-            PreparedStatement statement = connection.prepareStatement(
-                    "SELECT regionType FROM region_data WHERE regionName = ?");
-            statement.setString(1, regionName.toLowerCase());
-
-            ResultSet resultSet = statement.executeQuery();
-            if (resultSet.next()) {
-                return resultSet.getString("regionType");
-            }
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "An error occurred while getting the region type.", e);
-        }
-        return null;
+        RegionRegistry.RegionEntry region = registry.get(regionName);
+        return region != null ? region.type() : null;
     }
 
     /**
@@ -108,34 +233,25 @@ public class RegionHelpers {
      * @return true if the region is linked, false otherwise.
      */
     public boolean isRegionLinked(String regionName) {
-        try {
-            PreparedStatement statement = connection.prepareStatement(
-                    "SELECT linkID FROM region_data WHERE regionName = ?");
-            statement.setString(1, regionName.toLowerCase());
-
-            ResultSet resultSet = statement.executeQuery();
-            if (resultSet.next()) {
-                return resultSet.getObject("linkID") != null;
-            }
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "An error occurred while checking if the region is linked.", e);
-        }
-        return false;
+        return getLinkID(regionName) != null;
     }
 
     /**
      * Generates a unique link ID for linking regions.
+     * Takes the caller's connection so that the ID can be generated inside the caller's transaction.
      *
+     * @param connection The connection to query the current maximum link ID with.
      * @return A unique link ID.
      * @throws SQLException if an SQL error occurs.
      */
-    public int generateUniqueLinkID() throws SQLException {
-        Statement statement = connection.createStatement();
-        ResultSet resultSet = statement.executeQuery("SELECT MAX(linkID) as maxID FROM region_data");
-        if (resultSet.next()) {
-            return resultSet.getInt("maxID") + 1;
-        } else {
-            return 1;
+    public int generateUniqueLinkID(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            ResultSet resultSet = statement.executeQuery("SELECT MAX(linkID) as maxID FROM region_data");
+            if (resultSet.next()) {
+                return resultSet.getInt("maxID") + 1;
+            } else {
+                return 1;
+            }
         }
     }
 
@@ -146,51 +262,19 @@ public class RegionHelpers {
      * @return The link ID, or null if not linked.
      */
     public Integer getLinkID(String regionName) {
-        try {
-            PreparedStatement statement = connection.prepareStatement(
-                    "SELECT linkID FROM region_data WHERE regionName = ?");
-            statement.setString(1, regionName.toLowerCase());
-
-            ResultSet resultSet = statement.executeQuery();
-            if (resultSet.next()) {
-                int linkID = resultSet.getInt("linkID");
-                if (resultSet.wasNull()) {
-                    return null;
-                }
-                return linkID;
-            }
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "An error occurred while fetching the link ID.", e);
-        }
-        return null;
+        RegionRegistry.RegionEntry region = registry.get(regionName);
+        return region != null ? region.linkID() : null;
     }
 
     /**
      * Retrieves the name of the region that is linked to the given region.
      *
      * @param regionName The name of the region whose linked region is to be found.
-     * @return The name of the linked region, or null if no linked region is found or an error occurs.
+     * @return The name of the linked region, or null if no linked region is found.
      */
     public String getLinkedRegion(String regionName) {
-        try {
-            Integer linkID = getLinkID(regionName);
-            if (linkID == null) {
-                return null;
-            }
-
-            PreparedStatement statement = connection.prepareStatement(
-                    "SELECT regionName FROM region_data WHERE linkID = ? AND regionName != ?");
-            statement.setInt(1, linkID);
-            statement.setString(2, regionName.toLowerCase());
-
-            ResultSet resultSet = statement.executeQuery();
-            if (resultSet.next()) {
-                return resultSet.getString("regionName");
-            }
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "An error occurred while fetching the linked region.", e);
-        }
-        return null;
+        RegionRegistry.RegionEntry region = registry.get(regionName);
+        return region != null ? region.linkedRegion() : null;
     }
 
     /**
@@ -201,78 +285,45 @@ public class RegionHelpers {
      * @return A Location object representing the teleport location, or null if not found.
      */
     public Location getRegionTeleportLocation(String regionName, World world) {
-        try {
-            PreparedStatement statement = connection.prepareStatement(
-                    "SELECT x, y, z FROM region_data WHERE regionName = ?");
-            statement.setString(1, regionName.toLowerCase());
-
-            ResultSet resultSet = statement.executeQuery();
-            if (resultSet.next()) {
-                int x = resultSet.getInt("x");
-                if (resultSet.wasNull()) {
-                    x = Integer.MIN_VALUE;
-                }
-                int y = resultSet.getInt("y");
-                if (resultSet.wasNull()) {
-                    y = Integer.MIN_VALUE;
-                }
-                int z = resultSet.getInt("z");
-                if (resultSet.wasNull()) {
-                    z = Integer.MIN_VALUE;
-                }
-                if (x == Integer.MIN_VALUE || y == Integer.MIN_VALUE || z == Integer.MIN_VALUE) {
-                    logger.log(Level.WARNING, "At least one coordinate value was null for region '" + regionName + "'.");
-                    return null;
-                } else {
-                    return new Location(world, x, y, z);
-                }
-            }
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "An error occurred while fetching the teleport location for region '" + regionName + "'.", e);
+        RegionRegistry.RegionEntry region = registry.get(regionName);
+        if (region == null) {
+            return null;
+        }
+        if (!region.hasTeleportLocation()) {
+            logger.log(Level.WARNING, "At least one coordinate value was null for region '" + regionName + "'.");
+            return null;
         }
-        return null;
+        return region.getTeleportLocation(world);
     }
 
     /**
      * Retrieves the Bukkit World object associated with a given region name.
      *
-     * <p>This method queries the database to find the world name associated with the
-     * specified region name. It then uses this world name to get the corresponding
-     * Bukkit World object.</p>
-     *
      * @param regionName The name of the region for which the world is to be retrieved.
      * @return The Bukkit World object associated with the given region name, or null if the region or world does not exist.
      */
     public World getRegionWorld(String regionName) {
-        try {
-            PreparedStatement statement = connection.prepareStatement(
-                    "SELECT worldName FROM region_data WHERE regionName = ?");
-            statement.setString(1, regionName.toLowerCase());
+        RegionRegistry.RegionEntry region = registry.get(regionName);
+        return region != null ? region.getWorld() : null;
+    }
 
-            ResultSet resultSet = statement.executeQuery();
-            if (resultSet.next()) {
-                String worldName = resultSet.getString("worldName");
-                return Bukkit.getWorld(worldName);
-            }
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "An error occurred while fetching the world information.", e);
-        }
-        return null;
+    /**
+     * Retrieves the pool of game regions a lobby region is linked to.
+     *
+     * @param lobbyName The name of the lobby region.
+     * @return An unmodifiable list of game region names, empty if the lobby is not linked.
+     */
+    public List<String> getLinkedGameRegions(String lobbyName) {
+        return registry.getLinkedGameRegions(lobbyName);
     }
 
+    /**
+     * Retrieves the names of all registered regions.
+     *
+     * @return An unmodifiable list of region names.
+     */
     public List<String> getAllRegisteredRegionNames() {
-        List<String> regionNames = new ArrayList<>();
-        try {
-            PreparedStatement statement = connection.prepareStatement("SELECT regionName FROM region_data");
-            ResultSet resultSet = statement.executeQuery();
-
-            while (resultSet.next()) {
-                regionNames.add(resultSet.getString("regionName"));
-            }
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "An error occurred while fetching all registered region names.", e);
-        }
-        return regionNames;
+        return registry.getRegionNames();
     }
 
     /**
@@ -322,9 +373,9 @@ public class RegionHelpers {
                 .append(Component.text("':\n", NamedTextColor.GRAY))
                 .append(Component.text("-------------------\n", NamedTextColor.GOLD));
 
-        try {
-            PreparedStatement statement = connection.prepareStatement(
-                    "SELECT * FROM region_data WHERE regionName = ?");
+        try (Connection connection = backend.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                    "SELECT * FROM region_data WHERE regionName = ?")) {
             statement.setString(1, searchTerm.toLowerCase());
             ResultSet resultSet = statement.executeQuery();
 
@@ -370,9 +421,9 @@ public class RegionHelpers {
                 .append(Component.text("' option:\n", NamedTextColor.GRAY))
                 .append(Component.text("-------------------\n", NamedTextColor.GOLD));
 
-        try {
-            PreparedStatement statement = connection.prepareStatement(
-                    "SELECT * FROM region_data WHERE regionType = ?");
+        try (Connection connection = backend.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                    "SELECT * FROM region_data WHERE regionType = ?")) {
             statement.setString(1, regionType);
             ResultSet resultSet = statement.executeQuery();
 
@@ -407,16 +458,15 @@ public class RegionHelpers {
      * @return A string representing the boundaries of the region, or "Not available" if boundaries could not be fetched.
      */
     private String fetchBoundariesFromWG(String worldName, String regionName) {
-        String boundaries = wgHelpers.getBoundariesOfRegion(worldName, regionName);
-        return boundaries != null ? "Boundaries: " + boundaries : "Boundaries: Not available";
+        RegionBounds boundaries = wgHelpers.getBoundariesOfRegion(worldName, regionName);
+        return boundaries != null ? "Boundaries: " + boundaries.describe() : "Boundaries: Not available";
     }
 
     /**
      * Fetches and formats data for linked regions.
      *
-     * <p>This method processes regions with non-null link IDs and identifies which regions are linked together.
-     * It also includes a check to handle scenarios where the last region in the result set has an unpaired link ID,
-     * reporting it as a warning. This is essential for catching data inconsistencies, especially for the last processed region.</p>
+     * <p>Every linked lobby is listed with the pool of game regions it is linked to. Regions whose link ID is not
+     * shared with any region of the other type are reported as a warning, to catch data inconsistencies.</p>
      *
      * @return Formatted data string showing which regions are linked together.
      */
@@ -424,54 +474,29 @@ public class RegionHelpers {
         Component message = Component.text("Data for 'links' option:\n", NamedTextColor.GRAY)
                 .append(Component.text("-------------------\n", NamedTextColor.GOLD));
 
-        try {
-            PreparedStatement statement = connection.prepareStatement(
-                    "SELECT * FROM region_data WHERE linkID IS NOT NULL ORDER BY linkID");
-            ResultSet resultSet = statement.executeQuery();
-
-            Integer currentLinkID = null;
-            String firstRegion = null;
-
-            while (resultSet.next()) {
-                int linkID = resultSet.getInt("linkID");
-                String regionName = resultSet.getString("regionName");
-
-                if (currentLinkID == null || !currentLinkID.equals(linkID)) {
-                    if (firstRegion != null) {
-                        message = message.append(Component.text("Warning: Region '", NamedTextColor.RED)
-                                .append(Component.text(firstRegion, NamedTextColor.GRAY))
-                                .append(Component.text("' with Link ID: ", NamedTextColor.RED))
-                                .append(Component.text(currentLinkID, NamedTextColor.GRAY))
-                                .append(Component.text(" is not linked to any other region.\n", NamedTextColor.RED))
-                                .append(Component.text("-------------------\n", NamedTextColor.GOLD)));
-                    }
-                    currentLinkID = linkID;
-                    firstRegion = regionName;
-                } else {
-                    if (firstRegion != null) {
-                        message = message.append(Component.text("Regions '", NamedTextColor.GRAY)
-                                .append(Component.text(firstRegion, NamedTextColor.GRAY))
-                                .append(Component.text("' and '", NamedTextColor.GRAY))
-                                .append(Component.text(regionName, NamedTextColor.GRAY))
-                                .append(Component.text("' are linked with Link ID: ", NamedTextColor.GRAY))
-                                .append(Component.text(linkID, NamedTextColor.GRAY))
-                                .append(Component.text("\n", NamedTextColor.GRAY))
-                                .append(Component.text("-------------------\n", NamedTextColor.GOLD)));
-                    }
-                    firstRegion = null;
-                }
+        RegionRegistry snapshot = registry;
+        for (RegionRegistry.RegionEntry region : snapshot.getRegions()) {
+            if (region.linkID() == null) {
+                continue;
             }
-            // Not redundant code, see javadoc for more info
-            if (firstRegion != null) {
+
+            if (region.linkedRegion() == null) {
                 message = message.append(Component.text("Warning: Region '", NamedTextColor.RED)
-                        .append(Component.text(firstRegion, NamedTextColor.GRAY))
+                        .append(Component.text(region.name(), NamedTextColor.GRAY))
                         .append(Component.text("' with Link ID: ", NamedTextColor.RED))
-                        .append(Component.text(currentLinkID, NamedTextColor.GRAY))
+                        .append(Component.text(region.linkID(), NamedTextColor.GRAY))
                         .append(Component.text(" is not linked to any other region.\n", NamedTextColor.RED))
                         .append(Component.text("-------------------\n", NamedTextColor.GOLD)));
+            } else if ("lobby".equals(region.type())) {
+                message = message.append(Component.text("Lobby '", NamedTextColor.GRAY)
+                        .append(Component.text(region.name(), NamedTextColor.GRAY))
+                        .append(Component.text("' is linked to game regions '", NamedTextColor.GRAY))
+                        .append(Component.text(String.join("', '", snapshot.getLinkedGameRegions(region.name())), NamedTextColor.GRAY))
+                        .append(Component.text("' with Link ID: ", NamedTextColor.GRAY))
+                        .append(Component.text(region.linkID(), NamedTextColor.GRAY))
+                        .append(Component.text("\n", NamedTextColor.GRAY))
+                        .append(Component.text("-------------------\n", NamedTextColor.GOLD)));
             }
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "An error occurred while fetching the links data.", e);
         }
 
         return message;
@@ -0,0 +1,153 @@
+package com.slimer.Region;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of every registered region, loaded from the region database in a single query.
+ * The snapshot is never modified after it has been built. When regions change, a new snapshot is built and
+ * swapped in as a whole, so readers on any thread can use it without locking.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public final class RegionRegistry {
+    static final RegionRegistry EMPTY = new RegionRegistry(List.of());
+    private final Map<String, RegionEntry> regions;
+    private final List<String> regionNames;
+    private final Map<String, List<String>> linkedGameRegions;
+
+    /**
+     * Builds a snapshot from the given regions, resolving the link partners of every linked region.
+     * All regions sharing a link ID form one link group: a lobby and the pool of game regions it is linked to.
+     * If a region name appears more than once, the first entry is kept.
+     *
+     * @param entries The regions as stored in the database, with no link partner set.
+     */
+    RegionRegistry(Collection<RegionEntry> entries) {
+        Map<String, RegionEntry> unique = new LinkedHashMap<>();
+        Map<Integer, List<RegionEntry>> regionsByLinkID = new HashMap<>();
+        for (RegionEntry entry : entries) {
+            if (unique.putIfAbsent(entry.name(), entry) == null && entry.linkID() != null) {
+                regionsByLinkID.computeIfAbsent(entry.linkID(), id -> new ArrayList<>()).add(entry);
+            }
+        }
+
+        Map<String, RegionEntry> byName = new LinkedHashMap<>();
+        Map<String, List<String>> gamesByLobby = new HashMap<>();
+        for (RegionEntry entry : unique.values()) {
+            String linkedRegion = null;
+            if (entry.linkID() != null) {
+                List<String> games = new ArrayList<>();
+                for (RegionEntry candidate : regionsByLinkID.get(entry.linkID())) {
+                    if (!candidate.type().equals(entry.type())) {
+                        linkedRegion = linkedRegion != null ? linkedRegion : candidate.name();
+                        games.add(candidate.name());
+                    }
+                }
+                if ("lobby".equals(entry.type())) {
+                    gamesByLobby.put(entry.name(), List.copyOf(games));
+                }
+            }
+            byName.put(entry.name(), new RegionEntry(entry.name(), entry.type(), entry.worldName(), entry.linkID(),
+                    linkedRegion, entry.x(), entry.y(), entry.z()));
+        }
+        this.regions = Collections.unmodifiableMap(byName);
+        this.regionNames = List.copyOf(byName.keySet());
+        this.linkedGameRegions = Collections.unmodifiableMap(gamesByLobby);
+    }
+
+    /**
+     * Retrieves a region by name.
+     *
+     * @param regionName The name of the region, case-insensitive.
+     * @return The region, or null if it is not registered.
+     */
+    public RegionEntry get(String regionName) {
+        return regionName == null ? null : regions.get(regionName.toLowerCase());
+    }
+
+    /**
+     * Retrieves the names of all registered regions.
+     *
+     * @return An unmodifiable list of region names.
+     */
+    public List<String> getRegionNames() {
+        return regionNames;
+    }
+
+    /**
+     * Retrieves the pool of game regions a lobby is linked to.
+     *
+     * @param lobbyName The name of the lobby region, case-insensitive.
+     * @return An unmodifiable list of game region names, empty if the lobby is not linked.
+     */
+    public List<String> getLinkedGameRegions(String lobbyName) {
+        return lobbyName == null ? List.of() : linkedGameRegions.getOrDefault(lobbyName.toLowerCase(), List.of());
+    }
+
+    /**
+     * Retrieves all registered regions.
+     *
+     * @return An unmodifiable collection of regions.
+     */
+    public Collection<RegionEntry> getRegions() {
+        return regions.values();
+    }
+
+    /**
+     * A single registered region.
+     *
+     * @param name         The lower-case name of the region.
+     * @param type         The type of the region ("game" or "lobby").
+     * @param worldName    The name of the world the region is in.
+     * @param linkID       The link ID of the region, or null if it is not linked.
+     * @param linkedRegion The name of the region of the other type this region is linked to, or null if there is none.
+     *                     For a lobby linked to several game regions, this is the first of them.
+     * @param x            The x-coordinate of the teleport location, or null if not set.
+     * @param y            The y-coordinate of the teleport location, or null if not set.
+     * @param z            The z-coordinate of the teleport location, or null if not set.
+     */
+    public record RegionEntry(String name, String type, String worldName, Integer linkID, String linkedRegion,
+                              Integer x, Integer y, Integer z) {
+
+        /**
+         * Retrieves the Bukkit world of the region.
+         *
+         * @return The world, or null if it is not loaded.
+         */
+        public World getWorld() {
+            return Bukkit.getWorld(worldName);
+        }
+
+        /**
+         * Checks if all teleport coordinates of the region are set.
+         *
+         * @return true if the teleport location is set, false otherwise.
+         */
+        public boolean hasTeleportLocation() {
+            return x != null && y != null && z != null;
+        }
+
+        /**
+         * Creates the teleport location of the region in the given world.
+         * A new Location is returned on every call, so callers are free to modify it.
+         *
+         * @param world The world to create the location in.
+         * @return The teleport location, or null if not all coordinates are set.
+         */
+        public Location getTeleportLocation(World world) {
+            return hasTeleportLocation() ? new Location(world, x, y, z) : null;
+        }
+    }
+}
@@ -1,32 +1,48 @@
 package com.slimer.Region;
 
 import com.slimer.Main.Main;
+import com.slimer.Storage.SQLiteBackend;
+import com.slimer.Storage.StorageBackend;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.File;
 import java.sql.*;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Provides services for managing regions in the Snake game, including database initialization, region migration,
  * region registration, linking/unlinking regions, and setting region coordinates.
+ * Every successful change swaps in a new {@link RegionRegistry} snapshot, which is what the game reads from.
+ * Changes are written on the I/O executor one at a time, and the new snapshot is swapped in on the global scheduler.
  * <p>
  * Last updated: V2.1.0
  * @author Slimerblue22
  */
 public class RegionService {
     private static RegionService instance;
+    private static final int MIGRATION_CHUNK_SIZE = 500;
+    private static final long MIGRATION_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+    private final JavaPlugin plugin;
     private Logger logger;
-    private Connection connection;
+    private StorageBackend backend;
+    private volatile boolean ready = false;
+    private long loadedVersion = 0;
+    private long publishedVersion = 0;
 
     private RegionService(JavaPlugin plugin) {
+        this.plugin = plugin;
         initializeDatabase(plugin);
-        RegionHelpers.initializeInstance(connection, logger);
+        RegionHelpers.initializeInstance(backend, logger);
+        RegionHelpers.getInstance().reloadRegistry();
     }
 
     /**
@@ -55,14 +71,15 @@ public class RegionService {
 
     /**
      * Initializes the SQLite database for region data.
+     * Regions always stay in a local SQLite file, as they refer to worlds that only exist on this server.
      *
      * @param plugin The JavaPlugin instance used for initialization.
      */
     private void initializeDatabase(JavaPlugin plugin) {
         logger = plugin.getLogger();
-        try {
-            connection = DriverManager.getConnection("jdbc:sqlite:" + plugin.getDataFolder().getAbsolutePath() + "/Regions.db");
-            Statement statement = connection.createStatement();
+        backend = new SQLiteBackend(plugin, "Regions");
+        try (Connection connection = backend.getConnection();
+             Statement statement = connection.createStatement()) {
             statement.executeUpdate("CREATE TABLE IF NOT EXISTS region_data (regionType TEXT, regionName TEXT, worldName TEXT, linkID INTEGER DEFAULT NULL, x INTEGER DEFAULT NULL, y INTEGER DEFAULT NULL, z INTEGER DEFAULT NULL)");
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "An error occurred while initializing the SQLite database.", e);
@@ -71,13 +88,28 @@ public class RegionService {
 
     /**
      * Initiates the migration of region data from a YML file to an SQLite database.
-     * The process includes verifying the existence of the YML file to ensure migration is necessary.
-     * On successful verification, it triggers the migration of individual sections and linked regions,
-     * and concludes by renaming the original YML file to indicate completion.
+     * This method returns immediately, the migration itself runs on the I/O executor and the region data is
+     * marked as ready once it has finished. The process includes verifying the existence of the YML file to ensure
+     * migration is necessary. On successful verification, it collects the regions, links and teleport coordinates,
+     * writes them in chunked batch transactions, and concludes by renaming the original YML file to indicate completion.
+     * If any chunk failed, the YML file is kept so that the migration runs again on the next start; regions that were
+     * already migrated are not inserted twice.
      *
      * @param main The main plugin instance, used to access the plugin's data folder.
      */
     public void migrateRegionsFromYmlToSql(Main main) {
+        main.getIoExecutor().submit("regions:migration", () -> {
+            migrateYmlFile(main);
+            return null;
+        }, MIGRATION_TIMEOUT_MILLIS).whenComplete((ignored, error) -> ready = true);
+    }
+
+    /**
+     * Performs the YML to SQL migration for the region data.
+     *
+     * @param main The main plugin instance, used to access the plugin's data folder and scheduler.
+     */
+    private void migrateYmlFile(Main main) {
         File dataFolder = main.getDataFolder();
         File ymlFile = new File(dataFolder, "Regions.yml");
 
@@ -87,11 +119,29 @@ public class RegionService {
 
         YamlConfiguration ymlConfig = YamlConfiguration.loadConfiguration(ymlFile);
 
-        migrateSection(ymlConfig, "lobbyzones", "lobby");
-        migrateSection(ymlConfig, "gamezones", "game");
-        migrateLinkedRegions(ymlConfig);
+        int firstLinkID;
+        try (Connection connection = backend.getConnection()) {
+            firstLinkID = RegionHelpers.getInstance().generateUniqueLinkID(connection);
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "[Regions] An error occurred while preparing the migration. Migration aborted.", e);
+            return;
+        }
+
+        List<Object[]> regionRows = new ArrayList<>();
+        List<Object[]> linkRows = new ArrayList<>();
+        List<Object[]> coordinateRows = new ArrayList<>();
+        collectSection(ymlConfig, "lobbyzones", "lobby", regionRows);
+        collectSection(ymlConfig, "gamezones", "game", regionRows);
+        collectLinkedRegions(ymlConfig, firstLinkID, linkRows, coordinateRows);
 
-        finalizeMigration(ymlFile, dataFolder);
+        int total = regionRows.size() + linkRows.size() + coordinateRows.size();
+        int failed = executeInChunks("INSERT INTO region_data (regionType, regionName, worldName, linkID, x, y, z) SELECT ?, ?, ?, NULL, NULL, NULL, NULL WHERE NOT EXISTS (SELECT 1 FROM region_data WHERE regionName = ?)", regionRows, 0, total);
+        failed += executeInChunks("UPDATE region_data SET linkID = ? WHERE regionName = ?", linkRows, regionRows.size(), total);
+        failed += executeInChunks("UPDATE region_data SET x = ?, y = ?, z = ? WHERE regionName = ?", coordinateRows, regionRows.size() + linkRows.size(), total);
+        StoredRegions stored = loadStoredRegions();
+        main.getTaskScheduler().runGlobal(() -> publishStoredRegions(stored));
+
+        finalizeMigration(ymlFile, dataFolder, failed);
     }
 
     /**
@@ -116,15 +166,15 @@ public class RegionService {
     }
 
     /**
-     * Handles the migration of a specific section from the YML configuration to the database.
-     * Iterates over each entry in the given section and performs the data transfer,
-     * logging each migrated zone.
+     * Collects the regions of a specific section from the YML configuration as rows to insert. Each row carries the
+     * region name a second time, to skip regions that already exist.
      *
      * @param ymlConfig   The loaded YML configuration object.
      * @param sectionName The section of the YML file to migrate ('lobbyzones' or 'gamezones').
      * @param regionType  The type of region to be registered during the migration ('lobby' or 'game').
+     * @param regionRows  The list the region rows are added to.
      */
-    private void migrateSection(YamlConfiguration ymlConfig, String sectionName, String regionType) {
+    private void collectSection(YamlConfiguration ymlConfig, String sectionName, String regionType, List<Object[]> regionRows) {
         ConfigurationSection section = ymlConfig.getConfigurationSection(sectionName);
         if (section == null) {
             logger.log(Level.INFO, "[Regions] No " + sectionName + " section found. Skipping this section.");
@@ -133,73 +183,114 @@ public class RegionService {
 
         for (String regionName : section.getKeys(false)) {
             String worldName = section.getString(regionName + ".world");
-            registerNewRegion(regionType, regionName, Objects.requireNonNull(worldName));
-            logger.log(Level.INFO, "[Regions] Migrated " + regionType + " zone: " + regionName);
+            regionRows.add(new Object[]{regionType, regionName.toLowerCase(), Objects.requireNonNull(worldName).toLowerCase(), regionName.toLowerCase()});
         }
+        logger.log(Level.INFO, "[Regions] Found " + section.getKeys(false).size() + " " + regionType + " zones to migrate.");
     }
 
     /**
-     * Migrates linked region pairs and their associated teleportation coordinates from the YML configuration.
-     * Processes each linked region set by creating or updating entries in the database to reflect the links.
+     * Collects the linked region pairs and their associated teleportation coordinates from the YML configuration.
+     * Each linked pair is given a new link ID, counting up from the first unused link ID in the database.
      *
-     * @param ymlConfig The loaded YML configuration object.
+     * @param ymlConfig      The loaded YML configuration object.
+     * @param firstLinkID    The first link ID that is not yet used in the database.
+     * @param linkRows       The list the link updates are added to.
+     * @param coordinateRows The list the coordinate updates are added to.
      */
-    private void migrateLinkedRegions(YamlConfiguration ymlConfig) {
+    private void collectLinkedRegions(YamlConfiguration ymlConfig, int firstLinkID, List<Object[]> linkRows, List<Object[]> coordinateRows) {
         ConfigurationSection linkedSection = ymlConfig.getConfigurationSection("Linked");
         if (linkedSection == null) {
             logger.log(Level.INFO, "[Regions] No Linked section found. Skipping linked regions migration.");
             return;
         }
 
+        int newLinkID = firstLinkID;
         for (String linkID : linkedSection.getKeys(false)) {
-            migrateLinkedRegion(linkedSection, linkID);
+            String lobbyRegion = Objects.requireNonNull(linkedSection.getString(linkID + ".LobbyRegion")).toLowerCase();
+            String gameRegion = Objects.requireNonNull(linkedSection.getString(linkID + ".GameRegion")).toLowerCase();
+            linkRows.add(new Object[]{newLinkID, lobbyRegion});
+            linkRows.add(new Object[]{newLinkID, gameRegion});
+            newLinkID++;
+
+            collectRegionCoordinates(linkedSection, lobbyRegion, linkID, "lobbyTP", coordinateRows);
+            collectRegionCoordinates(linkedSection, gameRegion, linkID, "gameTP", coordinateRows);
         }
+        logger.log(Level.INFO, "[Regions] Found " + (newLinkID - firstLinkID) + " linked region pairs to migrate.");
     }
 
     /**
-     * Migrates a single pair of linked regions based on a unique identifier from the YML configuration.
-     * Updates the link between the specified lobby and game regions and migrates their teleportation coordinates.
+     * Collects the teleportation coordinates for a specified region.
+     * Parses the X, Y, and Z coordinates from the YML format into a row for the database.
      *
-     * @param linkedSection The configuration section containing linked regions.
-     * @param linkID        The identifier for the linked region set.
+     * @param linkedSection  The configuration section containing region coordinates.
+     * @param region         The name of the region whose coordinates are being migrated.
+     * @param linkID         The identifier for the linked region set.
+     * @param coordinateKey  The key used to retrieve the coordinate string from the configuration.
+     * @param coordinateRows The list the coordinate updates are added to.
      */
-    private void migrateLinkedRegion(ConfigurationSection linkedSection, String linkID) {
-        String lobbyRegion = linkedSection.getString(linkID + ".LobbyRegion");
-        String gameRegion = linkedSection.getString(linkID + ".GameRegion");
-        linkRegions(Objects.requireNonNull(lobbyRegion), Objects.requireNonNull(gameRegion));
-        logger.log(Level.INFO, "[Regions] Linked regions: " + lobbyRegion + " and " + gameRegion);
-
-        migrateRegionCoordinates(linkedSection, lobbyRegion, linkID, "lobbyTP");
-        migrateRegionCoordinates(linkedSection, gameRegion, linkID, "gameTP");
+    private void collectRegionCoordinates(ConfigurationSection linkedSection, String region, String linkID, String coordinateKey, List<Object[]> coordinateRows) {
+        String coordinates = linkedSection.getString(linkID + "." + coordinateKey);
+        if (coordinates != null) {
+            String[] tpCoordinates = coordinates.split(",");
+            coordinateRows.add(new Object[]{Integer.parseInt(tpCoordinates[0]), Integer.parseInt(tpCoordinates[1]), Integer.parseInt(tpCoordinates[2]), region});
+        }
     }
 
     /**
-     * Migrates the teleportation coordinates for a specified region.
-     * Parses and transfers the X, Y, and Z coordinates from the YML format to the database.
+     * Executes a statement for each of the given rows, in chunks that are each written as one batched transaction.
+     * A failing chunk is rolled back and logged, and the migration continues with the next chunk.
      *
-     * @param linkedSection The configuration section containing region coordinates.
-     * @param region        The name of the region whose coordinates are being migrated.
-     * @param linkID        The identifier for the linked region set.
-     * @param coordinateKey The key used to retrieve the coordinate string from the configuration.
+     * @param sql   The SQL statement to execute for every row.
+     * @param rows  The parameters of each row, in statement order.
+     * @param done  The number of rows of the whole migration that have already been written.
+     * @param total The total number of rows of the whole migration, used to report progress.
+     * @return The number of rows in chunks that failed and were rolled back.
      */
-    private void migrateRegionCoordinates(ConfigurationSection linkedSection, String region, String linkID, String coordinateKey) {
-        String coordinates = linkedSection.getString(linkID + "." + coordinateKey);
-        if (coordinates != null) {
-            String[] tpCoordinates = coordinates.split(",");
-            setRegionCoordinates(region, Integer.parseInt(tpCoordinates[0]), Integer.parseInt(tpCoordinates[1]), Integer.parseInt(tpCoordinates[2]));
-            logger.log(Level.INFO, "[Regions] Migrated TP coordinates for " + region + ": " + Arrays.toString(tpCoordinates));
+    private int executeInChunks(String sql, List<Object[]> rows, int done, int total) {
+        int failed = 0;
+        for (int start = 0; start < rows.size(); start += MIGRATION_CHUNK_SIZE) {
+            List<Object[]> chunk = rows.subList(start, Math.min(start + MIGRATION_CHUNK_SIZE, rows.size()));
+            try (Connection connection = backend.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(sql)) {
+                connection.setAutoCommit(false);
+                try {
+                    for (Object[] row : chunk) {
+                        StorageBackend.bindParameters(statement, row);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                    connection.commit();
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                logger.log(Level.SEVERE, "[Regions] An error occurred while migrating a chunk of " + chunk.size() + " rows.", e);
+                failed += chunk.size();
+            }
+            done += chunk.size();
+            logger.log(Level.INFO, "[Regions] Migration progress: " + (done * 100 / total) + "% (" + done + "/" + total + " rows).");
         }
+        return failed;
     }
 
     /**
      * Finalizes the migration process by renaming the original YML file.
      * This prevents the migration from being run multiple times on the same data.
+     * If any rows failed, the file is kept instead, so the migration runs again on the next start.
      * Logs the outcome of the file renaming operation.
      *
      * @param ymlFile    The original YML file that has been migrated.
      * @param dataFolder The folder containing the YML file, where the backup will be stored.
+     * @param failed     The number of rows that could not be migrated.
      */
-    private void finalizeMigration(File ymlFile, File dataFolder) {
+    private void finalizeMigration(File ymlFile, File dataFolder, int failed) {
+        if (failed > 0) {
+            logger.log(Level.WARNING, "[Regions] " + failed + " rows could not be migrated, see the errors above. Regions.yml is kept and the migration will run again on the next start.");
+            return;
+        }
         File backupFile = new File(dataFolder, "MIGRATED_Regions.yml.bak");
         boolean isRenamed = ymlFile.renameTo(backupFile);
         String renameMessage = isRenamed ?
@@ -209,115 +300,160 @@ public class RegionService {
     }
 
     /**
-     * Closes the SQLite database connection.
+     * Checks whether the region data is ready to be used, meaning any YML migration has finished.
+     * Commands should refuse to run until this returns true.
+     *
+     * @return true if the region data is ready, false while a migration is still running.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Retrieves the storage backend holding the region data.
+     *
+     * @return The storage backend of the region data.
+     */
+    public StorageBackend getBackend() {
+        return backend;
+    }
+
+    /**
+     * Closes the SQLite database.
      * Only used during server shutdown or reloads and is invoked in the `onDisable` method of the main class.
      * Should not be used during any other processes.
      */
     public void closeDatabase() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-            }
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "An error occurred while closing the SQLite database connection.", e);
-        }
+        backend.close();
     }
 
     /**
-     * Registers a new region in the database.
+     * Registers a new region in the database. A region that is already registered is left untouched.
      *
      * @param regionType The type of the region (e.g., game, lobby).
      * @param regionName The name of the region.
      * @param worldName  The world in which the region resides.
-     * @return true if the region was registered successfully, false otherwise.
+     * @return A future completing on the global scheduler with true if the region was registered successfully,
+     * false otherwise.
      */
-    public boolean registerNewRegion(String regionType, String regionName, String worldName) {
-        try {
-            PreparedStatement statement = connection.prepareStatement("INSERT INTO region_data (regionType, regionName, worldName, linkID, x, y, z) VALUES (?, ?, ?, NULL, NULL, NULL, NULL)");
-            statement.setString(1, regionType.toLowerCase());
-            statement.setString(2, regionName.toLowerCase());
-            statement.setString(3, worldName.toLowerCase());
-            statement.executeUpdate();
-            return true;
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "An error occurred while registering new region.", e);
-            return false;
-        }
+    public CompletableFuture<Boolean> registerNewRegion(String regionType, String regionName, String worldName) {
+        return submitChange("regions:register", () -> {
+            try (Connection connection = backend.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("INSERT INTO region_data (regionType, regionName, worldName, linkID, x, y, z) SELECT ?, ?, ?, NULL, NULL, NULL, NULL WHERE NOT EXISTS (SELECT 1 FROM region_data WHERE regionName = ?)")) {
+                statement.setString(1, regionType.toLowerCase());
+                statement.setString(2, regionName.toLowerCase());
+                statement.setString(3, worldName.toLowerCase());
+                statement.setString(4, regionName.toLowerCase());
+                return statement.executeUpdate() > 0;
+            } catch (SQLException e) {
+                logger.log(Level.SEVERE, "An error occurred while registering new region.", e);
+                return false;
+            }
+        }, regionName);
     }
 
     /**
      * Unregisters a region from the database.
      *
      * @param regionName The name of the region to be unregistered.
-     * @return true if the region was unregistered successfully, false otherwise.
+     * @return A future completing on the global scheduler with true if the region was unregistered successfully,
+     * false otherwise.
      */
-    public boolean unregisterRegion(String regionName) {
-        try {
-            PreparedStatement statement = connection.prepareStatement("DELETE FROM region_data WHERE regionName = ?");
-            statement.setString(1, regionName.toLowerCase());
-            int affectedRows = statement.executeUpdate();
-            return affectedRows > 0;
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "An error occurred while unregistering the region.", e);
-            return false;
-        }
+    public CompletableFuture<Boolean> unregisterRegion(String regionName) {
+        return submitChange("regions:unregister", () -> {
+            try (Connection connection = backend.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("DELETE FROM region_data WHERE regionName = ?")) {
+                statement.setString(1, regionName.toLowerCase());
+                return statement.executeUpdate() > 0;
+            } catch (SQLException e) {
+                logger.log(Level.SEVERE, "An error occurred while unregistering the region.", e);
+                return false;
+            }
+        }, regionName);
     }
 
     /**
      * Links two regions together in the database.
-     * Uses a transaction to ensure atomicity.
+     * If one of them is a lobby that is already linked, the other region joins its pool of game regions by taking
+     * over its link ID. Uses a transaction to ensure atomicity.
+     *
+     * @param regionName1 The name of the first region.
+     * @param regionName2 The name of the second region.
+     * @return A future completing on the global scheduler with true if the regions were linked successfully,
+     * false otherwise.
+     */
+    public CompletableFuture<Boolean> linkRegions(String regionName1, String regionName2) {
+        return submitChange("regions:link", () -> linkRegionsInDatabase(regionName1, regionName2), regionName1, regionName2);
+    }
+
+    /**
+     * Links two regions together in a single transaction, without refreshing the region registry.
      *
      * @param regionName1 The name of the first region.
      * @param regionName2 The name of the second region.
      * @return true if the regions were linked successfully, false otherwise.
      */
-    public boolean linkRegions(String regionName1, String regionName2) {
-        try {
-            connection.setAutoCommit(false);
-            int newLinkID = RegionHelpers.getInstance().generateUniqueLinkID();
-            PreparedStatement statement = connection.prepareStatement("UPDATE region_data SET linkID = ? WHERE regionName = ?");
-            statement.setInt(1, newLinkID);
-            statement.setString(2, regionName1.toLowerCase());
-            statement.executeUpdate();
-            statement.setString(2, regionName2.toLowerCase());
-            statement.executeUpdate();
-            connection.commit();
-            return true;
-        } catch (SQLException e) {
-            try {
-                connection.rollback();
-            } catch (SQLException rollbackEx) {
-                logger.log(Level.SEVERE, "An error occurred during rollback.", rollbackEx);
+    private boolean linkRegionsInDatabase(String regionName1, String regionName2) {
+        RegionHelpers regionHelpers = RegionHelpers.getInstance();
+        Integer existingLinkID = regionHelpers.getLinkID(regionName1) != null ? regionHelpers.getLinkID(regionName1) : regionHelpers.getLinkID(regionName2);
+        try (Connection connection = backend.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement("UPDATE region_data SET linkID = ? WHERE regionName = ?")) {
+                connection.setAutoCommit(false);
+                int newLinkID = existingLinkID != null ? existingLinkID : regionHelpers.generateUniqueLinkID(connection);
+                statement.setInt(1, newLinkID);
+                statement.setString(2, regionName1.toLowerCase());
+                statement.executeUpdate();
+                statement.setString(2, regionName2.toLowerCase());
+                statement.executeUpdate();
+                connection.commit();
+                return true;
+            } catch (SQLException e) {
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackEx) {
+                    logger.log(Level.SEVERE, "An error occurred during rollback.", rollbackEx);
+                }
+                logger.log(Level.SEVERE, "An error occurred while linking regions.", e);
+                return false;
+            } finally {
+                try {
+                    connection.setAutoCommit(true);
+                } catch (SQLException e) {
+                    logger.log(Level.SEVERE, "An error occurred while resetting auto-commit setting.", e);
+                }
             }
+        } catch (SQLException e) {
             logger.log(Level.SEVERE, "An error occurred while linking regions.", e);
             return false;
-        } finally {
-            try {
-                connection.setAutoCommit(true);
-            } catch (SQLException e) {
-                logger.log(Level.SEVERE, "An error occurred while resetting auto-commit setting.", e);
-            }
         }
     }
 
     /**
-     * Unlinks two regions that are currently linked in the database.
+     * Unlinks a game region from the lobby it is linked to in the database.
+     * The lobby itself stays linked as long as other game regions remain in its pool.
      *
      * @param regionName1 The name of the first region.
      * @param regionName2 The name of the second region.
-     * @return true if the regions were unlinked successfully, false otherwise.
+     * @return A future completing on the global scheduler with true if the regions were unlinked successfully,
+     * false otherwise.
      */
-    public boolean unlinkRegions(String regionName1, String regionName2) {
-        try {
-            PreparedStatement statement = connection.prepareStatement("UPDATE region_data SET linkID = NULL WHERE regionName = ? OR regionName = ?");
-            statement.setString(1, regionName1.toLowerCase());
-            statement.setString(2, regionName2.toLowerCase());
-            int affectedRows = statement.executeUpdate();
-            return affectedRows > 0;
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "An error occurred while unlinking regions.", e);
-            return false;
-        }
+    public CompletableFuture<Boolean> unlinkRegions(String regionName1, String regionName2) {
+        RegionHelpers regionHelpers = RegionHelpers.getInstance();
+        String lobbyName = "lobby".equals(regionHelpers.getRegionType(regionName1)) ? regionName1 : regionName2;
+        String gameName = lobbyName.equals(regionName1) ? regionName2 : regionName1;
+        boolean lastGameInPool = regionHelpers.getRegistry().getLinkedGameRegions(lobbyName).size() <= 1;
+
+        return submitChange("regions:unlink", () -> {
+            try (Connection connection = backend.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("UPDATE region_data SET linkID = NULL WHERE regionName = ? OR regionName = ?")) {
+                statement.setString(1, gameName.toLowerCase());
+                statement.setString(2, (lastGameInPool ? lobbyName : gameName).toLowerCase());
+                return statement.executeUpdate() > 0;
+            } catch (SQLException e) {
+                logger.log(Level.SEVERE, "An error occurred while unlinking regions.", e);
+                return false;
+            }
+        }, regionName1, regionName2);
     }
 
     /**
@@ -327,20 +463,93 @@ public class RegionService {
      * @param x          The x-coordinate.
      * @param y          The y-coordinate.
      * @param z          The z-coordinate.
-     * @return true if the coordinates were set successfully, false otherwise.
+     * @return A future completing on the global scheduler with true if the coordinates were set successfully,
+     * false otherwise.
      */
-    public boolean setRegionCoordinates(String regionName, int x, int y, int z) {
-        try {
-            PreparedStatement statement = connection.prepareStatement("UPDATE region_data SET x = ?, y = ?, z = ? WHERE regionName = ?");
-            statement.setInt(1, x);
-            statement.setInt(2, y);
-            statement.setInt(3, z);
-            statement.setString(4, regionName.toLowerCase());
-            int affectedRows = statement.executeUpdate();
-            return affectedRows > 0;
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "An error occurred while setting the coordinates for the region.", e);
-            return false;
+    public CompletableFuture<Boolean> setRegionCoordinates(String regionName, int x, int y, int z) {
+        return submitChange("regions:set-teleport", () -> {
+            try (Connection connection = backend.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("UPDATE region_data SET x = ?, y = ?, z = ? WHERE regionName = ?")) {
+                statement.setInt(1, x);
+                statement.setInt(2, y);
+                statement.setInt(3, z);
+                statement.setString(4, regionName.toLowerCase());
+                return statement.executeUpdate() > 0;
+            } catch (SQLException e) {
+                logger.log(Level.SEVERE, "An error occurred while setting the coordinates for the region.", e);
+                return false;
+            }
+        }, regionName);
+    }
+
+    /**
+     * Runs a change to the region data on the I/O executor and, if it changed anything, reloads the stored regions
+     * there as well. The new registry snapshot is then swapped in and the arena descriptors of the changed regions are
+     * brought up to date on the global scheduler, where the returned future completes.
+     *
+     * @param taskName    The name of the I/O task, used to group its metrics.
+     * @param change      The change to write, returning whether the region data has changed.
+     * @param regionNames The names of the regions that are changed.
+     * @return A future completing on the global scheduler with whether the region data has changed.
+     */
+    private CompletableFuture<Boolean> submitChange(String taskName, Callable<Boolean> change, String... regionNames) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        ((Main) plugin).getIoExecutor().submit(taskName, () -> writeChange(change)).whenComplete((stored, error) ->
+                ((Main) plugin).getTaskScheduler().runGlobal(() -> {
+                    boolean changed = error == null && stored != null;
+                    if (changed) {
+                        publishStoredRegions(stored);
+                        for (String regionName : regionNames) {
+                            ArenaCache.getInstance().refresh(regionName);
+                        }
+                    }
+                    result.complete(changed);
+                }));
+        return result;
+    }
+
+    /**
+     * Writes a change to the region data and reloads the stored regions if it changed anything. Changes are written
+     * one at a time, so every reload sees all changes written before it. Must be called on the I/O executor.
+     *
+     * @param change The change to write, returning whether the region data has changed.
+     * @return The stored regions after the change, or null if nothing has changed.
+     * @throws Exception if the change fails.
+     */
+    private synchronized StoredRegions writeChange(Callable<Boolean> change) throws Exception {
+        return change.call() ? loadStoredRegions() : null;
+    }
+
+    /**
+     * Loads the stored regions and stamps them with a version, so that a reload that is published late cannot
+     * replace a newer one. Must be called on the I/O executor.
+     *
+     * @return The stored regions, with the regions set to null if they could not be loaded.
+     */
+    private synchronized StoredRegions loadStoredRegions() {
+        return new StoredRegions(RegionHelpers.getInstance().loadStoredRegions(), ++loadedVersion);
+    }
+
+    /**
+     * Swaps in a new region registry snapshot holding the given stored regions, unless they could not be loaded or a
+     * newer reload has already been published. Must be called on the global scheduler.
+     *
+     * @param stored The stored regions to publish.
+     */
+    private void publishStoredRegions(StoredRegions stored) {
+        if (stored.regions() == null || stored.version() <= publishedVersion) {
+            return;
         }
+        publishedVersion = stored.version();
+        RegionHelpers.getInstance().publishStoredRegions(stored.regions());
+    }
+
+    /**
+     * The regions loaded from the database, stamped with the version of the reload.
+     *
+     * @param regions The stored regions, or null if they could not be loaded.
+     * @param version The version of the reload, higher for later reloads.
+     */
+    private record StoredRegions(List<RegionRegistry.RegionEntry> regions, long version) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,127 @@
+package com.slimer.Region;
+
+import com.sk89q.worldguard.protection.regions.ProtectedCuboidRegion;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A per-world grid over the bounds of the registered game regions, used to find which arena a point is in
+ * without asking WorldGuard about every registered region.
+ * Each world is divided into square columns of {@value #CELL_SIZE} blocks, and every column lists the regions
+ * whose bounds overlap it. A lookup hashes the point to its column and only tests the few regions listed there.
+ * <p>
+ * Like {@link RegionRegistry}, the index is immutable and is rebuilt as a whole whenever the regions change.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public final class RegionSpatialIndex {
+    static final RegionSpatialIndex EMPTY = new RegionSpatialIndex(Map.of());
+    private static final int CELL_SHIFT = 5;
+    private static final int CELL_SIZE = 1 << CELL_SHIFT;
+    private final Map<String, Map<Long, IndexedRegion[]>> cellsByWorld;
+
+    private RegionSpatialIndex(Map<String, Map<Long, IndexedRegion[]>> cellsByWorld) {
+        this.cellsByWorld = cellsByWorld;
+    }
+
+    /**
+     * Builds an index over every game region of the registry that has a matching WorldGuard region.
+     * Game regions without a WorldGuard region are left out, as no point can be inside them.
+     *
+     * @param registry  The registry to index.
+     * @param wgHelpers The helpers used to look up the WorldGuard regions.
+     * @return The new index.
+     */
+    static RegionSpatialIndex build(RegionRegistry registry, WGHelpers wgHelpers) {
+        Map<String, Map<Long, List<IndexedRegion>>> building = new HashMap<>();
+        for (RegionRegistry.RegionEntry entry : registry.getRegions()) {
+            if (!"game".equals(entry.type())) {
+                continue;
+            }
+            ProtectedRegion wgRegion = wgHelpers.getWGRegion(entry.worldName(), entry.name());
+            if (wgRegion == null) {
+                continue;
+            }
+
+            IndexedRegion region = new IndexedRegion(entry.name(), wgRegion);
+            Map<Long, List<IndexedRegion>> cells = building.computeIfAbsent(entry.worldName().toLowerCase(), world -> new HashMap<>());
+            RegionBounds bounds = region.bounds;
+            for (int cellX = bounds.minX() >> CELL_SHIFT; cellX <= bounds.maxX() >> CELL_SHIFT; cellX++) {
+                for (int cellZ = bounds.minZ() >> CELL_SHIFT; cellZ <= bounds.maxZ() >> CELL_SHIFT; cellZ++) {
+                    cells.computeIfAbsent(cellKey(cellX, cellZ), key -> new ArrayList<>()).add(region);
+                }
+            }
+        }
+
+        Map<String, Map<Long, IndexedRegion[]>> cellsByWorld = new HashMap<>();
+        for (Map.Entry<String, Map<Long, List<IndexedRegion>>> world : building.entrySet()) {
+            Map<Long, IndexedRegion[]> cells = new HashMap<>();
+            for (Map.Entry<Long, List<IndexedRegion>> cell : world.getValue().entrySet()) {
+                cells.put(cell.getKey(), cell.getValue().toArray(new IndexedRegion[0]));
+            }
+            cellsByWorld.put(world.getKey(), cells);
+        }
+        return new RegionSpatialIndex(cellsByWorld);
+    }
+
+    /**
+     * Finds the game region containing the given block coordinates.
+     *
+     * @param worldName The name of the world the coordinates are in.
+     * @param x         The x-coordinate.
+     * @param y         The y-coordinate.
+     * @param z         The z-coordinate.
+     * @return The name of the game region, or null if the point is not in any game region.
+     */
+    public String findGameRegion(String worldName, int x, int y, int z) {
+        Map<Long, IndexedRegion[]> cells = cellsByWorld.get(worldName.toLowerCase());
+        if (cells == null) {
+            return null;
+        }
+        IndexedRegion[] candidates = cells.get(cellKey(x >> CELL_SHIFT, z >> CELL_SHIFT));
+        if (candidates == null) {
+            return null;
+        }
+        for (IndexedRegion candidate : candidates) {
+            if (candidate.contains(x, y, z)) {
+                return candidate.name;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Packs the coordinates of a grid column into a single map key.
+     */
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * A game region with its bounding box. Cuboid regions are fully described by their box, other shapes are
+     * tested against the WorldGuard region once the box matches.
+     */
+    private static final class IndexedRegion {
+        private final String name;
+        private final ProtectedRegion wgRegion;
+        private final boolean cuboid;
+        private final RegionBounds bounds;
+
+        private IndexedRegion(String name, ProtectedRegion wgRegion) {
+            this.name = name;
+            this.wgRegion = wgRegion;
+            this.cuboid = wgRegion instanceof ProtectedCuboidRegion;
+            this.bounds = RegionBounds.of(wgRegion);
+        }
+
+        private boolean contains(int x, int y, int z) {
+            return bounds.contains(x, y, z) && (cuboid || wgRegion.contains(x, y, z));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.slimer.Region;
+
+import com.slimer.Main.Main;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+import org.bukkit.event.server.ServerCommandEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Listener that keeps the cached WorldGuard handles of {@link WGHelpers} and the region spatial index up to date.
+ * WorldGuard does not fire events when regions are redefined or reloaded, so the cache is cleared after any
+ * WorldGuard region or reload command, and for a single world when that world is loaded or unloaded.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public class WGCacheListener implements Listener {
+    private static final Set<String> WORLDGUARD_COMMANDS = Set.of("rg", "region", "regions", "wg", "worldguard");
+    private final JavaPlugin plugin;
+    private final AtomicBoolean invalidationPending = new AtomicBoolean(false);
+
+    /**
+     * Constructs a new WGCacheListener.
+     *
+     * @param plugin The JavaPlugin instance used for scheduling the invalidation.
+     */
+    public WGCacheListener(JavaPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Clears the cache after a player runs a WorldGuard command.
+     *
+     * @param event The PlayerCommandPreprocessEvent to handle.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerCommand(PlayerCommandPreprocessEvent event) {
+        if (isWorldGuardCommand(event.getMessage().substring(1))) {
+            scheduleInvalidation();
+        }
+    }
+
+    /**
+     * Clears the cache after the console runs a WorldGuard command.
+     *
+     * @param event The ServerCommandEvent to handle.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onServerCommand(ServerCommandEvent event) {
+        if (isWorldGuardCommand(event.getCommand())) {
+            scheduleInvalidation();
+        }
+    }
+
+    /**
+     * Clears the cache when a world is loaded, so that arenas in that world are added to the spatial index.
+     *
+     * @param event The WorldLoadEvent to handle.
+     */
+    @EventHandler
+    public void onWorldLoad(WorldLoadEvent event) {
+        scheduleInvalidation();
+    }
+
+    /**
+     * Clears the cache of a world when it is unloaded, so that its RegionManager is not kept alive.
+     *
+     * @param event The WorldUnloadEvent to handle.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        WGHelpers.getInstance().invalidateWorld(event.getWorld().getName());
+    }
+
+    /**
+     * Checks if a command line, without its leading slash, runs a WorldGuard command.
+     *
+     * @param commandLine The command line to check.
+     * @return true if the command belongs to WorldGuard, false otherwise.
+     */
+    private boolean isWorldGuardCommand(String commandLine) {
+        String label = commandLine.split(" ", 2)[0].toLowerCase();
+        if (label.startsWith("worldguard:")) {
+            label = label.substring("worldguard:".length());
+        }
+        return WORLDGUARD_COMMANDS.contains(label);
+    }
+
+    /**
+     * Clears the whole cache and rebuilds the region spatial index on the next tick, after the command has run.
+     * Several commands within the same tick only cause a single invalidation, even when they run on different region
+     * threads.
+     */
+    private void scheduleInvalidation() {
+        if (!invalidationPending.compareAndSet(false, true)) {
+            return;
+        }
+        ((Main) plugin).getTaskScheduler().runGlobal(() -> {
+            invalidationPending.set(false);
+            WGHelpers.getInstance().invalidateCache();
+            RegionHelpers.getInstance().rebuildSpatialIndex();
+        });
+    }
+}
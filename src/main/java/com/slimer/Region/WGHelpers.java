@@ -10,14 +10,23 @@ import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
 
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Provides helper methods for interacting with WorldGuard regions in the Snake game.
+ * The RegionManager of every world and the regions looked up through it are cached, so repeated lookups skip the
+ * Bukkit to WorldEdit adapter chain. The cache is cleared by {@link WGCacheListener} whenever WorldGuard reloads,
+ * a region command is run or a world is loaded or unloaded.
  * <p>
  * Last updated: V2.1.0
  * @author Slimerblue22
  */
 public class WGHelpers {
     private static WGHelpers instance;
+    private final Map<String, RegionManager> regionManagers = new ConcurrentHashMap<>();
+    private final Map<String, ProtectedRegion> regions = new ConcurrentHashMap<>();
 
     private WGHelpers() {
     }
@@ -35,18 +44,63 @@ public class WGHelpers {
     }
 
     /**
-     * Retrieves the WorldGuard RegionManager for a given world.
+     * Clears every cached RegionManager and region, so that the next lookups see the current WorldGuard state.
+     */
+    public void invalidateCache() {
+        regionManagers.clear();
+        regions.clear();
+    }
+
+    /**
+     * Clears the cached RegionManager and regions of a single world.
+     *
+     * @param worldName The name of the world.
+     */
+    public void invalidateWorld(String worldName) {
+        String worldKey = worldName.toLowerCase();
+        regionManagers.remove(worldKey);
+        regions.keySet().removeIf(key -> key.startsWith(worldKey + ":"));
+    }
+
+    /**
+     * Retrieves the WorldGuard RegionManager for a given world, from the cache if possible.
      *
      * @param worldName The name of the Bukkit world for which the RegionManager is needed.
      * @return The RegionManager for the specified world, or null if the world does not exist or the RegionManager could not be retrieved.
      */
     private RegionManager getRegionManager(String worldName) {
+        String worldKey = worldName.toLowerCase();
+        RegionManager regionManager = regionManagers.get(worldKey);
+        if (regionManager != null) {
+            return regionManager;
+        }
+
         World bukkitWorld = Bukkit.getWorld(worldName);
         if (bukkitWorld == null) {
             return null;
         }
+        return getRegionManager(bukkitWorld);
+    }
+
+    /**
+     * Retrieves the WorldGuard RegionManager for a given world, from the cache if possible.
+     *
+     * @param bukkitWorld The Bukkit world for which the RegionManager is needed.
+     * @return The RegionManager for the specified world, or null if it could not be retrieved.
+     */
+    private RegionManager getRegionManager(World bukkitWorld) {
+        String worldKey = bukkitWorld.getName().toLowerCase();
+        RegionManager regionManager = regionManagers.get(worldKey);
+        if (regionManager != null) {
+            return regionManager;
+        }
+
         com.sk89q.worldedit.world.World worldEditWorld = BukkitAdapter.adapt(bukkitWorld);
-        return WorldGuard.getInstance().getPlatform().getRegionContainer().get(worldEditWorld);
+        regionManager = WorldGuard.getInstance().getPlatform().getRegionContainer().get(worldEditWorld);
+        if (regionManager != null) {
+            regionManagers.put(worldKey, regionManager);
+        }
+        return regionManager;
     }
 
     /**
@@ -57,11 +111,74 @@ public class WGHelpers {
      * @return True if the region exists, false otherwise.
      */
     public boolean doesWGRegionExist(String worldName, String regionName) {
+        return getWGRegion(worldName, regionName) != null;
+    }
+
+    /**
+     * Retrieves a WorldGuard region by name, from the cache if possible.
+     *
+     * @param worldName  The name of the world where the region resides.
+     * @param regionName The name of the WorldGuard region.
+     * @return The WorldGuard region, or null if the world or region does not exist.
+     */
+    public ProtectedRegion getWGRegion(String worldName, String regionName) {
+        String key = worldName.toLowerCase() + ":" + regionName.toLowerCase();
+        ProtectedRegion region = regions.get(key);
+        if (region != null) {
+            return region;
+        }
+
         RegionManager regionManager = getRegionManager(worldName);
+        if (regionManager == null) {
+            return null;
+        }
+        region = regionManager.getRegion(regionName);
+        if (region != null) {
+            regions.put(key, region);
+        }
+        return region;
+    }
+
+    /**
+     * Adds a WorldGuard region to a world, replacing any region with the same name.
+     *
+     * @param bukkitWorld The world to add the region to.
+     * @param region      The region to add.
+     * @return True if the region was added, false if the RegionManager of the world could not be retrieved.
+     */
+    public boolean addWGRegion(World bukkitWorld, ProtectedRegion region) {
+        RegionManager regionManager = getRegionManager(bukkitWorld);
         if (regionManager == null) {
             return false;
         }
-        return regionManager.getRegion(regionName) != null;
+        regionManager.addRegion(region);
+        regions.put(bukkitWorld.getName().toLowerCase() + ":" + region.getId().toLowerCase(), region);
+        return true;
+    }
+
+    /**
+     * Removes a WorldGuard region from a world, if it exists.
+     *
+     * @param worldName  The name of the world where the region resides.
+     * @param regionName The name of the WorldGuard region.
+     */
+    public void removeWGRegion(String worldName, String regionName) {
+        regions.remove(worldName.toLowerCase() + ":" + regionName.toLowerCase());
+        RegionManager regionManager = getRegionManager(worldName);
+        if (regionManager != null) {
+            regionManager.removeRegion(regionName);
+        }
+    }
+
+    /**
+     * Retrieves the names of every WorldGuard region of a world.
+     *
+     * @param worldName The name of the world.
+     * @return The names of the regions, empty if the world does not exist or the RegionManager could not be retrieved.
+     */
+    public Set<String> getWGRegionNames(String worldName) {
+        RegionManager regionManager = getRegionManager(worldName);
+        return regionManager != null ? Set.copyOf(regionManager.getRegions().keySet()) : Set.of();
     }
 
     /**
@@ -75,35 +192,20 @@ public class WGHelpers {
      * @return True if the coordinates are in the region, false otherwise.
      */
     public boolean areCoordinatesInWGRegion(String worldName, String regionName, int x, int y, int z) {
-        RegionManager regionManager = getRegionManager(worldName);
-        if (regionManager == null) {
-            return false;
-        }
-        ProtectedRegion region = regionManager.getRegion(regionName);
+        ProtectedRegion region = getWGRegion(worldName, regionName);
         return region != null && region.contains(x, y, z);
     }
 
     /**
-     * Retrieves the boundary points of a specific WorldGuard region.
+     * Retrieves the bounding box of a specific WorldGuard region.
      *
      * @param worldName  The name of the world where the region resides.
      * @param regionName The name of the WorldGuard region.
-     * @return A string describing the minimum and maximum points of the region, or null if the region does not exist.
+     * @return The minimum and maximum points of the region, or null if the region does not exist.
      */
-    public String getBoundariesOfRegion(String worldName, String regionName) {
-        RegionManager regionManager = getRegionManager(worldName);
-        if (regionManager == null) {
-            return null;
-        }
-        ProtectedRegion region = regionManager.getRegion(regionName);
-        if (region == null) {
-            return null;
-        }
-        com.sk89q.worldedit.math.BlockVector3 minPoint = region.getMinimumPoint();
-        com.sk89q.worldedit.math.BlockVector3 maxPoint = region.getMaximumPoint();
-        return String.format("Min(%d, %d, %d) - Max(%d, %d, %d)",
-                minPoint.getX(), minPoint.getY(), minPoint.getZ(),
-                maxPoint.getX(), maxPoint.getY(), maxPoint.getZ());
+    public RegionBounds getBoundariesOfRegion(String worldName, String regionName) {
+        ProtectedRegion region = getWGRegion(worldName, regionName);
+        return region != null ? RegionBounds.of(region) : null;
     }
 
     /**
@@ -118,8 +220,7 @@ public class WGHelpers {
         if (bukkitWorld == null) {
             return null;
         }
-        com.sk89q.worldedit.world.World worldEditWorld = BukkitAdapter.adapt(bukkitWorld);
-        RegionManager regionManager = WorldGuard.getInstance().getPlatform().getRegionContainer().get(worldEditWorld);
+        RegionManager regionManager = getRegionManager(bukkitWorld);
         if (regionManager == null) {
             return null;
         }
@@ -130,4 +231,4 @@ public class WGHelpers {
         }
         return null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,63 @@
+package com.slimer.Scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitScheduler;
+
+/**
+ * Scheduler for servers with a single main thread. Location and global tasks both run on the main thread through
+ * the Bukkit scheduler.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public class BukkitTaskScheduler implements TaskScheduler {
+    private final JavaPlugin plugin;
+    private final BukkitScheduler scheduler;
+
+    /**
+     * Constructs a new BukkitTaskScheduler.
+     *
+     * @param plugin The plugin owning the scheduled tasks.
+     */
+    public BukkitTaskScheduler(JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.scheduler = plugin.getServer().getScheduler();
+    }
+
+    @Override
+    public Task runAtLocation(Location location, Runnable task) {
+        return runGlobal(task);
+    }
+
+    @Override
+    public Task runAtLocationLater(Location location, Runnable task, long delayTicks) {
+        return scheduler.runTaskLater(plugin, task, delayTicks)::cancel;
+    }
+
+    @Override
+    public Task runAtLocationTimer(Location location, Runnable task, long delayTicks, long periodTicks) {
+        return runGlobalTimer(task, delayTicks, periodTicks);
+    }
+
+    @Override
+    public Task runGlobal(Runnable task) {
+        return scheduler.runTask(plugin, task)::cancel;
+    }
+
+    @Override
+    public Task runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        return scheduler.runTaskTimer(plugin, task, delayTicks, periodTicks)::cancel;
+    }
+
+    @Override
+    public Task runAsync(Runnable task) {
+        return scheduler.runTaskAsynchronously(plugin, task)::cancel;
+    }
+
+    @Override
+    public Task runAsyncTimer(Runnable task, long delayTicks, long periodTicks) {
+        return scheduler.runTaskTimerAsynchronously(plugin, task, delayTicks, periodTicks)::cancel;
+    }
+}
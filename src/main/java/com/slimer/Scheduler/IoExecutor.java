@@ -0,0 +1,299 @@
+package com.slimer.Scheduler;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs blocking I/O of the plugin, such as database queries, file parsing and web requests, away from the threads
+ * ticking the server. On Java 21 and newer every task gets its own virtual thread, on older versions the tasks share
+ * a bounded pool of platform threads and are rejected once its queue is full, instead of piling up without limit.
+ * <p>
+ * Every task is given a name, which groups its metrics, and a timeout, after which its future fails with a
+ * {@link TimeoutException} and the task is interrupted. Futures complete on the I/O thread, so anything touching
+ * the world afterwards has to be handed back to the {@link TaskScheduler}.
+ * <p>
+ * The plugin is compiled for Java 17, so virtual threads are looked up reflectively rather than shipped as a
+ * separate class version.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public class IoExecutor {
+    private static final int QUEUE_CAPACITY = 1024;
+    private final Logger logger;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    private final int poolSize;
+    private final long defaultTimeoutMillis;
+    private final Map<String, TaskMetrics> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new IoExecutor, using virtual threads if the running Java version supports them.
+     *
+     * @param logger               The logger to report failing and timed out tasks to.
+     * @param poolSize             The number of platform threads used when virtual threads are not available.
+     * @param defaultTimeoutMillis The timeout of tasks submitted without one, in milliseconds.
+     */
+    public IoExecutor(Logger logger, int poolSize, long defaultTimeoutMillis) {
+        this.logger = logger;
+        this.poolSize = Math.max(1, poolSize);
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+        ExecutorService virtualExecutor = createVirtualThreadExecutor();
+        this.virtualThreads = virtualExecutor != null;
+        this.executor = virtualThreads ? virtualExecutor : createPlatformExecutor(this.poolSize);
+        logger.log(Level.INFO, "[IoExecutor.java] Running blocking I/O on " + getDescription() + ".");
+    }
+
+    /**
+     * Runs a task returning a value with the default timeout.
+     *
+     * @param name The name of the task, used to group its metrics.
+     * @param task The task to run.
+     * @param <T>  The type of the value returned by the task.
+     * @return A future completing with the value of the task, or exceptionally if it failed, timed out or was rejected.
+     */
+    public <T> CompletableFuture<T> submit(String name, Callable<T> task) {
+        return submit(name, task, defaultTimeoutMillis);
+    }
+
+    /**
+     * Runs a task returning a value with the given timeout.
+     *
+     * @param name          The name of the task, used to group its metrics.
+     * @param task          The task to run.
+     * @param timeoutMillis The time the task may take, in milliseconds, counted from its submission.
+     * @param <T>           The type of the value returned by the task.
+     * @return A future completing with the value of the task, or exceptionally if it failed, timed out or was rejected.
+     */
+    public <T> CompletableFuture<T> submit(String name, Callable<T> task, long timeoutMillis) {
+        TaskMetrics taskMetrics = metrics.computeIfAbsent(name, TaskMetrics::new);
+        taskMetrics.submitted.increment();
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        Future<?> running;
+        try {
+            running = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    result.complete(task.call());
+                } catch (Throwable t) {
+                    taskMetrics.failed.increment();
+                    logger.log(Level.SEVERE, "[IoExecutor.java] I/O task '" + name + "' failed.", t);
+                    result.completeExceptionally(t);
+                } finally {
+                    taskMetrics.record(System.nanoTime() - start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            taskMetrics.rejected.increment();
+            logger.log(Level.WARNING, "[IoExecutor.java] I/O task '" + name + "' was rejected, " + QUEUE_CAPACITY + " tasks are already waiting.");
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        result.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS).whenComplete((value, error) -> {
+            if (error instanceof TimeoutException) {
+                taskMetrics.timedOut.increment();
+                running.cancel(true);
+                logger.log(Level.WARNING, "[IoExecutor.java] I/O task '" + name + "' timed out after " + timeoutMillis + "ms.");
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Runs a task without a return value with the default timeout.
+     *
+     * @param name The name of the task, used to group its metrics.
+     * @param task The task to run.
+     * @return A future completing once the task has run, or exceptionally if it failed, timed out or was rejected.
+     */
+    public CompletableFuture<Void> run(String name, Runnable task) {
+        return run(name, task, defaultTimeoutMillis);
+    }
+
+    /**
+     * Runs a task without a return value with the given timeout.
+     *
+     * @param name          The name of the task, used to group its metrics.
+     * @param task          The task to run.
+     * @param timeoutMillis The time the task may take, in milliseconds, counted from its submission.
+     * @return A future completing once the task has run, or exceptionally if it failed, timed out or was rejected.
+     */
+    public CompletableFuture<Void> run(String name, Runnable task, long timeoutMillis) {
+        return submit(name, () -> {
+            task.run();
+            return null;
+        }, timeoutMillis);
+    }
+
+    /**
+     * Retrieves the metrics of every task name, sorted by the total time spent running them.
+     *
+     * @return A list of task metrics, the most expensive task first.
+     */
+    public List<TaskMetrics> getMetrics() {
+        List<TaskMetrics> sorted = new ArrayList<>(metrics.values());
+        sorted.sort(Comparator.comparingLong(TaskMetrics::getTotalMicros).reversed());
+        return sorted;
+    }
+
+    /**
+     * Clears all recorded metrics.
+     */
+    public void resetMetrics() {
+        metrics.clear();
+    }
+
+    /**
+     * Describes the threads the tasks run on.
+     *
+     * @return A short description of the executor.
+     */
+    public String getDescription() {
+        return virtualThreads ? "virtual threads" : "a pool of " + poolSize + " platform threads";
+    }
+
+    /**
+     * Stops accepting tasks and waits for the running and queued tasks to finish, so that writes submitted while
+     * shutting down still reach the database. Tasks still running after the wait are interrupted.
+     *
+     * @param awaitMillis The time to wait for the tasks to finish, in milliseconds.
+     */
+    public void shutdown(long awaitMillis) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(awaitMillis, TimeUnit.MILLISECONDS)) {
+                logger.log(Level.WARNING, "[IoExecutor.java] I/O tasks did not finish within " + awaitMillis + "ms and were interrupted.");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Creates an executor starting a virtual thread per task, if the running Java version has them.
+     *
+     * @return The executor, or null on Java versions before 21.
+     */
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates a bounded pool of daemon platform threads. Idle threads are stopped after a minute.
+     *
+     * @param poolSize The maximum number of threads.
+     * @return The executor.
+     */
+    private static ExecutorService createPlatformExecutor(int poolSize) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+            Thread thread = new Thread(runnable, "Snake-IO-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * The outcome counts and durations of all tasks sharing a name.
+     */
+    public static class TaskMetrics {
+        private final String name;
+        private final LongAdder submitted = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder timedOut = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder finished = new LongAdder();
+        private final LongAdder totalMicros = new LongAdder();
+        private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+        private TaskMetrics(String name) {
+            this.name = name;
+        }
+
+        private void record(long nanos) {
+            long micros = nanos / 1_000;
+            finished.increment();
+            totalMicros.add(micros);
+            maxMicros.accumulate(micros);
+        }
+
+        /**
+         * @return The name of the tasks.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return The number of tasks submitted.
+         */
+        public long getSubmitted() {
+            return submitted.sum();
+        }
+
+        /**
+         * @return The number of tasks that threw an exception.
+         */
+        public long getFailed() {
+            return failed.sum();
+        }
+
+        /**
+         * @return The number of tasks that did not finish before their timeout.
+         */
+        public long getTimedOut() {
+            return timedOut.sum();
+        }
+
+        /**
+         * @return The number of tasks rejected because the queue was full.
+         */
+        public long getRejected() {
+            return rejected.sum();
+        }
+
+        /**
+         * @return The total time spent running the tasks, in microseconds.
+         */
+        public long getTotalMicros() {
+            return totalMicros.sum();
+        }
+
+        /**
+         * @return The mean time a task ran, in microseconds.
+         */
+        public long getMeanMicros() {
+            long runs = finished.sum();
+            return runs == 0 ? 0 : getTotalMicros() / runs;
+        }
+
+        /**
+         * @return The longest time a task ran, in microseconds.
+         */
+        public long getMaxMicros() {
+            return maxMicros.get();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.slimer.Scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduler for region-threaded servers such as Folia. Location tasks run on the region scheduler, so each arena
+ * ticks on the thread owning its region, global tasks run on the global region scheduler and asynchronous tasks on
+ * the async scheduler.
+ * <p>
+ * The region schedulers do not accept a delay of zero ticks for repeating or delayed tasks, so such tasks start one
+ * tick later.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public class RegionTaskScheduler implements TaskScheduler {
+    private static final long MILLIS_PER_TICK = 50L;
+    private final JavaPlugin plugin;
+
+    /**
+     * Constructs a new RegionTaskScheduler.
+     *
+     * @param plugin The plugin owning the scheduled tasks.
+     */
+    public RegionTaskScheduler(JavaPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public Task runAtLocation(Location location, Runnable task) {
+        return plugin.getServer().getRegionScheduler().run(plugin, location, scheduled -> task.run())::cancel;
+    }
+
+    @Override
+    public Task runAtLocationLater(Location location, Runnable task, long delayTicks) {
+        return plugin.getServer().getRegionScheduler().runDelayed(plugin, location, scheduled -> task.run(),
+                Math.max(1L, delayTicks))::cancel;
+    }
+
+    @Override
+    public Task runAtLocationTimer(Location location, Runnable task, long delayTicks, long periodTicks) {
+        return plugin.getServer().getRegionScheduler().runAtFixedRate(plugin, location, scheduled -> task.run(),
+                Math.max(1L, delayTicks), Math.max(1L, periodTicks))::cancel;
+    }
+
+    @Override
+    public Task runGlobal(Runnable task) {
+        return plugin.getServer().getGlobalRegionScheduler().run(plugin, scheduled -> task.run())::cancel;
+    }
+
+    @Override
+    public Task runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        return plugin.getServer().getGlobalRegionScheduler().runAtFixedRate(plugin, scheduled -> task.run(),
+                Math.max(1L, delayTicks), Math.max(1L, periodTicks))::cancel;
+    }
+
+    @Override
+    public Task runAsync(Runnable task) {
+        return plugin.getServer().getAsyncScheduler().runNow(plugin, scheduled -> task.run())::cancel;
+    }
+
+    @Override
+    public Task runAsyncTimer(Runnable task, long delayTicks, long periodTicks) {
+        return plugin.getServer().getAsyncScheduler().runAtFixedRate(plugin, scheduled -> task.run(),
+                Math.max(1L, delayTicks) * MILLIS_PER_TICK, Math.max(1L, periodTicks) * MILLIS_PER_TICK, TimeUnit.MILLISECONDS)::cancel;
+    }
+}
@@ -0,0 +1,122 @@
+package com.slimer.Scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * Abstraction over the schedulers used to run the plugin's tasks.
+ * Tasks are scheduled either for a location, meaning they touch the blocks and entities around it, for the global
+ * tick, or asynchronously. On region-threaded servers such as Folia, location tasks run on the thread owning the
+ * region of that location, so that independent arenas tick in parallel. On other servers, location and global
+ * tasks both run on the main thread.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public interface TaskScheduler {
+
+    /**
+     * A handle to a scheduled task.
+     */
+    interface Task {
+
+        /**
+         * Cancels the task. Cancelling a task that has already run or been cancelled has no effect.
+         */
+        void cancel();
+    }
+
+    /**
+     * Creates the scheduler matching the server the plugin runs on.
+     *
+     * @param plugin The plugin owning the scheduled tasks.
+     * @return A region-threaded scheduler on Folia-style servers, a Bukkit scheduler otherwise.
+     */
+    static TaskScheduler create(JavaPlugin plugin) {
+        if (isRegionThreaded()) {
+            return new RegionTaskScheduler(plugin);
+        }
+        return new BukkitTaskScheduler(plugin);
+    }
+
+    /**
+     * Checks if the server ticks its regions on separate threads.
+     *
+     * @return true on Folia-style servers, false otherwise.
+     */
+    static boolean isRegionThreaded() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Runs a task on the next tick of the region owning the given location.
+     *
+     * @param location The location the task works on.
+     * @param task     The task to run.
+     * @return A handle to the task.
+     */
+    Task runAtLocation(Location location, Runnable task);
+
+    /**
+     * Runs a task once on the region owning the given location, after a delay.
+     *
+     * @param location   The location the task works on.
+     * @param task       The task to run.
+     * @param delayTicks The number of ticks before the task runs.
+     * @return A handle to the task.
+     */
+    Task runAtLocationLater(Location location, Runnable task, long delayTicks);
+
+    /**
+     * Runs a task repeatedly on the region owning the given location.
+     *
+     * @param location    The location the task works on.
+     * @param task        The task to run.
+     * @param delayTicks  The number of ticks before the first run.
+     * @param periodTicks The number of ticks between runs.
+     * @return A handle to the task.
+     */
+    Task runAtLocationTimer(Location location, Runnable task, long delayTicks, long periodTicks);
+
+    /**
+     * Runs a task on the next global tick.
+     *
+     * @param task The task to run.
+     * @return A handle to the task.
+     */
+    Task runGlobal(Runnable task);
+
+    /**
+     * Runs a task repeatedly on the global tick.
+     *
+     * @param task        The task to run.
+     * @param delayTicks  The number of ticks before the first run.
+     * @param periodTicks The number of ticks between runs.
+     * @return A handle to the task.
+     */
+    Task runGlobalTimer(Runnable task, long delayTicks, long periodTicks);
+
+    /**
+     * Runs a task asynchronously, off every tick thread.
+     *
+     * @param task The task to run.
+     * @return A handle to the task.
+     */
+    Task runAsync(Runnable task);
+
+    /**
+     * Runs a task repeatedly and asynchronously, off every tick thread.
+     *
+     * @param task        The task to run.
+     * @param delayTicks  The number of ticks before the first run.
+     * @param periodTicks The number of ticks between runs.
+     * @return A handle to the task.
+     */
+    Task runAsyncTimer(Runnable task, long delayTicks, long periodTicks);
+}
@@ -0,0 +1,77 @@
+package com.slimer.Storage;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+/**
+ * Wraps JDBC connections so that every statement executed through them is timed and recorded in a {@link QueryMetrics}.
+ * Callers keep using the plain JDBC interfaces and do not need to know about the instrumentation.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+final class InstrumentedConnection {
+
+    private InstrumentedConnection() {
+    }
+
+    /**
+     * Wraps a connection so that the statements it creates record their execution time.
+     *
+     * @param connection The connection to wrap.
+     * @param metrics    The metrics the execution times are recorded in.
+     * @return The instrumented connection.
+     */
+    static Connection wrap(Connection connection, QueryMetrics metrics) {
+        return (Connection) Proxy.newProxyInstance(InstrumentedConnection.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                return wrapStatement(statement, PreparedStatement.class, (String) args[0], metrics);
+            }
+            if (result instanceof Statement statement && method.getName().equals("createStatement")) {
+                return wrapStatement(statement, Statement.class, null, metrics);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Wraps a statement so that its execute methods are timed.
+     *
+     * @param statement The statement to wrap.
+     * @param type      The JDBC interface the proxy implements.
+     * @param sql       The SQL of a prepared statement, or null for a plain statement.
+     * @param metrics   The metrics the execution times are recorded in.
+     * @return The instrumented statement.
+     */
+    private static Object wrapStatement(Statement statement, Class<? extends Statement> type, String sql, QueryMetrics metrics) {
+        return Proxy.newProxyInstance(InstrumentedConnection.class.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+            String query = sql != null ? sql : (args != null && args.length > 0 && args[0] instanceof String text ? text : null);
+            long start = System.nanoTime();
+            try {
+                return invoke(statement, method, args);
+            } finally {
+                metrics.record(query, System.nanoTime() - start);
+            }
+        });
+    }
+
+    /**
+     * Invokes a method on the wrapped object, rethrowing the original exception instead of the reflective wrapper.
+     */
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
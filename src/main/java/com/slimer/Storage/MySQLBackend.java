@@ -0,0 +1,165 @@
+package com.slimer.Storage;
+
+import com.slimer.Main.Main;
+import com.slimer.Scheduler.TaskScheduler;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Storage backend for a networked MySQL or MariaDB server, allowing several Snake servers to share one leaderboard.
+ * Connections come from a pool, and writes are collected and executed in batches on a background task.
+ * Any JDBC URL that speaks the MySQL dialect can be configured, such as an embedded H2 database in MySQL mode.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public class MySQLBackend implements StorageBackend {
+    private static final long FLUSH_INTERVAL_TICKS = 20L;
+    private final HikariDataSource dataSource;
+    private final QueryMetrics metrics = new QueryMetrics();
+    private final Queue<PendingWrite> pendingWrites = new ConcurrentLinkedQueue<>();
+    private final Logger logger;
+    private final TaskScheduler.Task flushTask;
+
+    /**
+     * Creates the connection pool using the MySQL settings from config.yml and starts the batched write task.
+     *
+     * @param main The main plugin instance, used to read the MySQL settings.
+     */
+    public MySQLBackend(Main main) {
+        this(createConfig(main), main.getTaskScheduler(), main.getLogger());
+    }
+
+    /**
+     * Creates the connection pool from the given configuration and starts the batched write task.
+     *
+     * @param config    The connection pool configuration.
+     * @param scheduler The TaskScheduler running the batched write task.
+     * @param logger    The logger to report failed batches to.
+     */
+    MySQLBackend(HikariConfig config, TaskScheduler scheduler, Logger logger) {
+        this.logger = logger;
+        this.dataSource = new HikariDataSource(config);
+        this.flushTask = scheduler.runAsyncTimer(this::flushWrites, FLUSH_INTERVAL_TICKS, FLUSH_INTERVAL_TICKS);
+    }
+
+    /**
+     * Builds the connection pool configuration from the MySQL settings in config.yml.
+     * Statement caching and batch rewriting are only enabled for MySQL Connector/J URLs, as other drivers, such as
+     * MariaDB's or H2, do not know these properties and may reject them.
+     *
+     * @param main The main plugin instance, used to read the MySQL settings.
+     * @return The connection pool configuration.
+     */
+    private static HikariConfig createConfig(Main main) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("Snake-MySQL");
+        config.setJdbcUrl(main.getMySQLJdbcUrl());
+        config.setUsername(main.getMySQLUsername());
+        config.setPassword(main.getMySQLPassword());
+        config.setMaximumPoolSize(main.getMySQLPoolSize());
+        if (main.getMySQLJdbcUrl().startsWith("jdbc:mysql:")) {
+            config.addDataSourceProperty("cachePrepStmts", "true");
+            config.addDataSourceProperty("rewriteBatchedStatements", "true");
+        }
+        return config;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return InstrumentedConnection.wrap(dataSource.getConnection(), metrics);
+    }
+
+    @Override
+    public StorageType getType() {
+        return StorageType.MYSQL;
+    }
+
+    @Override
+    public QueryMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Queues a write to be executed with the next batch instead of executing it immediately.
+     *
+     * @param sql        The SQL statement to execute.
+     * @param parameters The parameters bound to the statement, in order.
+     */
+    @Override
+    public void submitWrite(String sql, Object... parameters) {
+        pendingWrites.add(new PendingWrite(sql, parameters));
+    }
+
+    /**
+     * Executes all queued writes in a single transaction. Consecutive writes sharing the same statement
+     * are sent as one JDBC batch, so the original order of the writes is preserved.
+     */
+    @Override
+    public synchronized void flushWrites() {
+        if (pendingWrites.isEmpty()) {
+            return;
+        }
+
+        List<PendingWrite> writes = new ArrayList<>();
+        PendingWrite write;
+        while ((write = pendingWrites.poll()) != null) {
+            writes.add(write);
+        }
+
+        try (Connection connection = getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                int start = 0;
+                while (start < writes.size()) {
+                    String sql = writes.get(start).sql();
+                    int end = start;
+                    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                        while (end < writes.size() && writes.get(end).sql().equals(sql)) {
+                            StorageBackend.bindParameters(statement, writes.get(end).parameters());
+                            statement.addBatch();
+                            end++;
+                        }
+                        statement.executeBatch();
+                    }
+                    start = end;
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "[MySQLBackend.java] An error occurred while flushing " + writes.size() + " batched writes.", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        flushTask.cancel();
+        flushWrites();
+        dataSource.close();
+    }
+
+    /**
+     * A write statement waiting for the next batch.
+     *
+     * @param sql        The SQL statement to execute.
+     * @param parameters The parameters bound to the statement, in order.
+     */
+    private record PendingWrite(String sql, Object[] parameters) {
+    }
+}
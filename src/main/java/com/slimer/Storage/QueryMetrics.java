@@ -0,0 +1,79 @@
+package com.slimer.Storage;
+
+import com.slimer.Util.BucketedHistogram;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the latency of every query executed through a storage backend, grouped by SQL statement.
+ * Each statement gets a {@link BucketedHistogram} so that recording stays cheap and lock-free.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public class QueryMetrics {
+    private static final long[] BUCKET_BOUNDS_MICROS = {100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000};
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Records the execution time of a query.
+     *
+     * @param sql   The SQL statement that was executed.
+     * @param nanos The time the execution took, in nanoseconds.
+     */
+    public void record(String sql, long nanos) {
+        histograms.computeIfAbsent(normalize(sql), Histogram::new).record(nanos);
+    }
+
+    /**
+     * Retrieves the histograms of all recorded queries, sorted by the total time spent in them.
+     *
+     * @return A list of histograms, the most expensive query first.
+     */
+    public List<Histogram> getHistograms() {
+        List<Histogram> sorted = new ArrayList<>(histograms.values());
+        sorted.sort(Comparator.comparingLong(Histogram::getTotalMicros).reversed());
+        return sorted;
+    }
+
+    /**
+     * Clears all recorded latencies.
+     */
+    public void reset() {
+        histograms.clear();
+    }
+
+    /**
+     * Collapses whitespace so that the same statement written across several lines is grouped together.
+     *
+     * @param sql The SQL statement.
+     * @return The normalized statement.
+     */
+    private static String normalize(String sql) {
+        return sql == null ? "(batch)" : sql.trim().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * A latency histogram for a single SQL statement.
+     */
+    public static class Histogram extends BucketedHistogram {
+        private final String query;
+
+        private Histogram(String query) {
+            super(BUCKET_BOUNDS_MICROS);
+            this.query = query;
+        }
+
+        /**
+         * @return The normalized SQL statement this histogram belongs to.
+         */
+        public String getQuery() {
+            return query;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.slimer.Storage;
+
+import com.slimer.Main.Main;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Service provider interface for the databases used by the Snake game.
+ * A backend hands out JDBC connections and decides how writes reach the database. Callers must close every
+ * connection they borrow so that pooled backends can reuse it.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public interface StorageBackend {
+
+    /**
+     * Enum representing the supported storage backends and their SQL dialects.
+     */
+    enum StorageType {
+        SQLITE, MYSQL
+    }
+
+    /**
+     * Creates the backend configured in config.yml for the given database.
+     * Unknown storage types fall back to SQLite so that a typo never prevents the plugin from loading.
+     *
+     * @param main         The main plugin instance, used to read the storage settings.
+     * @param databaseName The name of the database, used as the SQLite file name (without extension).
+     * @return The configured storage backend.
+     */
+    static StorageBackend create(Main main, String databaseName) {
+        if ("mysql".equalsIgnoreCase(main.getStorageType())) {
+            return new MySQLBackend(main);
+        }
+        return new SQLiteBackend(main, databaseName);
+    }
+
+    /**
+     * Borrows a connection from the backend. The connection must be closed by the caller.
+     *
+     * @return An open JDBC connection.
+     * @throws SQLException if a connection could not be obtained.
+     */
+    Connection getConnection() throws SQLException;
+
+    /**
+     * Retrieves the type of this backend, used by callers to pick dialect specific SQL.
+     *
+     * @return The storage type of this backend.
+     */
+    StorageType getType();
+
+    /**
+     * Retrieves the latency histograms of the queries executed through this backend.
+     *
+     * @return The query metrics of this backend.
+     */
+    QueryMetrics getMetrics();
+
+    /**
+     * Submits a write statement to the backend. The default implementation executes it immediately,
+     * backends may override this to collect writes and execute them in batches.
+     *
+     * @param sql        The SQL statement to execute.
+     * @param parameters The parameters bound to the statement, in order.
+     * @throws SQLException if the statement could not be executed.
+     */
+    default void submitWrite(String sql, Object... parameters) throws SQLException {
+        try (Connection connection = getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            bindParameters(statement, parameters);
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Executes any writes that have been submitted but not yet executed.
+     * Called before reads so that a caller always sees its own writes.
+     */
+    default void flushWrites() {
+    }
+
+    /**
+     * Flushes pending writes and releases every resource held by the backend.
+     * Only used during server shutdown or reloads.
+     */
+    void close();
+
+    /**
+     * Binds the given parameters to a prepared statement in order.
+     *
+     * @param statement  The statement to bind the parameters to.
+     * @param parameters The parameters to bind.
+     * @throws SQLException if a parameter could not be bound.
+     */
+    static void bindParameters(PreparedStatement statement, Object... parameters) throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            statement.setObject(i + 1, parameters[i]);
+        }
+    }
+}
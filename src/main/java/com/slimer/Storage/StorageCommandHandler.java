@@ -0,0 +1,249 @@
+package com.slimer.Storage;
+
+import com.slimer.Scheduler.IoExecutor;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Handles the storage command, which reports query latencies and maintenance state of the databases as well as
+ * the blocking I/O tasks of the plugin, and allows admins to trigger maintenance or reset the collected metrics.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public class StorageCommandHandler implements CommandExecutor, TabCompleter {
+    private static final int MAX_LISTED_QUERIES = 5;
+    private static final int MAX_QUERY_LENGTH = 60;
+    private static final String[] SUBCOMMANDS = {"maintain", "reset", "status"};
+    private final IoExecutor ioExecutor;
+
+    /**
+     * Constructs a new StorageCommandHandler.
+     *
+     * @param ioExecutor The executor running the blocking I/O of the plugin, whose metrics are reported.
+     */
+    public StorageCommandHandler(IoExecutor ioExecutor) {
+        this.ioExecutor = ioExecutor;
+    }
+
+    /**
+     * Executes the "snake storage" command.
+     *
+     * @param sender  The sender of the command.
+     * @param command The command being executed.
+     * @param label   The label used to invoke the command.
+     * @param args    The arguments provided with the command.
+     * @return True if the command was handled successfully, false otherwise.
+     */
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, String[] args) {
+        if (!(sender instanceof Player player)) {
+            sender.sendMessage(Component.text("This command can only be run by a player.", NamedTextColor.RED));
+            return false;
+        }
+
+        if (!player.hasPermission("snake.admin")) {
+            player.sendMessage(Component.text("You don't have permission to run this command.", NamedTextColor.RED));
+            return false;
+        }
+
+        String subCommand = args.length == 0 ? "status" : args[0].toLowerCase();
+
+        return switch (subCommand) {
+            case "maintain" -> handleMaintainCommand(player);
+            case "reset" -> handleResetCommand(player);
+            case "status" -> handleStatusCommand(player);
+            default -> {
+                handleUnknownCommand(player);
+                yield false;
+            }
+        };
+    }
+
+    /**
+     * Provides tab completion suggestions for the storage command.
+     *
+     * @param sender  The CommandSender who is tab-completing.
+     * @param command The Command being completed.
+     * @param alias   The alias used to execute the command.
+     * @param args    The arguments provided so far in the command.
+     * @return A list of suggested completions based on the provided input.
+     */
+    @Override
+    public List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String alias, String[] args) {
+        List<String> completions = new ArrayList<>();
+        if (args.length == 1) {
+            completions.addAll(Arrays.stream(SUBCOMMANDS)
+                    .filter(subCommand -> subCommand.startsWith(args[0].toLowerCase()))
+                    .toList());
+        }
+        return completions;
+    }
+
+    /**
+     * Displays an unknown command message to the specified player.
+     *
+     * @param player The player to whom the message should be displayed.
+     */
+    private void handleUnknownCommand(Player player) {
+        player.sendMessage(Component.text("Unknown subcommand. Use one of the following:", NamedTextColor.RED));
+        for (String cmd : SUBCOMMANDS) {
+            player.sendMessage(Component.text("/snakestorage " + cmd, NamedTextColor.GRAY));
+        }
+    }
+
+    /**
+     * Handles the "maintain" subcommand, starting a full maintenance run regardless of when the tasks last ran.
+     *
+     * @param player The player executing the command.
+     * @return True if the maintenance run was started, false if one is already in progress.
+     */
+    private boolean handleMaintainCommand(Player player) {
+        if (!StorageMaintenance.getInstance().runMaintenance(true)) {
+            player.sendMessage(Component.text("Storage maintenance is already running.", NamedTextColor.RED));
+            return false;
+        }
+        player.sendMessage(Component.text("Storage maintenance started. Use /snakestorage status to see the results.", NamedTextColor.GREEN));
+        return true;
+    }
+
+    /**
+     * Handles the "reset" subcommand, clearing the query metrics of every backend and the I/O task metrics.
+     *
+     * @param player The player executing the command.
+     * @return True indicating the command was handled successfully.
+     */
+    private boolean handleResetCommand(Player player) {
+        for (StorageBackend backend : StorageMaintenance.getInstance().getBackends().values()) {
+            backend.getMetrics().reset();
+        }
+        ioExecutor.resetMetrics();
+        player.sendMessage(Component.text("Query and I/O metrics have been reset.", NamedTextColor.GREEN));
+        return true;
+    }
+
+    /**
+     * Displays the type, maintenance state and slowest queries of every backend, followed by the I/O tasks.
+     *
+     * @param player The player to whom the status will be displayed.
+     * @return True indicating the command was handled successfully.
+     */
+    private boolean handleStatusCommand(Player player) {
+        StorageMaintenance maintenance = StorageMaintenance.getInstance();
+        TextComponent.Builder messageBuilder = Component.text();
+
+        messageBuilder.append(Component.text("Storage Status", NamedTextColor.GOLD)
+                        .decoration(TextDecoration.BOLD, true))
+                .append(Component.newline());
+        if (maintenance.isRunning()) {
+            messageBuilder.append(Component.text("Maintenance is currently running.", NamedTextColor.YELLOW))
+                    .append(Component.newline());
+        }
+
+        for (Map.Entry<String, StorageBackend> entry : maintenance.getBackends().entrySet()) {
+            StorageBackend backend = entry.getValue();
+            messageBuilder.append(Component.text(entry.getKey() + " (" + backend.getType().name() + ")", NamedTextColor.GOLD))
+                    .append(Component.newline());
+
+            StorageMaintenance.MaintenanceState state = maintenance.getState(entry.getKey());
+            if (backend.getType() == StorageBackend.StorageType.SQLITE && state != null) {
+                messageBuilder.append(Component.text("ANALYZE: " + formatLastRun(state.getLastAnalyze())
+                                + ", VACUUM: " + formatLastRun(state.getLastVacuum())
+                                + ", integrity: " + formatLastRun(state.getLastIntegrityCheck())
+                                + (state.getLastIntegrityResult() != null ? " (" + state.getLastIntegrityResult() + ")" : ""), NamedTextColor.GRAY))
+                        .append(Component.newline());
+            }
+
+            List<QueryMetrics.Histogram> histograms = backend.getMetrics().getHistograms();
+            if (histograms.isEmpty()) {
+                messageBuilder.append(Component.text("No queries recorded.", NamedTextColor.GRAY))
+                        .append(Component.newline());
+                continue;
+            }
+            for (QueryMetrics.Histogram histogram : histograms.subList(0, Math.min(MAX_LISTED_QUERIES, histograms.size()))) {
+                String query = histogram.getQuery();
+                if (query.length() > MAX_QUERY_LENGTH) {
+                    query = query.substring(0, MAX_QUERY_LENGTH) + "...";
+                }
+                messageBuilder.append(Component.text("- " + query, NamedTextColor.YELLOW))
+                        .append(Component.newline())
+                        .append(Component.text("  n=" + histogram.getCount()
+                                + " mean=" + formatMicros(histogram.getMeanMicros())
+                                + " p50=" + formatMicros(histogram.getPercentileMicros(50))
+                                + " p95=" + formatMicros(histogram.getPercentileMicros(95))
+                                + " p99=" + formatMicros(histogram.getPercentileMicros(99))
+                                + " max=" + formatMicros(histogram.getMaxMicros()), NamedTextColor.GREEN))
+                        .append(Component.newline());
+            }
+        }
+
+        appendIoStatus(messageBuilder);
+        player.sendMessage(messageBuilder.build());
+        return true;
+    }
+
+    /**
+     * Appends the threads running the blocking I/O and the outcome of the most expensive I/O tasks to a message.
+     *
+     * @param messageBuilder The message to append to.
+     */
+    private void appendIoStatus(TextComponent.Builder messageBuilder) {
+        messageBuilder.append(Component.text("I/O (" + ioExecutor.getDescription() + ")", NamedTextColor.GOLD))
+                .append(Component.newline());
+
+        List<IoExecutor.TaskMetrics> taskMetrics = ioExecutor.getMetrics();
+        if (taskMetrics.isEmpty()) {
+            messageBuilder.append(Component.text("No I/O tasks recorded.", NamedTextColor.GRAY));
+            return;
+        }
+        for (IoExecutor.TaskMetrics metrics : taskMetrics.subList(0, Math.min(MAX_LISTED_QUERIES, taskMetrics.size()))) {
+            messageBuilder.append(Component.newline())
+                    .append(Component.text("- " + metrics.getName(), NamedTextColor.YELLOW))
+                    .append(Component.newline())
+                    .append(Component.text("  n=" + metrics.getSubmitted()
+                            + " failed=" + metrics.getFailed()
+                            + " timed out=" + metrics.getTimedOut()
+                            + " rejected=" + metrics.getRejected()
+                            + " mean=" + formatMicros(metrics.getMeanMicros())
+                            + " max=" + formatMicros(metrics.getMaxMicros()), NamedTextColor.GREEN));
+        }
+    }
+
+    /**
+     * Formats a duration in microseconds as milliseconds.
+     *
+     * @param micros The duration in microseconds.
+     * @return The formatted duration.
+     */
+    private String formatMicros(double micros) {
+        return String.format("%.2fms", micros / 1000.0);
+    }
+
+    /**
+     * Formats the time since a maintenance task last ran.
+     *
+     * @param lastRun The time of the last run in epoch milliseconds, or 0 if it never ran.
+     * @return The formatted time since the last run.
+     */
+    private String formatLastRun(long lastRun) {
+        if (lastRun == 0) {
+            return "never";
+        }
+        long minutes = (System.currentTimeMillis() - lastRun) / 60000;
+        return minutes + "m ago";
+    }
+}
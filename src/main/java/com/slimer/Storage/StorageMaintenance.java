@@ -0,0 +1,246 @@
+package com.slimer.Storage;
+
+import com.slimer.Main.Main;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the SQLite databases of the Snake game healthy by periodically running ANALYZE, incremental VACUUM
+ * and integrity checks. Maintenance only starts during quiet periods, when no game is running, and always runs
+ * on the I/O executor so that the main thread never waits on it.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public class StorageMaintenance {
+    private static final long CHECK_INTERVAL_TICKS = 20L * 60 * 5;
+    private static final long ANALYZE_INTERVAL_MILLIS = 6 * 60 * 60 * 1000L;
+    private static final long VACUUM_INTERVAL_MILLIS = 60 * 60 * 1000L;
+    private static final long INTEGRITY_CHECK_INTERVAL_MILLIS = 24 * 60 * 60 * 1000L;
+    private static final int INCREMENTAL_VACUUM_PAGES = 1000;
+    private static final long MAINTENANCE_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+    private static StorageMaintenance instance;
+    private final JavaPlugin plugin;
+    private final Logger logger;
+    private final BooleanSupplier isQuiet;
+    private final Map<String, StorageBackend> backends = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final Map<String, MaintenanceState> states = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private StorageMaintenance(JavaPlugin plugin, BooleanSupplier isQuiet) {
+        this.plugin = plugin;
+        this.logger = plugin.getLogger();
+        this.isQuiet = isQuiet;
+        ((Main) plugin).getTaskScheduler().runGlobalTimer(this::checkQuietPeriod, CHECK_INTERVAL_TICKS, CHECK_INTERVAL_TICKS);
+    }
+
+    /**
+     * Initializes the maintenance instance and starts checking for quiet periods.
+     *
+     * @param plugin  The JavaPlugin instance used for scheduling.
+     * @param isQuiet Evaluated on the main thread, returns true when maintenance may run.
+     */
+    public static synchronized void initializeInstance(JavaPlugin plugin, BooleanSupplier isQuiet) {
+        if (instance == null) {
+            instance = new StorageMaintenance(plugin, isQuiet);
+        }
+    }
+
+    /**
+     * Retrieves the current instance of the StorageMaintenance.
+     *
+     * @return The current instance of the StorageMaintenance.
+     * @throws IllegalStateException if the maintenance has not been initialized.
+     */
+    public static synchronized StorageMaintenance getInstance() {
+        if (instance == null) {
+            throw new IllegalStateException("StorageMaintenance must be initialized with a JavaPlugin instance before use.");
+        }
+        return instance;
+    }
+
+    /**
+     * Registers a backend so that it is reported by the storage command and, if it is SQLite, maintained.
+     *
+     * @param name    The name the backend is reported under.
+     * @param backend The backend to register.
+     */
+    public void register(String name, StorageBackend backend) {
+        backends.put(name, backend);
+        states.put(name, new MaintenanceState());
+    }
+
+    /**
+     * Retrieves all registered backends by name, in registration order.
+     *
+     * @return A copy of the registered backends.
+     */
+    public Map<String, StorageBackend> getBackends() {
+        synchronized (backends) {
+            return new LinkedHashMap<>(backends);
+        }
+    }
+
+    /**
+     * Retrieves the maintenance state of a registered backend.
+     *
+     * @param name The name of the backend.
+     * @return The maintenance state, or null if no backend is registered under that name.
+     */
+    public MaintenanceState getState(String name) {
+        return states.get(name);
+    }
+
+    /**
+     * Starts a maintenance run on the I/O executor.
+     *
+     * @param force If true, every task runs regardless of when it last ran.
+     * @return true if the run was started, false if a run is already in progress.
+     */
+    public boolean runMaintenance(boolean force) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        ((Main) plugin).getIoExecutor().run("storage:maintenance", () -> {
+            for (Map.Entry<String, StorageBackend> entry : getBackends().entrySet()) {
+                if (entry.getValue().getType() == StorageBackend.StorageType.SQLITE) {
+                    maintain(entry.getKey(), entry.getValue(), states.get(entry.getKey()), force);
+                }
+            }
+        }, MAINTENANCE_TIMEOUT_MILLIS).whenComplete((ignored, error) -> running.set(false));
+        return true;
+    }
+
+    /**
+     * Checks whether maintenance is currently running.
+     *
+     * @return true if a maintenance run is in progress.
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Called periodically on the main thread, starts a maintenance run when no game is in progress.
+     */
+    private void checkQuietPeriod() {
+        if (isQuiet.getAsBoolean()) {
+            runMaintenance(false);
+        }
+    }
+
+    /**
+     * Runs every maintenance task that is due for a single SQLite backend.
+     *
+     * @param name    The name of the backend, used for logging.
+     * @param backend The backend to maintain.
+     * @param state   The maintenance state of the backend.
+     * @param force   If true, every task runs regardless of when it last ran.
+     */
+    private void maintain(String name, StorageBackend backend, MaintenanceState state, boolean force) {
+        long now = System.currentTimeMillis();
+        try (Connection connection = backend.getConnection();
+             Statement statement = connection.createStatement()) {
+            if (force || now - state.lastAnalyze >= ANALYZE_INTERVAL_MILLIS) {
+                statement.execute("ANALYZE");
+                state.lastAnalyze = now;
+            }
+
+            if (force || now - state.lastVacuum >= VACUUM_INTERVAL_MILLIS) {
+                vacuum(name, statement);
+                state.lastVacuum = now;
+            }
+
+            if (force || now - state.lastIntegrityCheck >= INTEGRITY_CHECK_INTERVAL_MILLIS) {
+                state.lastIntegrityResult = checkIntegrity(statement);
+                state.lastIntegrityCheck = now;
+                if (!"ok".equals(state.lastIntegrityResult)) {
+                    logger.log(Level.WARNING, "[StorageMaintenance.java] Integrity check failed for " + name + ": " + state.lastIntegrityResult);
+                }
+            }
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "[StorageMaintenance.java] An error occurred while maintaining the " + name + " database.", e);
+        }
+    }
+
+    /**
+     * Reclaims free pages from the database. Databases created before incremental auto-vacuum was enabled
+     * are converted once with a full VACUUM, after which only incremental vacuums are needed.
+     *
+     * @param name      The name of the backend, used for logging.
+     * @param statement The statement to run the vacuum with.
+     * @throws SQLException if the vacuum fails.
+     */
+    private void vacuum(String name, Statement statement) throws SQLException {
+        int autoVacuumMode;
+        try (ResultSet resultSet = statement.executeQuery("PRAGMA auto_vacuum")) {
+            autoVacuumMode = resultSet.next() ? resultSet.getInt(1) : 0;
+        }
+
+        if (autoVacuumMode != 2) {
+            logger.log(Level.INFO, "[StorageMaintenance.java] Converting the " + name + " database to incremental auto-vacuum.");
+            statement.execute("PRAGMA auto_vacuum = INCREMENTAL");
+            statement.execute("VACUUM");
+        } else {
+            statement.execute("PRAGMA incremental_vacuum(" + INCREMENTAL_VACUUM_PAGES + ")");
+        }
+    }
+
+    /**
+     * Runs an integrity check on the database.
+     *
+     * @param statement The statement to run the check with.
+     * @return "ok" if the database is intact, otherwise the problems reported by SQLite.
+     * @throws SQLException if the check could not be run.
+     */
+    private String checkIntegrity(Statement statement) throws SQLException {
+        List<String> problems = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery("PRAGMA integrity_check")) {
+            while (resultSet.next()) {
+                problems.add(resultSet.getString(1));
+            }
+        }
+        return problems.isEmpty() ? "ok" : String.join("; ", problems);
+    }
+
+    /**
+     * The times at which each maintenance task last ran for a backend, and the result of the last integrity check.
+     * Times are in epoch milliseconds, 0 meaning the task has not run since the server started.
+     */
+    public static class MaintenanceState {
+        private volatile long lastAnalyze;
+        private volatile long lastVacuum;
+        private volatile long lastIntegrityCheck;
+        private volatile String lastIntegrityResult;
+
+        public long getLastAnalyze() {
+            return lastAnalyze;
+        }
+
+        public long getLastVacuum() {
+            return lastVacuum;
+        }
+
+        public long getLastIntegrityCheck() {
+            return lastIntegrityCheck;
+        }
+
+        public String getLastIntegrityResult() {
+            return lastIntegrityResult;
+        }
+    }
+}
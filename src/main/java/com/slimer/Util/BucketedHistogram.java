@@ -0,0 +1,122 @@
+package com.slimer.Util;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A latency histogram with fixed bucket bounds, so that recording stays cheap and lock-free when several threads
+ * record at once. Percentiles are estimated from the buckets, the mean and maximum are exact.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public class BucketedHistogram {
+    private final long[] boundsMicros;
+    private final LongAdder[] buckets;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Constructs a new BucketedHistogram.
+     *
+     * @param boundsMicros The inclusive upper bounds of the buckets in ascending order, in microseconds. Latencies
+     *                     above the last bound are counted in an extra bucket without an upper bound.
+     */
+    public BucketedHistogram(long[] boundsMicros) {
+        this.boundsMicros = boundsMicros;
+        this.buckets = new LongAdder[boundsMicros.length + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos The latency, in nanoseconds.
+     */
+    public void record(long nanos) {
+        long micros = nanos / 1_000;
+        int bucket = 0;
+        while (bucket < boundsMicros.length && micros > boundsMicros[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        count.increment();
+        totalMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    /**
+     * Clears all recorded latencies.
+     */
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        count.reset();
+        totalMicros.reset();
+        maxMicros.reset();
+    }
+
+    /**
+     * @return The number of latencies recorded.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return The sum of all recorded latencies, in microseconds.
+     */
+    public long getTotalMicros() {
+        return totalMicros.sum();
+    }
+
+    /**
+     * @return The mean latency, in microseconds.
+     */
+    public long getMeanMicros() {
+        long recorded = getCount();
+        return recorded == 0 ? 0 : getTotalMicros() / recorded;
+    }
+
+    /**
+     * @return The highest latency, in microseconds.
+     */
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    /**
+     * @return The number of latencies in each bucket, in the order of the bounds, with the latencies above the last
+     * bound at the end.
+     */
+    public long[] getBucketCounts() {
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * Estimates a percentile as the upper bound of the bucket it falls in.
+     *
+     * @param percentile The percentile to estimate, between 0 and 100.
+     * @return The estimated latency in microseconds, or the maximum if it falls in the last bucket.
+     */
+    public long getPercentileMicros(double percentile) {
+        long target = (long) Math.ceil(getCount() * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < boundsMicros.length; i++) {
+            seen += buckets[i].sum();
+            if (seen >= target) {
+                return Math.min(boundsMicros[i], getMaxMicros());
+            }
+        }
+        return getMaxMicros();
+    }
+}
@@ -11,20 +11,25 @@ import org.bukkit.entity.Player;
 
 import java.io.File;
 import java.nio.file.Paths;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The MusicManager class provides functionality for playing and stopping music for players in the Snake plugin.
- * It uses the NoteBlockAPI library to manage music playback.
+ * It uses the NoteBlockAPI library to manage music playback. The song file is read and decoded once, on the I/O
+ * executor, and shared by every player.
  * <p>
  * Last updated: V2.1.0
  *
  * @author Slimerblue22
  */
 public class MusicManager {
-    private final Map<Player, RadioSongPlayer> songPlayers = new HashMap<>();
+    private final Map<Player, RadioSongPlayer> songPlayers = new ConcurrentHashMap<>();
+    private final Set<Player> pendingPlayers = ConcurrentHashMap.newKeySet();
     private final Main mainPlugin;
+    private CompletableFuture<Song> song;
 
     /**
      * Initializes a new instance of the MusicManager class.
@@ -36,12 +41,46 @@ public class MusicManager {
     }
 
     /**
-     * Starts playing music for the specified player.
+     * Starts playing music for the specified player once the song has been loaded.
      * If the song file is not found or cannot be played, logs an error message.
      *
      * @param player The player for whom to start the music.
      */
     public void startMusic(Player player) {
+        pendingPlayers.add(player);
+        getSong().thenAccept(loadedSong -> {
+            if (loadedSong == null) {
+                pendingPlayers.remove(player);
+                return;
+            }
+            mainPlugin.getTaskScheduler().runAtLocation(player.getLocation(), () -> {
+                // The game may have ended while the song was loading
+                if (pendingPlayers.remove(player)) {
+                    playSong(player, loadedSong);
+                }
+            });
+        });
+    }
+
+    /**
+     * Retrieves the song, loading it on the I/O executor the first time. A song that could not be loaded is loaded
+     * again on the next call, so a song file added while the server runs is picked up.
+     *
+     * @return A future completing with the song on the I/O thread, or with null if it could not be loaded.
+     */
+    private synchronized CompletableFuture<Song> getSong() {
+        if (song == null || song.isCompletedExceptionally() || (song.isDone() && song.join() == null)) {
+            song = mainPlugin.getIoExecutor().submit("music:load-song", this::loadSong);
+        }
+        return song;
+    }
+
+    /**
+     * Reads and decodes the song file configured in config.yml.
+     *
+     * @return The song, or null if the file is missing or not a valid NBS file.
+     */
+    private Song loadSong() {
         String pathToSongFile = mainPlugin.getSongFilePath();
         String fullPath = Paths.get(mainPlugin.getDataFolder().getAbsolutePath(), pathToSongFile).toString();
         File songFile = new File(fullPath);
@@ -50,41 +89,50 @@ public class MusicManager {
         File songFolder = songFile.getParentFile();
         if (!songFolder.exists() && !songFolder.mkdirs()) {
             Bukkit.getLogger().severe("[MusicManager.java] Failed to create songs folder.");
-            return;
+            return null;
         }
 
         // Handling missing song file
         if (!songFile.exists()) {
             Bukkit.getLogger().warning("[MusicManager.java] No song file found at " + fullPath + ". Music will not be played.");
-            return;
+            return null;
         }
 
-        // Try to start the music
+        // Try to load the music
         try {
-            Song song = NBSDecoder.parse(songFile);
-            if (song == null) {
+            Song loadedSong = NBSDecoder.parse(songFile);
+            if (loadedSong == null) {
                 Bukkit.getLogger().severe("[MusicManager.java] Error loading the music file. Please ensure it's a valid NBS file.");
-                return;
             }
-
-            RadioSongPlayer songPlayer = new RadioSongPlayer(song);
-            songPlayer.setChannelMode(new MonoStereoMode());
-            songPlayer.addPlayer(player);
-            songPlayer.setPlaying(true);
-            songPlayer.setRepeatMode(RepeatMode.ONE);
-            songPlayers.put(player, songPlayer);
-
+            return loadedSong;
         } catch (Exception e) {
             Bukkit.getLogger().severe("[MusicManager.java] Could not load song from file " + fullPath + ": " + e.getMessage());
+            return null;
         }
     }
 
+    /**
+     * Plays a loaded song on repeat for the specified player.
+     *
+     * @param player     The player for whom to play the song.
+     * @param loadedSong The song to play.
+     */
+    private void playSong(Player player, Song loadedSong) {
+        RadioSongPlayer songPlayer = new RadioSongPlayer(loadedSong);
+        songPlayer.setChannelMode(new MonoStereoMode());
+        songPlayer.addPlayer(player);
+        songPlayer.setPlaying(true);
+        songPlayer.setRepeatMode(RepeatMode.ONE);
+        songPlayers.put(player, songPlayer);
+    }
+
     /**
      * Stops the music for the specified player.
      *
      * @param player The player for whom to stop the music.
      */
     public void stopMusic(Player player) {
+        pendingPlayers.remove(player);
         RadioSongPlayer songPlayer = songPlayers.get(player);
         if (songPlayer != null) {
             songPlayer.setPlaying(false);
@@ -92,4 +140,4 @@ public class MusicManager {
             songPlayers.remove(player);
         }
     }
-}
\ No newline at end of file
+}
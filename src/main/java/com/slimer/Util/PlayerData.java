@@ -1,33 +1,57 @@
 package com.slimer.Util;
 
 import com.slimer.Main.Main;
+import com.slimer.Scheduler.IoExecutor;
+import com.slimer.Storage.StorageBackend;
+import org.bukkit.Bukkit;
 import org.bukkit.DyeColor;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.File;
 import java.sql.*;
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * The PlayerData class provides functionality for managing player data, including high scores, sheep colors,
- * and music toggle states, using an SQLite database. It follows the Singleton pattern to ensure a single
- * instance is used throughout the plugin.
+ * and music toggle states, using the storage backend configured in config.yml. It follows the Singleton pattern
+ * to ensure a single instance is used throughout the plugin.
+ * <p>
+ * No query runs on the thread ticking the server: sheep colors and music toggles are cached per online player, loaded
+ * when the player joins and dropped when they quit, and every write is queued on the plugin's {@link IoExecutor}.
+ * Queued writes run one after the other in the order they were made, and reads made through the asynchronous getters
+ * wait for them, so a player always sees their own changes.
  * <p>
  * Last updated: V2.1.0
  *
  * @author Slimerblue22
  */
-public class PlayerData {
+public class PlayerData implements Listener {
     private static PlayerData instance;
+    private static final int MIGRATION_CHUNK_SIZE = 500;
+    private static final long MIGRATION_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+    private static final Preferences DEFAULT_PREFERENCES = new Preferences(DyeColor.WHITE, true);
+    private final Map<UUID, Preferences> preferences = new ConcurrentHashMap<>();
     private Logger logger;
-    private Connection connection;
+    private StorageBackend backend;
+    private IoExecutor ioExecutor;
+    private volatile boolean ready = false;
+    private CompletableFuture<Void> migration = CompletableFuture.completedFuture(null);
+    private CompletableFuture<Void> pendingWrites = CompletableFuture.completedFuture(null);
 
     /**
      * Private constructor for the singleton pattern.
@@ -66,15 +90,33 @@ public class PlayerData {
     }
 
     /**
-     * Migrates player data from a YML file to an SQLite database. This method is intended to be called
-     * during the plugin's startup phase. It looks for a "PlayerData.yml" file in the plugin's data folder,
-     * reads the existing player data, and inserts it into an SQLite database. After successful migration,
-     * the YML file is renamed to "MIGRATED_PlayerData.yml.bak".
+     * Migrates player data from a YML file to the database. This method is intended to be called
+     * during the plugin's startup phase and returns immediately, the migration itself runs on the I/O executor.
+     * It looks for a "PlayerData.yml" file in the plugin's data folder, reads the existing player data, and inserts it
+     * in chunks, each chunk being a single batched transaction. After the migration, the YML file is renamed to
+     * "MIGRATED_PlayerData.yml.bak" and the player data is marked as ready. If any chunk failed, the YML file is kept
+     * so that the migration runs again on the next start, skipping players that were already migrated. The preferences
+     * of players already online, as after a reload, are loaded once the migration has finished.
      *
      * @param main The main plugin instance, used to access the plugin's data folder.
      */
     public void migrateFromYmlToSql(Main main) {
-        File dataFolder = main.getDataFolder();
+        migration = ioExecutor.submit("player-data:migration", () -> {
+            migrateYmlFile(main.getDataFolder());
+            return null;
+        }, MIGRATION_TIMEOUT_MILLIS);
+        migration.whenComplete((ignored, error) -> ready = true);
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            loadPreferences(player);
+        }
+    }
+
+    /**
+     * Performs the YML to SQL migration, reporting progress as a percentage of the players migrated.
+     *
+     * @param dataFolder The plugin's data folder containing the YML file.
+     */
+    private void migrateYmlFile(File dataFolder) {
         File ymlFile = new File(dataFolder, "PlayerData.yml");
         String absolutePath = ymlFile.getAbsolutePath();
 
@@ -86,29 +128,21 @@ public class PlayerData {
         }
 
         YamlConfiguration ymlConfig = YamlConfiguration.loadConfiguration(ymlFile);
-        logger.log(Level.INFO, "[PlayerData.java] YML file loaded.");
-
-        for (String uuid : ymlConfig.getKeys(false)) {
-            logger.log(Level.INFO, "[PlayerData.java] Migrating data for UUID: " + uuid);
-
-            String name = ymlConfig.getString(uuid + ".name");
-            int score = ymlConfig.getInt(uuid + ".score");
-            String sheepColor = ymlConfig.getString(uuid + ".sheepColor");
-            boolean musicToggle = ymlConfig.getBoolean(uuid + ".musicToggle");
-
-            // Insert into SQLite
-            try (PreparedStatement statement = connection.prepareStatement("INSERT INTO player_data (uuid, name, score, sheepColor, musicToggle) VALUES (?, ?, ?, ?, ?)")) {
-                statement.setString(1, uuid);
-                statement.setString(2, name);
-                statement.setInt(3, score);
-                statement.setString(4, sheepColor);
-                statement.setInt(5, musicToggle ? 1 : 0);
-                statement.executeUpdate();
-
-                logger.log(Level.INFO, "[PlayerData.java] Data migration successful for UUID: " + uuid);
-            } catch (SQLException e) {
-                logger.log(Level.SEVERE, "[PlayerData.java] An error occurred while migrating data for UUID: " + uuid, e);
+        List<String> uuids = new ArrayList<>(ymlConfig.getKeys(false));
+        logger.log(Level.INFO, "[PlayerData.java] YML file loaded with " + uuids.size() + " players.");
+
+        int failed = 0;
+        for (int start = 0; start < uuids.size(); start += MIGRATION_CHUNK_SIZE) {
+            List<String> chunk = uuids.subList(start, Math.min(start + MIGRATION_CHUNK_SIZE, uuids.size()));
+            if (!migrateChunk(ymlConfig, chunk)) {
+                failed += chunk.size();
             }
+            int migrated = start + chunk.size();
+            logger.log(Level.INFO, "[PlayerData.java] Migrated " + migrated + "/" + uuids.size() + " players (" + (migrated * 100 / uuids.size()) + "%).");
+        }
+        if (failed > 0) {
+            logger.log(Level.WARNING, "[PlayerData.java] " + failed + " players could not be migrated, see the errors above. PlayerData.yml is kept and the migration will run again on the next start.");
+            return;
         }
 
         // Rename YML file to mark it as migrated
@@ -121,49 +155,250 @@ public class PlayerData {
     }
 
     /**
-     * Initializes the SQLite database used for storing player data.
+     * Inserts a chunk of players from the YML file as one batched transaction, skipping players that already exist.
+     * If any insert fails, the whole chunk is rolled back.
+     *
+     * @param ymlConfig The loaded YML configuration object.
+     * @param uuids     The UUIDs of the players in this chunk.
+     * @return true if the chunk was committed, false if it was rolled back.
+     */
+    private boolean migrateChunk(YamlConfiguration ymlConfig, List<String> uuids) {
+        String insert = switch (backend.getType()) {
+            case SQLITE -> "INSERT INTO player_data (uuid, name, score, sheepColor, musicToggle) SELECT ?, ?, ?, ?, ? WHERE NOT EXISTS (SELECT 1 FROM player_data WHERE uuid = ?)";
+            case MYSQL -> "INSERT IGNORE INTO player_data (uuid, name, score, sheepColor, musicToggle) VALUES (?, ?, ?, ?, ?)";
+        };
+
+        try (Connection connection = backend.getConnection();
+             PreparedStatement statement = connection.prepareStatement(insert)) {
+            connection.setAutoCommit(false);
+            try {
+                for (String uuid : uuids) {
+                    statement.setString(1, uuid);
+                    statement.setString(2, ymlConfig.getString(uuid + ".name"));
+                    statement.setInt(3, ymlConfig.getInt(uuid + ".score"));
+                    statement.setString(4, ymlConfig.getString(uuid + ".sheepColor"));
+                    statement.setInt(5, ymlConfig.getBoolean(uuid + ".musicToggle") ? 1 : 0);
+                    if (backend.getType() == StorageBackend.StorageType.SQLITE) {
+                        statement.setString(6, uuid);
+                    }
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                connection.commit();
+                return true;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "[PlayerData.java] An error occurred while migrating a chunk of " + uuids.size() + " players starting at UUID: " + uuids.get(0), e);
+            return false;
+        }
+    }
+
+    /**
+     * Checks whether the player data is ready to be used, meaning any YML migration has finished.
+     * Commands should refuse to run until this returns true.
+     *
+     * @return true if the player data is ready, false while a migration is still running.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Retrieves the storage backend holding the player data.
+     *
+     * @return The storage backend of the player data.
+     */
+    public StorageBackend getBackend() {
+        return backend;
+    }
+
+    /**
+     * Initializes the database used for storing player data.
+     * The SQLite schema is kept as-is for compatibility with existing files, while the MySQL schema
+     * keys rows by UUID so that high scores can be upserted by several servers at once.
      *
      * @param plugin The JavaPlugin instance.
      */
     private void initializeDatabase(JavaPlugin plugin) {
         logger = plugin.getLogger();
-        try {
-            // Create a database connection
-            connection = DriverManager.getConnection("jdbc:sqlite:" + plugin.getDataFolder().getAbsolutePath() + "/PlayerData.db");
+        ioExecutor = ((Main) plugin).getIoExecutor();
+        backend = StorageBackend.create((Main) plugin, "PlayerData");
+        String createTable = switch (backend.getType()) {
+            case SQLITE -> "CREATE TABLE IF NOT EXISTS player_data (uuid TEXT, name TEXT, score INTEGER, sheepColor TEXT, musicToggle INTEGER)";
+            case MYSQL -> "CREATE TABLE IF NOT EXISTS player_data (uuid VARCHAR(36) NOT NULL PRIMARY KEY, name VARCHAR(16), score INT, sheepColor VARCHAR(32), musicToggle TINYINT)";
+        };
 
-            // Create a table if it doesn't exist
-            Statement statement = connection.createStatement();
-            statement.executeUpdate("CREATE TABLE IF NOT EXISTS player_data (uuid TEXT, name TEXT, score INTEGER, sheepColor TEXT, musicToggle INTEGER)");
+        // Create a table if it doesn't exist
+        try (Connection connection = backend.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate(createTable);
         } catch (SQLException e) {
-            logger.log(Level.SEVERE, "[PlayerData.java] An error occurred while initializing the SQLite database", e);
+            logger.log(Level.SEVERE, "[PlayerData.java] An error occurred while initializing the " + backend.getType() + " database", e);
         }
     }
 
     /**
-     * Closes the SQLite database connection.
-     * Only used during server shutdown or reloads and is invoked in the `onDisable` method of the main class.
-     * Should not be used during any other processes.
+     * Waits for the queued writes, then flushes any pending writes and closes the storage backend.
+     * Only used during server shutdown or reloads and is invoked in the `onDisable` method of the main class,
+     * before the I/O executor is shut down. Should not be used during any other processes.
      */
     public void closeDatabase() {
         try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
+            pendingWrites.get(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            logger.log(Level.WARNING, "[PlayerData.java] Queued writes did not finish within " + CLOSE_TIMEOUT_SECONDS + " seconds and may be lost.");
+        } catch (ExecutionException e) {
+            // Already reported by the I/O executor
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        backend.close();
+    }
+
+    /**
+     * Event handler for when a player joins the server. Loads the player's preferences in the background, so that
+     * starting a game does not have to query them.
+     *
+     * @param event The PlayerJoinEvent object containing event data.
+     */
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        loadPreferences(event.getPlayer());
+    }
+
+    /**
+     * Event handler for when a player quits the server. Drops the player's cached preferences once every write
+     * queued so far has run, so the cache only holds online players.
+     *
+     * @param event The PlayerQuitEvent object containing event data.
+     */
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        UUID uuid = event.getPlayer().getUniqueId();
+        synchronized (this) {
+            pendingWrites = pendingWrites.handle((ignored, error) -> null)
+                    .thenRun(() -> preferences.remove(uuid));
+        }
+    }
+
+    /**
+     * Loads and caches the sheep color and music toggle of a player on the I/O executor, once any migration has
+     * finished. Preferences changed in the meantime are not overwritten.
+     *
+     * @param player The player whose preferences are to be loaded.
+     */
+    private void loadPreferences(Player player) {
+        UUID uuid = player.getUniqueId();
+        migration.handle((ignored, error) -> null)
+                .thenCompose(ignored -> afterPendingWrites("player-data:load-preferences", () -> queryPreferences(uuid)))
+                .thenAccept(loaded -> preferences.putIfAbsent(uuid, loaded));
+    }
+
+    /**
+     * Retrieves the cached preferences of a player. The database is never queried here: if a preference is needed
+     * before the background load on join has finished, the defaults are returned and the load fills the cache later.
+     *
+     * @param player The player whose preferences are to be retrieved.
+     * @return The preferences of the player, or the defaults if they are not loaded yet.
+     */
+    private Preferences getPreferences(Player player) {
+        return preferences.getOrDefault(player.getUniqueId(), DEFAULT_PREFERENCES);
+    }
+
+    /**
+     * Queries the sheep color and music toggle of a player from the database.
+     *
+     * @param uuid The UUID of the player.
+     * @return The preferences of the player, with white and music enabled as defaults.
+     */
+    private Preferences queryPreferences(UUID uuid) {
+        backend.flushWrites();
+        try (Connection connection = backend.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT sheepColor, musicToggle FROM player_data WHERE uuid = ?")) {
+            statement.setString(1, uuid.toString());
+            ResultSet resultSet = statement.executeQuery();
+            if (resultSet.next()) {
+                String color = resultSet.getString("sheepColor");
+                int musicState = resultSet.getInt("musicToggle");
+                boolean musicEnabled = resultSet.wasNull() || musicState != 0;  // Default to true if NULL
+                return new Preferences(color != null ? DyeColor.valueOf(color) : DyeColor.WHITE, musicEnabled);  // Default to WHITE if NULL
             }
         } catch (SQLException e) {
-            logger.log(Level.SEVERE, "An error occurred while closing the SQLite database connection.", e);
+            logger.log(Level.SEVERE, "[PlayerData.java] An error occurred while fetching the player preferences", e);
         }
+        return DEFAULT_PREFERENCES;
     }
 
     /**
-     * Fetches the high score of the given player from the SQLite database.
+     * Queues a write on the I/O executor. It runs once every write queued before it has finished.
+     *
+     * @param name  The name of the write, used to group its metrics.
+     * @param write The write to run.
+     */
+    private synchronized void queueWrite(String name, Runnable write) {
+        pendingWrites = pendingWrites.handle((ignored, error) -> null)
+                .thenCompose(ignored -> ioExecutor.run(name, write));
+    }
+
+    /**
+     * Runs a query on the I/O executor once every write queued so far has finished.
+     *
+     * @param name  The name of the query, used to group its metrics.
+     * @param query The query to run.
+     * @param <T>   The type of the query result.
+     * @return A future completing with the query result on the I/O thread.
+     */
+    private synchronized <T> CompletableFuture<T> afterPendingWrites(String name, Callable<T> query) {
+        return pendingWrites.handle((ignored, error) -> null)
+                .thenCompose(ignored -> ioExecutor.submit(name, query));
+    }
+
+    /**
+     * Fetches the high score of the given player on the I/O executor.
      *
      * @param player The player whose high score is to be fetched.
+     * @return A future completing with the high score on the I/O thread.
+     */
+    public CompletableFuture<Integer> getHighScoreAsync(Player player) {
+        UUID uuid = player.getUniqueId();
+        return afterPendingWrites("player-data:high-score", () -> queryHighScore(uuid));
+    }
+
+    /**
+     * Fetches the leaderboard on the I/O executor.
+     *
+     * @return A future completing with the leaderboard on the I/O thread, sorted in descending order by score.
+     */
+    public CompletableFuture<List<Map.Entry<String, Integer>>> getLeaderboardAsync() {
+        return afterPendingWrites("player-data:leaderboard", this::getLeaderboard);
+    }
+
+    /**
+     * Fetches a page of the leaderboard on the I/O executor.
+     *
+     * @param page The desired page number, starting from 1.
+     * @return A future completing with the entries of the page on the I/O thread, empty if the page does not exist.
+     */
+    public CompletableFuture<List<Map.Entry<String, Integer>>> getPaginatedLeaderboardAsync(int page) {
+        return afterPendingWrites("player-data:leaderboard", () -> getPaginatedLeaderboard(page));
+    }
+
+    /**
+     * Fetches the high score of the player with the given UUID from the database.
+     *
+     * @param uuid The UUID of the player whose high score is to be fetched.
      * @return The high score.
      */
-    public int getHighScore(Player player) {
-        try {
-            PreparedStatement statement = connection.prepareStatement("SELECT score FROM player_data WHERE uuid = ?");
-            statement.setString(1, player.getUniqueId().toString());
+    private int queryHighScore(UUID uuid) {
+        backend.flushWrites();
+        try (Connection connection = backend.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT score FROM player_data WHERE uuid = ?")) {
+            statement.setString(1, uuid.toString());
             ResultSet resultSet = statement.executeQuery();
             if (resultSet.next()) {
                 return resultSet.getInt("score");
@@ -175,37 +410,44 @@ public class PlayerData {
     }
 
     /**
-     * Sets the high score for a given player in the SQLite database
-     * if the new score is greater than the current high score.
+     * Sets the high score for a given player in the database
+     * if the new score is greater than the current high score. The write is queued on the I/O executor.
      *
      * @param player The player whose high score is to be set.
      * @param score  The new score.
      */
     public void setHighScore(Player player, int score) {
-        try {
-            int currentHighScore = getHighScore(player);
-            if (score > currentHighScore) {
-                PreparedStatement statement = connection.prepareStatement("REPLACE INTO player_data (uuid, name, score) VALUES (?, ?, ?)");
-                statement.setString(1, player.getUniqueId().toString());
-                statement.setString(2, player.getName());
-                statement.setInt(3, score);
-                statement.executeUpdate();
+        UUID uuid = player.getUniqueId();
+        String name = player.getName();
+        queueWrite("player-data:set-high-score", () -> {
+            int currentHighScore = queryHighScore(uuid);
+            if (score <= currentHighScore) {
+                return;
             }
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "[PlayerData.java] An error occurred while setting the high score", e);
-        }
+
+            String upsert = switch (backend.getType()) {
+                case SQLITE -> "REPLACE INTO player_data (uuid, name, score) VALUES (?, ?, ?)";
+                case MYSQL -> "INSERT INTO player_data (uuid, name, score) VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE name = VALUES(name), score = GREATEST(score, VALUES(score))";
+            };
+            try {
+                backend.submitWrite(upsert, uuid.toString(), name, score);
+            } catch (SQLException e) {
+                logger.log(Level.SEVERE, "[PlayerData.java] An error occurred while setting the high score", e);
+            }
+        });
     }
 
     /**
-     * Retrieves the high scores from the SQLite database for a specific page.
-     * Each page contains 10 entries. The leaderboard is sorted in descending order based on the scores.
+     * Retrieves all high scores from the database.
+     * The leaderboard is sorted in descending order based on the scores.
      *
      * @return A list of Map.Entry objects containing player names and their corresponding scores.
      */
-    public List<Map.Entry<String, Integer>> getLeaderboard() {
+    private List<Map.Entry<String, Integer>> getLeaderboard() {
+        backend.flushWrites();
         Map<String, Integer> scores = new LinkedHashMap<>();
-        try {
-            Statement statement = connection.createStatement();
+        try (Connection connection = backend.getConnection();
+             Statement statement = connection.createStatement()) {
             ResultSet resultSet = statement.executeQuery("SELECT name, score FROM player_data ORDER BY score DESC");
             while (resultSet.next()) {
                 scores.put(resultSet.getString("name"), resultSet.getInt("score"));
@@ -217,14 +459,14 @@ public class PlayerData {
     }
 
     /**
-     * Retrieves a paginated leaderboard from the SQLite database with entries corresponding to the given page number.
+     * Retrieves a paginated leaderboard from the database with entries corresponding to the given page number.
      * Each page contains up to 10 entries. The leaderboard is sorted in descending order based on the scores.
      *
      * @param page The desired page number, starting from 1.
      * @return A list of Map.Entry objects containing player names and their corresponding scores for the specified page.
      * If the page number exceeds available pages, an empty list is returned.
      */
-    public List<Map.Entry<String, Integer>> getPaginatedLeaderboard(int page) {
+    private List<Map.Entry<String, Integer>> getPaginatedLeaderboard(int page) {
         List<Map.Entry<String, Integer>> allEntries = getLeaderboard();
 
         int start = (page - 1) * 10;
@@ -238,78 +480,69 @@ public class PlayerData {
     }
 
     /**
-     * Fetches the sheep color of the given player from the SQLite database.
+     * Retrieves the sheep color of the given player from the preference cache.
      *
      * @param player The player whose sheep color is to be fetched.
      * @return The DyeColor value representing the sheep color. Returns DyeColor.WHITE if the color is not found or is null.
      */
     public DyeColor getSheepColor(Player player) {
-        try {
-            PreparedStatement statement = connection.prepareStatement("SELECT sheepColor FROM player_data WHERE uuid = ?");
-            statement.setString(1, player.getUniqueId().toString());
-            ResultSet resultSet = statement.executeQuery();
-            if (resultSet.next()) {
-                String color = resultSet.getString("sheepColor");
-                return color != null ? DyeColor.valueOf(color) : DyeColor.WHITE;  // Default to WHITE if NULL
-            }
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "[PlayerData.java] An error occurred while fetching the sheep color", e);
-        }
-        return DyeColor.WHITE; // Default value
+        return getPreferences(player).sheepColor();
     }
 
     /**
-     * Sets the sheep color for a given player in the SQLite database.
+     * Sets the sheep color for a given player. The cache is updated at once, the database write is queued on the
+     * I/O executor.
      *
      * @param player The player whose sheep color is to be set.
      * @param color  The new DyeColor value for the sheep color.
      */
     public void setSheepColor(Player player, DyeColor color) {
-        try {
-            PreparedStatement statement = connection.prepareStatement("UPDATE player_data SET sheepColor = ? WHERE uuid = ?");
-            statement.setString(1, color.name());
-            statement.setString(2, player.getUniqueId().toString());
-            statement.executeUpdate();
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "[PlayerData.java] An error occurred while setting the sheep color", e);
-        }
+        UUID uuid = player.getUniqueId();
+        preferences.compute(uuid, (key, current) -> new Preferences(color, current == null || current.musicEnabled()));
+        queueWrite("player-data:set-sheep-color", () -> {
+            try {
+                backend.submitWrite("UPDATE player_data SET sheepColor = ? WHERE uuid = ?", color.name(), uuid.toString());
+            } catch (SQLException e) {
+                logger.log(Level.SEVERE, "[PlayerData.java] An error occurred while setting the sheep color", e);
+            }
+        });
     }
 
     /**
-     * Retrieves the music toggle state of the given player from the SQLite database.
+     * Retrieves the music toggle state of the given player from the preference cache.
      *
      * @param player The player whose music toggle state is to be fetched.
      * @return The music toggle state. Returns true if music is enabled for the player, and false if it's disabled or not found.
      */
     public boolean getMusicToggleState(Player player) {
-        try {
-            PreparedStatement statement = connection.prepareStatement("SELECT musicToggle FROM player_data WHERE uuid = ?");
-            statement.setString(1, player.getUniqueId().toString());
-            ResultSet resultSet = statement.executeQuery();
-            if (resultSet.next()) {
-                int musicState = resultSet.getInt("musicToggle");
-                return resultSet.wasNull() || musicState != 0;  // Default to true if NULL
-            }
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "[PlayerData.java] An error occurred while fetching the music toggle state", e);
-        }
-        return true; // Default value
+        return getPreferences(player).musicEnabled();
     }
 
     /**
-     * Sets the music toggle state for a given player in the SQLite database.
+     * Sets the music toggle state for a given player. The cache is updated at once, the database write is queued on
+     * the I/O executor.
      *
      * @param player The player whose music toggle state is to be set.
      * @param state  The new state for the music toggle. True means music is enabled, and false means it's disabled.
      */
     public void setMusicToggleState(Player player, boolean state) {
-        try {
-            PreparedStatement statement = connection.prepareStatement("UPDATE player_data SET musicToggle = ? WHERE uuid = ?");
-            statement.setBoolean(1, state);
-            statement.setString(2, player.getUniqueId().toString());
-            statement.executeUpdate();
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "[PlayerData.java] An error occurred while setting the music toggle state", e);
-        }
+        UUID uuid = player.getUniqueId();
+        preferences.compute(uuid, (key, current) -> new Preferences(current != null ? current.sheepColor() : DyeColor.WHITE, state));
+        queueWrite("player-data:set-music-toggle", () -> {
+            try {
+                backend.submitWrite("UPDATE player_data SET musicToggle = ? WHERE uuid = ?", state ? 1 : 0, uuid.toString());
+            } catch (SQLException e) {
+                logger.log(Level.SEVERE, "[PlayerData.java] An error occurred while setting the music toggle state", e);
+            }
+        });
+    }
+
+    /**
+     * The cached preferences of a player.
+     *
+     * @param sheepColor   The color of the player's snake.
+     * @param musicEnabled Whether music plays during the player's games.
+     */
+    private record Preferences(DyeColor sheepColor, boolean musicEnabled) {
     }
 }
@@ -0,0 +1,173 @@
+package com.slimer.Game;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the open-addressing table of {@link AppleCellIndex}: lookups along probe sequences that wrap around the end
+ * of the table, removal from the middle of a cluster, growth, and removal by apples that are no longer placed.
+ * Colliding keys are found through the index's own hash, so the probe sequences are the ones the index builds.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+class AppleCellIndexTest {
+    private static final int INITIAL_MASK = 15;
+    private AppleCellIndex index;
+
+    /**
+     * Creates a fresh index for every test.
+     */
+    @BeforeEach
+    void setUp() {
+        index = new AppleCellIndex();
+    }
+
+    /**
+     * Keys whose home is the last slot continue at the start of the table, and stay reachable after the first of
+     * them is removed.
+     */
+    @Test
+    void probeSequencesWrapAroundTheTable() {
+        List<Long> keys = keysWithHomeSlot(INITIAL_MASK, 3);
+        List<Apple> apples = placeAll(keys);
+
+        for (int i = 0; i < keys.size(); i++) {
+            assertSame(apples.get(i), index.get(keys.get(i)));
+        }
+
+        index.remove(keys.get(0), apples.get(0));
+        assertNull(index.get(keys.get(0)));
+        assertSame(apples.get(1), index.get(keys.get(1)));
+        assertSame(apples.get(2), index.get(keys.get(2)));
+
+        index.remove(keys.get(2), apples.get(2));
+        index.remove(keys.get(1), apples.get(1));
+        assertNull(index.get(keys.get(1)));
+        assertNull(index.get(keys.get(2)));
+    }
+
+    /**
+     * Removing an entry from the middle of a cluster keeps every entry behind it reachable, including one whose home
+     * slot lies inside the cluster, and frees the column for a new apple.
+     */
+    @Test
+    void removeFromMiddleOfClusterKeepsLaterEntriesReachable() {
+        List<Long> keys = new ArrayList<>(keysWithHomeSlot(3, 4));
+        keys.add(keysWithHomeSlot(4, 1).get(0));
+        List<Apple> apples = placeAll(keys);
+
+        index.remove(keys.get(1), apples.get(1));
+
+        assertNull(index.get(keys.get(1)));
+        for (int i = 0; i < keys.size(); i++) {
+            if (i != 1) {
+                assertSame(apples.get(i), index.get(keys.get(i)));
+            }
+        }
+
+        Apple replacement = new Apple(null, null);
+        assertTrue(index.putIfAbsent(keys.get(1), replacement));
+        assertSame(replacement, index.get(keys.get(1)));
+    }
+
+    /**
+     * The index grows past its initial capacity without losing entries, and keeps working after removals.
+     */
+    @Test
+    void growsPastInitialCapacity() {
+        List<Long> keys = new ArrayList<>();
+        for (int x = -5; x < 5; x++) {
+            for (int z = -5; z < 5; z++) {
+                keys.add(AppleCellIndex.key(x, z));
+            }
+        }
+        List<Apple> apples = placeAll(keys);
+        assertEquals(100, index.getModCount());
+
+        for (int i = 0; i < keys.size(); i += 2) {
+            index.remove(keys.get(i), apples.get(i));
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            if (i % 2 == 0) {
+                assertNull(index.get(keys.get(i)));
+            } else {
+                assertSame(apples.get(i), index.get(keys.get(i)));
+            }
+        }
+    }
+
+    /**
+     * A column holds a single apple, and removing it on behalf of an apple that was replaced in the meantime, or of
+     * a column that holds nothing, changes nothing.
+     */
+    @Test
+    void removeWithStaleAppleIsIgnored() {
+        long key = AppleCellIndex.key(12, -7);
+        Apple placed = new Apple(null, null);
+        Apple stale = new Apple(null, null);
+        assertTrue(index.putIfAbsent(key, placed));
+        assertFalse(index.putIfAbsent(key, stale));
+        int modCount = index.getModCount();
+
+        index.remove(key, stale);
+        index.remove(AppleCellIndex.key(13, -7), placed);
+
+        assertSame(placed, index.get(key));
+        assertEquals(modCount, index.getModCount());
+    }
+
+    /**
+     * Keys are distinct per column, including negative coordinates that share their low bits.
+     */
+    @Test
+    void keysAreDistinctPerColumn() {
+        assertFalse(AppleCellIndex.key(-1, 0) == AppleCellIndex.key(0, -1));
+        assertFalse(AppleCellIndex.key(1, -1) == AppleCellIndex.key(-1, 1));
+        assertEquals(AppleCellIndex.key(3, 4), AppleCellIndex.key(3, 4));
+    }
+
+    /**
+     * Places a new apple in every given column.
+     *
+     * @param keys The keys of the columns.
+     * @return The apples, in the order of the keys.
+     */
+    private List<Apple> placeAll(List<Long> keys) {
+        List<Apple> apples = new ArrayList<>();
+        for (long key : keys) {
+            Apple apple = new Apple(null, null);
+            assertTrue(index.putIfAbsent(key, apple));
+            apples.add(apple);
+        }
+        return apples;
+    }
+
+    /**
+     * Finds columns whose keys start probing at the given slot of a table with the initial capacity.
+     *
+     * @param slot  The home slot.
+     * @param count The number of keys to find.
+     * @return The keys.
+     */
+    private static List<Long> keysWithHomeSlot(int slot, int count) {
+        List<Long> keys = new ArrayList<>();
+        for (int x = 0; keys.size() < count; x++) {
+            long key = AppleCellIndex.key(x, 0);
+            if ((AppleCellIndex.hash(key) & INITIAL_MASK) == slot) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}
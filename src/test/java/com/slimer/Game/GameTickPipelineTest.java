@@ -0,0 +1,289 @@
+package com.slimer.Game;
+
+import com.slimer.Scheduler.ManualTaskScheduler;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.util.Vector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks how the {@link GameTickPipeline} schedules its tick and runs the snapshot, compute and apply phases, driven
+ * through a {@link ManualTaskScheduler}. The sessions are stubs that record every phase they go through, so the
+ * pipeline is tested without a server or a game manager.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+class GameTickPipelineTest {
+    private final Set<Player> activePlayers = new LinkedHashSet<>();
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> computeThreads = Collections.synchronizedList(new ArrayList<>());
+    private BiConsumer<SessionSnapshot, List<WorldMutation>> computeStep;
+    private ManualTaskScheduler scheduler;
+    private GameTickPipeline pipeline;
+
+    /**
+     * Creates a fresh scheduler and a pipeline over stub sessions for every test. By default, every session
+     * computes a single move.
+     */
+    @BeforeEach
+    void setUp() {
+        scheduler = new ManualTaskScheduler();
+        computeStep = (snapshot, mutations) -> mutations.add(record("move " + snapshot.player.getName()));
+        Logger logger = Logger.getLogger("GameTickPipelineTest");
+        logger.setUseParentHandlers(false);
+        pipeline = new GameTickPipeline(new StubPhases(), logger);
+    }
+
+    /**
+     * Shuts the pipeline down so its compute pool does not outlive the test.
+     */
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    /**
+     * Starting the pipeline schedules a single tick timer, however often it is started.
+     */
+    @Test
+    void startSchedulesOneTimer() {
+        pipeline.start(scheduler);
+        pipeline.start(scheduler);
+
+        assertEquals(1, scheduler.getPendingTaskCount());
+    }
+
+    /**
+     * Shutting the pipeline down cancels its tick timer.
+     */
+    @Test
+    void shutdownCancelsTimer() {
+        pipeline.start(scheduler);
+        pipeline.shutdown();
+
+        assertEquals(0, scheduler.getPendingTaskCount());
+    }
+
+    /**
+     * A pipeline that has been shut down can be started again, as happens when games start after all were stopped.
+     */
+    @Test
+    void startAfterShutdownSchedulesTimerAgain() {
+        pipeline.start(scheduler);
+        pipeline.shutdown();
+        pipeline.start(scheduler);
+
+        assertEquals(1, scheduler.getPendingTaskCount());
+    }
+
+    /**
+     * One tick captures every session, then computes every snapshot, and only then applies the mutations in one batch,
+     * session by session in the order they were captured.
+     */
+    @Test
+    void tickSnapshotsComputesThenAppliesInOneBatch() {
+        activePlayers.add(player("alice"));
+        activePlayers.add(player("bob"));
+        computeStep = (snapshot, mutations) -> {
+            String name = snapshot.player.getName();
+            mutations.add(record("move " + name));
+            mutations.add(record("collect " + name));
+        };
+        pipeline.start(scheduler);
+
+        scheduler.tick();
+
+        assertEquals(List.of(
+                "capture alice", "capture bob",
+                "compute alice", "compute bob",
+                "apply move alice", "apply collect alice", "apply move bob", "apply collect bob"), events);
+    }
+
+    /**
+     * Sessions without a snapshot are skipped, and a tick without any snapshot computes and applies nothing.
+     */
+    @Test
+    void sessionsWithoutSnapshotAreSkipped() {
+        activePlayers.add(player("ghost"));
+        pipeline.start(scheduler);
+
+        scheduler.tick();
+        assertEquals(List.of("capture ghost"), events);
+
+        activePlayers.add(player("alice"));
+        events.clear();
+        scheduler.tick();
+        assertEquals(List.of("capture ghost", "capture alice", "compute alice", "apply move alice"), events);
+    }
+
+    /**
+     * A session whose game ends while its mutations are applied does not hold up the sessions after it: their
+     * mutations are still applied in the same batch, and the ended session is no longer ticked afterwards.
+     */
+    @Test
+    void sessionEndingMidTickStillAppliesTheRestOfTheBatch() {
+        Player alice = player("alice");
+        activePlayers.add(alice);
+        activePlayers.add(player("bob"));
+        computeStep = (snapshot, mutations) -> {
+            String name = snapshot.player.getName();
+            mutations.add(record("move " + name));
+            if (snapshot.player == alice) {
+                mutations.add(() -> {
+                    events.add("apply end alice");
+                    activePlayers.remove(alice);
+                });
+            }
+        };
+        pipeline.start(scheduler);
+
+        scheduler.tick();
+        assertEquals(List.of(
+                "capture alice", "capture bob",
+                "compute alice", "compute bob",
+                "apply move alice", "apply end alice", "apply move bob"), events);
+
+        events.clear();
+        scheduler.tick();
+        assertEquals(List.of("capture bob", "compute bob", "apply move bob"), events);
+    }
+
+    /**
+     * A session whose compute fails applies none of its mutations, and a failing mutation is skipped without
+     * stopping the mutations after it.
+     */
+    @Test
+    void failuresOnlyAffectTheirOwnSession() {
+        Player alice = player("alice");
+        activePlayers.add(alice);
+        activePlayers.add(player("bob"));
+        activePlayers.add(player("carol"));
+        computeStep = (snapshot, mutations) -> {
+            String name = snapshot.player.getName();
+            mutations.add(record("move " + name));
+            if (snapshot.player == alice) {
+                throw new IllegalStateException("compute failed");
+            }
+            if ("bob".equals(name)) {
+                mutations.add(() -> {
+                    throw new IllegalStateException("apply failed");
+                });
+                mutations.add(record("collect bob"));
+            }
+        };
+        pipeline.start(scheduler);
+
+        scheduler.tick();
+
+        assertEquals(List.of(
+                "capture alice", "capture bob", "capture carol",
+                "compute alice", "compute bob", "compute carol",
+                "apply move bob", "apply collect bob", "apply move carol"), events);
+    }
+
+    /**
+     * Once enough sessions are running, they are computed on the compute pool, while their mutations are still applied
+     * on the ticking thread in the order the sessions were captured.
+     */
+    @Test
+    void manySessionsAreComputedOnThePool() {
+        List<String> expectedApplies = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            activePlayers.add(player("player" + i));
+            expectedApplies.add("apply move player" + i);
+        }
+        pipeline.start(scheduler);
+
+        scheduler.tick();
+
+        assertEquals(8, computeThreads.size());
+        for (String threadName : computeThreads) {
+            assertTrue(threadName.startsWith("SnakeGame-Tick-"));
+        }
+        assertEquals(expectedApplies, events.subList(events.size() - 8, events.size()));
+    }
+
+    /**
+     * A single session ticked on its own, as on a region-threaded server, runs all three phases in order.
+     */
+    @Test
+    void tickSessionRunsAllPhasesForOneSession() {
+        Player alice = player("alice");
+        activePlayers.add(alice);
+        activePlayers.add(player("bob"));
+
+        pipeline.tickSession(alice);
+
+        assertEquals(List.of("capture alice", "compute alice", "apply move alice"), events);
+    }
+
+    /**
+     * Creates a mutation that records when it is applied.
+     *
+     * @param name The name of the mutation.
+     * @return The mutation.
+     */
+    private WorldMutation record(String name) {
+        return () -> events.add("apply " + name);
+    }
+
+    /**
+     * Creates a stand-in for a player that only knows its name.
+     *
+     * @param name The name of the player.
+     * @return The player.
+     */
+    private static Player player(String name) {
+        return (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[]{Player.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getName", "toString" -> name;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+
+    /**
+     * Stub sessions that record every phase. Players whose name starts with "ghost" have no snapshot.
+     */
+    private class StubPhases implements GameTickPipeline.Phases {
+        @Override
+        public Collection<Player> getActivePlayers() {
+            return new ArrayList<>(activePlayers);
+        }
+
+        @Override
+        public SessionSnapshot capture(Player player) {
+            events.add("capture " + player.getName());
+            if (player.getName().startsWith("ghost")) {
+                return null;
+            }
+            return new SessionSnapshot(player, null, new Location(null, 0, 64, 0), new Vector(), List.of(),
+                    new Location[0], new Vector[0], new Vector(0, 0, 1), null, null, null, true, false, null);
+        }
+
+        @Override
+        public void compute(SessionSnapshot snapshot, List<WorldMutation> mutations) {
+            events.add("compute " + snapshot.player.getName());
+            computeThreads.add(Thread.currentThread().getName());
+            computeStep.accept(snapshot, mutations);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.slimer.Game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the {@link InputRing}: its capacity, first-in, first-out order with arrival times, wrapping of its indices,
+ * and a producer and consumer running on separate threads without locks, as the packet thread and the game tick do.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+class InputRingTest {
+    private static final int CONCURRENT_EVENTS = 100_000;
+
+    /**
+     * The capacity is rounded up to a power of two, and a full ring rejects further events until one is polled.
+     */
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertEquals(16, fill(new InputRing(16)));
+        assertEquals(8, fill(new InputRing(5)));
+        assertEquals(2, fill(new InputRing(2)));
+        assertEquals(2, fill(new InputRing(1)));
+
+        InputRing ring = new InputRing(4);
+        fill(ring);
+        assertEquals(0, ring.poll());
+        assertTrue(ring.offer(7, 0L));
+        assertFalse(ring.offer(8, 0L));
+    }
+
+    /**
+     * Events are polled in the order they were offered, each with its own arrival time, and an empty ring returns
+     * {@link InputRing#EMPTY}.
+     */
+    @Test
+    void pollsEventsInOrderWithTheirTimestamps() {
+        InputRing ring = new InputRing(4);
+        assertEquals(InputRing.EMPTY, ring.poll());
+
+        ring.offer(3, 100L);
+        ring.offer(0, 200L);
+        ring.offer(3, 300L);
+
+        assertEquals(3, ring.poll());
+        assertEquals(100L, ring.getPolledTimestamp());
+        assertEquals(0, ring.poll());
+        assertEquals(200L, ring.getPolledTimestamp());
+        assertEquals(3, ring.poll());
+        assertEquals(300L, ring.getPolledTimestamp());
+        assertEquals(InputRing.EMPTY, ring.poll());
+    }
+
+    /**
+     * The ring keeps its order while its indices run around the slots many times.
+     */
+    @Test
+    void keepsOrderWhileWrappingAround() {
+        InputRing ring = new InputRing(4);
+        int next = 0;
+        for (int round = 0; round < 100; round++) {
+            ring.offer(next, next);
+            ring.offer(next + 1, next + 1);
+            ring.offer(next + 2, next + 2);
+            for (int i = 0; i < 3; i++) {
+                assertEquals(next, ring.poll());
+                assertEquals(next, ring.getPolledTimestamp());
+                next++;
+            }
+        }
+        assertEquals(InputRing.EMPTY, ring.poll());
+    }
+
+    /**
+     * A producer and a consumer on different threads pass every event through a small ring exactly once and in
+     * order, with the arrival time written alongside it. Both yield while waiting, so the test also finishes on a
+     * single core, and the consumer keeps draining after a mismatch so the producer never blocks forever.
+     *
+     * @throws InterruptedException if the test is interrupted while waiting for the producer.
+     */
+    @Test
+    void passesEventsBetweenThreadsInOrder() throws InterruptedException {
+        InputRing ring = new InputRing(8);
+        Thread producer = new Thread(() -> {
+            for (int event = 0; event < CONCURRENT_EVENTS; event++) {
+                while (!ring.offer(event, event * 2L)) {
+                    Thread.yield();
+                }
+            }
+        }, "InputRingTest-producer");
+        String failure = null;
+        producer.start();
+
+        int expected = 0;
+        while (expected < CONCURRENT_EVENTS) {
+            int event = ring.poll();
+            if (event == InputRing.EMPTY) {
+                Thread.yield();
+                continue;
+            }
+            if ((event != expected || ring.getPolledTimestamp() != expected * 2L) && failure == null) {
+                failure = "expected event " + expected + " but got " + event + " at " + ring.getPolledTimestamp();
+            }
+            expected++;
+        }
+        producer.join();
+
+        assertNull(failure);
+        assertEquals(InputRing.EMPTY, ring.poll());
+    }
+
+    /**
+     * Offers events until the ring is full.
+     *
+     * @param ring The ring to fill.
+     * @return The number of events the ring accepted.
+     */
+    private static int fill(InputRing ring) {
+        int count = 0;
+        while (ring.offer(count, 0L)) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,139 @@
+package com.slimer.Scheduler;
+
+import org.bukkit.Location;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stand-in scheduler that runs nothing on its own. Tasks only run when {@link #tick()} is called, on the calling
+ * thread, which makes the order and timing of scheduled game logic reproducible without a running server.
+ * Location, global and asynchronous tasks are all treated alike.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+public class ManualTaskScheduler implements TaskScheduler {
+    private final List<ManualTask> tasks = new ArrayList<>();
+    private long currentTick = 0L;
+
+    /**
+     * Advances the scheduler by one tick and runs every task due on it, in the order they were scheduled.
+     * Tasks scheduled while running the tick are due on a later tick at the earliest.
+     */
+    public void tick() {
+        currentTick++;
+        for (ManualTask task : new ArrayList<>(tasks)) {
+            if (task.cancelled || task.nextRun > currentTick) {
+                continue;
+            }
+            task.runnable.run();
+            if (task.period > 0) {
+                task.nextRun = currentTick + task.period;
+            } else {
+                task.cancelled = true;
+            }
+        }
+        tasks.removeIf(task -> task.cancelled);
+    }
+
+    /**
+     * Advances the scheduler by several ticks.
+     *
+     * @param ticks The number of ticks to advance.
+     */
+    public void tick(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            tick();
+        }
+    }
+
+    /**
+     * Retrieves the number of ticks the scheduler has advanced.
+     *
+     * @return The current tick.
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Retrieves the number of tasks that are scheduled and not cancelled.
+     *
+     * @return The number of pending tasks.
+     */
+    public int getPendingTaskCount() {
+        return (int) tasks.stream().filter(task -> !task.cancelled).count();
+    }
+
+    @Override
+    public Task runAtLocation(Location location, Runnable task) {
+        return schedule(task, 1L, 0L);
+    }
+
+    @Override
+    public Task runAtLocationLater(Location location, Runnable task, long delayTicks) {
+        return schedule(task, delayTicks, 0L);
+    }
+
+    @Override
+    public Task runAtLocationTimer(Location location, Runnable task, long delayTicks, long periodTicks) {
+        return schedule(task, delayTicks, Math.max(1L, periodTicks));
+    }
+
+    @Override
+    public Task runGlobal(Runnable task) {
+        return schedule(task, 1L, 0L);
+    }
+
+    @Override
+    public Task runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        return schedule(task, delayTicks, Math.max(1L, periodTicks));
+    }
+
+    @Override
+    public Task runAsync(Runnable task) {
+        return schedule(task, 1L, 0L);
+    }
+
+    @Override
+    public Task runAsyncTimer(Runnable task, long delayTicks, long periodTicks) {
+        return schedule(task, delayTicks, Math.max(1L, periodTicks));
+    }
+
+    /**
+     * Adds a task to the schedule. Like the Bukkit scheduler, delays below one tick count as one tick.
+     *
+     * @param runnable    The task to run.
+     * @param delayTicks  The number of ticks before the first run.
+     * @param periodTicks The number of ticks between runs, or 0 to run once.
+     * @return A handle to the task.
+     */
+    private Task schedule(Runnable runnable, long delayTicks, long periodTicks) {
+        ManualTask task = new ManualTask(runnable, currentTick + Math.max(1L, delayTicks), periodTicks);
+        tasks.add(task);
+        return task;
+    }
+
+    /**
+     * A task waiting for its next run.
+     */
+    private static final class ManualTask implements Task {
+        private final Runnable runnable;
+        private final long period;
+        private long nextRun;
+        private boolean cancelled = false;
+
+        private ManualTask(Runnable runnable, long nextRun, long period) {
+            this.runnable = runnable;
+            this.nextRun = nextRun;
+            this.period = period;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.slimer.Scheduler;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the {@link ManualTaskScheduler} follows the timing of the Bukkit scheduler: delays, timers and
+ * cancellation, so that game logic driven through it behaves as it would on a server.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+class ManualTaskSchedulerTest {
+    private ManualTaskScheduler scheduler;
+
+    /**
+     * Creates a fresh scheduler for every test.
+     */
+    @BeforeEach
+    void setUp() {
+        scheduler = new ManualTaskScheduler();
+    }
+
+    /**
+     * A task scheduled for the next tick does not run before it, and runs exactly once.
+     */
+    @Test
+    void runGlobalRunsOnceOnTheNextTick() {
+        AtomicInteger runs = new AtomicInteger();
+        scheduler.runGlobal(runs::incrementAndGet);
+        assertEquals(0, runs.get());
+
+        scheduler.tick();
+        assertEquals(1, runs.get());
+
+        scheduler.tick(5);
+        assertEquals(1, runs.get());
+        assertEquals(0, scheduler.getPendingTaskCount());
+    }
+
+    /**
+     * A delayed task runs on the tick its delay ends, not earlier.
+     */
+    @Test
+    void delayedTaskRunsWhenItsDelayEnds() {
+        List<Long> runTicks = new ArrayList<>();
+        scheduler.runAtLocationLater(null, () -> runTicks.add(scheduler.getCurrentTick()), 5L);
+
+        scheduler.tick(4);
+        assertEquals(List.of(), runTicks);
+
+        scheduler.tick(3);
+        assertEquals(List.of(5L), runTicks);
+    }
+
+    /**
+     * Like the Bukkit scheduler, delays below one tick count as one tick.
+     */
+    @Test
+    void delaysBelowOneTickCountAsOneTick() {
+        List<Long> runTicks = new ArrayList<>();
+        scheduler.runAtLocationLater(null, () -> runTicks.add(scheduler.getCurrentTick()), 0L);
+        scheduler.runGlobalTimer(() -> runTicks.add(scheduler.getCurrentTick()), -3L, 10L);
+
+        scheduler.tick();
+        assertEquals(List.of(1L, 1L), runTicks);
+    }
+
+    /**
+     * A timer first runs after its delay, then once every period.
+     */
+    @Test
+    void timerRunsEveryPeriodAfterItsDelay() {
+        List<Long> runTicks = new ArrayList<>();
+        scheduler.runAsyncTimer(() -> runTicks.add(scheduler.getCurrentTick()), 2L, 3L);
+
+        scheduler.tick(10);
+        assertEquals(List.of(2L, 5L, 8L), runTicks);
+        assertEquals(1, scheduler.getPendingTaskCount());
+    }
+
+    /**
+     * A timer with a period below one tick runs every tick.
+     */
+    @Test
+    void timerPeriodsBelowOneTickCountAsOneTick() {
+        AtomicInteger runs = new AtomicInteger();
+        scheduler.runAtLocationTimer(null, runs::incrementAndGet, 1L, 0L);
+
+        scheduler.tick(4);
+        assertEquals(4, runs.get());
+    }
+
+    /**
+     * A cancelled timer stops running and no longer counts as pending.
+     */
+    @Test
+    void cancelStopsTimer() {
+        AtomicInteger runs = new AtomicInteger();
+        TaskScheduler.Task task = scheduler.runGlobalTimer(runs::incrementAndGet, 1L, 1L);
+
+        scheduler.tick(2);
+        task.cancel();
+        scheduler.tick(5);
+
+        assertEquals(2, runs.get());
+        assertEquals(0, scheduler.getPendingTaskCount());
+    }
+
+    /**
+     * A task cancelled before its first run never runs, and cancelling it again has no effect.
+     */
+    @Test
+    void cancelBeforeFirstRunSkipsTask() {
+        AtomicInteger runs = new AtomicInteger();
+        TaskScheduler.Task task = scheduler.runAsync(runs::incrementAndGet);
+
+        task.cancel();
+        task.cancel();
+        scheduler.tick(3);
+
+        assertEquals(0, runs.get());
+        assertEquals(0, scheduler.getPendingTaskCount());
+    }
+
+    /**
+     * A timer can cancel itself while running, as the arena instance startup does.
+     */
+    @Test
+    void timerCanCancelItselfWhileRunning() {
+        AtomicInteger runs = new AtomicInteger();
+        TaskScheduler.Task[] task = new TaskScheduler.Task[1];
+        task[0] = scheduler.runGlobalTimer(() -> {
+            if (runs.incrementAndGet() == 3) {
+                task[0].cancel();
+            }
+        }, 1L, 1L);
+
+        scheduler.tick(10);
+        assertEquals(3, runs.get());
+        assertEquals(0, scheduler.getPendingTaskCount());
+    }
+
+    /**
+     * A task scheduled while a tick runs is due on a later tick, never on the one being run.
+     */
+    @Test
+    void taskScheduledDuringTickRunsOnALaterTick() {
+        List<Long> runTicks = new ArrayList<>();
+        scheduler.runGlobal(() -> scheduler.runGlobal(() -> runTicks.add(scheduler.getCurrentTick())));
+
+        scheduler.tick();
+        assertEquals(List.of(), runTicks);
+
+        scheduler.tick();
+        assertEquals(List.of(2L), runTicks);
+    }
+
+    /**
+     * Tasks due on the same tick run in the order they were scheduled.
+     */
+    @Test
+    void tasksDueOnTheSameTickRunInScheduleOrder() {
+        List<String> order = new ArrayList<>();
+        scheduler.runAtLocationLater(null, () -> order.add("later"), 2L);
+        scheduler.runGlobalTimer(() -> order.add("timer"), 2L, 5L);
+        scheduler.runAsyncTimer(() -> order.add("async"), 2L, 5L);
+
+        scheduler.tick(2);
+        assertEquals(List.of("later", "timer", "async"), order);
+    }
+}
@@ -0,0 +1,226 @@
+package com.slimer.Storage;
+
+import com.slimer.Scheduler.ManualTaskScheduler;
+import com.zaxxer.hikari.HikariConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the {@link MySQLBackend} against an in-memory H2 database in MySQL mode: batched writes, the flush timer and
+ * the high score upsert used by PlayerData for the MySQL dialect.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+class MySQLBackendTest {
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS player_data (uuid VARCHAR(36) NOT NULL PRIMARY KEY, name VARCHAR(16), score INT, sheepColor VARCHAR(32), musicToggle TINYINT)";
+    private static final String UPSERT_HIGH_SCORE = "INSERT INTO player_data (uuid, name, score) VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE name = VALUES(name), score = GREATEST(score, VALUES(score))";
+    private static final String UPDATE_SHEEP_COLOR = "UPDATE player_data SET sheepColor = ? WHERE uuid = ?";
+    private String jdbcUrl;
+    private ManualTaskScheduler scheduler;
+    private MySQLBackend backend;
+
+    /**
+     * Creates a backend on a fresh in-memory database holding the player data table.
+     *
+     * @throws SQLException if the table could not be created.
+     */
+    @BeforeEach
+    void setUp() throws SQLException {
+        jdbcUrl = "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1";
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("Snake-MySQL-Test");
+        config.setJdbcUrl(jdbcUrl);
+        config.setMaximumPoolSize(2);
+        scheduler = new ManualTaskScheduler();
+        Logger logger = Logger.getLogger("MySQLBackendTest");
+        logger.setUseParentHandlers(false);
+        backend = new MySQLBackend(config, scheduler, logger);
+
+        try (Connection connection = backend.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate(CREATE_TABLE);
+        }
+    }
+
+    /**
+     * Closes the backend and drops the in-memory database.
+     *
+     * @throws SQLException if the database could not be dropped.
+     */
+    @AfterEach
+    void tearDown() throws SQLException {
+        backend.close();
+        try (Connection connection = DriverManager.getConnection(jdbcUrl);
+             Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    /**
+     * Submitted writes are held back until flushed, then executed in the order they were submitted, even when
+     * statements of the same kind are batched together.
+     *
+     * @throws SQLException if the database could not be read.
+     */
+    @Test
+    void flushExecutesQueuedWritesInOrder() throws SQLException {
+        backend.submitWrite(UPSERT_HIGH_SCORE, "a", "Alice", 10);
+        backend.submitWrite(UPSERT_HIGH_SCORE, "b", "Bob", 20);
+        backend.submitWrite(UPDATE_SHEEP_COLOR, "RED", "a");
+        backend.submitWrite(UPDATE_SHEEP_COLOR, "BLUE", "b");
+        backend.submitWrite(UPSERT_HIGH_SCORE, "c", "Carol", 30);
+        backend.submitWrite(UPDATE_SHEEP_COLOR, "GREEN", "c");
+        assertNull(queryScore("a"));
+
+        backend.flushWrites();
+
+        assertEquals(10, queryScore("a"));
+        assertEquals(20, queryScore("b"));
+        assertEquals(30, queryScore("c"));
+        assertEquals("RED", querySheepColor("a"));
+        assertEquals("BLUE", querySheepColor("b"));
+        assertEquals("GREEN", querySheepColor("c"));
+    }
+
+    /**
+     * The high score upsert inserts new players, renames existing ones and never lowers a score, within a batch and
+     * across batches.
+     *
+     * @throws SQLException if the database could not be read.
+     */
+    @Test
+    void highScoreUpsertKeepsGreatestScore() throws SQLException {
+        backend.submitWrite(UPSERT_HIGH_SCORE, "a", "Alice", 10);
+        backend.submitWrite(UPSERT_HIGH_SCORE, "a", "Alice", 25);
+        backend.submitWrite(UPSERT_HIGH_SCORE, "a", "Alice", 15);
+        backend.flushWrites();
+        assertEquals(25, queryScore("a"));
+
+        backend.submitWrite(UPSERT_HIGH_SCORE, "a", "Alicia", 5);
+        backend.flushWrites();
+        assertEquals(25, queryScore("a"));
+        assertEquals("Alicia", queryName("a"));
+
+        backend.submitWrite(UPSERT_HIGH_SCORE, "a", "Alicia", 40);
+        backend.flushWrites();
+        assertEquals(40, queryScore("a"));
+    }
+
+    /**
+     * The batched write task flushes once a second, on the scheduler the backend was given.
+     *
+     * @throws SQLException if the database could not be read.
+     */
+    @Test
+    void flushTaskRunsEverySecond() throws SQLException {
+        backend.submitWrite(UPSERT_HIGH_SCORE, "a", "Alice", 10);
+        scheduler.tick(19);
+        assertNull(queryScore("a"));
+
+        scheduler.tick();
+        assertEquals(10, queryScore("a"));
+    }
+
+    /**
+     * A batch with a failing statement is rolled back as a whole and the failure does not reach the caller.
+     *
+     * @throws SQLException if the database could not be read.
+     */
+    @Test
+    void failedBatchIsRolledBack() throws SQLException {
+        backend.submitWrite(UPSERT_HIGH_SCORE, "a", "Alice", 10);
+        backend.submitWrite("UPDATE missing_table SET score = ? WHERE uuid = ?", 20, "a");
+
+        backend.flushWrites();
+
+        assertNull(queryScore("a"));
+    }
+
+    /**
+     * Closing the backend flushes the writes still queued.
+     *
+     * @throws SQLException if the database could not be read.
+     */
+    @Test
+    void closeFlushesPendingWrites() throws SQLException {
+        backend.submitWrite(UPSERT_HIGH_SCORE, "a", "Alice", 10);
+        backend.close();
+
+        try (Connection connection = DriverManager.getConnection(jdbcUrl);
+             PreparedStatement statement = connection.prepareStatement("SELECT score FROM player_data WHERE uuid = ?")) {
+            statement.setString(1, "a");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                assertTrue(resultSet.next());
+                assertEquals(10, resultSet.getInt("score"));
+            }
+        }
+    }
+
+    /**
+     * Reads the score of a player.
+     *
+     * @param uuid The UUID of the player.
+     * @return The score, or null if the player has no row.
+     * @throws SQLException if the database could not be read.
+     */
+    private Integer queryScore(String uuid) throws SQLException {
+        String score = queryColumn(uuid, "score");
+        return score != null ? Integer.valueOf(score) : null;
+    }
+
+    /**
+     * Reads the name of a player.
+     *
+     * @param uuid The UUID of the player.
+     * @return The name, or null if the player has no row.
+     * @throws SQLException if the database could not be read.
+     */
+    private String queryName(String uuid) throws SQLException {
+        return queryColumn(uuid, "name");
+    }
+
+    /**
+     * Reads the sheep color of a player.
+     *
+     * @param uuid The UUID of the player.
+     * @return The sheep color, or null if the player has no row or no color.
+     * @throws SQLException if the database could not be read.
+     */
+    private String querySheepColor(String uuid) throws SQLException {
+        return queryColumn(uuid, "sheepColor");
+    }
+
+    /**
+     * Reads one column of a player's row through the backend.
+     *
+     * @param uuid   The UUID of the player.
+     * @param column The name of the column.
+     * @return The value as a string, or null if the player has no row.
+     * @throws SQLException if the database could not be read.
+     */
+    private String queryColumn(String uuid, String column) throws SQLException {
+        try (Connection connection = backend.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT " + column + " FROM player_data WHERE uuid = ?")) {
+            statement.setString(1, uuid);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getString(column) : null;
+            }
+        }
+    }
+}
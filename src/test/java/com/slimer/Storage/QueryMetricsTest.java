@@ -0,0 +1,107 @@
+package com.slimer.Storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the percentiles, mean and maximum that {@link QueryMetrics} reports for known query latencies, as shown by
+ * the storage stats command.
+ * <p>
+ * Last updated: V2.1.0
+ *
+ * @author Slimerblue22
+ */
+class QueryMetricsTest {
+    private static final String QUERY = "SELECT score FROM player_data WHERE uuid = ?";
+    private QueryMetrics metrics;
+
+    /**
+     * Creates fresh metrics for every test.
+     */
+    @BeforeEach
+    void setUp() {
+        metrics = new QueryMetrics();
+    }
+
+    /**
+     * Percentiles are given between 0 and 100 and resolve to the upper bound of the bucket they fall in.
+     */
+    @Test
+    void percentilesResolveToBucketBounds() {
+        recordMicros(QUERY, 80, 50);
+        recordMicros(QUERY, 200, 45);
+        recordMicros(QUERY, 900, 4);
+        recordMicros(QUERY, 40_000, 1);
+
+        QueryMetrics.Histogram histogram = onlyHistogram();
+        assertEquals(100, histogram.getCount());
+        assertEquals(100, histogram.getPercentileMicros(50));
+        assertEquals(250, histogram.getPercentileMicros(95));
+        assertEquals(1_000, histogram.getPercentileMicros(99));
+        assertEquals(566, histogram.getMeanMicros());
+        assertEquals(40_000, histogram.getMaxMicros());
+    }
+
+    /**
+     * A percentile never exceeds the slowest recorded query, even when its bucket bound is higher.
+     */
+    @Test
+    void percentileIsCappedAtMaximum() {
+        recordMicros(QUERY, 30_000, 10);
+
+        assertEquals(30_000, onlyHistogram().getPercentileMicros(99));
+    }
+
+    /**
+     * A percentile above the last bucket bound falls back to the slowest recorded query.
+     */
+    @Test
+    void percentileAboveLastBoundIsMaximum() {
+        recordMicros(QUERY, 200, 1);
+        recordMicros(QUERY, 400_000, 1);
+
+        QueryMetrics.Histogram histogram = onlyHistogram();
+        assertEquals(250, histogram.getPercentileMicros(50));
+        assertEquals(400_000, histogram.getPercentileMicros(99));
+    }
+
+    /**
+     * The same statement written across several lines is recorded in one histogram.
+     */
+    @Test
+    void statementsAreGroupedIgnoringWhitespace() {
+        metrics.record(QUERY, 1_000_000);
+        metrics.record("SELECT score\n    FROM player_data\n    WHERE uuid = ?", 1_000_000);
+
+        assertEquals(QUERY, onlyHistogram().getQuery());
+        assertEquals(2, onlyHistogram().getCount());
+    }
+
+    /**
+     * Records the same latency a number of times.
+     *
+     * @param sql    The SQL statement.
+     * @param micros The latency, in microseconds.
+     * @param times  How often to record it.
+     */
+    private void recordMicros(String sql, long micros, int times) {
+        for (int i = 0; i < times; i++) {
+            metrics.record(sql, micros * 1_000);
+        }
+    }
+
+    /**
+     * Gets the histogram of the only statement recorded.
+     *
+     * @return The histogram.
+     */
+    private QueryMetrics.Histogram onlyHistogram() {
+        List<QueryMetrics.Histogram> histograms = metrics.getHistograms();
+        assertEquals(1, histograms.size());
+        return histograms.get(0);
+    }
+}